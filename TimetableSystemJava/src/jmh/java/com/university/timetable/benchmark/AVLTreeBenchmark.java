@@ -0,0 +1,70 @@
+package com.university.timetable.benchmark;
+
+import com.university.timetable.algorithm.AVLTree;
+import com.university.timetable.model.TimetableEntry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AVL Tree: building a week of n bookings, and queries against it
+ * insertAll reports the time for all n inserts (each one runs the conflict check)
+ *
+ * The synthetic week has 60 slots, so n bookings mean about n / 60 concurrent
+ * bookings per slot, all of which a conflict check visits; 10^6 is left out of
+ * the defaults for that reason (run it with -p entries=1000000)
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AVLTreeBenchmark {
+
+    @Param({ "100", "1000", "10000", "100000" })
+    public int entries;
+
+    private List<TimetableEntry> data;
+    private AVLTree tree;
+    private TimetableEntry probe;
+    private int next;
+
+    private static final String[] DAYS = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" };
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.entries(entries, BenchmarkData.SEED);
+        tree = new AVLTree();
+        for (TimetableEntry entry : data) {
+            tree.insert(entry);
+        }
+        probe = data.get(data.size() / 2);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public AVLTree insertAll() {
+        AVLTree fresh = new AVLTree();
+        for (TimetableEntry entry : data) {
+            fresh.insert(entry);
+        }
+        return fresh;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<TimetableEntry> findByDay() {
+        return tree.findByDay(DAYS[next++ % DAYS.length]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public List<TimetableEntry> findConflicts() {
+        return tree.findConflicts(probe);
+    }
+}
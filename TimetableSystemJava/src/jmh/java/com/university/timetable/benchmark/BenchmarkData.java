@@ -0,0 +1,157 @@
+package com.university.timetable.benchmark;
+
+import com.university.timetable.model.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic, reproducible data sets for the benchmarks
+ * Everything is derived from a seed, so two runs with the same parameters
+ * measure exactly the same inputs
+ */
+public final class BenchmarkData {
+
+    public static final long SEED = 42L;
+
+    private static final String[] DAYS = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" };
+    private static final String[] DEPARTMENTS = {
+        "Computer Science", "Mathematics", "Physics", "Chemistry", "Biology",
+        "Economics", "History", "Philosophy", "Electrical", "Mechanical"
+    };
+    private static final String[] DEPARTMENT_CODES = {
+        "CS", "MATH", "PHY", "CHEM", "BIO", "ECON", "HIST", "PHIL", "EE", "ME"
+    };
+    private static final String[] ROOM_TYPES = { "Lecture Hall", "Lab", "Seminar Room" };
+    private static final String[] TOPICS = {
+        "Advanced", "Applied", "Introduction to", "Topics in", "Foundations of", "Modern"
+    };
+    private static final String[] SUBJECTS = {
+        "Algorithms", "Databases", "Networks", "Statistics", "Optimization", "Thermodynamics",
+        "Genetics", "Microeconomics", "Ethics", "Signals", "Robotics", "Compilers"
+    };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Rooms with capacities between 20 and 300 seats, spread over buildings and types
+     */
+    public static List<Room> rooms(int count, long seed) {
+        Random random = new Random(seed);
+        List<Room> rooms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rooms.add(new Room(
+                "R" + (i + 1),
+                String.valueOf(100 + i),
+                "Block " + (char) ('A' + i % 26),
+                20 + random.nextInt(281),
+                ROOM_TYPES[random.nextInt(ROOM_TYPES.length)]));
+        }
+        return rooms;
+    }
+
+    /**
+     * Courses with unique codes (e.g. "CS1042") and 10 to 250 enrolled students
+     */
+    public static List<Course> courses(int count, long seed) {
+        Random random = new Random(seed);
+        List<Course> courses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int department = random.nextInt(DEPARTMENTS.length);
+            courses.add(new Course(
+                "C" + (i + 1),
+                DEPARTMENT_CODES[department] + (1000 + i),
+                TOPICS[random.nextInt(TOPICS.length)] + " " + SUBJECTS[random.nextInt(SUBJECTS.length)] + " " + i,
+                3 + random.nextInt(2),
+                DEPARTMENTS[department],
+                10 + random.nextInt(241)));
+        }
+        return courses;
+    }
+
+    public static List<Professor> professors(int count) {
+        List<Professor> professors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            professors.add(new Professor(
+                "P" + (i + 1),
+                "Dr. Faculty " + (i + 1),
+                DEPARTMENTS[i % DEPARTMENTS.length],
+                "faculty" + (i + 1) + "@university.edu"));
+        }
+        return professors;
+    }
+
+    /**
+     * One-hour slots from 08:00 to 20:00, Monday to Friday (60 slots)
+     */
+    public static List<TimeSlot> timeSlots() {
+        List<TimeSlot> slots = new ArrayList<>();
+        for (String day : DAYS) {
+            for (int hour = 8; hour < 20; hour++) {
+                slots.add(new TimeSlot(
+                    "T" + (slots.size() + 1),
+                    day,
+                    String.format("%02d:00", hour),
+                    String.format("%02d:00", hour + 1)));
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Conflict-free entries in random order
+     * Entry i uses slot i mod s and room/professor i / s, so it needs
+     * at least count / s rooms and professors
+     */
+    public static List<TimetableEntry> entries(
+            int count,
+            List<Course> courses,
+            List<Professor> professors,
+            List<Room> rooms,
+            List<TimeSlot> slots,
+            long seed) {
+        int perSlot = (count + slots.size() - 1) / slots.size();
+        if (perSlot > rooms.size() || perSlot > professors.size()) {
+            throw new IllegalArgumentException(
+                "Need at least " + perSlot + " rooms and professors for " + count + " entries");
+        }
+
+        List<TimetableEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int row = i / slots.size();
+            entries.add(new TimetableEntry(
+                "TE" + (i + 1),
+                courses.get(i % courses.size()),
+                professors.get(row),
+                rooms.get(row),
+                slots.get(i % slots.size())));
+        }
+        Collections.shuffle(entries, new Random(seed));
+        return entries;
+    }
+
+    /**
+     * Conflict-free entries together with just enough rooms and professors
+     */
+    public static List<TimetableEntry> entries(int count, long seed) {
+        List<TimeSlot> slots = timeSlots();
+        int perSlot = Math.max(1, (count + slots.size() - 1) / slots.size());
+        return entries(count, courses(Math.min(count, 10_000), seed), professors(perSlot), rooms(perSlot, seed), slots, seed);
+    }
+
+    /**
+     * Prefixes of random course codes, for autocomplete lookups
+     */
+    public static String[] prefixes(List<Course> courses, int length, int count, long seed) {
+        Random random = new Random(seed);
+        String[] prefixes = new String[count];
+        for (int i = 0; i < count; i++) {
+            String code = courses.get(random.nextInt(courses.size())).getCode();
+            prefixes[i] = code.substring(0, Math.min(length, code.length()));
+        }
+        return prefixes;
+    }
+}
@@ -0,0 +1,80 @@
+package com.university.timetable.benchmark;
+
+import com.university.timetable.algorithm.ClashIndex;
+import com.university.timetable.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Student clash checks with n students, each enrolled in 5 of 2000 courses,
+ * every course scheduled once in a random slot
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ClashIndexBenchmark {
+
+    private static final int COURSES = 2000;
+    private static final int COURSES_PER_STUDENT = 5;
+
+    @Param({ "4000", "40000" })
+    public int students;
+
+    private ClashIndex index;
+    private List<Course> courses;
+    private List<TimeSlot> slots;
+    private TimetableEntry[] entries;
+    private String[] studentIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(BenchmarkData.SEED);
+        courses = BenchmarkData.courses(COURSES, BenchmarkData.SEED);
+        slots = BenchmarkData.timeSlots();
+        Professor professor = BenchmarkData.professors(1).get(0);
+        Room room = BenchmarkData.rooms(1, BenchmarkData.SEED).get(0);
+
+        index = new ClashIndex();
+        studentIds = new String[students];
+        for (int s = 0; s < students; s++) {
+            studentIds[s] = "S" + s;
+            for (int c = 0; c < COURSES_PER_STUDENT; c++) {
+                index.enroll(studentIds[s], courses.get(random.nextInt(COURSES)).getId());
+            }
+        }
+
+        entries = new TimetableEntry[COURSES];
+        for (int c = 0; c < COURSES; c++) {
+            entries[c] = new TimetableEntry("TE" + c, courses.get(c), professor, room,
+                slots.get(random.nextInt(slots.size())));
+            index.add(entries[c]);
+        }
+    }
+
+    @Benchmark
+    public int countClashes() {
+        int i = next++;
+        return index.countClashes(courses.get(i % COURSES).getId(), slots.get(i % slots.size()));
+    }
+
+    @Benchmark
+    public boolean isBusy() {
+        int i = next++;
+        return index.isBusy(studentIds[i % students], slots.get(i % slots.size()));
+    }
+
+    // Unschedule a class and schedule it again (one slot recomputed)
+    @Benchmark
+    public void removeAndAdd() {
+        TimetableEntry entry = entries[next++ % COURSES];
+        index.remove(entry);
+        index.add(entry);
+    }
+}
@@ -0,0 +1,70 @@
+package com.university.timetable.benchmark;
+
+import com.university.timetable.algorithm.TermIndex;
+import com.university.timetable.model.Course;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typo-tolerant auto-complete (TermIndex.fuzzyComplete, top 10) over n courses
+ * Queries are course codes and name words with one typo (a substituted or
+ * swapped character), so most of them miss the exact-prefix fast path
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FuzzyAutocompleteBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int courses;
+
+    private TermIndex<String> index;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Course> data = BenchmarkData.courses(courses, BenchmarkData.SEED);
+        index = new TermIndex<>();
+        for (Course course : data) {
+            index.insert(course.getCode(), course.getEnrolledStudents(), course.getId());
+            index.insert(course.getName(), course.getEnrolledStudents(), course.getId());
+        }
+
+        Random random = new Random(BenchmarkData.SEED);
+        queries = new String[1024];
+        for (int i = 0; i < queries.length; i++) {
+            Course course = data.get(random.nextInt(data.size()));
+            String[] words = course.getName().split(" ");
+            String source = random.nextBoolean() ? course.getCode() : words[random.nextInt(words.length)];
+            queries[i] = typo(source.substring(0, Math.min(source.length(), 4 + random.nextInt(4))), random);
+        }
+    }
+
+    private static String typo(String word, Random random) {
+        if (word.length() < 3) {
+            return word;
+        }
+        char[] chars = word.toCharArray();
+        int at = 1 + random.nextInt(chars.length - 2);
+        if (random.nextBoolean()) {
+            chars[at] = (char) ('a' + random.nextInt(26));
+        } else {
+            char swap = chars[at];
+            chars[at] = chars[at + 1];
+            chars[at + 1] = swap;
+        }
+        return new String(chars);
+    }
+
+    @Benchmark
+    public List<String> fuzzyComplete() {
+        return index.fuzzyComplete(queries[next++ & 1023], 10);
+    }
+}
@@ -0,0 +1,76 @@
+package com.university.timetable.benchmark;
+
+import com.university.timetable.algorithm.GreedyRoomAllocator;
+import com.university.timetable.algorithm.OccupancyIndex;
+import com.university.timetable.algorithm.RoomIndex;
+import com.university.timetable.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Greedy room allocation against n rooms, a given fraction of which are
+ * already booked in every slot
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RoomAllocatorBenchmark {
+
+    @Param({ "100", "1000", "10000", "100000" })
+    public int rooms;
+
+    @Param({ "0.0", "0.5", "0.9" })
+    public double load;
+
+    private GreedyRoomAllocator allocator;
+    private RoomIndex roomIndex;
+    private OccupancyIndex occupancy;
+    private int[] students;
+    private TimeSlot[] slots;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(BenchmarkData.SEED);
+        List<Room> roomList = BenchmarkData.rooms(rooms, BenchmarkData.SEED);
+        List<TimeSlot> slotList = BenchmarkData.timeSlots();
+        Course course = BenchmarkData.courses(1, BenchmarkData.SEED).get(0);
+        Professor professor = BenchmarkData.professors(1).get(0);
+
+        allocator = new GreedyRoomAllocator();
+        roomIndex = RoomIndex.of(roomList);
+        occupancy = new OccupancyIndex();
+        for (TimeSlot slot : slotList) {
+            for (Room room : roomList) {
+                if (random.nextDouble() < load) {
+                    occupancy.occupy(new TimetableEntry(null, course, professor, room, slot));
+                }
+            }
+        }
+
+        students = new int[1024];
+        slots = new TimeSlot[1024];
+        for (int i = 0; i < 1024; i++) {
+            students[i] = 10 + random.nextInt(241);
+            slots[i] = slotList.get(random.nextInt(slotList.size()));
+        }
+    }
+
+    @Benchmark
+    public Room allocateRoom() {
+        int i = next++ & 1023;
+        return allocator.allocateRoom(students[i], slots[i], roomIndex, occupancy);
+    }
+
+    @Benchmark
+    public Room findOptimalRoom() {
+        int i = next++ & 1023;
+        return allocator.findOptimalRoom(students[i], slots[i], roomIndex, occupancy);
+    }
+}
@@ -0,0 +1,95 @@
+package com.university.timetable.benchmark;
+
+import com.university.timetable.algorithm.CompositeRoomScorer;
+import com.university.timetable.algorithm.GreedyRoomAllocator;
+import com.university.timetable.algorithm.OccupancyIndex;
+import com.university.timetable.algorithm.RoomIndex;
+import com.university.timetable.algorithm.RoomScoringStrategy;
+import com.university.timetable.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scored room allocation: every free room with enough seats is scored by a
+ * CompositeRoomScorer, against the plain smallest-fit lookup as a baseline
+ * The professor already teaches in a few rooms, and some classes ask for a lab
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RoomScoringBenchmark {
+
+    @Param({ "1000", "5000" })
+    public int rooms;
+
+    @Param({ "0.0", "0.5" })
+    public double load;
+
+    @Param({ "smallest", "balanced" })
+    public String strategy;
+
+    private GreedyRoomAllocator allocator;
+    private RoomIndex roomIndex;
+    private OccupancyIndex occupancy;
+    private CompositeRoomScorer scorer;
+    private RoomScoringStrategy.Request[] requests;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(BenchmarkData.SEED);
+        List<Room> roomList = BenchmarkData.rooms(rooms, BenchmarkData.SEED);
+        List<TimeSlot> slotList = BenchmarkData.timeSlots();
+        Course course = BenchmarkData.courses(1, BenchmarkData.SEED).get(0);
+        Professor professor = BenchmarkData.professors(1).get(0);
+
+        allocator = new GreedyRoomAllocator();
+        roomIndex = RoomIndex.of(roomList);
+        occupancy = new OccupancyIndex();
+        for (TimeSlot slot : slotList) {
+            for (Room room : roomList) {
+                if (random.nextDouble() < load) {
+                    occupancy.occupy(new TimetableEntry(null, course, professor, room, slot));
+                }
+            }
+        }
+        scorer = CompositeRoomScorer.of(strategy);
+
+        requests = new RoomScoringStrategy.Request[1024];
+        for (int i = 0; i < requests.length; i++) {
+            Set<String> professorRooms = new HashSet<>();
+            Set<String> professorBuildings = new HashSet<>();
+            for (int j = 0; j < 4; j++) {
+                Room room = roomList.get(random.nextInt(roomList.size()));
+                professorRooms.add(room.getId());
+                professorBuildings.add(room.getBuilding());
+            }
+            requests[i] = new RoomScoringStrategy.Request(
+                10 + random.nextInt(241),
+                slotList.get(random.nextInt(slotList.size())),
+                random.nextInt(4) == 0 ? "Lab" : null,
+                "Block " + (char) ('A' + random.nextInt(26)),
+                professorRooms,
+                professorBuildings);
+        }
+    }
+
+    @Benchmark
+    public Room scoredAllocation() {
+        return allocator.allocateRoom(requests[next++ & 1023], roomIndex, occupancy, scorer);
+    }
+
+    @Benchmark
+    public Room smallestFreeBaseline() {
+        RoomScoringStrategy.Request request = requests[next++ & 1023];
+        return allocator.allocateRoom(request.getStudents(), request.getTimeSlot(), roomIndex, occupancy);
+    }
+}
@@ -0,0 +1,98 @@
+package com.university.timetable.benchmark;
+
+import com.university.timetable.model.*;
+import com.university.timetable.service.SchedulingService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end SchedulingService.scheduleClass: lookups, room allocation,
+ * conflict check, commit and snapshot publish
+ *
+ * Each iteration starts from a fresh service and schedules one batch of
+ * classes, so the timetable never fills up part-way through a measurement
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 10, batchSize = SchedulingServiceBenchmark.BATCH)
+@Measurement(iterations = 20, batchSize = SchedulingServiceBenchmark.BATCH)
+public class SchedulingServiceBenchmark {
+
+    static final int BATCH = 1000;
+
+    @Param({ "100", "1000", "10000" })
+    public int rooms;
+
+    @Param({ "1000" })
+    public int courses;
+
+    private List<Course> courseData;
+    private List<Professor> professorData;
+    private List<Room> roomData;
+    private List<TimeSlot> slotData;
+
+    private SchedulingService service;
+    private String[][] requests;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        courseData = BenchmarkData.courses(courses, BenchmarkData.SEED);
+        professorData = BenchmarkData.professors(rooms);
+        roomData = BenchmarkData.rooms(rooms, BenchmarkData.SEED);
+        slotData = BenchmarkData.timeSlots();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        service = new SchedulingService();
+
+        // The service assigns its own ids, so requests use the returned entities
+        String[] courseIds = new String[courseData.size()];
+        for (int i = 0; i < courseIds.length; i++) {
+            Course c = courseData.get(i);
+            courseIds[i] = service.addCourse(new Course(null, c.getCode(), c.getName(),
+                c.getCredits(), c.getDepartment(), c.getEnrolledStudents())).getId();
+        }
+        String[] professorIds = new String[professorData.size()];
+        for (int i = 0; i < professorIds.length; i++) {
+            Professor p = professorData.get(i);
+            professorIds[i] = service.addProfessor(new Professor(null, p.getName(),
+                p.getDepartment(), p.getEmail())).getId();
+        }
+        List<Room> rooms = new ArrayList<>();
+        for (Room r : roomData) {
+            rooms.add(new Room(null, r.getRoomNumber(), r.getBuilding(), r.getCapacity(), r.getType()));
+        }
+        service.addRooms(rooms);
+        String[] slotIds = new String[slotData.size()];
+        for (int i = 0; i < slotIds.length; i++) {
+            TimeSlot t = slotData.get(i);
+            slotIds[i] = service.addTimeSlot(new TimeSlot(null, t.getDay(), t.getStartTime(), t.getEndTime())).getId();
+        }
+
+        Random random = new Random(BenchmarkData.SEED);
+        requests = new String[BATCH][];
+        for (int i = 0; i < BATCH; i++) {
+            requests[i] = new String[] {
+                courseIds[random.nextInt(courseIds.length)],
+                professorIds[random.nextInt(professorIds.length)],
+                slotIds[random.nextInt(slotIds.length)]
+            };
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public Map<String, Object> scheduleClass() {
+        String[] request = requests[next++ % BATCH];
+        return service.scheduleClass(request[0], request[1], request[2]);
+    }
+}
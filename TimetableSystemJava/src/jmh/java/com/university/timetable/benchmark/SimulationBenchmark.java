@@ -0,0 +1,100 @@
+package com.university.timetable.benchmark;
+
+import com.university.timetable.algorithm.AVLTree;
+import com.university.timetable.algorithm.GreedyRoomAllocator;
+import com.university.timetable.algorithm.OccupancyIndex;
+import com.university.timetable.algorithm.RoomIndex;
+import com.university.timetable.algorithm.ScheduleFork;
+import com.university.timetable.algorithm.WeekTime;
+import com.university.timetable.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What-if forks of a schedule with n entries: forking and moving one class
+ * (ScheduleFork, structurally shared) against a full copy of the day trees
+ * and occupancy bitsets followed by the same move
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SimulationBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int entries;
+
+    private AVLTree[] dayTrees;
+    private OccupancyIndex occupancy;
+    private RoomIndex rooms;
+    private List<TimeSlot> slots;
+    private List<TimetableEntry> data;
+    private GreedyRoomAllocator allocator;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.entries(entries, BenchmarkData.SEED);
+        slots = BenchmarkData.timeSlots();
+        allocator = new GreedyRoomAllocator();
+
+        List<Room> roomList = new ArrayList<>();
+        for (TimetableEntry entry : data) {
+            roomList.add(entry.getRoom());
+        }
+        rooms = RoomIndex.of(roomList.stream().distinct().toList());
+        occupancy = OccupancyIndex.of(data);
+        dayTrees = buildTrees(data);
+    }
+
+    @Benchmark
+    public ScheduleFork forkAndMove() {
+        TimetableEntry entry = data.get(next++ % data.size());
+        ScheduleFork fork = ScheduleFork.of(dayTrees, occupancy, rooms, slots, allocator, List.of(entry));
+        fork.move(entry.getId(), slots.get(next % slots.size()), null, null, new HashMap<>());
+        return fork;
+    }
+
+    @Benchmark
+    public AVLTree[] copyAndMove() {
+        TimetableEntry entry = data.get(next++ % data.size());
+        AVLTree[] trees = buildTrees(data);
+        OccupancyIndex copy = OccupancyIndex.of(data);
+        TimeSlot target = slots.get(next % slots.size());
+
+        trees[entry.getTimeSlot().dayIndex()].delete(entry);
+        copy.release(entry);
+        Room room = allocator.allocateRoom(entry.getCourse().getEnrolledStudents(), target, rooms, copy);
+        if (room != null) {
+            TimetableEntry moved = new TimetableEntry(entry.getId(), entry.getCourse(), entry.getProfessor(), room, target);
+            if (trees[target.dayIndex()].insert(moved)) {
+                copy.occupy(moved);
+            }
+        }
+        return trees;
+    }
+
+    private static AVLTree[] buildTrees(List<TimetableEntry> entries) {
+        List<List<TimetableEntry>> days = new ArrayList<>();
+        for (int day = 0; day < WeekTime.DAYS_PER_WEEK; day++) {
+            days.add(new ArrayList<>());
+        }
+        for (TimetableEntry entry : entries) {
+            days.get(entry.getTimeSlot().dayIndex()).add(entry);
+        }
+
+        AVLTree[] trees = new AVLTree[WeekTime.DAYS_PER_WEEK];
+        for (int day = 0; day < trees.length; day++) {
+            days.get(day).sort(AVLTree.ORDER);
+            trees[day] = new AVLTree();
+            trees[day].buildFromSorted(days.get(day));
+        }
+        return trees;
+    }
+}
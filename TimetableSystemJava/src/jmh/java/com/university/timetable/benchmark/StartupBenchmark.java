@@ -0,0 +1,100 @@
+package com.university.timetable.benchmark;
+
+import com.university.timetable.model.*;
+import com.university.timetable.persistence.EntryTable;
+import com.university.timetable.persistence.FileScheduleStore;
+import com.university.timetable.persistence.PersistenceProperties;
+import com.university.timetable.persistence.ScheduleStore;
+import com.university.timetable.persistence.SnapshotFormat;
+import com.university.timetable.persistence.StoredState;
+import com.university.timetable.service.SchedulingService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Restart time: SchedulingService restoring n entries from a snapshot until
+ * it serves reads (the tries finish in the background)
+ *
+ * STREAM is the record-by-record format decoded on the heap; MAPPED is the
+ * columnar format read in place through FileChannel.map. Both are served
+ * from the page cache, so this measures decoding and rebuilding, not the disk
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StartupBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    public int entries;
+
+    @Param({ "STREAM", "MAPPED" })
+    public SnapshotFormat format;
+
+    private Path directory;
+    private PersistenceProperties properties;
+    private ScheduleStore store;
+    private SchedulingService service;
+
+    @Setup(Level.Trial)
+    public void writeSnapshot() throws IOException {
+        List<TimeSlot> slots = BenchmarkData.timeSlots();
+        int perSlot = Math.max(1, (entries + slots.size() - 1) / slots.size());
+        List<Course> courses = BenchmarkData.courses(Math.min(entries, 10_000), BenchmarkData.SEED);
+        List<Professor> professors = BenchmarkData.professors(perSlot);
+        List<Room> rooms = BenchmarkData.rooms(perSlot, BenchmarkData.SEED);
+
+        // The service saves entries in schedule order
+        List<TimetableEntry> data = new ArrayList<>(
+            BenchmarkData.entries(entries, courses, professors, rooms, slots, BenchmarkData.SEED));
+        data.sort(Comparator.comparingInt(e -> e.getTimeSlot().weekStart()));
+
+        directory = Files.createTempDirectory("timetable-startup");
+        properties = new PersistenceProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setSnapshotFormat(format);
+
+        FileScheduleStore writer = new FileScheduleStore(properties);
+        writer.recover();
+        long sequence = writer.checkpoint();
+        writer.writeSnapshot(() -> new StoredState(sequence, courses, rooms, professors, slots,
+            EntryTable.of(data, courses, professors, rooms, slots), List.of())).join();
+        writer.close();
+    }
+
+    @Benchmark
+    public SchedulingService restart() {
+        store = new FileScheduleStore(properties);
+        service = new SchedulingService(store);
+        return service;
+    }
+
+    // Let the background trie build finish outside the measurement
+    @TearDown(Level.Iteration)
+    public void closeStore() {
+        service.autoCompleteCourse("A", 1, false);
+        store.close();
+        service = null;
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSnapshot() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+}
@@ -0,0 +1,57 @@
+package com.university.timetable.benchmark;
+
+import com.university.timetable.algorithm.PrefixIndex;
+import com.university.timetable.algorithm.RadixTrie;
+import com.university.timetable.algorithm.Trie;
+import com.university.timetable.model.Course;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trie and RadixTrie auto-complete over n course codes and names
+ * Short prefixes match a large share of the words, long ones only a few
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TrieBenchmark {
+
+    @Param({ "100", "1000", "10000", "100000", "1000000" })
+    public int courses;
+
+    @Param({ "2", "4" })
+    public int prefixLength;
+
+    @Param({ "trie", "radix" })
+    public String index;
+
+    private PrefixIndex trie;
+    private String[] prefixes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Course> data = BenchmarkData.courses(courses, BenchmarkData.SEED);
+        trie = index.equals("radix") ? new RadixTrie() : new Trie();
+        for (Course course : data) {
+            trie.insert(course.getCode(), course.getEnrolledStudents());
+            trie.insert(course.getName(), course.getEnrolledStudents());
+        }
+        prefixes = BenchmarkData.prefixes(data, prefixLength, 1024, BenchmarkData.SEED);
+    }
+
+    @Benchmark
+    public List<String> autoComplete() {
+        return trie.autoComplete(prefixes[next++ & 1023]);
+    }
+
+    @Benchmark
+    public List<String> autoCompleteTop10() {
+        return trie.autoComplete(prefixes[next++ & 1023], 10);
+    }
+}
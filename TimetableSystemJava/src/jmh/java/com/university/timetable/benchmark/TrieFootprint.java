@@ -0,0 +1,74 @@
+package com.university.timetable.benchmark;
+
+import com.university.timetable.algorithm.PrefixIndex;
+import com.university.timetable.algorithm.RadixTrie;
+import com.university.timetable.algorithm.Trie;
+import com.university.timetable.model.Course;
+import com.university.timetable.model.Room;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Memory footprint report: Trie vs RadixTrie over the same dictionary
+ * (course codes and names, room numbers and buildings), measured with JOL
+ * as the retained size of the whole object graph
+ *
+ *   mvn -Pbenchmarks compile exec:exec@footprint -Dfootprint.args="1000 100000"
+ */
+public final class TrieFootprint {
+
+    private TrieFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? parse(args) : new int[] { 1_000, 10_000, 100_000 };
+
+        System.out.printf("%-10s %-10s %10s %10s %14s %10s %10s%n",
+            "courses", "index", "words", "chars", "bytes", "B/word", "B/char");
+
+        for (int size : sizes) {
+            List<String> words = dictionary(size);
+            long chars = words.stream().mapToLong(String::length).sum();
+
+            report(size, "Trie", Trie::new, words, chars);
+            report(size, "RadixTrie", RadixTrie::new, words, chars);
+        }
+    }
+
+    private static void report(int size, String name, Supplier<PrefixIndex> factory, List<String> words, long chars) {
+        PrefixIndex index = factory.get();
+        for (int i = 0; i < words.size(); i++) {
+            index.insert(words.get(i), i % 251);
+        }
+
+        long bytes = GraphLayout.parseInstance(index).totalSize();
+        System.out.printf("%-10d %-10s %10d %10d %14d %10.1f %10.1f%n",
+            size, name, index.getWordCount(), chars, bytes,
+            (double) bytes / index.getWordCount(), (double) bytes / chars);
+    }
+
+    // The words SchedulingService puts into its course and room indexes
+    private static List<String> dictionary(int courses) {
+        List<String> words = new ArrayList<>();
+        for (Course course : BenchmarkData.courses(courses, BenchmarkData.SEED)) {
+            words.add(course.getCode());
+            words.add(course.getName());
+        }
+        for (Room room : BenchmarkData.rooms(Math.max(1, courses / 10), BenchmarkData.SEED)) {
+            words.add(room.getRoomNumber());
+            words.add(room.getBuilding());
+        }
+        return words;
+    }
+
+    private static int[] parse(String[] args) {
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        return sizes;
+    }
+}
@@ -1,15 +1,23 @@
 package com.university.timetable;
 
+import com.university.timetable.ingest.ImportCommand;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 @SpringBootApplication
 public class TimetableApplication {
 
     public static void main(String[] args) {
+        // "import kind=file ...": load the files without starting the web server, then exit
+        if (ImportCommand.isRequested(args)) {
+            SpringApplication application = new SpringApplication(TimetableApplication.class);
+            application.setWebApplicationType(WebApplicationType.NONE);
+            System.exit(SpringApplication.exit(application.run(args)));
+        }
+
         SpringApplication.run(TimetableApplication.class, args);
         System.out.println("\n✅ University Timetable System is running!");
         System.out.println("🌐 Open your browser and go to: http://localhost:8082\n");
     }
 }
-
@@ -2,172 +2,381 @@ package com.university.timetable.algorithm;
 
 import com.university.timetable.model.TimetableEntry;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
  * AVL Tree for storing and managing time-based schedules
  * Ensures O(log n) time complexity for insertion, deletion, and search
- * Automatically detects time conflicts during insertion
+ *
+ * Entries are keyed by their start minute in the week and every node is
+ * augmented with the maximum end minute of its subtree (interval tree),
+ * so all bookings overlapping a slot are found in O(log n + k)
+ *
+ * Equal starts are ordered by room id: a room holds one class at a time,
+ * so in a conflict-free tree (start, room) identifies an entry and delete
+ * follows a single path
+ *
+ * fork() shares all nodes with a copy in O(1); afterwards each tree copies
+ * a node it does not own before changing it (path copying), so a change
+ * costs O(log n) new nodes and neither tree sees the other's changes
  */
 public class AVLTree {
-    
-    private class Node {
+
+    /**
+     * Order of entries in the tree: start minute, then room id
+     */
+    public static final Comparator<TimetableEntry> ORDER =
+        Comparator.<TimetableEntry>comparingInt(entry -> entry.getTimeSlot().weekStart())
+            .thenComparing(entry -> entry.getRoom().getId());
+
+    private static class Node {
+        final Object owner;
         TimetableEntry entry;
+        int start;
+        int end;
+        int maxEnd;
         Node left, right;
         int height;
-        
-        Node(TimetableEntry entry) {
+
+        Node(TimetableEntry entry, int start, int end, Object owner) {
+            this.owner = owner;
             this.entry = entry;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
             this.height = 1;
         }
     }
-    
+
     private Node root;
-    private List<String> conflicts;
-    
-    public AVLTree() {
-        this.conflicts = new ArrayList<>();
+    private boolean deleted;
+
+    // Nodes this tree may change in place; replaced on every fork
+    private Object owner = new Object();
+
+    /**
+     * Copy of this tree in O(1), sharing every node with it
+     * Caller must hold whatever lock guards writes to this tree
+     */
+    public AVLTree fork() {
+        owner = new Object();
+        AVLTree copy = new AVLTree();
+        copy.root = root;
+        return copy;
     }
-    
+
+    // The node itself if this tree owns it, else an owned copy to change instead
+    private Node own(Node node) {
+        if (node.owner == owner) {
+            return node;
+        }
+        Node copy = new Node(node.entry, node.start, node.end, owner);
+        copy.left = node.left;
+        copy.right = node.right;
+        copy.maxEnd = node.maxEnd;
+        copy.height = node.height;
+        return copy;
+    }
+
     // Get height of node
     private int height(Node node) {
         return node == null ? 0 : node.height;
     }
-    
+
+    // Get max end of subtree
+    private int maxEnd(Node node) {
+        return node == null ? Integer.MIN_VALUE : node.maxEnd;
+    }
+
+    // Recompute height and max end from children
+    private void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = Math.max(node.end, Math.max(maxEnd(node.left), maxEnd(node.right)));
+    }
+
     // Get balance factor
     private int getBalance(Node node) {
         return node == null ? 0 : height(node.left) - height(node.right);
     }
-    
+
     // Right rotate
     private Node rightRotate(Node y) {
-        Node x = y.left;
+        y = own(y);
+        Node x = own(y.left);
         Node T2 = x.right;
-        
+
         x.right = y;
         y.left = T2;
-        
-        y.height = Math.max(height(y.left), height(y.right)) + 1;
-        x.height = Math.max(height(x.left), height(x.right)) + 1;
-        
+
+        update(y);
+        update(x);
+
         return x;
     }
-    
+
     // Left rotate
     private Node leftRotate(Node x) {
-        Node y = x.right;
+        x = own(x);
+        Node y = own(x.right);
         Node T2 = y.left;
-        
+
         y.left = x;
         x.right = T2;
-        
-        x.height = Math.max(height(x.left), height(x.right)) + 1;
-        y.height = Math.max(height(y.left), height(y.right)) + 1;
-        
+
+        update(x);
+        update(y);
+
         return y;
     }
-    
+
     /**
      * Insert a new timetable entry and check for conflicts
      * Returns true if inserted successfully, false if conflict detected
+     * (a conflicting entry is not inserted; use findConflicts for details)
      */
     public boolean insert(TimetableEntry entry) {
-        conflicts.clear();
-        root = insertNode(root, entry);
-        return conflicts.isEmpty();
+        if (!findConflicts(entry).isEmpty()) {
+            return false;
+        }
+
+        root = insertNode(root, new Node(entry, entry.getTimeSlot().weekStart(), entry.getTimeSlot().weekEnd(), owner));
+        return true;
+    }
+
+    /**
+     * Insert an entry without the conflict check, for entries already known
+     * to be conflict-free (e.g. when restoring a saved schedule)
+     * Time Complexity: O(log n)
+     */
+    public void add(TimetableEntry entry) {
+        root = insertNode(root, new Node(entry, entry.getTimeSlot().weekStart(), entry.getTimeSlot().weekEnd(), owner));
     }
-    
-    private Node insertNode(Node node, TimetableEntry entry) {
-        // Standard BST insertion
+
+    /**
+     * Build the tree from entries sorted by ORDER, replacing its contents
+     * The middle entry becomes the root, recursively, so the result is
+     * perfectly balanced without any rotations
+     * Time Complexity: O(n)
+     */
+    public void buildFromSorted(List<TimetableEntry> sorted) {
+        root = build(sorted, 0, sorted.size() - 1);
+    }
+
+    private Node build(List<TimetableEntry> sorted, int from, int to) {
+        if (from > to) {
+            return null;
+        }
+
+        int middle = (from + to) >>> 1;
+        TimetableEntry entry = sorted.get(middle);
+        Node node = new Node(entry, entry.getTimeSlot().weekStart(), entry.getTimeSlot().weekEnd(), owner);
+        node.left = build(sorted, from, middle - 1);
+        node.right = build(sorted, middle + 1, to);
+        update(node);
+        return node;
+    }
+
+    private Node insertNode(Node node, Node newNode) {
+        // Standard BST insertion by (start, room), equal keys go to the right
         if (node == null) {
-            return new Node(entry);
-        }
-        
-        int compareResult = compareEntries(entry, node.entry);
-        
-        if (compareResult < 0) {
-            node.left = insertNode(node.left, entry);
-        } else if (compareResult > 0) {
-            node.right = insertNode(node.right, entry);
+            return newNode;
+        }
+        node = own(node);
+
+        if (compare(newNode.start, newNode.entry.getRoom().getId(), node) < 0) {
+            node.left = insertNode(node.left, newNode);
         } else {
-            // Check for conflicts (same day and overlapping time)
-            if (hasTimeConflict(entry, node.entry)) {
-                conflicts.add("Conflict detected with: " + node.entry.getCourse().getName() + 
-                            " at " + node.entry.getTimeSlot().getStartTime());
-            }
-            node.right = insertNode(node.right, entry);
+            node.right = insertNode(node.right, newNode);
         }
-        
-        // Update height
-        node.height = 1 + Math.max(height(node.left), height(node.right));
-        
-        // Get balance factor and rebalance if needed
-        int balance = getBalance(node);
-        
-        // Left Left Case
-        if (balance > 1 && compareEntries(entry, node.left.entry) < 0) {
-            return rightRotate(node);
+
+        update(node);
+        return rebalance(node);
+    }
+
+    // Order of (start, roomId) relative to a node's entry
+    private static int compare(int start, String roomId, Node node) {
+        if (start != node.start) {
+            return Integer.compare(start, node.start);
         }
-        
-        // Right Right Case
-        if (balance < -1 && compareEntries(entry, node.right.entry) > 0) {
-            return leftRotate(node);
+        return roomId.compareTo(node.entry.getRoom().getId());
+    }
+
+    /**
+     * Remove this exact entry (same object) from the tree
+     * Returns false if it is not in the tree
+     * Time Complexity: O(log n)
+     */
+    public boolean delete(TimetableEntry entry) {
+        deleted = false;
+        root = deleteNode(root, entry, entry.getTimeSlot().weekStart(), entry.getRoom().getId());
+        return deleted;
+    }
+
+    private Node deleteNode(Node node, TimetableEntry entry, int start, String roomId) {
+        if (node == null) {
+            return null;
+        }
+        node = own(node);
+
+        int cmp = compare(start, roomId, node);
+        if (cmp < 0) {
+            node.left = deleteNode(node.left, entry, start, roomId);
+        } else if (cmp > 0) {
+            node.right = deleteNode(node.right, entry, start, roomId);
+        } else if (node.entry != entry) {
+            // Same key, other entry: only if conflicting entries were added unchecked
+            node.left = deleteNode(node.left, entry, start, roomId);
+            if (!deleted) {
+                node.right = deleteNode(node.right, entry, start, roomId);
+            }
+        } else {
+            deleted = true;
+            if (node.left == null || node.right == null) {
+                return node.left != null ? node.left : node.right;
+            }
+
+            // Two children: the in-order successor takes this node's place
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor = own(successor);
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+
+        update(node);
+        return rebalance(node);
+    }
+
+    // Unlink the leftmost node of a subtree (the caller keeps it)
+    private Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
         }
-        
-        // Left Right Case
-        if (balance > 1 && compareEntries(entry, node.left.entry) > 0) {
-            node.left = leftRotate(node.left);
+        node = own(node);
+        node.left = removeMin(node.left);
+        update(node);
+        return rebalance(node);
+    }
+
+    private Node rebalance(Node node) {
+        int balance = getBalance(node);
+
+        if (balance > 1) {
+            // Left Right Case
+            if (getBalance(node.left) < 0) {
+                node.left = leftRotate(node.left);
+            }
+            // Left Left Case
             return rightRotate(node);
         }
-        
-        // Right Left Case
-        if (balance < -1 && compareEntries(entry, node.right.entry) < 0) {
-            node.right = rightRotate(node.right);
+
+        if (balance < -1) {
+            // Right Left Case
+            if (getBalance(node.right) > 0) {
+                node.right = rightRotate(node.right);
+            }
+            // Right Right Case
             return leftRotate(node);
         }
-        
+
         return node;
     }
-    
+
     /**
-     * Compare two entries based on day and start time
+     * Find every entry whose time overlaps [start, end) in minutes of the week
+     * Time Complexity: O(log n + k) where k = number of overlapping entries
      */
-    private int compareEntries(TimetableEntry e1, TimetableEntry e2) {
-        // First compare by day
-        int dayCompare = e1.getTimeSlot().getDay().compareTo(e2.getTimeSlot().getDay());
-        if (dayCompare != 0) return dayCompare;
-        
-        // Then compare by start time
-        return e1.getTimeSlot().getStartTime().compareTo(e2.getTimeSlot().getStartTime());
-    }
-    
+    public List<TimetableEntry> findOverlapping(int start, int end) {
+        List<TimetableEntry> result = new ArrayList<>();
+        collectOverlapping(root, start, end, result);
+        return result;
+    }
+
+    private void collectOverlapping(Node node, int start, int end, List<TimetableEntry> result) {
+        // Nothing in this subtree ends after the query starts
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+
+        collectOverlapping(node.left, start, end, result);
+
+        // Everything from here on starts at or after the query end
+        if (node.start >= end) {
+            return;
+        }
+
+        if (node.end > start) {
+            result.add(node.entry);
+        }
+
+        collectOverlapping(node.right, start, end, result);
+    }
+
     /**
-     * Check if two entries have time conflicts
+     * Find existing entries that overlap the given entry in time and
+     * share its room or its professor
      */
-    private boolean hasTimeConflict(TimetableEntry e1, TimetableEntry e2) {
-        // Same day?
-        if (!e1.getTimeSlot().getDay().equals(e2.getTimeSlot().getDay())) {
-            return false;
+    public List<TimetableEntry> findConflicts(TimetableEntry entry) {
+        List<TimetableEntry> result = new ArrayList<>();
+
+        for (TimetableEntry existing : findOverlapping(entry.getTimeSlot().weekStart(), entry.getTimeSlot().weekEnd())) {
+            if (hasResourceConflict(entry, existing)) {
+                result.add(existing);
+            }
         }
-        
-        // Same room or same professor?
+
+        return result;
+    }
+
+    /**
+     * Check if two time-overlapping entries share a room or professor
+     */
+    private boolean hasResourceConflict(TimetableEntry e1, TimetableEntry e2) {
         boolean sameRoom = e1.getRoom().getId().equals(e2.getRoom().getId());
         boolean sameProfessor = e1.getProfessor().getId().equals(e2.getProfessor().getId());
-        
-        if (!sameRoom && !sameProfessor) {
-            return false;
+
+        return sameRoom || sameProfessor;
+    }
+
+    /**
+     * Height of the tree (0 when empty); stays within 1.44 log2(n + 2)
+     */
+    public int getHeight() {
+        return height(root);
+    }
+
+    /**
+     * Verify heights, balance factors and max ends of every node, for tests
+     * Throws IllegalStateException at the first node that is off
+     * Time Complexity: O(n)
+     */
+    void checkInvariants() {
+        checkNode(root);
+    }
+
+    private void checkNode(Node node) {
+        if (node == null) {
+            return;
+        }
+        checkNode(node.left);
+        checkNode(node.right);
+
+        String at = node.entry.getId() + " at " + node.start;
+        if (node.height != 1 + Math.max(height(node.left), height(node.right))) {
+            throw new IllegalStateException("Wrong height for " + at);
         }
-        
-        // Check time overlap
-        String start1 = e1.getTimeSlot().getStartTime();
-        String end1 = e1.getTimeSlot().getEndTime();
-        String start2 = e2.getTimeSlot().getStartTime();
-        String end2 = e2.getTimeSlot().getEndTime();
-        
-        // Times overlap if: start1 < end2 AND start2 < end1
-        return start1.compareTo(end2) < 0 && start2.compareTo(end1) < 0;
-    }
-    
+        if (Math.abs(getBalance(node)) > 1) {
+            throw new IllegalStateException("Unbalanced at " + at);
+        }
+        if (node.maxEnd != Math.max(node.end, Math.max(maxEnd(node.left), maxEnd(node.right)))) {
+            throw new IllegalStateException("Wrong max end for " + at);
+        }
+    }
+
     /**
      * Get all entries in sorted order (in-order traversal)
      */
@@ -176,7 +385,7 @@ public class AVLTree {
         inOrderTraversal(root, entries);
         return entries;
     }
-    
+
     private void inOrderTraversal(Node node, List<TimetableEntry> entries) {
         if (node != null) {
             inOrderTraversal(node.left, entries);
@@ -184,31 +393,37 @@ public class AVLTree {
             inOrderTraversal(node.right, entries);
         }
     }
-    
-    /**
-     * Get conflict messages from last insert operation
-     */
-    public List<String> getConflicts() {
-        return new ArrayList<>(conflicts);
-    }
-    
+
     /**
-     * Search for entries by day
+     * Search for entries by day, sorted by start time
+     * Time Complexity: O(log n + k) where k = entries on that day
      */
     public List<TimetableEntry> findByDay(String day) {
         List<TimetableEntry> result = new ArrayList<>();
-        findByDayHelper(root, day, result);
+        int ordinal = WeekTime.dayOrdinal(day);
+
+        if (ordinal < 0) {
+            return result;
+        }
+
+        int dayStart = ordinal * WeekTime.MINUTES_PER_DAY;
+        findByStartRange(root, dayStart, dayStart + WeekTime.MINUTES_PER_DAY, result);
         return result;
     }
-    
-    private void findByDayHelper(Node node, String day, List<TimetableEntry> result) {
-        if (node != null) {
-            findByDayHelper(node.left, day, result);
-            if (node.entry.getTimeSlot().getDay().equalsIgnoreCase(day)) {
-                result.add(node.entry);
-            }
-            findByDayHelper(node.right, day, result);
+
+    private void findByStartRange(Node node, int from, int to, List<TimetableEntry> result) {
+        if (node == null) {
+            return;
+        }
+
+        if (node.start >= from) {
+            findByStartRange(node.left, from, to, result);
+        }
+        if (node.start >= from && node.start < to) {
+            result.add(node.entry);
+        }
+        if (node.start < to) {
+            findByStartRange(node.right, from, to, result);
         }
     }
 }
-
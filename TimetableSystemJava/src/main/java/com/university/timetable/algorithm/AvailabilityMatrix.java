@@ -0,0 +1,135 @@
+package com.university.timetable.algorithm;
+
+import com.university.timetable.model.Room;
+import com.university.timetable.model.TimeSlot;
+import com.university.timetable.model.TimetableEntry;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Free/busy matrix of rooms (rows) by time slots (columns), built in one
+ * pass over the scheduled entries
+ *
+ * A room is busy in a slot if any of its entries overlaps the slot. The
+ * columns an entry overlaps are worked out once per distinct entry slot and
+ * reused, so the pass is O(n + t * c) for n entries, t distinct entry slots
+ * and c columns. Cells are bits of one row-major BitSet (row * columns + column)
+ */
+public class AvailabilityMatrix {
+
+    private final List<Room> rooms;
+    private final List<TimeSlot> timeSlots;
+    private final BitSet busy;
+
+    private AvailabilityMatrix(List<Room> rooms, List<TimeSlot> timeSlots, BitSet busy) {
+        this.rooms = rooms;
+        this.timeSlots = timeSlots;
+        this.busy = busy;
+    }
+
+    /**
+     * Build the matrix for the given rooms and time slots (columns ordered
+     * by start, then end); entries in other rooms are skipped
+     */
+    public static AvailabilityMatrix build(List<Room> rooms, List<TimeSlot> timeSlots, List<TimetableEntry> entries) {
+        List<TimeSlot> columns = new ArrayList<>(timeSlots);
+        columns.removeIf(slot -> !slot.hasValidTimes());
+        columns.sort(Comparator.comparingInt(TimeSlot::weekStart).thenComparingInt(TimeSlot::weekEnd));
+
+        Map<String, Integer> rows = new HashMap<>(rooms.size() * 2);
+        for (int row = 0; row < rooms.size(); row++) {
+            rows.put(rooms.get(row).getId(), row);
+        }
+
+        BitSet busy = new BitSet(rooms.size() * columns.size());
+        Map<TimeSlot, int[]> overlapping = new IdentityHashMap<>();
+        for (TimetableEntry entry : entries) {
+            Integer row = rows.get(entry.getRoom().getId());
+            if (row == null) {
+                continue;
+            }
+            // Entries share their slot objects, so this is computed once per slot
+            int[] hit = overlapping.computeIfAbsent(entry.getTimeSlot(), slot -> overlappingColumns(slot, columns));
+            for (int column : hit) {
+                busy.set(row * columns.size() + column);
+            }
+        }
+
+        return new AvailabilityMatrix(List.copyOf(rooms), List.copyOf(columns), busy);
+    }
+
+    // Columns sorted by start: stop at the first one starting after the slot ends
+    private static int[] overlappingColumns(TimeSlot slot, List<TimeSlot> columns) {
+        List<Integer> hit = new ArrayList<>();
+        for (int column = 0; column < columns.size() && columns.get(column).weekStart() < slot.weekEnd(); column++) {
+            if (columns.get(column).overlaps(slot)) {
+                hit.add(column);
+            }
+        }
+        return hit.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public List<Room> getRooms() {
+        return rooms;
+    }
+
+    public List<TimeSlot> getTimeSlots() {
+        return timeSlots;
+    }
+
+    public boolean isBusy(int row, int column) {
+        return busy.get(row * timeSlots.size() + column);
+    }
+
+    /**
+     * Free rooms per time slot, in column order (the heatmap)
+     * Time Complexity: O(r * c)
+     */
+    public int[] freeBySlot() {
+        int[] free = new int[timeSlots.size()];
+        for (int row = 0; row < rooms.size(); row++) {
+            for (int column = 0; column < free.length; column++) {
+                if (!isBusy(row, column)) {
+                    free[column]++;
+                }
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Busy cells as bytes: cell i is bit (i % 8) of byte i / 8, least
+     * significant first; trailing free cells may be left out
+     */
+    public byte[] toBytes() {
+        return busy.toByteArray();
+    }
+
+    /**
+     * Row-major run lengths, alternating free and busy, starting with free
+     * (the first run is 0 if the first cell is busy); they add up to r * c
+     * Time Complexity: O(runs)
+     */
+    public int[] runLengths() {
+        int cells = rooms.size() * timeSlots.size();
+        List<Integer> runs = new ArrayList<>();
+        int at = 0;
+        boolean free = true;
+        while (at < cells) {
+            int next = free ? busy.nextSetBit(at) : busy.nextClearBit(at);
+            if (next < 0 || next > cells) {
+                next = cells;
+            }
+            runs.add(next - at);
+            at = next;
+            free = !free;
+        }
+        return runs.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,401 @@
+package com.university.timetable.algorithm;
+
+import com.university.timetable.model.Enrollment;
+import com.university.timetable.model.TimeSlot;
+import com.university.timetable.model.TimetableEntry;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Student clash detection: which students (or cohorts) are busy in a slot
+ *
+ * Student ids are numbered densely on first use. Each course keeps the
+ * numbers of its students in a compressed (Roaring) bitmap, and each time
+ * slot with scheduled classes keeps the union of its courses' bitmaps, so
+ * "is this student busy at T1" is one bitmap lookup and the students a new
+ * class would double-book is one AND-count per overlapping slot, with no
+ * pairwise checks between classes
+ *
+ * Scheduled classes are added and removed together with the occupancy
+ * index. Safe for concurrent use: reads share a lock, changes take it alone
+ */
+public class ClashIndex {
+
+    private final Map<String, Integer> studentNumbers;
+    private final List<String> studentIds;
+    private final Map<String, RoaringBitmap> studentsByCourse;
+    private final Map<String, SlotUsage> slots;
+    private final Map<String, List<SlotUsage>> overlaps;
+    private final ReentrantReadWriteLock lock;
+
+    /**
+     * Classes scheduled in one time slot and the students they keep busy
+     */
+    private static final class SlotUsage {
+        private final TimeSlot timeSlot;
+        private final Map<String, Integer> courses;
+        private RoaringBitmap busy;
+
+        SlotUsage(TimeSlot timeSlot) {
+            this.timeSlot = timeSlot;
+            this.courses = new HashMap<>();
+            this.busy = new RoaringBitmap();
+        }
+    }
+
+    /**
+     * Students of one course who are busy in the queried slot
+     */
+    public static final class Clash {
+        private final String courseId;
+        private final int students;
+
+        public Clash(String courseId, int students) {
+            this.courseId = courseId;
+            this.students = students;
+        }
+
+        public String getCourseId() {
+            return courseId;
+        }
+
+        public int getStudents() {
+            return students;
+        }
+    }
+
+    public ClashIndex() {
+        this.studentNumbers = new HashMap<>();
+        this.studentIds = new ArrayList<>();
+        this.studentsByCourse = new HashMap<>();
+        this.slots = new HashMap<>();
+        this.overlaps = new ConcurrentHashMap<>();
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Enroll a student in a course; returns false if already enrolled
+     * Time Complexity: O(t) for t time slots in use (the course's slots
+     * get the student as busy)
+     */
+    public boolean enroll(String studentId, String courseId) {
+        lock.writeLock().lock();
+        try {
+            int number = studentNumbers.computeIfAbsent(studentId, id -> {
+                studentIds.add(id);
+                return studentIds.size() - 1;
+            });
+            if (!studentsByCourse.computeIfAbsent(courseId, id -> new RoaringBitmap()).checkedAdd(number)) {
+                return false;
+            }
+            for (SlotUsage usage : slots.values()) {
+                if (usage.courses.containsKey(courseId)) {
+                    usage.busy.add(number);
+                }
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop a student from a course; returns false if not enrolled
+     * The course's slots are recomputed, since the student may be busy there
+     * through another course
+     */
+    public boolean unenroll(String studentId, String courseId) {
+        lock.writeLock().lock();
+        try {
+            Integer number = studentNumbers.get(studentId);
+            RoaringBitmap students = studentsByCourse.get(courseId);
+            if (number == null || students == null || !students.checkedRemove(number)) {
+                return false;
+            }
+            for (SlotUsage usage : slots.values()) {
+                if (usage.courses.containsKey(courseId)) {
+                    recompute(usage);
+                }
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mark the students of a scheduled class as busy in its slot
+     * Time Complexity: O(b) for b bitmap containers of the course
+     */
+    public void add(TimetableEntry entry) {
+        lock.writeLock().lock();
+        try {
+            TimeSlot timeSlot = entry.getTimeSlot();
+            SlotUsage usage = slots.get(timeSlot.getId());
+            if (usage == null) {
+                usage = new SlotUsage(timeSlot);
+                slots.put(timeSlot.getId(), usage);
+                overlaps.clear();
+            }
+            usage.courses.merge(entry.getCourse().getId(), 1, Integer::sum);
+            RoaringBitmap students = studentsByCourse.get(entry.getCourse().getId());
+            if (students != null) {
+                usage.busy.or(students);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Undo add for a class that is unscheduled or moved
+     * Time Complexity: O(k * b) to recompute the slot from its k courses,
+     * only when the course's last class in the slot goes
+     */
+    public void remove(TimetableEntry entry) {
+        lock.writeLock().lock();
+        try {
+            SlotUsage usage = slots.get(entry.getTimeSlot().getId());
+            if (usage == null) {
+                return;
+            }
+            String courseId = entry.getCourse().getId();
+            Integer count = usage.courses.get(courseId);
+            if (count == null) {
+                return;
+            }
+            if (count > 1) {
+                usage.courses.put(courseId, count - 1);
+                return;
+            }
+            usage.courses.remove(courseId);
+            if (usage.courses.isEmpty()) {
+                slots.remove(entry.getTimeSlot().getId());
+                overlaps.clear();
+            } else if (studentsByCourse.containsKey(courseId)) {
+                recompute(usage);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether a student has a class overlapping the slot
+     * Time Complexity: O(1) - a bitmap lookup per overlapping slot in use
+     * (one when slots do not overlap each other)
+     */
+    public boolean isBusy(String studentId, TimeSlot timeSlot) {
+        lock.readLock().lock();
+        try {
+            Integer number = studentNumbers.get(studentId);
+            if (number == null) {
+                return false;
+            }
+            for (SlotUsage usage : overlapping(timeSlot)) {
+                if (usage.busy.contains(number)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Students with a class overlapping the slot, up to limit ids
+     * (0 for none, a negative limit for all); see countBusy for the total
+     */
+    public List<String> busyStudents(TimeSlot timeSlot, int limit) {
+        lock.readLock().lock();
+        try {
+            List<String> ids = new ArrayList<>();
+            if (limit != 0) {
+                for (int number : busy(timeSlot)) {
+                    if (limit > 0 && ids.size() >= limit) {
+                        break;
+                    }
+                    ids.add(studentIds.get(number));
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int countBusy(TimeSlot timeSlot) {
+        lock.readLock().lock();
+        try {
+            return busy(timeSlot).getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Students of a course who already have a class overlapping the slot,
+     * i.e. who would be double-booked if the course were scheduled there
+     * Time Complexity: O(b) - one AND-count, no bitmap is materialized
+     * unless several scheduled slots overlap the query
+     */
+    public int countClashes(String courseId, TimeSlot timeSlot) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap students = studentsByCourse.get(courseId);
+            if (students == null || students.isEmpty()) {
+                return 0;
+            }
+            List<SlotUsage> overlapping = overlapping(timeSlot);
+            if (overlapping.size() == 1) {
+                return RoaringBitmap.andCardinality(students, overlapping.get(0).busy);
+            }
+            return overlapping.isEmpty() ? 0 : RoaringBitmap.andCardinality(students, busy(overlapping));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The scheduled courses a course's students would clash with in the
+     * slot, most shared students first
+     * Time Complexity: O(k * b) for k courses scheduled in overlapping slots
+     */
+    public List<Clash> findClashes(String courseId, TimeSlot timeSlot) {
+        lock.readLock().lock();
+        try {
+            List<Clash> clashes = new ArrayList<>();
+            RoaringBitmap students = studentsByCourse.get(courseId);
+            if (students == null || students.isEmpty()) {
+                return clashes;
+            }
+            Map<String, Integer> shared = new LinkedHashMap<>();
+            for (SlotUsage usage : overlapping(timeSlot)) {
+                for (String other : usage.courses.keySet()) {
+                    RoaringBitmap otherStudents = studentsByCourse.get(other);
+                    if (otherStudents != null && !shared.containsKey(other)) {
+                        shared.put(other, RoaringBitmap.andCardinality(students, otherStudents));
+                    }
+                }
+            }
+            shared.forEach((other, count) -> {
+                if (count > 0) {
+                    clashes.add(new Clash(other, count));
+                }
+            });
+            clashes.sort((a, b) -> Integer.compare(b.getStudents(), a.getStudents()));
+            return clashes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int countStudents(String courseId) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap students = studentsByCourse.get(courseId);
+            return students == null ? 0 : students.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getStudentCount() {
+        lock.readLock().lock();
+        try {
+            return studentIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every enrollment, course by course (for snapshots)
+     * Time Complexity: O(e) for e enrollments
+     */
+    public List<Enrollment> getEnrollments() {
+        lock.readLock().lock();
+        try {
+            List<Enrollment> enrollments = new ArrayList<>();
+            for (Map.Entry<String, RoaringBitmap> course : studentsByCourse.entrySet()) {
+                for (int number : course.getValue()) {
+                    enrollments.add(new Enrollment(studentIds.get(number), course.getKey()));
+                }
+            }
+            return enrollments;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes held by the course and slot bitmaps (serialized size)
+     */
+    public long getBitmapBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (RoaringBitmap students : studentsByCourse.values()) {
+                bytes += students.getSizeInBytes();
+            }
+            for (SlotUsage usage : slots.values()) {
+                bytes += usage.busy.getSizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Slots in use that overlap the given one (itself included); worked out
+    // in O(t) once per slot and kept until a slot comes into or out of use
+    private List<SlotUsage> overlapping(TimeSlot timeSlot) {
+        return overlaps.computeIfAbsent(timeSlot.getId(), id -> {
+            List<SlotUsage> result = new ArrayList<>();
+            for (SlotUsage usage : slots.values()) {
+                if (usage.timeSlot.overlaps(timeSlot)) {
+                    result.add(usage);
+                }
+            }
+            return result;
+        });
+    }
+
+    private RoaringBitmap busy(TimeSlot timeSlot) {
+        SlotUsage exact = slots.get(timeSlot.getId());
+        List<SlotUsage> overlapping = overlapping(timeSlot);
+        if (exact != null && overlapping.size() == 1) {
+            return exact.busy;
+        }
+        return busy(overlapping);
+    }
+
+    private static RoaringBitmap busy(List<SlotUsage> usages) {
+        List<RoaringBitmap> bitmaps = new ArrayList<>(usages.size());
+        for (SlotUsage usage : usages) {
+            bitmaps.add(usage.busy);
+        }
+        return FastAggregation.or(bitmaps.iterator());
+    }
+
+    // Union of the slot's courses, after a course left or a student was dropped
+    private void recompute(SlotUsage usage) {
+        List<RoaringBitmap> bitmaps = new ArrayList<>();
+        for (String courseId : usage.courses.keySet()) {
+            RoaringBitmap students = studentsByCourse.get(courseId);
+            if (students != null) {
+                bitmaps.add(students);
+            }
+        }
+        usage.busy = bitmaps.isEmpty() ? new RoaringBitmap() : FastAggregation.or(bitmaps.iterator());
+    }
+}
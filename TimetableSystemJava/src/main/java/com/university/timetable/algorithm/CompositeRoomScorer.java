@@ -0,0 +1,111 @@
+package com.university.timetable.algorithm;
+
+import com.university.timetable.model.Room;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Weighted sum of room scoring strategies
+ *
+ * Built from a spec naming the criteria and their weights,
+ * e.g. "fit:1,building:2,type:3", or from a preset name:
+ *  smallest     fit:1 (the plain greedy choice)
+ *  utilization  utilization:1 (closest to 85% of the seats)
+ *  balanced     fit:1,building:1,type:2,continuity:1
+ * A criterion without a weight counts once
+ */
+public class CompositeRoomScorer implements RoomScoringStrategy {
+
+    public static final double TARGET_UTILIZATION = 85.0;
+
+    private static final Map<String, String> PRESETS = Map.of(
+        "smallest", "fit:1",
+        "utilization", "utilization:1",
+        "balanced", "fit:1,building:1,type:2,continuity:1"
+    );
+
+    private final String spec;
+    private final RoomScoringStrategy[] strategies;
+    private final double[] weights;
+
+    private CompositeRoomScorer(String spec, RoomScoringStrategy[] strategies, double[] weights) {
+        this.spec = spec;
+        this.strategies = strategies;
+        this.weights = weights;
+    }
+
+    /**
+     * Scorer for a preset name or a spec, or null if the spec names an
+     * unknown criterion or has a negative or unreadable weight
+     */
+    public static CompositeRoomScorer of(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String spec = name.trim().toLowerCase(Locale.ROOT);
+        spec = PRESETS.getOrDefault(spec, spec);
+
+        List<RoomScoringStrategy> strategies = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        StringBuilder normalized = new StringBuilder();
+        for (String part : spec.split(",")) {
+            String[] criterion = part.trim().split(":", 2);
+            RoomScoringStrategy strategy = criterion(criterion[0].trim());
+            Double weight = criterion.length == 1 ? Double.valueOf(1.0) : weight(criterion[1].trim());
+            if (strategy == null || weight == null) {
+                return null;
+            }
+            strategies.add(strategy);
+            weights.add(weight);
+            normalized.append(normalized.length() == 0 ? "" : ",").append(criterion[0].trim()).append(':').append(weight);
+        }
+
+        double[] weightArray = new double[weights.size()];
+        for (int i = 0; i < weightArray.length; i++) {
+            weightArray[i] = weights.get(i);
+        }
+        return new CompositeRoomScorer(normalized.toString(), strategies.toArray(new RoomScoringStrategy[0]), weightArray);
+    }
+
+    private static RoomScoringStrategy criterion(String name) {
+        return switch (name) {
+            case "fit" -> RoomScoringStrategy.smallestFit();
+            case "utilization" -> RoomScoringStrategy.utilization(TARGET_UTILIZATION);
+            case "building" -> RoomScoringStrategy.buildingProximity();
+            case "type" -> RoomScoringStrategy.roomType();
+            case "continuity" -> RoomScoringStrategy.professorContinuity();
+            default -> null;
+        };
+    }
+
+    private static Double weight(String text) {
+        try {
+            double weight = Double.parseDouble(text);
+            return weight >= 0 && Double.isFinite(weight) ? weight : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Sum of each criterion's cost times its weight
+     * Time Complexity: O(s) for s criteria
+     */
+    public double score(Room room, Request request) {
+        double total = 0;
+        for (int i = 0; i < strategies.length; i++) {
+            total += weights[i] * strategies[i].score(room, request);
+        }
+        return total;
+    }
+
+    /**
+     * Criteria and weights, e.g. "fit:1.0,building:2.0"
+     */
+    public String getSpec() {
+        return spec;
+    }
+}
@@ -0,0 +1,144 @@
+package com.university.timetable.algorithm;
+
+import com.university.timetable.model.TimetableEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scheduled entries by id, with secondary indexes by room and professor
+ * Lets a change to one resource (a room closing, a professor on leave) find
+ * the entries using it without a scan over the whole schedule
+ *
+ * Per department it also counts classes by building, so the building a
+ * department mostly teaches in (its home building) is known in O(b)
+ *
+ * An entry is replaced, never mutated, when it moves: adding an entry with
+ * a known id drops the old one from the secondary indexes.
+ * Writers for the same id must be serialised by the caller
+ */
+public class EntryIndex {
+
+    private final Map<String, TimetableEntry> byId;
+    private final Map<String, Set<String>> byRoom;
+    private final Map<String, Set<String>> byProfessor;
+    private final Map<String, Map<String, Integer>> buildingsByDepartment;
+
+    public EntryIndex() {
+        this.byId = new ConcurrentHashMap<>();
+        this.byRoom = new ConcurrentHashMap<>();
+        this.byProfessor = new ConcurrentHashMap<>();
+        this.buildingsByDepartment = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Add an entry, replacing the one with the same id
+     * Time Complexity: O(1)
+     */
+    public void add(TimetableEntry entry) {
+        TimetableEntry previous = byId.put(entry.getId(), entry);
+        if (previous != null) {
+            unlink(previous);
+        }
+        byRoom.computeIfAbsent(entry.getRoom().getId(), id -> ConcurrentHashMap.newKeySet()).add(entry.getId());
+        byProfessor.computeIfAbsent(entry.getProfessor().getId(), id -> ConcurrentHashMap.newKeySet()).add(entry.getId());
+        countBuilding(entry, 1);
+    }
+
+    /**
+     * Remove the entry with this id
+     * Returns the removed entry, or null if there was none
+     */
+    public TimetableEntry remove(String id) {
+        TimetableEntry entry = byId.remove(id);
+        if (entry != null) {
+            unlink(entry);
+        }
+        return entry;
+    }
+
+    public TimetableEntry get(String id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Entries held in a room
+     * Time Complexity: O(k) where k = entries in the room
+     */
+    public List<TimetableEntry> findByRoom(String roomId) {
+        return resolve(byRoom.get(roomId));
+    }
+
+    /**
+     * Entries taught by a professor
+     * Time Complexity: O(k) where k = entries of the professor
+     */
+    public List<TimetableEntry> findByProfessor(String professorId) {
+        return resolve(byProfessor.get(professorId));
+    }
+
+    /**
+     * Building holding most classes of a department's professors, or null
+     * if the department has none (ties go to the first name in order)
+     * Time Complexity: O(b) where b = buildings the department teaches in
+     */
+    public String homeBuilding(String department) {
+        Map<String, Integer> buildings = department == null ? null : buildingsByDepartment.get(department);
+        if (buildings == null) {
+            return null;
+        }
+
+        String home = null;
+        int most = 0;
+        for (Map.Entry<String, Integer> building : buildings.entrySet()) {
+            int count = building.getValue();
+            if (count > most || (count == most && count > 0 && building.getKey().compareTo(home) < 0)) {
+                home = building.getKey();
+                most = count;
+            }
+        }
+        return home;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    private void unlink(TimetableEntry entry) {
+        Set<String> room = byRoom.get(entry.getRoom().getId());
+        if (room != null) {
+            room.remove(entry.getId());
+        }
+        Set<String> professor = byProfessor.get(entry.getProfessor().getId());
+        if (professor != null) {
+            professor.remove(entry.getId());
+        }
+        countBuilding(entry, -1);
+    }
+
+    private void countBuilding(TimetableEntry entry, int delta) {
+        String department = entry.getProfessor().getDepartment();
+        String building = entry.getRoom().getBuilding();
+        if (department == null || building == null) {
+            return;
+        }
+        buildingsByDepartment.computeIfAbsent(department, d -> new ConcurrentHashMap<>())
+            .merge(building, delta, (count, change) -> count + change == 0 ? null : count + change);
+    }
+
+    private List<TimetableEntry> resolve(Set<String> ids) {
+        List<TimetableEntry> entries = new ArrayList<>();
+        if (ids != null) {
+            for (String id : ids) {
+                TimetableEntry entry = byId.get(id);
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,25 @@
+package com.university.timetable.algorithm;
+
+import lombok.Data;
+
+/**
+ * Settings for TimetableGenerator
+ */
+@Data
+public class GeneratorConfig {
+    // Wall-clock budget for the whole run (construction + local search)
+    private long timeBudgetMillis = 2000;
+
+    // Independent starts run in parallel; the best result wins
+    private int starts = Runtime.getRuntime().availableProcessors();
+
+    private long seed = 42;
+
+    // Stop each start's annealing after this many moves (0 = run until the budget is spent)
+    // With a limit that is reached within the budget, a seed always gives the same timetable
+    private long maxIterations = 0;
+
+    // Simulated annealing temperature at the start and at the end of the budget
+    private double initialTemperature = 50.0;
+    private double finalTemperature = 0.05;
+}
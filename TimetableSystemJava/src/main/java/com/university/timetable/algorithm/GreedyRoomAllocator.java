@@ -5,9 +5,7 @@ import com.university.timetable.model.TimetableEntry;
 import com.university.timetable.model.TimeSlot;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Greedy Algorithm for optimal classroom allocation
@@ -23,7 +21,7 @@ public class GreedyRoomAllocator {
      * 2. Is available at the given time slot
      * 3. Minimizes wasted space
      * 
-     * Time Complexity: O(n log n) for sorting + O(n) for allocation = O(n log n)
+     * Time Complexity: O(n log n) to index the rooms + O(n) for allocation = O(n log n)
      */
     public Room allocateRoom(
             int requiredCapacity, 
@@ -31,27 +29,39 @@ public class GreedyRoomAllocator {
             List<Room> allRooms, 
             List<TimetableEntry> existingEntries) {
         
+        return allocateRoom(requiredCapacity, timeSlot, allRooms, OccupancyIndex.of(existingEntries));
+    }
+    
+    /**
+     * Find the best available room for a class, answering availability
+     * from the occupancy bitsets
+     */
+    public Room allocateRoom(
+            int requiredCapacity,
+            TimeSlot timeSlot,
+            List<Room> allRooms,
+            OccupancyIndex occupancy) {
+        
         if (allRooms == null || allRooms.isEmpty()) {
             return null;
         }
         
-        // Step 1: Sort rooms by capacity (ascending) - Greedy Strategy
-        List<Room> sortedRooms = allRooms.stream()
-                .sorted(Comparator.comparingInt(Room::getCapacity))
-                .collect(Collectors.toList());
-        
-        // Step 2: Find smallest suitable room that is available
-        for (Room room : sortedRooms) {
-            // Check if room has sufficient capacity
-            if (room.getCapacity() >= requiredCapacity) {
-                // Check if room is available at this time
-                if (isRoomAvailable(room, timeSlot, existingEntries)) {
-                    return room; // Greedy choice: first suitable room
-                }
-            }
-        }
+        return allocateRoom(requiredCapacity, timeSlot, RoomIndex.of(allRooms), occupancy);
+    }
+    
+    /**
+     * Find the best available room for a class using the capacity-ordered room index
+     * Greedy choice: the first free room at or above the required capacity
+     * 
+     * Time Complexity: O(log c + s) where s = rooms skipped because they are busy
+     */
+    public Room allocateRoom(
+            int requiredCapacity,
+            TimeSlot timeSlot,
+            RoomIndex rooms,
+            OccupancyIndex occupancy) {
         
-        return null; // No suitable room found
+        return rooms.findSmallestFree(requiredCapacity, null, timeSlot, occupancy);
     }
     
     /**
@@ -64,80 +74,86 @@ public class GreedyRoomAllocator {
             List<Room> allRooms,
             List<TimetableEntry> existingEntries) {
         
+        return allocateRoomWithType(requiredCapacity, preferredType, timeSlot, allRooms, OccupancyIndex.of(existingEntries));
+    }
+    
+    /**
+     * Find the best available room with room type preference, using the occupancy bitsets
+     */
+    public Room allocateRoomWithType(
+            int requiredCapacity,
+            String preferredType,
+            TimeSlot timeSlot,
+            List<Room> allRooms,
+            OccupancyIndex occupancy) {
+        
         if (allRooms == null || allRooms.isEmpty()) {
             return null;
         }
         
+        return allocateRoomWithType(requiredCapacity, preferredType, timeSlot, RoomIndex.of(allRooms), occupancy);
+    }
+    
+    /**
+     * Find the best available room with room type preference using the room index
+     */
+    public Room allocateRoomWithType(
+            int requiredCapacity,
+            String preferredType,
+            TimeSlot timeSlot,
+            RoomIndex rooms,
+            OccupancyIndex occupancy) {
+        
         // First try to find a room of preferred type
-        List<Room> preferredRooms = allRooms.stream()
-                .filter(r -> r.getType().equalsIgnoreCase(preferredType))
-                .sorted(Comparator.comparingInt(Room::getCapacity))
-                .collect(Collectors.toList());
-        
-        for (Room room : preferredRooms) {
-            if (room.getCapacity() >= requiredCapacity) {
-                if (isRoomAvailable(room, timeSlot, existingEntries)) {
-                    return room;
-                }
-            }
+        Room room = rooms.findSmallestFree(requiredCapacity, preferredType, timeSlot, occupancy);
+        if (room != null) {
+            return room;
         }
         
         // If no preferred type room available, fall back to any suitable room
-        return allocateRoom(requiredCapacity, timeSlot, allRooms, existingEntries);
+        return allocateRoom(requiredCapacity, timeSlot, rooms, occupancy);
     }
     
     /**
-     * Check if a room is available at given time slot
+     * Get list of all available rooms for a time slot
      */
-    private boolean isRoomAvailable(Room room, TimeSlot timeSlot, List<TimetableEntry> existingEntries) {
-        if (existingEntries == null) {
-            return true;
-        }
-        
-        for (TimetableEntry entry : existingEntries) {
-            // Same room and same time slot means conflict
-            if (entry.getRoom().getId().equals(room.getId()) &&
-                hasTimeOverlap(entry.getTimeSlot(), timeSlot)) {
-                return false;
-            }
-        }
+    public List<Room> getAvailableRooms(
+            TimeSlot timeSlot,
+            List<Room> allRooms,
+            List<TimetableEntry> existingEntries) {
         
-        return true;
+        return getAvailableRooms(timeSlot, allRooms, OccupancyIndex.of(existingEntries));
     }
     
     /**
-     * Check if two time slots overlap
+     * Get list of all available rooms for a time slot, using the occupancy bitsets
      */
-    private boolean hasTimeOverlap(TimeSlot slot1, TimeSlot slot2) {
-        // Different days = no overlap
-        if (!slot1.getDay().equalsIgnoreCase(slot2.getDay())) {
-            return false;
-        }
+    public List<Room> getAvailableRooms(
+            TimeSlot timeSlot,
+            List<Room> allRooms,
+            OccupancyIndex occupancy) {
         
-        // Check time overlap: slot1.start < slot2.end AND slot2.start < slot1.end
-        return slot1.getStartTime().compareTo(slot2.getEndTime()) < 0 &&
-               slot2.getStartTime().compareTo(slot1.getEndTime()) < 0;
+        return getAvailableRooms(timeSlot, RoomIndex.of(allRooms), occupancy);
     }
     
     /**
-     * Get list of all available rooms for a time slot
+     * Get list of all available rooms for a time slot, sorted by capacity
+     * Time Complexity: O(n) where n = number of rooms, independent of scheduled entries
      */
     public List<Room> getAvailableRooms(
             TimeSlot timeSlot,
-            List<Room> allRooms,
-            List<TimetableEntry> existingEntries) {
+            RoomIndex rooms,
+            OccupancyIndex occupancy) {
         
         List<Room> availableRooms = new ArrayList<>();
         
-        for (Room room : allRooms) {
-            if (isRoomAvailable(room, timeSlot, existingEntries)) {
+        // Index is already in capacity order, no sort needed
+        for (Room room : rooms.getRooms()) {
+            if (occupancy.isRoomFree(room.getId(), timeSlot)) {
                 availableRooms.add(room);
             }
         }
         
-        // Sort by capacity for easier selection
-        availableRooms.sort(Comparator.comparingInt(Room::getCapacity));
-        
         return availableRooms;
     }
     
@@ -161,14 +177,42 @@ public class GreedyRoomAllocator {
             List<Room> allRooms,
             List<TimetableEntry> existingEntries) {
         
-        List<Room> availableRooms = getAvailableRooms(timeSlot, allRooms, existingEntries);
+        return findOptimalRoom(requiredCapacity, timeSlot, allRooms, OccupancyIndex.of(existingEntries));
+    }
+    
+    /**
+     * Find optimal room with best utilization, using the occupancy bitsets
+     */
+    public Room findOptimalRoom(
+            int requiredCapacity,
+            TimeSlot timeSlot,
+            List<Room> allRooms,
+            OccupancyIndex occupancy) {
+        
+        return findOptimalRoom(requiredCapacity, timeSlot, RoomIndex.of(allRooms), occupancy);
+    }
+    
+    /**
+     * Find optimal room with best utilization using the room index
+     * Candidates are visited in ascending capacity, so utilization only falls;
+     * the search stops at the first free room below the target
+     */
+    public Room findOptimalRoom(
+            int requiredCapacity,
+            TimeSlot timeSlot,
+            RoomIndex rooms,
+            OccupancyIndex occupancy) {
         
         Room bestRoom = null;
         double bestUtilization = 0;
         double targetUtilization = 85.0; // Target 85% capacity
         
-        for (Room room : availableRooms) {
-            if (room.getCapacity() >= requiredCapacity) {
+        for (List<Room> group : rooms.withCapacityAtLeast(requiredCapacity, null)) {
+            for (Room room : group) {
+                if (!occupancy.isRoomFree(room.getId(), timeSlot)) {
+                    continue;
+                }
+                
                 double utilization = calculateUtilization(requiredCapacity, room);
                 
                 // Prefer rooms with utilization close to target
@@ -177,10 +221,46 @@ public class GreedyRoomAllocator {
                     bestRoom = room;
                     bestUtilization = utilization;
                 }
+                
+                // Larger rooms can only move further below the target
+                if (utilization <= targetUtilization) {
+                    return bestRoom;
+                }
+            }
+        }
+        
+        return bestRoom;
+    }
+    
+    /**
+     * Find the free room with the lowest cost under a scoring strategy
+     * Candidates come from the capacity index (every room with enough seats,
+     * smallest first); only rooms that would beat the best so far are checked
+     * for availability, and ties keep the smaller room
+     * 
+     * Time Complexity: O(log c + m * (w + s)) for m candidates, w occupancy
+     * words per check and s criteria per score
+     */
+    public Room allocateRoom(
+            RoomScoringStrategy.Request request,
+            RoomIndex rooms,
+            OccupancyIndex occupancy,
+            RoomScoringStrategy strategy) {
+        
+        Room bestRoom = null;
+        double bestScore = Double.POSITIVE_INFINITY;
+        
+        for (List<Room> group : rooms.withCapacityAtLeast(Math.max(request.getStudents(), 1), null)) {
+            for (Room room : group) {
+                // Scoring is cheaper than the occupancy check, so it goes first
+                double score = strategy.score(room, request);
+                if (score < bestScore && occupancy.isRoomFree(room.getId(), request.getTimeSlot())) {
+                    bestRoom = room;
+                    bestScore = score;
+                }
             }
         }
         
         return bestRoom;
     }
 }
-
@@ -0,0 +1,247 @@
+package com.university.timetable.algorithm;
+
+import com.university.timetable.model.TimeSlot;
+import com.university.timetable.model.TimetableEntry;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Occupancy bitsets for rooms and professors
+ * Every resource gets one bit per minute of the week, so checking whether a
+ * room or professor is free for a slot is a handful of word-level ANDs
+ * instead of a scan over all scheduled entries
+ *
+ * Each day starts on a fresh word, so a slot never spans two days' words.
+ * Writers working on different days therefore never touch the same word and
+ * may run concurrently; writers for the same day must be serialised by the caller
+ *
+ * fork() freezes the current bitsets into a layer shared by both indexes;
+ * each then copies a resource's bitset into its own layer on its first
+ * change, so a fork costs O(w) per resource changed, not per resource
+ */
+public class OccupancyIndex {
+
+    private static final int WORDS_PER_DAY = (WeekTime.MINUTES_PER_DAY + 63) / 64;
+    private static final int WORDS_PER_WEEK = WORDS_PER_DAY * WeekTime.DAYS_PER_WEEK;
+
+    // Frozen layers a lookup may walk before they are merged into one
+    static final int MAX_LAYERS = 8;
+
+    private Map<String, long[]> roomBits;
+    private Map<String, long[]> professorBits;
+    private Layer base;
+
+    /**
+     * Bitsets frozen by a fork: never changed again, shared by every index above them
+     */
+    private static final class Layer {
+        private final Map<String, long[]> rooms;
+        private final Map<String, long[]> professors;
+        private final Layer parent;
+        private final int depth;
+
+        Layer(Map<String, long[]> rooms, Map<String, long[]> professors, Layer parent) {
+            this.rooms = rooms;
+            this.professors = professors;
+            this.parent = parent;
+            this.depth = parent == null ? 1 : parent.depth + 1;
+        }
+
+        long[] find(boolean room, String id) {
+            for (Layer layer = this; layer != null; layer = layer.parent) {
+                long[] bits = (room ? layer.rooms : layer.professors).get(id);
+                if (bits != null) {
+                    return bits;
+                }
+            }
+            return null;
+        }
+
+        // One layer holding the newest bitset of every resource
+        Layer flatten() {
+            if (parent == null) {
+                return this;
+            }
+            Layer below = parent.flatten();
+            Map<String, long[]> mergedRooms = new HashMap<>(below.rooms);
+            Map<String, long[]> mergedProfessors = new HashMap<>(below.professors);
+            mergedRooms.putAll(rooms);
+            mergedProfessors.putAll(professors);
+            return new Layer(mergedRooms, mergedProfessors, null);
+        }
+    }
+
+    public OccupancyIndex() {
+        this(null);
+    }
+
+    private OccupancyIndex(Layer base) {
+        this.roomBits = new ConcurrentHashMap<>();
+        this.professorBits = new ConcurrentHashMap<>();
+        this.base = base;
+    }
+
+    /**
+     * Build an index from a list of scheduled entries
+     * Time Complexity: O(m) where m = number of entries
+     */
+    public static OccupancyIndex of(List<TimetableEntry> entries) {
+        OccupancyIndex index = new OccupancyIndex();
+        if (entries != null) {
+            for (TimetableEntry entry : entries) {
+                index.occupy(entry);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Copy of this index: later changes to either one are not seen by the other
+     * O(1), except that every MAX_LAYERS-th fork merges the frozen layers
+     * (O(r) references for r resources), so a lookup walks at most MAX_LAYERS maps
+     * Caller must hold every day's lock, so no writer runs meanwhile
+     */
+    public OccupancyIndex fork() {
+        if (!roomBits.isEmpty() || !professorBits.isEmpty()) {
+            base = new Layer(roomBits, professorBits, base);
+            if (base.depth > MAX_LAYERS) {
+                base = base.flatten();
+            }
+            roomBits = new ConcurrentHashMap<>();
+            professorBits = new ConcurrentHashMap<>();
+        }
+        return new OccupancyIndex(base);
+    }
+
+    /**
+     * Mark the entry's room and professor as busy for its time slot
+     */
+    public void occupy(TimetableEntry entry) {
+        TimeSlot slot = entry.getTimeSlot();
+        setRange(writable(true, entry.getRoom().getId()), slot, true);
+        setRange(writable(false, entry.getProfessor().getId()), slot, true);
+    }
+
+    /**
+     * Free the entry's room and professor for its time slot
+     */
+    public void release(TimetableEntry entry) {
+        TimeSlot slot = entry.getTimeSlot();
+
+        if (find(true, entry.getRoom().getId()) != null) {
+            setRange(writable(true, entry.getRoom().getId()), slot, false);
+        }
+
+        if (find(false, entry.getProfessor().getId()) != null) {
+            setRange(writable(false, entry.getProfessor().getId()), slot, false);
+        }
+    }
+
+    /**
+     * Mark a room as busy for a slot without an entry (e.g. closed for maintenance)
+     * Only release it again while no entry of the room overlaps the slot
+     */
+    public void blockRoom(String roomId, TimeSlot slot) {
+        setRange(writable(true, roomId), slot, true);
+    }
+
+    public void unblockRoom(String roomId, TimeSlot slot) {
+        if (find(true, roomId) != null) {
+            setRange(writable(true, roomId), slot, false);
+        }
+    }
+
+    /**
+     * Mark a professor as busy for a slot without an entry (e.g. on leave)
+     */
+    public void blockProfessor(String professorId, TimeSlot slot) {
+        setRange(writable(false, professorId), slot, true);
+    }
+
+    public void unblockProfessor(String professorId, TimeSlot slot) {
+        if (find(false, professorId) != null) {
+            setRange(writable(false, professorId), slot, false);
+        }
+    }
+
+    /**
+     * Check if a room has no booking overlapping the slot
+     * Time Complexity: O(w) where w = 64-minute words covered by the slot
+     */
+    public boolean isRoomFree(String roomId, TimeSlot slot) {
+        return isFree(find(true, roomId), slot);
+    }
+
+    /**
+     * Check if a professor has no booking overlapping the slot
+     */
+    public boolean isProfessorFree(String professorId, TimeSlot slot) {
+        return isFree(find(false, professorId), slot);
+    }
+
+    // Newest bitset of a resource: this index's own, else the latest frozen one
+    private long[] find(boolean room, String id) {
+        long[] bits = (room ? roomBits : professorBits).get(id);
+        return bits != null || base == null ? bits : base.find(room, id);
+    }
+
+    // This index's own bitset of a resource, copied from a frozen layer on first change
+    private long[] writable(boolean room, String id) {
+        return (room ? roomBits : professorBits).computeIfAbsent(id, key -> {
+            long[] frozen = base == null ? null : base.find(room, key);
+            return frozen == null ? new long[WORDS_PER_WEEK] : frozen.clone();
+        });
+    }
+
+    private boolean isFree(long[] bits, TimeSlot slot) {
+        if (bits == null) {
+            return true;
+        }
+
+        int from = bitIndex(slot.weekStart());
+        int to = bitIndex(slot.weekEnd() - 1);
+
+        for (int word = from >>> 6; word <= to >>> 6; word++) {
+            if ((bits[word] & mask(word, from, to)) != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void setRange(long[] bits, TimeSlot slot, boolean busy) {
+        int from = bitIndex(slot.weekStart());
+        int to = bitIndex(slot.weekEnd() - 1);
+
+        for (int word = from >>> 6; word <= to >>> 6; word++) {
+            if (busy) {
+                bits[word] |= mask(word, from, to);
+            } else {
+                bits[word] &= ~mask(word, from, to);
+            }
+        }
+    }
+
+    // Bits of the given word that fall inside [from, to]
+    private static long mask(int word, int from, int to) {
+        long mask = -1L;
+        if (word == from >>> 6) {
+            mask &= -1L << (from & 63);
+        }
+        if (word == to >>> 6) {
+            mask &= -1L >>> (63 - (to & 63));
+        }
+        return mask;
+    }
+
+    // Map a minute of the week to its bit, padding each day to whole words
+    private static int bitIndex(int weekMinute) {
+        int day = weekMinute / WeekTime.MINUTES_PER_DAY;
+        int minute = weekMinute % WeekTime.MINUTES_PER_DAY;
+        return day * WORDS_PER_DAY * 64 + minute;
+    }
+}
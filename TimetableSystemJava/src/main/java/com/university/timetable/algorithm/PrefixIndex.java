@@ -0,0 +1,56 @@
+package com.university.timetable.algorithm;
+
+import java.util.List;
+
+/**
+ * Case-insensitive word dictionary with prefix lookups, used for auto-completion
+ * Words are stored and returned upper-cased
+ *
+ * Implementations:
+ *  - Trie: one HashMap node per character, simple and fast to update
+ *  - RadixTrie: path-compressed, array children, a fraction of the memory
+ */
+public interface PrefixIndex {
+
+    /**
+     * Insert a word with weight 0
+     */
+    void insert(String word);
+
+    /**
+     * Insert a word with a ranking weight, or update the weight of an existing word
+     */
+    void insert(String word, long weight);
+
+    /**
+     * Exact match
+     */
+    boolean search(String word);
+
+    /**
+     * All words with the given prefix (unordered)
+     */
+    List<String> findWithPrefix(String prefix);
+
+    /**
+     * All words with the given prefix
+     */
+    List<String> autoComplete(String prefix);
+
+    /**
+     * The best `limit` words with the given prefix, higher weight first, then alphabetical
+     */
+    List<String> autoComplete(String prefix, int limit);
+
+    /**
+     * Check if any word starts with the given prefix
+     */
+    boolean startsWith(String prefix);
+
+    /**
+     * Remove a word; returns false if it was not present
+     */
+    boolean delete(String word);
+
+    int getWordCount();
+}
@@ -0,0 +1,710 @@
+package com.university.timetable.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Radix tree (path-compressed trie) for auto-completion over large catalogues
+ * Same behaviour as Trie, including the ranked top-K caches, at a fraction
+ * of the memory:
+ *  - chains of single-child nodes are merged, so there are at most 2n nodes
+ *    for n words instead of one node per character
+ *  - children are a small array sorted by first character (binary search),
+ *    not a HashMap with boxed Character keys
+ *  - edge labels are not stored; a node keeps a reference to one word in its
+ *    subtree plus its depth, and its label is that word's characters between
+ *    the parent's depth and its own, so each word's characters exist once
+ *  - leaves keep no top-K array; a leaf's ranking is just itself
+ *
+ * Time Complexity: O(m log a) per lookup, where a = alphabet size (children per node)
+ */
+public class RadixTrie implements PrefixIndex {
+
+    // Higher weight first, ties alphabetical
+    private static final Comparator<Node> RANK =
+        Comparator.<Node>comparingLong(n -> -n.weight).thenComparing(n -> n.key);
+
+    private static final Node[] NONE = new Node[0];
+
+    private static final class Node {
+        String key;      // a word in this subtree; this node's path is key[0, depth)
+        int depth;
+        boolean terminal; // a word ends here, and then key is that word
+        long weight;
+        Node[] children; // sorted by key.charAt(depth), null for leaves
+        Node[] top;      // best words in this subtree, ranked; null means just this leaf
+
+        Node(String key, int depth) {
+            this.key = key;
+            this.depth = depth;
+        }
+
+        char label(int parentDepth) {
+            return key.charAt(parentDepth);
+        }
+    }
+
+    /**
+     * A word found by fuzzyComplete, with the edit distance between the
+     * query and the closest prefix of the word
+     */
+    public static final class FuzzyMatch {
+        private final String word;
+        private final int distance;
+        private final long weight;
+
+        FuzzyMatch(String word, int distance, long weight) {
+            this.word = word;
+            this.distance = distance;
+            this.weight = weight;
+        }
+
+        public String getWord() {
+            return word;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+
+        public long getWeight() {
+            return weight;
+        }
+    }
+
+    private final Node root;
+    private final int topK;
+    private int wordCount;
+    private int nodeCount = 1; // Kept on every change, so a gauge never walks the trie
+
+    public RadixTrie() {
+        this(Trie.DEFAULT_TOP_K);
+    }
+
+    /**
+     * @param topK number of ranked completions cached per node
+     */
+    public RadixTrie(int topK) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("topK must be at least 1");
+        }
+        this.topK = topK;
+        this.root = new Node("", 0);
+        this.root.top = NONE;
+    }
+
+    public void insert(String word) {
+        insert(word, 0);
+    }
+
+    /**
+     * Insert a word with a ranking weight, or update the weight of an existing word
+     * Time Complexity: O(m + d * K) where d = nodes on the path
+     */
+    public void insert(String word, long weight) {
+        if (word == null || word.isEmpty()) {
+            return;
+        }
+
+        word = word.toUpperCase(); // Case insensitive
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+
+        while (true) {
+            path.add(node);
+            if (node.depth == word.length()) {
+                break;
+            }
+
+            int index = childIndex(node, word.charAt(node.depth));
+            if (index < 0) {
+                Node leaf = new Node(word, word.length());
+                addChild(node, -index - 1, leaf);
+                nodeCount++;
+                path.add(leaf);
+                node = leaf;
+                break;
+            }
+
+            Node child = node.children[index];
+            int limit = Math.min(child.depth, word.length());
+            int at = node.depth;
+            while (at < limit && child.key.charAt(at) == word.charAt(at)) {
+                at++;
+            }
+            if (at == child.depth) {
+                node = child;
+                continue;
+            }
+
+            // The word leaves (or ends inside) the child's edge: split it at `at`
+            Node middle = new Node(child.key, at);
+            middle.children = new Node[] { child };
+            middle.top = ranked(child);
+            node.children[index] = middle;
+            path.add(middle);
+            nodeCount++;
+
+            if (at == word.length()) {
+                node = middle;
+            } else {
+                Node leaf = new Node(word, word.length());
+                addChild(middle, -childIndex(middle, word.charAt(at)) - 1, leaf);
+                nodeCount++;
+                path.add(leaf);
+                node = leaf;
+            }
+            break;
+        }
+
+        boolean demoted = node.terminal && weight < node.weight;
+        if (!node.terminal) {
+            wordCount++;
+        }
+        node.terminal = true;
+        node.key = word;
+        node.weight = weight;
+
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node step = path.get(i);
+            if (demoted) {
+                refresh(step);
+            } else {
+                offer(step, node);
+            }
+        }
+    }
+
+    /**
+     * Replace the contents with the given words, built bottom-up in one pass
+     * Words must be upper-case, distinct and sorted (String order); weights[i]
+     * is the weight of words.get(i)
+     * Each node is created once with its final children, and its top-K cache
+     * is merged from its children's, so nothing is split or re-ranked
+     * Time Complexity: O(c + n * K log K) for n words with c characters in all
+     */
+    public void buildFromSorted(List<String> words, long[] weights) {
+        for (int i = 1; i < words.size(); i++) {
+            if (words.get(i - 1).compareTo(words.get(i)) >= 0) {
+                throw new IllegalArgumentException("Words must be sorted and distinct: " + words.get(i));
+            }
+        }
+
+        root.terminal = false;
+        root.weight = 0;
+        root.children = null;
+        root.top = NONE;
+        wordCount = 0;
+        nodeCount = 1;
+
+        int from = 0;
+        if (!words.isEmpty() && words.get(0).isEmpty()) {
+            from = 1; // The empty word is never stored
+        }
+        root.children = buildChildren(words, weights, from, words.size(), 0);
+        refresh(root);
+    }
+
+    // Children of a node at `depth` for words[from, to), which all share that prefix
+    private Node[] buildChildren(List<String> words, long[] weights, int from, int to, int depth) {
+        List<Node> children = new ArrayList<>();
+        int start = from;
+        while (start < to) {
+            char ch = words.get(start).charAt(depth);
+            int end = start + 1;
+            while (end < to && words.get(end).charAt(depth) == ch) {
+                end++;
+            }
+            children.add(build(words, weights, start, end));
+            start = end;
+        }
+        return children.isEmpty() ? null : children.toArray(NONE);
+    }
+
+    // Node for words[from, to): its depth is their longest common prefix
+    private Node build(List<String> words, long[] weights, int from, int to) {
+        String first = words.get(from);
+        String last = words.get(to - 1);
+        int depth = 0;
+        int limit = Math.min(first.length(), last.length());
+        while (depth < limit && first.charAt(depth) == last.charAt(depth)) {
+            depth++;
+        }
+
+        Node node = new Node(first, depth);
+        nodeCount++;
+        int rest = from;
+        if (first.length() == depth) {
+            node.terminal = true;
+            node.weight = weights[from];
+            wordCount++;
+            rest++;
+        }
+        node.children = buildChildren(words, weights, rest, to, depth);
+        refresh(node);
+        return node;
+    }
+
+    public boolean search(String word) {
+        if (word == null || word.isEmpty()) {
+            return false;
+        }
+
+        word = word.toUpperCase();
+        Node node = findNode(word);
+        return node != null && node.depth == word.length() && node.terminal;
+    }
+
+    /**
+     * All words with the given prefix (unordered)
+     * Time Complexity: O(m + n) where n = number of results
+     */
+    public List<String> findWithPrefix(String prefix) {
+        List<String> results = new ArrayList<>();
+
+        if (prefix == null || prefix.isEmpty()) {
+            return results;
+        }
+
+        Node node = findNode(prefix.toUpperCase());
+        if (node != null) {
+            collectAllWords(node, results);
+        }
+        return results;
+    }
+
+    public List<String> autoComplete(String prefix) {
+        return findWithPrefix(prefix);
+    }
+
+    /**
+     * Ranked auto-complete: the best `limit` words with the given prefix
+     * Time Complexity: O(m + limit) when limit <= K, otherwise O(m + n log limit)
+     */
+    public List<String> autoComplete(String prefix, int limit) {
+        List<String> results = new ArrayList<>();
+
+        if (prefix == null || prefix.isEmpty() || limit <= 0) {
+            return results;
+        }
+
+        Node node = findNode(prefix.toUpperCase());
+        if (node == null) {
+            return results;
+        }
+
+        if (limit <= topK) {
+            if (node.top == null) {
+                results.add(node.key);
+                return results;
+            }
+            int count = Math.min(limit, node.top.length);
+            for (int i = 0; i < count; i++) {
+                results.add(node.top[i].key);
+            }
+            return results;
+        }
+
+        // Deeper than the cache: keep the best `limit` in a bounded heap (worst on top)
+        PriorityQueue<Node> best = new PriorityQueue<>(limit + 1, RANK.reversed());
+        collectBest(node, best, limit);
+        Node[] ranked = best.toArray(NONE);
+        Arrays.sort(ranked, RANK);
+        for (Node word : ranked) {
+            results.add(word.key);
+        }
+        return results;
+    }
+
+    /**
+     * Typo-tolerant auto-complete: words with a prefix within maxEdits edits
+     * of the query (insert, delete, substitute, or swap two adjacent characters)
+     * Ranked by distance, then weight, then alphabetically
+     *
+     * Walks the tree keeping one edit-distance row per character of the path
+     * (a Levenshtein automaton) and prunes a branch as soon as every cell of
+     * its row exceeds maxEdits. Once the whole query matches a path, the words
+     * below come from that node's top-K cache, so each matching subtree
+     * contributes at most K words
+     * Time Complexity: O(v * q) where v = path characters within maxEdits
+     * of the query and q = query length
+     */
+    public List<FuzzyMatch> fuzzyComplete(String query, int maxEdits, int limit) {
+        List<FuzzyMatch> results = new ArrayList<>();
+
+        if (query == null || query.isEmpty() || limit <= 0 || maxEdits < 0) {
+            return results;
+        }
+
+        String q = query.toUpperCase();
+        List<int[]> rows = new ArrayList<>();
+        int[] first = new int[q.length() + 1];
+        for (int j = 0; j <= q.length(); j++) {
+            first[j] = j;
+        }
+        rows.add(first);
+
+        Map<Node, Integer> found = new HashMap<>();
+        fuzzyWalk(root, q, maxEdits, rows, found);
+
+        List<Map.Entry<Node, Integer>> ranked = new ArrayList<>(found.entrySet());
+        ranked.sort(Map.Entry.<Node, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey(RANK)));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            Node word = ranked.get(i).getKey();
+            results.add(new FuzzyMatch(word.key, ranked.get(i).getValue(), word.weight));
+        }
+        return results;
+    }
+
+    // rows.get(node.depth) holds the distance row for the node's path
+    private void fuzzyWalk(Node node, String q, int maxEdits, List<int[]> rows, Map<Node, Integer> found) {
+        int[] row = rows.get(node.depth);
+        int distance = row[q.length()];
+        if (distance <= maxEdits) {
+            record(node, distance, found);
+            if (min(row) == distance) {
+                return; // Going deeper cannot get any closer
+            }
+        }
+
+        if (node.children == null) {
+            return;
+        }
+
+        for (Node child : node.children) {
+            if (walkEdge(node.depth, child, q, maxEdits, rows, found)) {
+                fuzzyWalk(child, q, maxEdits, rows, found);
+            }
+        }
+    }
+
+    // Advance the rows along the child's edge; false if the branch is pruned or settled
+    private boolean walkEdge(int from, Node child, String q, int maxEdits, List<int[]> rows, Map<Node, Integer> found) {
+        for (int i = from; i < child.depth; i++) {
+            int[] row = nextRow(child.key, i, q, rows);
+            int min = min(row);
+            if (min > maxEdits) {
+                return false;
+            }
+
+            int distance = row[q.length()];
+            if (i + 1 < child.depth && distance <= maxEdits) {
+                record(child, distance, found); // The query ends inside this edge
+                if (min == distance) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Distance row for path depth i + 1, from the rows for depths i and i - 1
+    private static int[] nextRow(String path, int i, String q, List<int[]> rows) {
+        int n = q.length();
+        if (rows.size() <= i + 1) {
+            rows.add(new int[n + 1]);
+        }
+
+        int[] previous = rows.get(i);
+        int[] row = rows.get(i + 1);
+        char ch = path.charAt(i);
+        row[0] = i + 1;
+
+        for (int j = 1; j <= n; j++) {
+            int cost = q.charAt(j - 1) == ch ? 0 : 1;
+            int value = Math.min(Math.min(previous[j] + 1, row[j - 1] + 1), previous[j - 1] + cost);
+            if (i > 0 && j > 1 && ch == q.charAt(j - 2) && path.charAt(i - 1) == q.charAt(j - 1)) {
+                value = Math.min(value, rows.get(i - 1)[j - 2] + 1); // Adjacent swap
+            }
+            row[j] = value;
+        }
+        return row;
+    }
+
+    private static void record(Node node, int distance, Map<Node, Integer> found) {
+        for (Node word : ranked(node)) {
+            found.merge(word, distance, Math::min);
+        }
+    }
+
+    private static int min(int[] row) {
+        int min = row[0];
+        for (int value : row) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    public boolean startsWith(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return false;
+        }
+
+        return findNode(prefix.toUpperCase()) != null;
+    }
+
+    /**
+     * Remove a word, merging nodes that are left with a single child
+     * Time Complexity: O(m + d * c * K)
+     */
+    public boolean delete(String word) {
+        if (word == null || word.isEmpty()) {
+            return false;
+        }
+
+        word = word.toUpperCase();
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        while (node.depth < word.length()) {
+            node = child(node, word);
+            if (node == null || node.depth > word.length()) {
+                return false;
+            }
+            path.add(node);
+        }
+        if (!node.terminal) {
+            return false; // Word doesn't exist
+        }
+
+        node.terminal = false;
+        node.weight = 0;
+        wordCount--;
+
+        // Walk back up: drop empty nodes, merge pass-through nodes, fix keys and caches
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            Node parent = path.get(i - 1);
+            int index = childIndex(parent, current.label(parent.depth));
+
+            if (!current.terminal && current.children == null) {
+                removeChild(parent, index);
+                nodeCount--;
+                continue;
+            }
+            if (!current.terminal && current.children.length == 1) {
+                parent.children[index] = current.children[0];
+                nodeCount--;
+                continue;
+            }
+
+            if (!current.terminal) {
+                current.key = current.children[0].key;
+            }
+            refresh(current);
+        }
+        refresh(root);
+
+        return true;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * Number of nodes, for footprint comparisons and the node gauge
+     * Time Complexity: O(1)
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    // Walks the trie; tests check the kept count against it
+    int countNodes() {
+        return countNodes(root);
+    }
+
+    private int countNodes(Node node) {
+        int count = 1;
+        if (node.children != null) {
+            for (Node child : node.children) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Deepest node whose path starts with str, or null if no word does
+     * The node's own path may continue past str (str ends inside its edge)
+     */
+    private Node findNode(String str) {
+        Node node = root;
+
+        while (node.depth < str.length()) {
+            Node next = child(node, str);
+            if (next == null) {
+                return null;
+            }
+            node = next;
+        }
+
+        return node;
+    }
+
+    // Child on the way to str, if its edge agrees with str as far as str goes
+    private Node child(Node node, String str) {
+        int index = childIndex(node, str.charAt(node.depth));
+        if (index < 0) {
+            return null;
+        }
+
+        Node child = node.children[index];
+        int limit = Math.min(child.depth, str.length());
+        for (int i = node.depth + 1; i < limit; i++) {
+            if (child.key.charAt(i) != str.charAt(i)) {
+                return null;
+            }
+        }
+        return child;
+    }
+
+    // Binary search by first label character; -(insertion point) - 1 if absent
+    private static int childIndex(Node node, char ch) {
+        Node[] children = node.children;
+        if (children == null) {
+            return -1;
+        }
+
+        int low = 0;
+        int high = children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char label = children[mid].label(node.depth);
+            if (label < ch) {
+                low = mid + 1;
+            } else if (label > ch) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -low - 1;
+    }
+
+    private static void addChild(Node node, int at, Node child) {
+        Node[] children = node.children == null ? NONE : node.children;
+        Node[] updated = new Node[children.length + 1];
+        System.arraycopy(children, 0, updated, 0, at);
+        updated[at] = child;
+        System.arraycopy(children, at, updated, at + 1, children.length - at);
+        node.children = updated;
+    }
+
+    private static void removeChild(Node node, int at) {
+        Node[] children = node.children;
+        if (children.length == 1) {
+            node.children = null;
+            return;
+        }
+        Node[] updated = new Node[children.length - 1];
+        System.arraycopy(children, 0, updated, 0, at);
+        System.arraycopy(children, at + 1, updated, at, children.length - at - 1);
+        node.children = updated;
+    }
+
+    private void collectAllWords(Node node, List<String> results) {
+        if (node.terminal) {
+            results.add(node.key);
+        }
+        if (node.children != null) {
+            for (Node child : node.children) {
+                collectAllWords(child, results);
+            }
+        }
+    }
+
+    private void collectBest(Node node, PriorityQueue<Node> best, int limit) {
+        if (node.terminal) {
+            best.add(node);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        if (node.children != null) {
+            for (Node child : node.children) {
+                collectBest(child, best, limit);
+            }
+        }
+    }
+
+    // The node's ranked words, materialising the implicit cache of a leaf
+    private static Node[] ranked(Node node) {
+        if (node.top != null) {
+            return node.top;
+        }
+        return node.terminal ? new Node[] { node } : NONE;
+    }
+
+    /**
+     * Put a word into a node's ranked cache (or move it if its weight rose)
+     * Time Complexity: O(K)
+     */
+    private void offer(Node node, Node word) {
+        if (node.children == null && node != root) {
+            node.top = null; // A leaf ranks only itself
+            return;
+        }
+
+        Node[] top = ranked(node);
+        int length = top.length;
+
+        // Drop the word's old position, if cached
+        for (int i = 0; i < length; i++) {
+            if (top[i] == word) {
+                top = top.clone();
+                System.arraycopy(top, i + 1, top, i, length - i - 1);
+                length--;
+                break;
+            }
+        }
+
+        int at = length;
+        while (at > 0 && RANK.compare(word, top[at - 1]) < 0) {
+            at--;
+        }
+        if (at >= topK) {
+            if (top != node.top) {
+                node.top = top; // A former leaf: keep its materialised cache
+            }
+            return; // Ranks below everything cached
+        }
+
+        Node[] updated = new Node[Math.min(length + 1, topK)];
+        System.arraycopy(top, 0, updated, 0, at);
+        updated[at] = word;
+        System.arraycopy(top, at, updated, at + 1, updated.length - at - 1);
+        node.top = updated;
+    }
+
+    /**
+     * Rebuild a node's cache from its own word and its children's caches
+     * Time Complexity: O(c * K log(c * K)) where c = number of children
+     */
+    private void refresh(Node node) {
+        if (node.children == null && node != root) {
+            node.top = null;
+            return;
+        }
+
+        List<Node> candidates = new ArrayList<>();
+        if (node.terminal) {
+            candidates.add(node);
+        }
+        if (node.children != null) {
+            for (Node child : node.children) {
+                candidates.addAll(Arrays.asList(ranked(child)));
+            }
+        }
+
+        candidates.sort(RANK);
+        int count = Math.min(candidates.size(), topK);
+        node.top = candidates.subList(0, count).toArray(NONE);
+    }
+}
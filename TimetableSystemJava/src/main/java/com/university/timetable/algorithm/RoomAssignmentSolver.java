@@ -0,0 +1,177 @@
+package com.university.timetable.algorithm;
+
+import com.university.timetable.model.Room;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Global room assignment for classes that share a time slot
+ * Solves a min-cost bipartite matching (Hungarian algorithm) between classes
+ * and free rooms: first place as many classes as possible, then minimise the
+ * total number of empty seats
+ *
+ * Unlike first-come greedy allocation, a small class never takes the only
+ * room a larger class could have used
+ */
+public class RoomAssignmentSolver {
+
+    /**
+     * Assign every class to a distinct room
+     * Rooms must be sorted by capacity (ascending), as returned by the room index
+     * Returns for each class the index of its room in freeRooms, or -1 if unplaced
+     *
+     * Time Complexity: O(n^2 * m) where n = classes, m = candidate rooms
+     */
+    public int[] solve(int[] requiredCapacities, List<Room> freeRooms) {
+        int n = requiredCapacities.length;
+        int[] assignment = new int[n];
+        Arrays.fill(assignment, -1);
+
+        if (n == 0 || freeRooms.isEmpty()) {
+            return assignment;
+        }
+
+        List<Integer> candidates = pruneCandidates(requiredCapacities, freeRooms);
+        if (candidates.isEmpty()) {
+            return assignment;
+        }
+
+        int roomCount = candidates.size();
+        int maxCapacity = freeRooms.get(freeRooms.size() - 1).getCapacity();
+
+        // Leaving a class unplaced costs more than any amount of wasted seats,
+        // and an undersized room costs more than leaving the class unplaced
+        long unplacedCost = (long) (maxCapacity + 1) * n + 1;
+        long infeasibleCost = unplacedCost * 2;
+
+        // Columns: candidate rooms followed by one "unplaced" column per class
+        int m = roomCount + n;
+        long[][] cost = new long[n][m];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < roomCount; j++) {
+                int capacity = freeRooms.get(candidates.get(j)).getCapacity();
+                cost[i][j] = capacity >= requiredCapacities[i]
+                        ? capacity - requiredCapacities[i]
+                        : infeasibleCost;
+            }
+            for (int j = roomCount; j < m; j++) {
+                cost[i][j] = unplacedCost;
+            }
+        }
+
+        int[] columnOf = hungarian(cost, n, m);
+        for (int i = 0; i < n; i++) {
+            int column = columnOf[i];
+            if (column < roomCount && cost[i][column] != infeasibleCost) {
+                assignment[i] = candidates.get(column);
+            }
+        }
+
+        return assignment;
+    }
+
+    /**
+     * An optimal matching only ever needs, for each class, the n smallest rooms
+     * that fit it; keep the union of those ranges
+     */
+    private List<Integer> pruneCandidates(int[] requiredCapacities, List<Room> freeRooms) {
+        int n = requiredCapacities.length;
+        boolean[] keep = new boolean[freeRooms.size()];
+
+        for (int required : requiredCapacities) {
+            int first = firstWithCapacity(freeRooms, required);
+            for (int j = first; j < freeRooms.size() && j < first + n; j++) {
+                keep[j] = true;
+            }
+        }
+
+        List<Integer> candidates = new ArrayList<>();
+        for (int j = 0; j < keep.length; j++) {
+            if (keep[j]) {
+                candidates.add(j);
+            }
+        }
+        return candidates;
+    }
+
+    // Binary search for the first room with at least the given capacity
+    private int firstWithCapacity(List<Room> rooms, int capacity) {
+        int low = 0;
+        int high = rooms.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rooms.get(mid).getCapacity() < capacity) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Hungarian algorithm with potentials for an n x m cost matrix (n <= m)
+     * Returns the column matched to each row
+     */
+    private int[] hungarian(long[][] cost, int n, int m) {
+        long[] u = new long[n + 1];
+        long[] v = new long[m + 1];
+        int[] p = new int[m + 1];
+        int[] way = new int[m + 1];
+
+        for (int i = 1; i <= n; i++) {
+            p[0] = i;
+            int j0 = 0;
+            long[] minv = new long[m + 1];
+            boolean[] used = new boolean[m + 1];
+            Arrays.fill(minv, Long.MAX_VALUE);
+
+            do {
+                used[j0] = true;
+                int i0 = p[j0];
+                long delta = Long.MAX_VALUE;
+                int j1 = 0;
+
+                for (int j = 1; j <= m; j++) {
+                    if (!used[j]) {
+                        long current = cost[i0 - 1][j - 1] - u[i0] - v[j];
+                        if (current < minv[j]) {
+                            minv[j] = current;
+                            way[j] = j0;
+                        }
+                        if (minv[j] < delta) {
+                            delta = minv[j];
+                            j1 = j;
+                        }
+                    }
+                }
+
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[p[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (p[j0] != 0);
+
+            do {
+                int j1 = way[j0];
+                p[j0] = p[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        int[] columnOf = new int[n];
+        for (int j = 1; j <= m; j++) {
+            if (p[j] != 0) {
+                columnOf[p[j] - 1] = j - 1;
+            }
+        }
+        return columnOf;
+    }
+}
@@ -0,0 +1,144 @@
+package com.university.timetable.algorithm;
+
+import com.university.timetable.model.Room;
+import com.university.timetable.model.TimeSlot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Rooms kept sorted by capacity and partitioned by room type
+ * Lets the greedy allocator jump straight to the smallest room with enough
+ * seats (ceiling lookup) instead of sorting the full room list per request
+ *
+ * Rooms with equal capacity keep their insertion order
+ */
+public class RoomIndex {
+
+    private final TreeMap<Integer, List<Room>> byCapacity;
+    private final Map<String, TreeMap<Integer, List<Room>>> byType;
+    private int size;
+
+    public RoomIndex() {
+        this.byCapacity = new TreeMap<>();
+        this.byType = new HashMap<>();
+    }
+
+    /**
+     * Build an index from a list of rooms
+     * Time Complexity: O(n log n)
+     */
+    public static RoomIndex of(List<Room> rooms) {
+        RoomIndex index = new RoomIndex();
+        if (rooms != null) {
+            for (Room room : rooms) {
+                index.add(room);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Independent copy of this index, for copy-on-write publishing
+     * Time Complexity: O(n log n)
+     */
+    public RoomIndex copy() {
+        return of(getRooms());
+    }
+
+    /**
+     * Add a room
+     * Time Complexity: O(log c) where c = number of distinct capacities
+     */
+    public void add(Room room) {
+        byCapacity.computeIfAbsent(room.getCapacity(), c -> new ArrayList<>()).add(room);
+        byType.computeIfAbsent(typeKey(room.getType()), t -> new TreeMap<>())
+              .computeIfAbsent(room.getCapacity(), c -> new ArrayList<>())
+              .add(room);
+        size++;
+    }
+
+    /**
+     * Remove a room (matched by id)
+     * Returns true if the room was indexed
+     */
+    public boolean remove(Room room) {
+        if (!removeFrom(byCapacity, room)) {
+            return false;
+        }
+
+        TreeMap<Integer, List<Room>> typed = byType.get(typeKey(room.getType()));
+        if (typed != null) {
+            removeFrom(typed, room);
+            if (typed.isEmpty()) {
+                byType.remove(typeKey(room.getType()));
+            }
+        }
+
+        size--;
+        return true;
+    }
+
+    private boolean removeFrom(TreeMap<Integer, List<Room>> map, Room room) {
+        List<Room> rooms = map.get(room.getCapacity());
+        if (rooms == null || !rooms.removeIf(r -> r.getId().equals(room.getId()))) {
+            return false;
+        }
+        if (rooms.isEmpty()) {
+            map.remove(room.getCapacity());
+        }
+        return true;
+    }
+
+    /**
+     * Smallest room with at least minCapacity seats that is free for the slot
+     * A null type means any room type
+     * Time Complexity: O(log c + s) where s = rooms skipped because they are busy
+     */
+    public Room findSmallestFree(int minCapacity, String type, TimeSlot timeSlot, OccupancyIndex occupancy) {
+        for (List<Room> rooms : withCapacityAtLeast(minCapacity, type)) {
+            for (Room room : rooms) {
+                if (occupancy.isRoomFree(room.getId(), timeSlot)) {
+                    return room;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Groups of rooms with at least minCapacity seats, in ascending capacity order
+     * A null type means any room type
+     */
+    public Collection<List<Room>> withCapacityAtLeast(int minCapacity, String type) {
+        TreeMap<Integer, List<Room>> map = type == null ? byCapacity : byType.get(typeKey(type));
+        if (map == null) {
+            return new ArrayList<>();
+        }
+        return map.tailMap(minCapacity, true).values();
+    }
+
+    /**
+     * All rooms in ascending capacity order
+     */
+    public List<Room> getRooms() {
+        List<Room> rooms = new ArrayList<>(size);
+        for (List<Room> group : byCapacity.values()) {
+            rooms.addAll(group);
+        }
+        return rooms;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static String typeKey(String type) {
+        return type == null ? "" : type.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,117 @@
+package com.university.timetable.algorithm;
+
+import com.university.timetable.model.Room;
+import com.university.timetable.model.TimeSlot;
+
+import java.util.Set;
+
+/**
+ * How well a free room suits a class, as a cost from 0 (ideal) to 1 (worst)
+ * GreedyRoomAllocator picks the candidate with the lowest cost; several
+ * strategies are weighed against each other by CompositeRoomScorer
+ *
+ * Scores must only depend on the room and the request, so a strategy can
+ * be shared between threads
+ */
+public interface RoomScoringStrategy {
+
+    double score(Room room, Request request);
+
+    /**
+     * What the class needs, and where its professor already teaches
+     */
+    final class Request {
+        private final int students;
+        private final TimeSlot timeSlot;
+        private final String roomType;
+        private final String homeBuilding;
+        private final Set<String> professorRooms;
+        private final Set<String> professorBuildings;
+
+        /**
+         * A null room type or home building means no preference
+         */
+        public Request(int students, TimeSlot timeSlot, String roomType, String homeBuilding,
+                       Set<String> professorRooms, Set<String> professorBuildings) {
+            this.students = students;
+            this.timeSlot = timeSlot;
+            this.roomType = roomType;
+            this.homeBuilding = homeBuilding;
+            this.professorRooms = professorRooms;
+            this.professorBuildings = professorBuildings;
+        }
+
+        public int getStudents() {
+            return students;
+        }
+
+        public TimeSlot getTimeSlot() {
+            return timeSlot;
+        }
+
+        public String getRoomType() {
+            return roomType;
+        }
+
+        public String getHomeBuilding() {
+            return homeBuilding;
+        }
+
+        public Set<String> getProfessorRooms() {
+            return professorRooms;
+        }
+
+        public Set<String> getProfessorBuildings() {
+            return professorBuildings;
+        }
+    }
+
+    /**
+     * Share of the room's seats left empty: the smallest room that fits wins
+     * (on its own, the same choice as allocateRoom)
+     */
+    static RoomScoringStrategy smallestFit() {
+        return (room, request) -> 1.0 - (double) request.getStudents() / room.getCapacity();
+    }
+
+    /**
+     * Distance of the room's utilization from a target percentage,
+     * relative to the target and capped at 1
+     */
+    static RoomScoringStrategy utilization(double targetPercent) {
+        return (room, request) -> {
+            double utilization = request.getStudents() * 100.0 / room.getCapacity();
+            return Math.min(1.0, Math.abs(utilization - targetPercent) / targetPercent);
+        };
+    }
+
+    /**
+     * 0 in the home building of the professor's department, else 1
+     */
+    static RoomScoringStrategy buildingProximity() {
+        return (room, request) -> request.getHomeBuilding() == null
+            || request.getHomeBuilding().equals(room.getBuilding()) ? 0.0 : 1.0;
+    }
+
+    /**
+     * 0 for a room of the requested type (e.g. a lab), else 1
+     */
+    static RoomScoringStrategy roomType() {
+        return (room, request) -> request.getRoomType() == null
+            || request.getRoomType().equalsIgnoreCase(room.getType()) ? 0.0 : 1.0;
+    }
+
+    /**
+     * Keeps a professor in the same place across the week: 0 in a room they
+     * already teach in, 0.5 in one of their buildings, else 1
+     * (0 for a professor with no classes yet)
+     */
+    static RoomScoringStrategy professorContinuity() {
+        return (room, request) -> {
+            if (request.getProfessorRooms().isEmpty() || request.getProfessorRooms().contains(room.getId())) {
+                return 0.0;
+            }
+            return request.getProfessorBuildings().contains(room.getBuilding()) ? 0.5 : 1.0;
+        };
+    }
+}
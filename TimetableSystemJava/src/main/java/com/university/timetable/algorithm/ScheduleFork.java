@@ -0,0 +1,327 @@
+package com.university.timetable.algorithm;
+
+import com.university.timetable.model.Course;
+import com.university.timetable.model.Professor;
+import com.university.timetable.model.Room;
+import com.university.timetable.model.TimeSlot;
+import com.university.timetable.model.TimetableEntry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A private, writable copy of the schedule for what-if simulation
+ *
+ * Forking is O(days): each day's AVL Tree and the occupancy index share
+ * everything with the schedule they came from and copy only what either
+ * side changes afterwards (tree paths, one bitset per resource). The room
+ * index is never changed once published, so it is shared as is. A fork
+ * therefore costs O(changes), not O(schedule)
+ *
+ * Entries are found by id, room or professor only among the known ones:
+ * those handed in when forking (the entries a scenario names) and every
+ * entry the fork has changed since. Closures (closeRoom, professorLeave)
+ * stay blocked for the rest of the fork. Not thread-safe: one fork per thread
+ */
+public class ScheduleFork implements ScheduleRepairer.Schedule {
+
+    private final AVLTree[] dayTrees;
+    private final OccupancyIndex occupancy;
+    private final RoomIndex rooms;
+    private final List<TimeSlot> timeSlots;
+    private final GreedyRoomAllocator roomAllocator;
+
+    // Known entries by id, and the first version of every entry changed here (null if added here)
+    private final Map<String, TimetableEntry> entries;
+    private final Map<String, TimetableEntry> originals;
+
+    private int sequence;
+    private int conflicts;
+    private int unplaced;
+
+    private ScheduleFork(AVLTree[] dayTrees, OccupancyIndex occupancy, RoomIndex rooms, List<TimeSlot> timeSlots,
+                         GreedyRoomAllocator roomAllocator, Map<String, TimetableEntry> entries,
+                         Map<String, TimetableEntry> originals) {
+        this.dayTrees = dayTrees;
+        this.occupancy = occupancy;
+        this.rooms = rooms;
+        this.timeSlots = timeSlots;
+        this.roomAllocator = roomAllocator;
+        this.entries = entries;
+        this.originals = originals;
+    }
+
+    /**
+     * Fork a live schedule; known lists the entries the fork will look up
+     * Caller holds every day's lock
+     * Time Complexity: O(days + k) for k known entries
+     */
+    public static ScheduleFork of(AVLTree[] dayTrees, OccupancyIndex occupancy, RoomIndex rooms,
+                                  List<TimeSlot> timeSlots, GreedyRoomAllocator roomAllocator,
+                                  Collection<TimetableEntry> known) {
+        Map<String, TimetableEntry> entries = new HashMap<>();
+        for (TimetableEntry entry : known) {
+            entries.put(entry.getId(), entry);
+        }
+        return new ScheduleFork(forkTrees(dayTrees), occupancy.fork(), rooms, timeSlots, roomAllocator,
+            entries, new LinkedHashMap<>());
+    }
+
+    /**
+     * Fork this fork, changes so far included
+     * Time Complexity: O(days + k + c) for k known entries and c changes
+     */
+    public ScheduleFork fork() {
+        ScheduleFork copy = new ScheduleFork(forkTrees(dayTrees), occupancy.fork(), rooms, timeSlots, roomAllocator,
+            new HashMap<>(entries), new LinkedHashMap<>(originals));
+        copy.sequence = sequence;
+        copy.conflicts = conflicts;
+        copy.unplaced = unplaced;
+        return copy;
+    }
+
+    private static AVLTree[] forkTrees(AVLTree[] dayTrees) {
+        AVLTree[] trees = new AVLTree[dayTrees.length];
+        for (int day = 0; day < dayTrees.length; day++) {
+            trees[day] = dayTrees[day].fork();
+        }
+        return trees;
+    }
+
+    public List<TimetableEntry> findOverlapping(TimeSlot slot) {
+        return dayTrees[slot.dayIndex()].findOverlapping(slot.weekStart(), slot.weekEnd());
+    }
+
+    public boolean add(TimetableEntry entry) {
+        if (!dayTrees[entry.getTimeSlot().dayIndex()].insert(entry)) {
+            return false;
+        }
+        occupancy.occupy(entry);
+        return true;
+    }
+
+    public void remove(TimetableEntry entry) {
+        dayTrees[entry.getTimeSlot().dayIndex()].delete(entry);
+        occupancy.release(entry);
+    }
+
+    public TimetableEntry get(String id) {
+        return entries.get(id);
+    }
+
+    /**
+     * Move a class to another time slot, room and/or professor (null keeps
+     * the current one); as moveClass, the class keeps its room if that is
+     * free, else Greedy picks one. On failure the class stays where it was
+     */
+    public boolean move(String entryId, TimeSlot timeSlot, Room room, Professor professor, Map<String, Object> result) {
+        TimetableEntry entry = entries.get(entryId);
+        if (entry == null) {
+            return failed(result, "Scheduled class not found");
+        }
+        TimeSlot targetSlot = timeSlot != null ? timeSlot : entry.getTimeSlot();
+        remove(entry);
+
+        Room targetRoom = room;
+        if (targetRoom == null) {
+            targetRoom = occupancy.isRoomFree(entry.getRoom().getId(), targetSlot)
+                ? entry.getRoom()
+                : roomAllocator.allocateRoom(students(entry), targetSlot, rooms, occupancy);
+        }
+        if (targetRoom == null) {
+            add(entry);
+            return failed(result, "No suitable room available for this time slot");
+        }
+
+        TimetableEntry moved = new TimetableEntry(entry.getId(), entry.getCourse(),
+            professor != null ? professor : entry.getProfessor(), targetRoom, targetSlot);
+        if (targetRoom.getCapacity() < students(entry)) {
+            add(entry);
+            return failed(result, "Room " + targetRoom.getRoomNumber() + " is too small for this course");
+        }
+        if (!place(moved, result)) {
+            add(entry);
+            return false;
+        }
+
+        record(entry, moved);
+        result.put("success", true);
+        result.put("entry", moved);
+        return true;
+    }
+
+    /**
+     * Take a class out of the fork's schedule
+     */
+    public boolean unschedule(String entryId, Map<String, Object> result) {
+        TimetableEntry entry = entries.get(entryId);
+        if (entry == null) {
+            return failed(result, "Scheduled class not found");
+        }
+        remove(entry);
+        record(entry, null);
+        result.put("success", true);
+        result.put("entry", entry);
+        return true;
+    }
+
+    /**
+     * Add a class; without a room Greedy picks the smallest free one that fits
+     * A class that cannot be placed counts as unplaced
+     */
+    public boolean schedule(Course course, Professor professor, TimeSlot timeSlot, Room room, Map<String, Object> result) {
+        Room target = room != null ? room
+            : roomAllocator.allocateRoom(course.getEnrolledStudents(), timeSlot, rooms, occupancy);
+        if (target == null) {
+            unplaced++;
+            return failed(result, "No suitable room available for this time slot");
+        }
+        if (target.getCapacity() < course.getEnrolledStudents()) {
+            unplaced++;
+            return failed(result, "Room " + target.getRoomNumber() + " is too small for this course");
+        }
+
+        TimetableEntry entry = new TimetableEntry("SIM" + (++sequence), course, professor, target, timeSlot);
+        if (!place(entry, result)) {
+            unplaced++;
+            return false;
+        }
+
+        record(null, entry);
+        result.put("success", true);
+        result.put("entry", entry);
+        return true;
+    }
+
+    /**
+     * Close a room (or send a professor on leave) for the given slots and
+     * re-place its classes with the ScheduleRepairer, as repairSchedule does;
+     * substitutes are the professors who may take over, best first
+     */
+    public ScheduleRepairer.Result close(Room room, Professor professor, List<TimeSlot> closure,
+                                         List<Professor> substitutes, Map<String, Object> result) {
+        List<TimetableEntry> removed = new ArrayList<>();
+        for (TimetableEntry entry : entries.values()) {
+            boolean uses = room != null
+                ? entry.getRoom().getId().equals(room.getId())
+                : entry.getProfessor().getId().equals(professor.getId());
+            if (uses && closure.stream().anyMatch(slot -> slot.overlaps(entry.getTimeSlot()))) {
+                removed.add(entry);
+            }
+        }
+
+        for (TimetableEntry entry : removed) {
+            remove(entry);
+        }
+        for (TimeSlot slot : closure) {
+            if (room != null) {
+                occupancy.blockRoom(room.getId(), slot);
+            } else {
+                occupancy.blockProfessor(professor.getId(), slot);
+            }
+        }
+
+        ScheduleRepairer.Result repaired = new ScheduleRepairer(roomAllocator)
+            .repair(removed, this, occupancy, rooms, timeSlots, entry -> substitutes);
+        for (ScheduleRepairer.Change change : repaired.getChanges()) {
+            record(change.getBefore(), change.getAfter());
+        }
+        unplaced += repaired.getUnplaced().size();
+
+        result.put("success", repaired.getUnplaced().isEmpty());
+        result.put("affected", removed.size());
+        result.put("moved", repaired.getMoved().size());
+        result.put("unscheduled", repaired.getUnplaced().size());
+        return repaired;
+    }
+
+    /**
+     * Every entry changed in this fork, first version to current version
+     * (before is null for added classes, after is null for removed ones)
+     */
+    public List<ScheduleRepairer.Change> getChanges() {
+        List<ScheduleRepairer.Change> changes = new ArrayList<>();
+        for (Map.Entry<String, TimetableEntry> original : originals.entrySet()) {
+            TimetableEntry before = original.getValue();
+            TimetableEntry after = entries.get(original.getKey());
+            if (before != null || after != null) {
+                int cost = before != null && after != null ? ScheduleRepairer.cost(before, after) : 0;
+                changes.add(new ScheduleRepairer.Change(before, after, cost));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Changes refused because the room or professor was busy (booked, closed or on leave)
+     */
+    public int getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Classes left without a room or time: added ones that did not fit and
+     * ones a closure could not re-place
+     */
+    public int getUnplaced() {
+        return unplaced;
+    }
+
+    // Insert unless the room or professor is busy; fills in the conflict otherwise
+    private boolean place(TimetableEntry entry, Map<String, Object> result) {
+        TimeSlot slot = entry.getTimeSlot();
+        if (occupancy.isRoomFree(entry.getRoom().getId(), slot)
+                && occupancy.isProfessorFree(entry.getProfessor().getId(), slot)
+                && add(entry)) {
+            return true;
+        }
+
+        conflicts++;
+        List<String> details = new ArrayList<>();
+        for (TimetableEntry existing : dayTrees[slot.dayIndex()].findConflicts(entry)) {
+            details.add("Conflict detected with: " + existing.getCourse().getName() +
+                        " at " + existing.getTimeSlot().getStartTime());
+        }
+        result.put("success", false);
+        result.put("message", details.isEmpty()
+            ? "Room is closed or professor is on leave at this time"
+            : "Scheduling conflict detected");
+        result.put("conflicts", details);
+        return false;
+    }
+
+    private void record(TimetableEntry before, TimetableEntry after) {
+        String id = before != null ? before.getId() : after.getId();
+        if (!originals.containsKey(id)) {
+            originals.put(id, before);
+        }
+        if (after != null) {
+            entries.put(id, after);
+        } else {
+            entries.remove(id);
+        }
+    }
+
+    // The fork's own tree and occupancy, for tests that check forks stay apart
+    AVLTree dayTree(int day) {
+        return dayTrees[day];
+    }
+
+    OccupancyIndex occupancy() {
+        return occupancy;
+    }
+
+    private static boolean failed(Map<String, Object> result, String message) {
+        result.put("success", false);
+        result.put("message", message);
+        return false;
+    }
+
+    private static int students(TimetableEntry entry) {
+        return entry.getCourse().getEnrolledStudents();
+    }
+}
@@ -0,0 +1,289 @@
+package com.university.timetable.algorithm;
+
+import com.university.timetable.model.Professor;
+import com.university.timetable.model.Room;
+import com.university.timetable.model.TimeSlot;
+import com.university.timetable.model.TimetableEntry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Incremental repair of a schedule after a room or professor becomes
+ * unavailable: only the entries that used the resource are re-placed, and
+ * everything else stays put unless a bounded local search shifts it
+ *
+ * The caller takes the affected entries out of the schedule and blocks the
+ * resource in the occupancy index, so "unavailable" is just "busy" here.
+ * Each entry then gets the first placement that works, least disruptive first:
+ *  1. another room in the same slot (Greedy smallest fit)
+ *  2. a substitute professor in the same slot and, if free, the same room
+ *  3. a neighbour's room in the same slot, the neighbour moving to another
+ *     free room (an ejection chain of length one, up to MAX_NEIGHBOURS tried)
+ *  4. another slot, same day and nearest start first, keeping the room if free
+ * Entries that fit nowhere are left unscheduled and reported
+ *
+ * Time Complexity: O(a * (r + k log n + s)) for a affected entries, where
+ * r = rooms skipped by Greedy, k = neighbours tried and s = time slots
+ */
+public class ScheduleRepairer {
+
+    static final int MAX_NEIGHBOURS = 32;
+
+    // Disruption cost of each kind of change, summed per entry
+    static final int ROOM_CHANGE = 1;
+    static final int PROFESSOR_CHANGE = 2;
+    static final int TIME_CHANGE = 3;
+
+    private final GreedyRoomAllocator roomAllocator;
+
+    public ScheduleRepairer(GreedyRoomAllocator roomAllocator) {
+        this.roomAllocator = roomAllocator;
+    }
+
+    /**
+     * The live schedule under repair; the caller holds the locks that keep it
+     * stable, and add/remove keep the occupancy index in step
+     */
+    public interface Schedule {
+        List<TimetableEntry> findOverlapping(TimeSlot slot);
+
+        // Insert unless it conflicts; false if it was not inserted
+        boolean add(TimetableEntry entry);
+
+        void remove(TimetableEntry entry);
+    }
+
+    /**
+     * One entry before and after the repair (after is null if it was unscheduled)
+     */
+    public static class Change {
+        private final TimetableEntry before;
+        private final TimetableEntry after;
+        private final int cost;
+
+        Change(TimetableEntry before, TimetableEntry after, int cost) {
+            this.before = before;
+            this.after = after;
+            this.cost = cost;
+        }
+
+        public TimetableEntry getBefore() {
+            return before;
+        }
+
+        public TimetableEntry getAfter() {
+            return after;
+        }
+
+        public int getCost() {
+            return cost;
+        }
+    }
+
+    /**
+     * Every entry the repair changed, affected ones and shifted neighbours
+     */
+    public static class Result {
+        private final List<Change> changes;
+
+        Result(List<Change> changes) {
+            this.changes = changes;
+        }
+
+        public List<Change> getChanges() {
+            return changes;
+        }
+
+        public List<Change> getMoved() {
+            return changes.stream().filter(change -> change.getAfter() != null).toList();
+        }
+
+        public List<Change> getUnplaced() {
+            return changes.stream().filter(change -> change.getAfter() == null).toList();
+        }
+
+        public int getCost() {
+            return changes.stream().mapToInt(Change::getCost).sum();
+        }
+    }
+
+    /**
+     * Re-place entries that were taken out of the schedule
+     * Larger classes go first: they have the fewest rooms to choose from
+     * substitutes lists the professors that may take over an entry, best first
+     */
+    public Result repair(List<TimetableEntry> removed, Schedule schedule, OccupancyIndex occupancy, RoomIndex rooms,
+                         List<TimeSlot> timeSlots, Function<TimetableEntry, List<Professor>> substitutes) {
+        Repair repair = new Repair(schedule, occupancy, rooms, timeSlots, substitutes);
+
+        List<TimetableEntry> ordered = new ArrayList<>(removed);
+        ordered.sort(Comparator.comparingInt((TimetableEntry entry) -> entry.getCourse().getEnrolledStudents()).reversed());
+        for (TimetableEntry entry : ordered) {
+            repair.touched.add(entry.getId());
+        }
+        for (TimetableEntry entry : ordered) {
+            if (!(repair.otherRoom(entry) || repair.substitute(entry) || repair.eject(entry) || repair.otherSlot(entry))) {
+                repair.changes.add(new Change(entry, null, 0));
+            }
+        }
+
+        return new Result(repair.changes);
+    }
+
+    /**
+     * Disruption cost of replacing one entry by another
+     */
+    static int cost(TimetableEntry before, TimetableEntry after) {
+        int cost = 0;
+        if (!before.getRoom().getId().equals(after.getRoom().getId())) {
+            cost += ROOM_CHANGE;
+        }
+        if (!before.getProfessor().getId().equals(after.getProfessor().getId())) {
+            cost += PROFESSOR_CHANGE;
+        }
+        if (before.getTimeSlot().weekStart() != after.getTimeSlot().weekStart()
+                || before.getTimeSlot().weekEnd() != after.getTimeSlot().weekEnd()) {
+            cost += TIME_CHANGE;
+        }
+        return cost;
+    }
+
+    // State of one repair run
+    private class Repair {
+        final Schedule schedule;
+        final OccupancyIndex occupancy;
+        final RoomIndex rooms;
+        final List<TimeSlot> timeSlots;
+        final Function<TimetableEntry, List<Professor>> substitutes;
+        final List<Change> changes = new ArrayList<>();
+
+        // Entries already changed (or being re-placed) are never shifted again
+        final Set<String> touched = new HashSet<>();
+
+        Repair(Schedule schedule, OccupancyIndex occupancy, RoomIndex rooms,
+               List<TimeSlot> timeSlots, Function<TimetableEntry, List<Professor>> substitutes) {
+            this.schedule = schedule;
+            this.occupancy = occupancy;
+            this.rooms = rooms;
+            this.timeSlots = timeSlots;
+            this.substitutes = substitutes;
+        }
+
+        boolean otherRoom(TimetableEntry entry) {
+            TimeSlot slot = entry.getTimeSlot();
+            if (!occupancy.isProfessorFree(entry.getProfessor().getId(), slot)) {
+                return false;
+            }
+            Room room = roomAllocator.allocateRoom(students(entry), slot, rooms, occupancy);
+            return room != null && place(entry, with(entry, entry.getProfessor(), room, slot));
+        }
+
+        boolean substitute(TimetableEntry entry) {
+            TimeSlot slot = entry.getTimeSlot();
+            if (occupancy.isProfessorFree(entry.getProfessor().getId(), slot)) {
+                return false;
+            }
+            Room room = roomFor(entry, slot);
+            if (room == null) {
+                return false;
+            }
+            for (Professor professor : substitutes.apply(entry)) {
+                if (occupancy.isProfessorFree(professor.getId(), slot) && place(entry, with(entry, professor, room, slot))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean eject(TimetableEntry entry) {
+            TimeSlot slot = entry.getTimeSlot();
+            if (!occupancy.isProfessorFree(entry.getProfessor().getId(), slot)) {
+                return false;
+            }
+
+            // Smallest rooms that fit first, so the neighbour is most likely to find another
+            List<TimetableEntry> neighbours = new ArrayList<>();
+            for (TimetableEntry neighbour : schedule.findOverlapping(slot)) {
+                if (neighbour.getRoom().getCapacity() >= students(entry) && !touched.contains(neighbour.getId())) {
+                    neighbours.add(neighbour);
+                }
+            }
+            neighbours.sort(Comparator.comparingInt(neighbour -> neighbour.getRoom().getCapacity()));
+
+            for (TimetableEntry neighbour : neighbours.subList(0, Math.min(MAX_NEIGHBOURS, neighbours.size()))) {
+                schedule.remove(neighbour);
+                TimetableEntry moved = with(entry, entry.getProfessor(), neighbour.getRoom(), slot);
+                if (occupancy.isRoomFree(neighbour.getRoom().getId(), slot) && schedule.add(moved)) {
+                    Room room = roomAllocator.allocateRoom(students(neighbour), neighbour.getTimeSlot(), rooms, occupancy);
+                    TimetableEntry shifted = room == null ? null
+                        : with(neighbour, neighbour.getProfessor(), room, neighbour.getTimeSlot());
+                    if (shifted != null && schedule.add(shifted)) {
+                        record(entry, moved);
+                        record(neighbour, shifted);
+                        return true;
+                    }
+                    schedule.remove(moved);
+                }
+                schedule.add(neighbour);
+            }
+            return false;
+        }
+
+        boolean otherSlot(TimetableEntry entry) {
+            TimeSlot original = entry.getTimeSlot();
+            List<TimeSlot> candidates = new ArrayList<>();
+            for (TimeSlot slot : timeSlots) {
+                if (slot.weekStart() != original.weekStart() || slot.weekEnd() != original.weekEnd()) {
+                    candidates.add(slot);
+                }
+            }
+            candidates.sort(Comparator.comparingInt((TimeSlot slot) -> slot.dayIndex() == original.dayIndex() ? 0 : 1)
+                .thenComparingInt(slot -> Math.abs(slot.weekStart() - original.weekStart())));
+
+            for (TimeSlot slot : candidates) {
+                if (!occupancy.isProfessorFree(entry.getProfessor().getId(), slot)) {
+                    continue;
+                }
+                Room room = roomFor(entry, slot);
+                if (room != null && place(entry, with(entry, entry.getProfessor(), room, slot))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // The entry's own room if free at the slot, else the smallest free one that fits
+        Room roomFor(TimetableEntry entry, TimeSlot slot) {
+            if (occupancy.isRoomFree(entry.getRoom().getId(), slot)) {
+                return entry.getRoom();
+            }
+            return roomAllocator.allocateRoom(students(entry), slot, rooms, occupancy);
+        }
+
+        boolean place(TimetableEntry entry, TimetableEntry placed) {
+            if (!schedule.add(placed)) {
+                return false;
+            }
+            record(entry, placed);
+            return true;
+        }
+
+        void record(TimetableEntry before, TimetableEntry after) {
+            touched.add(before.getId());
+            changes.add(new Change(before, after, cost(before, after)));
+        }
+    }
+
+    private static TimetableEntry with(TimetableEntry entry, Professor professor, Room room, TimeSlot slot) {
+        return new TimetableEntry(entry.getId(), entry.getCourse(), professor, room, slot);
+    }
+
+    private static int students(TimetableEntry entry) {
+        return entry.getCourse().getEnrolledStudents();
+    }
+}
@@ -0,0 +1,331 @@
+package com.university.timetable.algorithm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Auto-complete dictionary over whole terms ("ADVANCED ALGORITHMS") and the
+ * words inside them, with typo tolerance
+ *
+ * Besides the terms themselves, every suffix that starts at a word boundary
+ * ("ALGORITHMS") is kept in a second RadixTrie that points back to its terms,
+ * so a query can match any word of a term, not just the first one
+ *
+ * Prefix queries (the PrefixIndex API) only look at whole terms; fuzzyComplete
+ * adds word matches and bounded edit-distance matches
+ *
+ * Each term can carry values (e.g. the entities it was taken from), so a
+ * matched term maps straight back to what it names
+ */
+public class TermIndex<T> implements PrefixIndex {
+
+    private final RadixTrie terms;
+    private final RadixTrie suffixes;
+    private final Map<String, Map<String, Long>> termsBySuffix;
+    private final Map<String, List<T>> valuesByTerm;
+
+    /**
+     * A term to index in bulk, with its weight and the value it carries
+     */
+    public static final class Term<T> {
+        private final String text;
+        private final long weight;
+        private final T value;
+
+        public Term(String text, long weight, T value) {
+            this.text = text;
+            this.weight = weight;
+            this.value = value;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public long getWeight() {
+            return weight;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+
+    public TermIndex() {
+        this.terms = new RadixTrie();
+        this.suffixes = new RadixTrie();
+        this.termsBySuffix = new HashMap<>();
+        this.valuesByTerm = new HashMap<>();
+    }
+
+    /**
+     * Replace the contents with the given terms, as if each were inserted
+     * in order (a repeated term keeps its last weight and all its values)
+     * Terms and suffixes are sorted once and both tries built bottom-up
+     * Time Complexity: O(s log s + c) for s terms and suffixes with c characters
+     */
+    public void buildFrom(List<Term<T>> items) {
+        termsBySuffix.clear();
+        valuesByTerm.clear();
+
+        Map<String, Long> weights = new HashMap<>(items.size() * 2);
+        for (Term<T> item : items) {
+            if (item.getText() == null || item.getText().isEmpty()) {
+                continue;
+            }
+            String term = item.getText().toUpperCase();
+            weights.put(term, item.getWeight());
+            if (item.getValue() != null) {
+                valuesByTerm.computeIfAbsent(term, t -> new ArrayList<>(1)).add(item.getValue());
+            }
+        }
+        // Drop repeated values in one pass (a common name can carry thousands)
+        for (Map.Entry<String, List<T>> entry : valuesByTerm.entrySet()) {
+            if (entry.getValue().size() > 1) {
+                entry.setValue(new ArrayList<>(new LinkedHashSet<>(entry.getValue())));
+            }
+        }
+
+        List<String> sortedTerms = new ArrayList<>(weights.keySet());
+        Collections.sort(sortedTerms);
+        long[] termWeights = new long[sortedTerms.size()];
+        for (int i = 0; i < termWeights.length; i++) {
+            String term = sortedTerms.get(i);
+            termWeights[i] = weights.get(term);
+            for (String suffix : wordSuffixes(term)) {
+                termsBySuffix.computeIfAbsent(suffix, x -> new HashMap<>(2)).put(term, termWeights[i]);
+            }
+        }
+        terms.buildFromSorted(sortedTerms, termWeights);
+
+        List<String> sortedSuffixes = new ArrayList<>(termsBySuffix.keySet());
+        Collections.sort(sortedSuffixes);
+        long[] suffixWeights = new long[sortedSuffixes.size()];
+        for (int i = 0; i < suffixWeights.length; i++) {
+            suffixWeights[i] = maxWeight(termsBySuffix.get(sortedSuffixes.get(i)));
+        }
+        suffixes.buildFromSorted(sortedSuffixes, suffixWeights);
+    }
+
+    public void insert(String term) {
+        insert(term, 0);
+    }
+
+    /**
+     * Insert a term and its word suffixes
+     * Time Complexity: O(w * m * K) where w = words in the term
+     */
+    public void insert(String term, long weight) {
+        if (term == null || term.isEmpty()) {
+            return;
+        }
+
+        term = term.toUpperCase();
+        terms.insert(term, weight);
+
+        for (String suffix : wordSuffixes(term)) {
+            Map<String, Long> owners = termsBySuffix.computeIfAbsent(suffix, s -> new HashMap<>());
+            owners.put(term, weight);
+            suffixes.insert(suffix, maxWeight(owners));
+        }
+    }
+
+    /**
+     * Insert a term and attach a value to it (a term may carry several values)
+     */
+    public void insert(String term, long weight, T value) {
+        if (term == null || term.isEmpty()) {
+            return;
+        }
+
+        insert(term, weight);
+        List<T> values = valuesByTerm.computeIfAbsent(term.toUpperCase(), t -> new ArrayList<>(1));
+        if (!values.contains(value)) {
+            values.add(value);
+        }
+    }
+
+    /**
+     * Values attached to a term (empty if none)
+     * Time Complexity: O(m)
+     */
+    public List<T> valuesOf(String term) {
+        if (term == null) {
+            return List.of();
+        }
+        List<T> values = valuesByTerm.get(term.toUpperCase());
+        return values == null ? List.of() : Collections.unmodifiableList(values);
+    }
+
+    /**
+     * Detach a value from a term; the term is deleted once it has no values left
+     */
+    public boolean remove(String term, T value) {
+        if (term == null) {
+            return false;
+        }
+
+        List<T> values = valuesByTerm.get(term.toUpperCase());
+        if (values == null || !values.remove(value)) {
+            return false;
+        }
+        if (values.isEmpty()) {
+            delete(term);
+        }
+        return true;
+    }
+
+    public boolean search(String word) {
+        return terms.search(word);
+    }
+
+    public List<String> findWithPrefix(String prefix) {
+        return terms.findWithPrefix(prefix);
+    }
+
+    public List<String> autoComplete(String prefix) {
+        return terms.autoComplete(prefix);
+    }
+
+    public List<String> autoComplete(String prefix, int limit) {
+        return terms.autoComplete(prefix, limit);
+    }
+
+    /**
+     * Typo-tolerant auto-complete, best first:
+     *  1. terms starting with the query (ranked by weight)
+     *  2. terms with a later word starting with the query
+     *  3. terms or words within a few edits of the query (see maxEdits)
+     * Time Complexity: O(m + K) for 1 and 2; step 3 only runs to fill up the
+     * limit and walks the tries' Levenshtein automata
+     */
+    public List<String> fuzzyComplete(String query, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        String q = query.trim().toUpperCase();
+        Set<String> results = new LinkedHashSet<>(terms.autoComplete(q, limit));
+
+        if (results.size() < limit) {
+            for (String suffix : suffixes.autoComplete(q, limit)) {
+                addOwners(suffix, results, limit);
+            }
+        }
+
+        int edits = maxEdits(q.length());
+        if (results.size() < limit && edits > 0) {
+            List<RadixTrie.FuzzyMatch> matches = new ArrayList<>(terms.fuzzyComplete(q, edits, limit));
+            matches.addAll(suffixes.fuzzyComplete(q, edits, limit));
+            matches.sort(Comparator.comparingInt(RadixTrie.FuzzyMatch::getDistance)
+                .thenComparing(Comparator.comparingLong(RadixTrie.FuzzyMatch::getWeight).reversed()));
+
+            for (RadixTrie.FuzzyMatch match : matches) {
+                if (terms.search(match.getWord())) {
+                    addIfRoom(match.getWord(), results, limit);
+                }
+                addOwners(match.getWord(), results, limit);
+            }
+        }
+
+        return new ArrayList<>(results);
+    }
+
+    /**
+     * Edits tolerated for a query of the given length: none for 1-2 characters,
+     * one for 3-5, two for longer queries
+     */
+    public static int maxEdits(int length) {
+        if (length <= 2) {
+            return 0;
+        }
+        return length <= 5 ? 1 : 2;
+    }
+
+    public boolean startsWith(String prefix) {
+        return terms.startsWith(prefix);
+    }
+
+    public boolean delete(String term) {
+        if (term == null || !terms.delete(term)) {
+            return false;
+        }
+
+        term = term.toUpperCase();
+        valuesByTerm.remove(term);
+        for (String suffix : wordSuffixes(term)) {
+            Map<String, Long> owners = termsBySuffix.get(suffix);
+            if (owners == null) {
+                continue;
+            }
+            owners.remove(term);
+            if (owners.isEmpty()) {
+                termsBySuffix.remove(suffix);
+                suffixes.delete(suffix);
+            } else {
+                suffixes.insert(suffix, maxWeight(owners));
+            }
+        }
+        return true;
+    }
+
+    public int getWordCount() {
+        return terms.getWordCount();
+    }
+
+    /**
+     * Nodes in both tries (terms and word suffixes)
+     * Time Complexity: O(1)
+     */
+    public int getNodeCount() {
+        return terms.getNodeCount() + suffixes.getNodeCount();
+    }
+
+    // Terms owning a suffix, heaviest first
+    private void addOwners(String suffix, Set<String> results, int limit) {
+        Map<String, Long> owners = termsBySuffix.get(suffix);
+        if (owners == null) {
+            return;
+        }
+
+        List<Map.Entry<String, Long>> ranked = new ArrayList<>(owners.entrySet());
+        ranked.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        for (Map.Entry<String, Long> owner : ranked) {
+            addIfRoom(owner.getKey(), results, limit);
+        }
+    }
+
+    private static void addIfRoom(String term, Set<String> results, int limit) {
+        if (results.size() < limit) {
+            results.add(term);
+        }
+    }
+
+    /**
+     * Suffixes of a term starting at each word after the first
+     * Words are runs of letters and digits: "CS-LAB1" -> ["LAB1"]
+     */
+    static List<String> wordSuffixes(String term) {
+        List<String> result = new ArrayList<>();
+        for (int i = 1; i < term.length(); i++) {
+            if (Character.isLetterOrDigit(term.charAt(i)) && !Character.isLetterOrDigit(term.charAt(i - 1))) {
+                result.add(term.substring(i));
+            }
+        }
+        return result;
+    }
+
+    private static long maxWeight(Map<String, Long> owners) {
+        long max = Long.MIN_VALUE;
+        for (long weight : owners.values()) {
+            max = Math.max(max, weight);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,627 @@
+package com.university.timetable.algorithm;
+
+import com.university.timetable.model.Course;
+import com.university.timetable.model.Professor;
+import com.university.timetable.model.Room;
+import com.university.timetable.model.TimeSlot;
+import com.university.timetable.model.TimetableEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates a complete weekly timetable from sessions, rooms and time slots
+ *
+ * 1. Construction: most-constrained-first assignment with forward checking
+ *    (sessions whose professor has the fewest free slots go first, every
+ *    placement removes the overlapping slots from that professor's and
+ *    course's other sessions), each placed in the slot with the least wasted seats
+ * 2. Improvement: simulated annealing over relocate and swap moves, where
+ *    each move's cost change is evaluated incrementally from per-slot counters
+ *
+ * Several independent starts run in parallel and the cheapest result wins.
+ * Existing entries are treated as fixed: their rooms and professors are blocked
+ */
+public class TimetableGenerator {
+
+    // Upper bounds on a run; larger requests are rejected by the service and capped here
+    public static final int MAX_STARTS = 16;
+    public static final long MAX_TIME_BUDGET_MILLIS = 60_000;
+
+    // One pool for every run, so concurrent requests queue for the cores instead of adding threads
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), r -> daemon(r, "timetable-generator"));
+
+    /**
+     * One weekly meeting of a course, taught by a given professor
+     */
+    public static class Session {
+        private final Course course;
+        private final Professor professor;
+
+        public Session(Course course, Professor professor) {
+            this.course = course;
+            this.professor = professor;
+        }
+
+        public Course getCourse() {
+            return course;
+        }
+
+        public Professor getProfessor() {
+            return professor;
+        }
+    }
+
+    /**
+     * Placed entries (without ids) and the sessions that could not be placed
+     */
+    public static class Result {
+        private final List<TimetableEntry> entries;
+        private final List<Session> unplaced;
+        private final long cost;
+        private final long iterations;
+        private final int starts;
+
+        Result(List<TimetableEntry> entries, List<Session> unplaced, long cost, long iterations, int starts) {
+            this.entries = entries;
+            this.unplaced = unplaced;
+            this.cost = cost;
+            this.iterations = iterations;
+            this.starts = starts;
+        }
+
+        public List<TimetableEntry> getEntries() {
+            return entries;
+        }
+
+        public List<Session> getUnplaced() {
+            return unplaced;
+        }
+
+        public long getCost() {
+            return cost;
+        }
+
+        public long getIterations() {
+            return iterations;
+        }
+
+        public int getStarts() {
+            return starts;
+        }
+    }
+
+    /**
+     * Generate a timetable within the configured time budget
+     * Starts are capped at MAX_STARTS and the budget at MAX_TIME_BUDGET_MILLIS;
+     * each start is reduced to its result as soon as it finishes, so only the
+     * best one is kept
+     */
+    public Result generate(
+            List<Session> sessions,
+            List<Room> rooms,
+            List<TimeSlot> timeSlots,
+            List<TimetableEntry> fixedEntries,
+            GeneratorConfig config) {
+
+        Problem problem = new Problem(sessions, rooms, timeSlots, fixedEntries);
+        long budget = Math.min(Math.max(0, config.getTimeBudgetMillis()), MAX_TIME_BUDGET_MILLIS);
+        long deadline = System.nanoTime() + budget * 1_000_000L;
+        int starts = Math.min(Math.max(1, config.getStarts()), MAX_STARTS);
+
+        List<Future<Result>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < starts; i++) {
+                long seed = config.getSeed() + i;
+                futures.add(POOL.submit(() -> {
+                    Search search = new Search(problem, new Random(seed));
+                    search.construct();
+                    search.anneal(deadline, config);
+                    return problem.toResult(search, search.iterations, 1);
+                }));
+            }
+
+            // Ties go to the lowest seed, so with maxIterations a seed always gives the same result
+            Result best = null;
+            long iterations = 0;
+            for (int i = 0; i < futures.size(); i++) {
+                Result result = futures.get(i).get();
+                futures.set(i, null);
+                iterations += result.getIterations();
+                if (best == null || result.getCost() < best.getCost()) {
+                    best = result;
+                }
+            }
+
+            return new Result(best.getEntries(), best.getUnplaced(), best.getCost(), iterations, starts);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Timetable generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Timetable generation failed", e.getCause());
+        } finally {
+            for (Future<Result> future : futures) {
+                if (future != null) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Read-only problem data shared by all starts
+     */
+    private static class Problem {
+        final Session[] sessions;
+        final Room[] rooms;
+        final TimeSlot[] slots;
+
+        final int[] sessionProfessor;
+        final int[] sessionCourse;
+        final int[] sessionSize;
+        final int[] firstRoom;          // rooms are sorted by capacity, so fitting rooms are [firstRoom, R)
+        final int[][] candidateSlots;   // slots where the professor is not blocked by fixed entries
+        final int[][] overlapping;      // slots overlapping each slot, including itself
+        final boolean[][] roomBlocked;  // [room][slot] busy with a fixed entry
+        final int professorCount;
+        final int courseCount;
+
+        final long unplacedWeight;
+        final long conflictWeight;
+
+        Problem(List<Session> sessionList, List<Room> roomList, List<TimeSlot> slotList, List<TimetableEntry> fixedEntries) {
+            sessions = sessionList.toArray(new Session[0]);
+            rooms = roomList.stream()
+                    .sorted(Comparator.comparingInt(Room::getCapacity))
+                    .toArray(Room[]::new);
+            slots = slotList.toArray(new TimeSlot[0]);
+
+            int n = sessions.length;
+            int roomTotal = rooms.length;
+            int slotTotal = slots.length;
+
+            // Slot overlaps
+            int[] starts = new int[slotTotal];
+            int[] ends = new int[slotTotal];
+            for (int t = 0; t < slotTotal; t++) {
+                starts[t] = slots[t].weekStart();
+                ends[t] = slots[t].weekEnd();
+            }
+            overlapping = new int[slotTotal][];
+            for (int t = 0; t < slotTotal; t++) {
+                List<Integer> list = new ArrayList<>();
+                for (int u = 0; u < slotTotal; u++) {
+                    if (starts[t] < ends[u] && starts[u] < ends[t]) {
+                        list.add(u);
+                    }
+                }
+                overlapping[t] = list.stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            // Blocked cells from the fixed schedule
+            OccupancyIndex fixed = OccupancyIndex.of(fixedEntries);
+            roomBlocked = new boolean[roomTotal][slotTotal];
+            for (int r = 0; r < roomTotal; r++) {
+                for (int t = 0; t < slotTotal; t++) {
+                    roomBlocked[r][t] = !fixed.isRoomFree(rooms[r].getId(), slots[t]);
+                }
+            }
+
+            Map<String, Integer> professorIds = new HashMap<>();
+            Map<String, Integer> courseIds = new HashMap<>();
+            sessionProfessor = new int[n];
+            sessionCourse = new int[n];
+            sessionSize = new int[n];
+            firstRoom = new int[n];
+            candidateSlots = new int[n][];
+
+            int maxCapacity = 0;
+            for (Room room : rooms) {
+                maxCapacity = Math.max(maxCapacity, room.getCapacity());
+            }
+
+            for (int s = 0; s < n; s++) {
+                Session session = sessions[s];
+                sessionProfessor[s] = professorIds.computeIfAbsent(session.getProfessor().getId(), id -> professorIds.size());
+                sessionCourse[s] = courseIds.computeIfAbsent(session.getCourse().getId(), id -> courseIds.size());
+                sessionSize[s] = session.getCourse().getEnrolledStudents();
+
+                int first = 0;
+                while (first < roomTotal && rooms[first].getCapacity() < sessionSize[s]) {
+                    first++;
+                }
+                firstRoom[s] = first;
+
+                List<Integer> free = new ArrayList<>();
+                for (int t = 0; t < slotTotal; t++) {
+                    if (fixed.isProfessorFree(session.getProfessor().getId(), slots[t])) {
+                        free.add(t);
+                    }
+                }
+                candidateSlots[s] = free.stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            professorCount = professorIds.size();
+            courseCount = courseIds.size();
+
+            // Placing a class always beats any amount of wasted seats,
+            // and leaving it unplaced always beats a clash
+            unplacedWeight = maxCapacity + 1L;
+            conflictWeight = unplacedWeight * 2;
+        }
+
+        long waste(int s, int r) {
+            return rooms[r].getCapacity() - sessionSize[s];
+        }
+
+        /**
+         * Keep the best assignment, dropping any session that still clashes
+         */
+        Result toResult(Search best, long iterations, int starts) {
+            Search clean = new Search(this, new Random(0));
+            List<TimetableEntry> entries = new ArrayList<>();
+            List<Session> unplaced = new ArrayList<>();
+
+            for (int s = 0; s < sessions.length; s++) {
+                int t = best.bestSlot[s];
+                int r = best.bestRoom[s];
+                if (t >= 0 && clean.conflicts(s, t, r) == 0) {
+                    clean.place(s, t, r);
+                    entries.add(new TimetableEntry(null, sessions[s].getCourse(), sessions[s].getProfessor(), rooms[r], slots[t]));
+                } else {
+                    unplaced.add(sessions[s]);
+                }
+            }
+
+            return new Result(entries, unplaced, clean.cost, iterations, starts);
+        }
+    }
+
+    /**
+     * Mutable search state for one start
+     */
+    private static class Search {
+        final Problem problem;
+        final Random random;
+
+        final int[] slotOf;
+        final int[] roomOf;
+        final int[][] roomCount;       // [room][slot] sessions placed
+        final int[][] professorCount;  // [professor][slot]
+        final int[][] courseCount;     // [course][slot]
+        long cost;
+
+        int[] bestSlot;
+        int[] bestRoom;
+        long bestCost;
+        long iterations;
+
+        Search(Problem problem, Random random) {
+            this.problem = problem;
+            this.random = random;
+
+            int n = problem.sessions.length;
+            int slotTotal = problem.slots.length;
+            slotOf = new int[n];
+            roomOf = new int[n];
+            Arrays.fill(slotOf, -1);
+            Arrays.fill(roomOf, -1);
+            roomCount = new int[problem.rooms.length][slotTotal];
+            professorCount = new int[problem.professorCount][slotTotal];
+            courseCount = new int[problem.courseCount][slotTotal];
+            cost = problem.unplacedWeight * n;
+            saveBest();
+        }
+
+        /**
+         * Clashes the session would have at (t, r) with currently placed sessions
+         */
+        int conflicts(int s, int t, int r) {
+            int p = problem.sessionProfessor[s];
+            int c = problem.sessionCourse[s];
+            int total = 0;
+            for (int u : problem.overlapping[t]) {
+                total += roomCount[r][u] + professorCount[p][u] + courseCount[c][u];
+            }
+            return total;
+        }
+
+        /**
+         * Place an unplaced session, returning the cost change
+         */
+        long place(int s, int t, int r) {
+            long delta = problem.conflictWeight * conflicts(s, t, r) + problem.waste(s, r) - problem.unplacedWeight;
+            roomCount[r][t]++;
+            professorCount[problem.sessionProfessor[s]][t]++;
+            courseCount[problem.sessionCourse[s]][t]++;
+            slotOf[s] = t;
+            roomOf[s] = r;
+            cost += delta;
+            return delta;
+        }
+
+        /**
+         * Remove a placed session, returning the cost change
+         */
+        long unplace(int s) {
+            int t = slotOf[s];
+            int r = roomOf[s];
+            roomCount[r][t]--;
+            professorCount[problem.sessionProfessor[s]][t]--;
+            courseCount[problem.sessionCourse[s]][t]--;
+            slotOf[s] = -1;
+            roomOf[s] = -1;
+            long delta = problem.unplacedWeight - problem.conflictWeight * conflicts(s, t, r) - problem.waste(s, r);
+            cost += delta;
+            return delta;
+        }
+
+        /**
+         * Smallest room that fits the session and is free at slot t, or -1
+         */
+        int smallestFreeRoom(int s, int t) {
+            for (int r = problem.firstRoom[s]; r < problem.rooms.length; r++) {
+                if (!problem.roomBlocked[r][t] && isRoomFree(r, t)) {
+                    return r;
+                }
+            }
+            return -1;
+        }
+
+        boolean isRoomFree(int r, int t) {
+            for (int u : problem.overlapping[t]) {
+                if (roomCount[r][u] != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Slots still free for the session's professor and course
+        boolean isSlotOpen(int s, int t) {
+            int p = problem.sessionProfessor[s];
+            int c = problem.sessionCourse[s];
+            for (int u : problem.overlapping[t]) {
+                if (professorCount[p][u] != 0 || courseCount[c][u] != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int openSlots(int s) {
+            int count = 0;
+            for (int t : problem.candidateSlots[s]) {
+                if (isSlotOpen(s, t)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Most-constrained-first construction with forward checking
+         */
+        void construct() {
+            int n = problem.sessions.length;
+            int[] tieBreak = new int[n];
+            for (int s = 0; s < n; s++) {
+                tieBreak[s] = random.nextInt();
+            }
+
+            // Queue entries are {session, open slots}; stale counts are refreshed on poll
+            PriorityQueue<int[]> queue = new PriorityQueue<>((a, b) -> {
+                if (a[1] != b[1]) return Integer.compare(a[1], b[1]);
+                int bySize = Integer.compare(problem.sessionSize[b[0]], problem.sessionSize[a[0]]);
+                if (bySize != 0) return bySize;
+                return Integer.compare(tieBreak[a[0]], tieBreak[b[0]]);
+            });
+            for (int s = 0; s < n; s++) {
+                queue.add(new int[] {s, openSlots(s)});
+            }
+
+            int[] slotLoad = new int[problem.slots.length];
+            while (!queue.isEmpty()) {
+                int[] next = queue.poll();
+                int s = next[0];
+                int open = openSlots(s);
+                if (open != next[1]) {
+                    queue.add(new int[] {s, open});
+                    continue;
+                }
+
+                int bestT = -1;
+                int bestR = -1;
+                long bestWaste = Long.MAX_VALUE;
+                for (int t : problem.candidateSlots[s]) {
+                    if (!isSlotOpen(s, t)) {
+                        continue;
+                    }
+                    int r = smallestFreeRoom(s, t);
+                    if (r < 0) {
+                        continue;
+                    }
+                    long waste = problem.waste(s, r);
+                    if (waste < bestWaste || (waste == bestWaste && slotLoad[t] < slotLoad[bestT])) {
+                        bestT = t;
+                        bestR = r;
+                        bestWaste = waste;
+                    }
+                }
+
+                if (bestT >= 0) {
+                    place(s, bestT, bestR);
+                    slotLoad[bestT]++;
+                }
+            }
+
+            saveBest();
+        }
+
+        /**
+         * Simulated annealing until the deadline or the iteration limit
+         * Temperature falls geometrically from initial to final over the remaining
+         * budget, or over the iterations when they are limited
+         */
+        void anneal(long deadline, GeneratorConfig config) {
+            int n = problem.sessions.length;
+            if (n == 0 || problem.slots.length == 0 || problem.rooms.length == 0) {
+                return;
+            }
+
+            long begin = System.nanoTime();
+            double initial = config.getInitialTemperature();
+            double ratio = config.getFinalTemperature() / initial;
+            double temperature = initial;
+            long limit = config.getMaxIterations();
+
+            while (limit <= 0 || iterations < limit) {
+                if ((iterations & 1023) == 0) {
+                    long now = System.nanoTime();
+                    if (now >= deadline || Thread.currentThread().isInterrupted()) {
+                        break;
+                    }
+                    double progress = limit > 0
+                            ? (double) iterations / limit
+                            : (double) (now - begin) / Math.max(1, deadline - begin);
+                    temperature = initial * Math.pow(ratio, progress);
+                }
+                iterations++;
+
+                if (random.nextInt(4) == 0) {
+                    trySwap(temperature);
+                } else {
+                    tryRelocate(temperature);
+                }
+            }
+        }
+
+        private boolean accept(long delta, double temperature) {
+            return delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature);
+        }
+
+        private int pickSession() {
+            int n = problem.sessions.length;
+            int s = random.nextInt(n);
+            // Bias towards unplaced sessions: look a little way ahead for one
+            if (random.nextInt(4) == 0) {
+                for (int k = 0; k < 64; k++) {
+                    int candidate = (s + k) % n;
+                    if (slotOf[candidate] < 0) {
+                        return candidate;
+                    }
+                }
+            }
+            return s;
+        }
+
+        private void tryRelocate(double temperature) {
+            int s = pickSession();
+            int[] candidates = problem.candidateSlots[s];
+            if (candidates.length == 0 || problem.firstRoom[s] >= problem.rooms.length) {
+                return;
+            }
+
+            int oldT = slotOf[s];
+            int oldR = roomOf[s];
+            long delta = 0;
+            if (oldT >= 0) {
+                delta += unplace(s);
+            }
+
+            // Occasionally try leaving a clashing session out
+            int newT = -1;
+            int newR = -1;
+            if (oldT < 0 || random.nextInt(20) != 0) {
+                newT = candidates[random.nextInt(candidates.length)];
+                newR = random.nextBoolean()
+                        ? smallestFreeRoom(s, newT)
+                        : problem.firstRoom[s] + random.nextInt(problem.rooms.length - problem.firstRoom[s]);
+                if (newR < 0 || problem.roomBlocked[newR][newT]) {
+                    newT = -1;
+                }
+            }
+            if (newT >= 0) {
+                delta += place(s, newT, newR);
+            }
+
+            if (accept(delta, temperature)) {
+                recordIfBest();
+                return;
+            }
+
+            if (newT >= 0) {
+                unplace(s);
+            }
+            if (oldT >= 0) {
+                place(s, oldT, oldR);
+            }
+        }
+
+        private void trySwap(double temperature) {
+            int n = problem.sessions.length;
+            int s1 = random.nextInt(n);
+            int s2 = random.nextInt(n);
+            int t1 = slotOf[s1];
+            int t2 = slotOf[s2];
+            if (s1 == s2 || t1 < 0 || t2 < 0) {
+                return;
+            }
+
+            int r1 = roomOf[s1];
+            int r2 = roomOf[s2];
+            if (problem.rooms[r2].getCapacity() < problem.sessionSize[s1]
+                    || problem.rooms[r1].getCapacity() < problem.sessionSize[s2]
+                    || !contains(problem.candidateSlots[s1], t2)
+                    || !contains(problem.candidateSlots[s2], t1)) {
+                return;
+            }
+
+            long delta = unplace(s1) + unplace(s2);
+            delta += place(s1, t2, r2) + place(s2, t1, r1);
+
+            if (accept(delta, temperature)) {
+                recordIfBest();
+                return;
+            }
+
+            unplace(s1);
+            unplace(s2);
+            place(s1, t1, r1);
+            place(s2, t2, r2);
+        }
+
+        private static boolean contains(int[] sorted, int value) {
+            return Arrays.binarySearch(sorted, value) >= 0;
+        }
+
+        private void recordIfBest() {
+            if (cost < bestCost) {
+                saveBest();
+            }
+        }
+
+        private void saveBest() {
+            bestSlot = slotOf.clone();
+            bestRoom = roomOf.clone();
+            bestCost = cost;
+        }
+    }
+}
@@ -1,55 +1,106 @@
 package com.university.timetable.algorithm;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 
 /**
  * Trie (Prefix Tree) for fast auto-completion of course codes and room numbers
  * Provides O(m) time complexity for search where m = length of prefix
+ *
+ * Every word carries a weight (e.g. course enrolment) and every node caches
+ * the K best-ranked words below it, so a ranked top-K lookup costs O(m + K)
+ * without visiting the subtree. Ranking: higher weight first, then alphabetical
  */
-public class Trie {
-    
+public class Trie implements PrefixIndex {
+
+    public static final int DEFAULT_TOP_K = 10;
+
+    // Higher weight first, ties alphabetical
+    private static final Comparator<TrieNode> RANK =
+        Comparator.<TrieNode>comparingLong(n -> -n.weight).thenComparing(n -> n.fullWord);
+
+    private static final TrieNode[] NONE = new TrieNode[0];
+
     private class TrieNode {
         Map<Character, TrieNode> children;
         boolean isEndOfWord;
         String fullWord;
-        
+        long weight;
+        TrieNode[] top; // best words in this subtree, ranked, at most topK
+
         TrieNode() {
             children = new HashMap<>();
             isEndOfWord = false;
             fullWord = null;
+            top = NONE;
         }
     }
-    
+
     private TrieNode root;
-    
+    private final int topK;
+
     public Trie() {
+        this(DEFAULT_TOP_K);
+    }
+
+    /**
+     * @param topK number of ranked completions cached per node
+     */
+    public Trie(int topK) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("topK must be at least 1");
+        }
+        this.topK = topK;
         root = new TrieNode();
     }
-    
+
     /**
      * Insert a word into the Trie
      * Time Complexity: O(m) where m = length of word
      */
     public void insert(String word) {
+        insert(word, 0);
+    }
+
+    /**
+     * Insert a word with a ranking weight, or update the weight of an existing word
+     * Time Complexity: O(m * K), or O(m * K * c) when an existing word's
+     * weight drops (c = children per node), since the caches are rebuilt
+     */
+    public void insert(String word, long weight) {
         if (word == null || word.isEmpty()) {
             return;
         }
-        
-        TrieNode current = root;
+
         word = word.toUpperCase(); // Case insensitive
-        
-        for (char ch : word.toCharArray()) {
-            current.children.putIfAbsent(ch, new TrieNode());
-            current = current.children.get(ch);
+        TrieNode[] path = new TrieNode[word.length() + 1];
+        TrieNode current = root;
+        path[0] = current;
+
+        for (int i = 0; i < word.length(); i++) {
+            current = current.children.computeIfAbsent(word.charAt(i), ch -> new TrieNode());
+            path[i + 1] = current;
         }
-        
+
+        boolean demoted = current.isEndOfWord && weight < current.weight;
         current.isEndOfWord = true;
         current.fullWord = word;
+        current.weight = weight;
+
+        for (int i = path.length - 1; i >= 0; i--) {
+            if (demoted) {
+                refresh(path[i]);
+            } else {
+                offer(path[i], current);
+            }
+        }
     }
-    
+
     /**
      * Search for exact word match
      * Time Complexity: O(m) where m = length of word
@@ -58,68 +109,64 @@ public class Trie {
         if (word == null || word.isEmpty()) {
             return false;
         }
-        
+
         TrieNode node = findNode(word.toUpperCase());
         return node != null && node.isEndOfWord;
     }
-    
+
     /**
      * Find all words with given prefix
-     * Returns list of matching words sorted alphabetically
+     * Returns list of matching words (unordered)
      * Time Complexity: O(m + n) where m = prefix length, n = number of results
      */
     public List<String> findWithPrefix(String prefix) {
         List<String> results = new ArrayList<>();
-        
+
         if (prefix == null || prefix.isEmpty()) {
             return results;
         }
-        
+
         prefix = prefix.toUpperCase();
         TrieNode node = findNode(prefix);
-        
+
         if (node == null) {
             return results;
         }
-        
+
         // Collect all words with this prefix
-        collectAllWords(node, prefix, results);
+        collectAllWords(node, results);
         return results;
     }
-    
+
     /**
      * Find the node corresponding to a prefix/word
      */
     private TrieNode findNode(String str) {
         TrieNode current = root;
-        
-        for (char ch : str.toCharArray()) {
-            if (!current.children.containsKey(ch)) {
+
+        for (int i = 0; i < str.length(); i++) {
+            current = current.children.get(str.charAt(i));
+            if (current == null) {
                 return null;
             }
-            current = current.children.get(ch);
         }
-        
+
         return current;
     }
-    
+
     /**
      * Recursively collect all words from a given node
      */
-    private void collectAllWords(TrieNode node, String currentWord, List<String> results) {
-        if (node == null) {
-            return;
-        }
-        
+    private void collectAllWords(TrieNode node, List<String> results) {
         if (node.isEndOfWord) {
             results.add(node.fullWord);
         }
-        
-        for (Map.Entry<Character, TrieNode> entry : node.children.entrySet()) {
-            collectAllWords(entry.getValue(), currentWord + entry.getKey(), results);
+
+        for (TrieNode child : node.children.values()) {
+            collectAllWords(child, results);
         }
     }
-    
+
     /**
      * Auto-complete: suggest words based on partial input
      * Example: "CS" -> ["CS101", "CS102", "CS-LAB1"]
@@ -127,7 +174,107 @@ public class Trie {
     public List<String> autoComplete(String prefix) {
         return findWithPrefix(prefix);
     }
-    
+
+    /**
+     * Ranked auto-complete: the best `limit` words with the given prefix
+     * Time Complexity: O(m + limit) when limit <= K (served from the node cache),
+     * otherwise O(m + n log limit) over the n words under the prefix
+     */
+    public List<String> autoComplete(String prefix, int limit) {
+        List<String> results = new ArrayList<>();
+
+        if (prefix == null || prefix.isEmpty() || limit <= 0) {
+            return results;
+        }
+
+        TrieNode node = findNode(prefix.toUpperCase());
+        if (node == null) {
+            return results;
+        }
+
+        if (limit <= topK) {
+            int count = Math.min(limit, node.top.length);
+            for (int i = 0; i < count; i++) {
+                results.add(node.top[i].fullWord);
+            }
+            return results;
+        }
+
+        // Deeper than the cache: keep the best `limit` in a bounded heap (worst on top)
+        PriorityQueue<TrieNode> best = new PriorityQueue<>(limit + 1, RANK.reversed());
+        collectBest(node, best, limit);
+        TrieNode[] ranked = best.toArray(NONE);
+        Arrays.sort(ranked, RANK);
+        for (TrieNode word : ranked) {
+            results.add(word.fullWord);
+        }
+        return results;
+    }
+
+    private void collectBest(TrieNode node, PriorityQueue<TrieNode> best, int limit) {
+        if (node.isEndOfWord) {
+            best.add(node);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        for (TrieNode child : node.children.values()) {
+            collectBest(child, best, limit);
+        }
+    }
+
+    /**
+     * Put a word into a node's ranked cache (or move it if its weight rose)
+     * Time Complexity: O(K)
+     */
+    private void offer(TrieNode node, TrieNode word) {
+        TrieNode[] top = node.top;
+        int length = top.length;
+
+        // Drop the word's old position, if cached
+        for (int i = 0; i < length; i++) {
+            if (top[i] == word) {
+                top = top.clone();
+                System.arraycopy(top, i + 1, top, i, length - i - 1);
+                length--;
+                break;
+            }
+        }
+
+        int at = length;
+        while (at > 0 && RANK.compare(word, top[at - 1]) < 0) {
+            at--;
+        }
+        if (at >= topK) {
+            return; // Ranks below everything cached
+        }
+
+        TrieNode[] updated = new TrieNode[Math.min(length + 1, topK)];
+        System.arraycopy(top, 0, updated, 0, at);
+        updated[at] = word;
+        System.arraycopy(top, at, updated, at + 1, updated.length - at - 1);
+        node.top = updated;
+    }
+
+    /**
+     * Rebuild a node's cache from its own word and its children's caches
+     * Time Complexity: O(c * K log(c * K)) where c = number of children
+     */
+    private void refresh(TrieNode node) {
+        List<TrieNode> candidates = new ArrayList<>();
+        if (node.isEndOfWord) {
+            candidates.add(node);
+        }
+        for (TrieNode child : node.children.values()) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+
+        candidates.sort(RANK);
+        int count = Math.min(candidates.size(), topK);
+        node.top = candidates.subList(0, count).toArray(NONE);
+    }
+
     /**
      * Check if any word starts with the given prefix
      */
@@ -135,10 +282,10 @@ public class Trie {
         if (prefix == null || prefix.isEmpty()) {
             return false;
         }
-        
+
         return findNode(prefix.toUpperCase()) != null;
     }
-    
+
     /**
      * Delete a word from the Trie
      */
@@ -146,56 +293,59 @@ public class Trie {
         if (word == null || word.isEmpty()) {
             return false;
         }
-        
-        return deleteHelper(root, word.toUpperCase(), 0);
+
+        word = word.toUpperCase();
+        TrieNode node = findNode(word);
+        if (node == null || !node.isEndOfWord) {
+            return false; // Word doesn't exist
+        }
+
+        deleteHelper(root, word, 0);
+        return true;
     }
-    
+
+    // Returns true if the node can be removed from its parent;
+    // caches along the path are rebuilt on the way back up
     private boolean deleteHelper(TrieNode current, String word, int index) {
         if (index == word.length()) {
-            if (!current.isEndOfWord) {
-                return false; // Word doesn't exist
-            }
             current.isEndOfWord = false;
             current.fullWord = null;
+            current.weight = 0;
+            refresh(current);
             return current.children.isEmpty();
         }
-        
+
         char ch = word.charAt(index);
         TrieNode node = current.children.get(ch);
-        
-        if (node == null) {
-            return false; // Word doesn't exist
-        }
-        
+
         boolean shouldDeleteCurrentNode = deleteHelper(node, word, index + 1);
-        
+
         if (shouldDeleteCurrentNode) {
             current.children.remove(ch);
-            return current.children.isEmpty() && !current.isEndOfWord;
         }
-        
-        return false;
+        refresh(current);
+
+        return current.children.isEmpty() && !current.isEndOfWord;
     }
-    
+
     /**
      * Get total number of words in the Trie
      */
     public int getWordCount() {
         return countWords(root);
     }
-    
+
     private int countWords(TrieNode node) {
         if (node == null) {
             return 0;
         }
-        
+
         int count = node.isEndOfWord ? 1 : 0;
-        
+
         for (TrieNode child : node.children.values()) {
             count += countWords(child);
         }
-        
+
         return count;
     }
 }
-
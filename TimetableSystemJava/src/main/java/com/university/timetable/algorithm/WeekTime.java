@@ -0,0 +1,98 @@
+package com.university.timetable.algorithm;
+
+/**
+ * Week-minute constants and the day/time parsing behind TimeSlot's
+ * cached numeric range (minutes since Monday 00:00)
+ */
+public final class WeekTime {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int DAYS_PER_WEEK = 7;
+    public static final int MINUTES_PER_WEEK = MINUTES_PER_DAY * DAYS_PER_WEEK;
+
+    private static final String[] DAY_NAMES = {
+        "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"
+    };
+
+    private WeekTime() {
+    }
+
+    /**
+     * Day ordinal (Monday = 0 ... Sunday = 6), or -1 if the name is not a weekday
+     */
+    public static int dayOrdinal(String day) {
+        if (day == null) {
+            return -1;
+        }
+
+        String trimmed = day.trim();
+        for (int i = 0; i < DAY_NAMES.length; i++) {
+            if (DAY_NAMES[i].equalsIgnoreCase(trimmed)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Day name of an ordinal (0 = "Monday")
+     */
+    public static String dayName(int ordinal) {
+        return DAY_NAMES[ordinal];
+    }
+
+    /**
+     * Parse "H:mm" or "HH:mm" into minutes since midnight
+     */
+    public static int minuteOfDay(String time) {
+        int minute = parseMinuteOfDay(time);
+        if (minute < 0) {
+            throw invalidTime(time);
+        }
+        return minute;
+    }
+
+    /**
+     * Parse "H:mm" or "HH:mm" into minutes since midnight, or -1 if it is not
+     * a valid time; never throws, for callers that only need to know
+     */
+    public static int parseMinuteOfDay(String time) {
+        if (time == null) {
+            return -1;
+        }
+
+        String trimmed = time.trim();
+        int colon = trimmed.indexOf(':');
+        if (colon < 1 || colon > 2 || trimmed.length() != colon + 3) {
+            return -1;
+        }
+
+        int hours = digits(trimmed, 0, colon);
+        int minutes = digits(trimmed, colon + 1, colon + 3);
+        if (hours < 0 || minutes < 0 || hours > 24 || minutes > 59 || (hours == 24 && minutes != 0)) {
+            return -1;
+        }
+        return hours * 60 + minutes;
+    }
+
+    /**
+     * The error minuteOfDay throws for a time that does not parse
+     */
+    public static IllegalArgumentException invalidTime(String time) {
+        return new IllegalArgumentException(time == null ? "Time is required" : "Invalid time: " + time);
+    }
+
+    // Value of the decimal digits in text[from, to), or -1 if any is not a digit
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char ch = text.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return -1;
+            }
+            value = value * 10 + (ch - '0');
+        }
+        return value;
+    }
+}
@@ -1,13 +1,33 @@
 package com.university.timetable.controller;
 
+import com.university.timetable.algorithm.AvailabilityMatrix;
+import com.university.timetable.algorithm.WeekTime;
+import com.university.timetable.export.ExportFormat;
+import com.university.timetable.export.ExportService;
+import com.university.timetable.ingest.ImportFormat;
+import com.university.timetable.ingest.ImportKind;
+import com.university.timetable.ingest.ImportService;
 import com.university.timetable.model.*;
+import com.university.timetable.service.ScheduleSnapshot;
 import com.university.timetable.service.SchedulingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api")
@@ -17,12 +37,21 @@ public class TimetableController {
     @Autowired
     private SchedulingService schedulingService;
 
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private ExportService exportService;
+
     // ========== SMART SCHEDULING ENDPOINTS (Using AVL Tree, Trie, Greedy) ==========
     
     /**
      * Schedule a class using:
      * - Greedy Algorithm for room allocation
      * - AVL Tree for conflict detection
+     * Optional "strategy" scores the free rooms instead of taking the smallest:
+     * "smallest", "utilization", "balanced" or weights such as
+     * "fit:1,building:2,type:2,continuity:1"; "roomType" names a preferred type
      */
     @PostMapping("/schedule")
     public ResponseEntity<?> scheduleClass(@RequestBody Map<String, String> request) {
@@ -30,7 +59,8 @@ public class TimetableController {
         String professorId = request.get("professorId");
         String timeSlotId = request.get("timeSlotId");
         
-        Map<String, Object> result = schedulingService.scheduleClass(courseId, professorId, timeSlotId);
+        Map<String, Object> result = schedulingService.scheduleClass(
+            courseId, professorId, timeSlotId, request.get("strategy"), request.get("roomType"));
         
         if ((Boolean) result.get("success")) {
             return ResponseEntity.ok(result);
@@ -39,24 +69,166 @@ public class TimetableController {
         }
     }
     
+    @GetMapping("/schedule/{id}")
+    public ResponseEntity<TimetableEntry> getScheduledClass(@PathVariable String id) {
+        return found(schedulingService.findEntryById(id));
+    }
+
+    /**
+     * Unschedule a class: O(log n) removal from the AVL Tree, and its room
+     * and professor become free again
+     * Example: DELETE /api/schedule/TE3
+     */
+    @DeleteMapping("/schedule/{id}")
+    public ResponseEntity<?> unscheduleClass(@PathVariable String id) {
+        return changed(schedulingService.unscheduleClass(id));
+    }
+
+    /**
+     * Move a class to another time slot, room and/or professor, or swap its
+     * time slot and room with another class; nothing changes on a conflict
+     * Example body: {"timeSlotId": "T4"}, {"roomId": "R2", "professorId": "P3"}
+     *   or {"swapWith": "TE7"}
+     * (without a roomId the class keeps its room if free, else Greedy picks one)
+     */
+    @PatchMapping("/schedule/{id}")
+    public ResponseEntity<?> rescheduleClass(@PathVariable String id, @RequestBody Map<String, String> request) {
+        if (request.get("swapWith") != null) {
+            return changed(schedulingService.swapClasses(id, request.get("swapWith")));
+        }
+        return changed(schedulingService.moveClass(id, request));
+    }
+
+    // 200 on success, 404 if a class is unknown, else 400 (conflict, no room, ...)
+    private ResponseEntity<?> changed(Map<String, Object> result) {
+        if ((Boolean) result.get("success")) {
+            return ResponseEntity.ok(result);
+        }
+        if ("Scheduled class not found".equals(result.get("message"))) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(result);
+        }
+        return ResponseEntity.badRequest().body(result);
+    }
+
+    /**
+     * Schedule many classes at once
+     * Rooms are assigned per time slot with a global min-cost matching
+     * Example body: [{"courseId": "C1", "professorId": "P1", "timeSlotId": "T1"}, ...]
+     */
+    @PostMapping("/schedule/batch")
+    public Map<String, Object> scheduleBatch(@RequestBody List<Map<String, String>> requests) {
+        return schedulingService.scheduleBatch(requests);
+    }
+    
+    /**
+     * Generate the weekly timetable for all unscheduled courses
+     * (constraint propagation + simulated annealing, parallel multi-start)
+     * Example body: {"timeBudgetMs": 5000, "starts": 8, "apply": true}
+     * (timeBudgetMs at most 60000, starts at most 16; larger values are a 400)
+     */
+    @PostMapping("/timetable/generate")
+    public ResponseEntity<Map<String, Object>> generateTimetable(@RequestBody(required = false) Map<String, Object> request) {
+        Map<String, Object> result = schedulingService.generateTimetable(request);
+        if (result.containsKey("message")) {
+            return ResponseEntity.badRequest().body(result);
+        }
+        return ResponseEntity.ok(result);
+    }
+    
+    /**
+     * Re-place the classes of a closed room or a professor on leave, moving
+     * as little as possible (other room, substitute, shifted neighbour, other slot)
+     * Example body: {"roomId": "R2", "days": ["Monday"], "apply": true}
+     *   or {"professorId": "P1", "timeSlotIds": ["T1", "T2"]} (preview)
+     * Returns the diff: {"moved": [{"id", "before", "after", "shifted", ...}], "unscheduled": [...], ...}
+     */
+    @PostMapping("/repair")
+    public ResponseEntity<Map<String, Object>> repairSchedule(@RequestBody Map<String, Object> request) {
+        Map<String, Object> result = schedulingService.repairSchedule(request);
+        if (result.containsKey("message")) {
+            return ResponseEntity.badRequest().body(result);
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * What-if simulation: apply each scenario to its own fork of the schedule
+     * (in parallel, the live timetable is never changed) and compare them
+     * Example body: {"scenarios": [
+     *   {"name": "CS501 on Tuesday", "changes": [{"type": "move", "entryId": "TE1", "timeSlotId": "T4"}]},
+     *   {"name": "LAB2 closed", "changes": [{"type": "closeRoom", "roomId": "R5"}]}]}
+     * Returns the baseline and per scenario: conflicts, unplaced, utilization, changed entries
+     */
+    @PostMapping("/simulate")
+    public ResponseEntity<Map<String, Object>> simulate(@RequestBody Map<String, Object> request) {
+        Map<String, Object> result = schedulingService.simulate(request);
+        if (!(Boolean) result.get("success")) {
+            return ResponseEntity.badRequest().body(result);
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Bulk import from a streamed CSV (header row first) or NDJSON body
+     * Kinds: courses, rooms, professors, timeslots, entries, enrollments
+     * Format from ?format=csv|ndjson or the Content-Type (text/csv, application/x-ndjson)
+     * Example: POST /api/import/courses (text/csv)
+     *   code,name,credits,department,enrolledStudents
+     *   CS601,Compilers,4,Computer Science,40
+     * Returns: {"rows": 2, "imported": 1, "rejected": 1, "errors": [{"row": 2, "message": "..."}], ...}
+     */
+    @PostMapping("/import/{kind}")
+    public ResponseEntity<Map<String, Object>> importRows(
+            @PathVariable String kind,
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream body) {
+        // The servlet container consumes form bodies as request parameters
+        if (contentType != null && contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE)) {
+            return ResponseEntity.badRequest().body(Map.of("success", false,
+                "message", "Send the file as text/csv or application/x-ndjson, not as a form"));
+        }
+        ImportKind importKind = ImportKind.of(kind);
+        ImportFormat importFormat = format != null ? ImportFormat.of(format) : ImportFormat.ofContentType(contentType);
+        if (importKind == null || importFormat == null) {
+            return ResponseEntity.badRequest().body(Map.of("success", false,
+                "message", "Unknown import kind or format: " + kind + ", " + (format != null ? format : contentType)));
+        }
+        
+        Map<String, Object> result = importService.importRows(importKind, importFormat, body);
+        if ((Boolean) result.get("success")) {
+            return ResponseEntity.ok(result);
+        } else {
+            return ResponseEntity.badRequest().body(result);
+        }
+    }
+    
     /**
      * Auto-complete course codes/names using Trie
-     * Example: GET /api/autocomplete/course?prefix=CS
-     * Returns: ["CS501", "CS502", "CS503", "CS504"]
+     * Example: GET /api/autocomplete/course?prefix=CS&limit=10
+     * Returns: [{"id": "C2", "code": "CS502", "name": "Database Systems", "matchedOn": "code"}, ...]
+     * (by enrolment; limit=0 for all)
+     * fuzzy=true also matches later words and typos: "algorithms", "cs5o1"
      */
     @GetMapping("/autocomplete/course")
-    public List<String> autoCompleteCourse(@RequestParam String prefix) {
-        return schedulingService.autoCompleteCourse(prefix);
+    public List<Suggestion> autoCompleteCourse(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "false") boolean fuzzy) {
+        return schedulingService.autoCompleteCourse(prefix, limit, fuzzy);
     }
     
     /**
      * Auto-complete room numbers/buildings using Trie
-     * Example: GET /api/autocomplete/room?prefix=LAB
-     * Returns: ["LAB1", "LAB2"]
+     * Example: GET /api/autocomplete/room?prefix=LAB&limit=10
+     * Returns: [{"id": "R4", "code": "LAB1", "name": "CS Block", "matchedOn": "roomNumber"}, ...]
      */
     @GetMapping("/autocomplete/room")
-    public List<String> autoCompleteRoom(@RequestParam String prefix) {
-        return schedulingService.autoCompleteRoom(prefix);
+    public List<Suggestion> autoCompleteRoom(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "false") boolean fuzzy) {
+        return schedulingService.autoCompleteRoom(prefix, limit, fuzzy);
     }
     
     /**
@@ -68,29 +240,249 @@ public class TimetableController {
         return schedulingService.getAvailableRooms(timeSlotId);
     }
     
+    /**
+     * Enroll students (or cohorts) in courses
+     * Example body: [{"studentId": "S1042", "courseId": "C1"}, ...]
+     * Scheduling a class then reports how many of its students already have a
+     * class at that time ("studentClashes")
+     */
+    @PostMapping("/enrollments")
+    public ResponseEntity<Map<String, Object>> enroll(@RequestBody List<Enrollment> enrollments) {
+        Map<String, Object> result = schedulingService.enroll(enrollments);
+        if ((Boolean) result.get("success")) {
+            return ResponseEntity.ok(result);
+        } else {
+            return ResponseEntity.badRequest().body(result);
+        }
+    }
+    
+    /**
+     * Example: DELETE /api/enrollments?studentId=S1042&courseId=C1
+     */
+    @DeleteMapping("/enrollments")
+    public ResponseEntity<?> unenroll(@RequestParam String studentId, @RequestParam String courseId) {
+        if (schedulingService.unenroll(studentId, courseId)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+    
+    /**
+     * Students of a course who would be double-booked at a time slot, and the
+     * scheduled courses they clash with
+     * Example: GET /api/clashes?courseId=C1&timeSlotId=T1
+     * Returns {"enrolled": 120, "studentClashes": 7, "clashingCourses": [{"courseId", "students"}, ...]}
+     */
+    @GetMapping("/clashes")
+    public ResponseEntity<Map<String, Object>> getStudentClashes(@RequestParam String courseId, @RequestParam String timeSlotId) {
+        Map<String, Object> result = schedulingService.getStudentClashes(courseId, timeSlotId);
+        if ((Boolean) result.get("success")) {
+            return ResponseEntity.ok(result);
+        } else {
+            return ResponseEntity.badRequest().body(result);
+        }
+    }
+    
+    /**
+     * Students (or cohorts) with a class at a time slot
+     * Example: GET /api/timeslots/T1/busy-students?limit=100 (limit=-1 for all)
+     */
+    @GetMapping("/timeslots/{id}/busy-students")
+    public ResponseEntity<Map<String, Object>> getBusyStudents(@PathVariable String id,
+                                                               @RequestParam(defaultValue = "100") int limit) {
+        Map<String, Object> result = schedulingService.getBusyStudents(id, limit);
+        if ((Boolean) result.get("success")) {
+            return ResponseEntity.ok(result);
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(result);
+    }
+    
+    /**
+     * Free/busy matrix of rooms x time slots in one request, computed in one
+     * pass over a schedule snapshot (replaces one /rooms/available call per slot)
+     * Example: GET /api/availability/matrix?building=CS Block&type=Lab&minCapacity=30
+     * Returns {"rooms": [...], "timeSlots": [...] (by start time), "freeBySlot": [...],
+     *   "encoding": "bitset", "busy": "<base64>"}: cell row * timeSlots + column is
+     *   busy if bit (cell % 8) of byte (cell / 8) is set (missing trailing bytes: free)
+     * encoding=rle gives "busy": [free, busy, free, ...] row-major run lengths instead
+     */
+    @GetMapping("/availability/matrix")
+    public ResponseEntity<Map<String, Object>> getAvailabilityMatrix(
+            @RequestParam(required = false) String building,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer minCapacity,
+            @RequestParam(defaultValue = "bitset") String encoding,
+            WebRequest request) {
+        boolean runLengths = "rle".equalsIgnoreCase(encoding);
+        if (!runLengths && !"bitset".equalsIgnoreCase(encoding)) {
+            return ResponseEntity.badRequest().body(Map.of("success", false,
+                "message", "Unknown encoding: " + encoding + " (bitset or rle)"));
+        }
+        
+        ScheduleSnapshot snapshot = schedulingService.getSnapshot();
+        return versioned(request, snapshot, "availability-" + snapshot.getVersion(), () -> {
+            AvailabilityMatrix matrix = schedulingService.getAvailabilityMatrix(snapshot, building, type, minCapacity);
+            Map<String, Object> body = new HashMap<>();
+            body.put("rooms", matrix.getRooms());
+            body.put("timeSlots", matrix.getTimeSlots());
+            body.put("freeBySlot", matrix.freeBySlot());
+            body.put("encoding", runLengths ? "rle" : "bitset");
+            body.put("busy", runLengths ? matrix.runLengths() : Base64.getEncoder().encodeToString(matrix.toBytes()));
+            return body;
+        });
+    }
+    
     /**
      * Get schedule for a specific day (AVL Tree search)
      * Example: GET /api/schedule/day?day=Monday
+     * Returns 304 if the day has not changed since the ETag sent in If-None-Match
      */
     @GetMapping("/schedule/day")
-    public List<TimetableEntry> getScheduleByDay(@RequestParam String day) {
-        return schedulingService.getScheduleByDay(day);
+    public ResponseEntity<List<TimetableEntry>> getScheduleByDay(@RequestParam String day, WebRequest request) {
+        ScheduleSnapshot snapshot = schedulingService.getSnapshot();
+        int ordinal = WeekTime.dayOrdinal(day);
+        if (ordinal < 0) {
+            return ResponseEntity.ok(List.of());
+        }
+        return versioned(request, snapshot, "day" + ordinal + "-" + snapshot.getDayVersion(ordinal), () -> snapshot.getDay(ordinal));
     }
     
     /**
      * Get all scheduled entries (sorted by AVL Tree)
      */
     @GetMapping("/schedule/all")
-    public List<TimetableEntry> getAllScheduledEntries() {
-        return schedulingService.getAllScheduledEntries();
+    public ResponseEntity<List<TimetableEntry>> getAllScheduledEntries(WebRequest request) {
+        ScheduleSnapshot snapshot = schedulingService.getSnapshot();
+        return versioned(request, snapshot, "schedule-" + snapshot.getScheduleVersion(), snapshot::getEntries);
+    }
+    
+    // ========== STREAMING EXPORT ==========
+    
+    /**
+     * Stream the schedule as NDJSON or CSV, written straight from the snapshot
+     * (no list is built); entries refer to courses, professors, rooms and
+     * time slots by id
+     * Example: GET /api/export/schedule?format=csv&roomId=R1
+     * Returns 304 if the schedule has not changed since the ETag sent in If-None-Match
+     */
+    @GetMapping("/export/schedule")
+    public ResponseEntity<StreamingResponseBody> exportSchedule(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String roomId,
+            @RequestParam(required = false) String professorId,
+            WebRequest request) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        if (exportFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        ScheduleSnapshot snapshot = schedulingService.getSnapshot();
+        Predicate<TimetableEntry> filter = entry -> (roomId == null || roomId.equals(entry.getRoom().getId()))
+            && (professorId == null || professorId.equals(entry.getProfessor().getId()));
+        return streamed(request, snapshot, "export-" + snapshot.getScheduleVersion(),
+            MediaType.parseMediaType(exportFormat.getContentType()),
+            out -> exportService.writeEntries(snapshot, filter, exportFormat, out));
+    }
+    
+    /**
+     * iCalendar feed of a room's classes, each repeating weekly
+     * Example: GET /api/export/rooms/R1/calendar.ics?from=2026-09-07&weeks=15
+     * (each class starts on its first day on or after from, default today; weeks defaults to 16)
+     */
+    @GetMapping("/export/rooms/{id}/calendar.ics")
+    public ResponseEntity<StreamingResponseBody> exportRoomCalendar(
+            @PathVariable String id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "16") int weeks,
+            WebRequest request) {
+        Room room = schedulingService.findRoomById(id);
+        if (room == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return calendar(request, "Room " + room.getRoomNumber() + " (" + room.getBuilding() + ")",
+            entry -> id.equals(entry.getRoom().getId()), from, weeks);
+    }
+    
+    /**
+     * iCalendar feed of a professor's classes, each repeating weekly
+     * Example: GET /api/export/professors/P1/calendar.ics
+     */
+    @GetMapping("/export/professors/{id}/calendar.ics")
+    public ResponseEntity<StreamingResponseBody> exportProfessorCalendar(
+            @PathVariable String id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "16") int weeks,
+            WebRequest request) {
+        Professor professor = schedulingService.findProfessorById(id);
+        if (professor == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return calendar(request, professor.getName(),
+            entry -> id.equals(entry.getProfessor().getId()), from, weeks);
+    }
+    
+    private ResponseEntity<StreamingResponseBody> calendar(
+            WebRequest request, String name, Predicate<TimetableEntry> filter, LocalDate from, int weeks) {
+        if (weeks < 1 || weeks > 104) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDate start = from != null ? from : LocalDate.now();
+        
+        // Events show entity names too, so any change to the snapshot changes the feed
+        ScheduleSnapshot snapshot = schedulingService.getSnapshot();
+        return streamed(request, snapshot, "calendar-" + start + "-" + weeks + "-" + snapshot.getVersion(),
+            MediaType.parseMediaType("text/calendar;charset=UTF-8"),
+            out -> exportService.writeCalendar(snapshot, filter, name, start, weeks, out));
+    }
+    
+    /**
+     * Stream a response body with the snapshot version as ETag, or 304 if the client has it
+     */
+    private ResponseEntity<StreamingResponseBody> streamed(
+            WebRequest request, ScheduleSnapshot snapshot, String version, MediaType type, StreamingResponseBody body) {
+        // checkNotModified already sets the ETag header; the streaming handler would repeat it
+        String etag = "\"" + snapshot.getEpoch() + "-" + version + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok().contentType(type).body(body);
+    }
+    
+    // 200 with the entity, or 404 if the id is unknown
+    private <T> ResponseEntity<T> found(T entity) {
+        return entity == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(entity);
+    }
+    
+    /**
+     * Serve a snapshot part with its version as ETag, or 304 if the client has it
+     * (the body is only computed for a 200)
+     */
+    private <T> ResponseEntity<T> versioned(WebRequest request, ScheduleSnapshot snapshot, String version, Supplier<T> body) {
+        String etag = "\"" + snapshot.getEpoch() + "-" + version + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(body.get());
     }
 
     // ========== BASIC CRUD ENDPOINTS ==========
     
     // Courses
+    // Optional filter: GET /api/courses?department=Mathematics
     @GetMapping("/courses")
-    public List<Course> getAllCourses() {
-        return schedulingService.getAllCourses();
+    public ResponseEntity<List<Course>> getAllCourses(
+            @RequestParam(required = false) String department,
+            WebRequest request) {
+        if (department != null) {
+            return ResponseEntity.ok(schedulingService.findCoursesByDepartment(department));
+        }
+        ScheduleSnapshot snapshot = schedulingService.getSnapshot();
+        return versioned(request, snapshot, "courses-" + snapshot.getCoursesVersion(), snapshot::getCourses);
+    }
+
+    @GetMapping("/courses/{id}")
+    public ResponseEntity<Course> getCourse(@PathVariable String id) {
+        return found(schedulingService.findCourseById(id));
     }
 
     @PostMapping("/courses")
@@ -99,9 +491,21 @@ public class TimetableController {
     }
 
     // Professors
+    // Optional filter: GET /api/professors?department=Computer Science
     @GetMapping("/professors")
-    public List<Professor> getAllProfessors() {
-        return schedulingService.getAllProfessors();
+    public ResponseEntity<List<Professor>> getAllProfessors(
+            @RequestParam(required = false) String department,
+            WebRequest request) {
+        if (department != null) {
+            return ResponseEntity.ok(schedulingService.findProfessorsByDepartment(department));
+        }
+        ScheduleSnapshot snapshot = schedulingService.getSnapshot();
+        return versioned(request, snapshot, "professors-" + snapshot.getProfessorsVersion(), snapshot::getProfessors);
+    }
+
+    @GetMapping("/professors/{id}")
+    public ResponseEntity<Professor> getProfessor(@PathVariable String id) {
+        return found(schedulingService.findProfessorById(id));
     }
 
     @PostMapping("/professors")
@@ -110,9 +514,23 @@ public class TimetableController {
     }
 
     // Rooms
+    // Optional filters: GET /api/rooms?building=CS Block&type=Lab&minCapacity=30
     @GetMapping("/rooms")
-    public List<Room> getAllRooms() {
-        return schedulingService.getAllRooms();
+    public ResponseEntity<List<Room>> getAllRooms(
+            @RequestParam(required = false) String building,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer minCapacity,
+            WebRequest request) {
+        if (building != null || type != null || minCapacity != null) {
+            return ResponseEntity.ok(schedulingService.findRooms(building, type, minCapacity));
+        }
+        ScheduleSnapshot snapshot = schedulingService.getSnapshot();
+        return versioned(request, snapshot, "rooms-" + snapshot.getRoomsVersion(), snapshot::getRooms);
+    }
+
+    @GetMapping("/rooms/{id}")
+    public ResponseEntity<Room> getRoom(@PathVariable String id) {
+        return found(schedulingService.findRoomById(id));
     }
 
     @PostMapping("/rooms")
@@ -121,14 +539,30 @@ public class TimetableController {
     }
 
     // Time Slots
+    // Optional filter: GET /api/timeslots?day=Monday
     @GetMapping("/timeslots")
-    public List<TimeSlot> getAllTimeSlots() {
-        return schedulingService.getAllTimeSlots();
+    public ResponseEntity<List<TimeSlot>> getAllTimeSlots(
+            @RequestParam(required = false) String day,
+            WebRequest request) {
+        if (day != null) {
+            return ResponseEntity.ok(schedulingService.findTimeSlotsByDay(day));
+        }
+        ScheduleSnapshot snapshot = schedulingService.getSnapshot();
+        return versioned(request, snapshot, "timeslots-" + snapshot.getTimeSlotsVersion(), snapshot::getTimeSlots);
+    }
+    
+    @GetMapping("/timeslots/{id}")
+    public ResponseEntity<TimeSlot> getTimeSlot(@PathVariable String id) {
+        return found(schedulingService.findTimeSlotById(id));
     }
     
     @PostMapping("/timeslots")
-    public TimeSlot addTimeSlot(@RequestBody TimeSlot timeSlot) {
-        return schedulingService.addTimeSlot(timeSlot);
+    public ResponseEntity<?> addTimeSlot(@RequestBody TimeSlot timeSlot) {
+        try {
+            return ResponseEntity.ok(schedulingService.addTimeSlot(timeSlot));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        }
     }
 }
 
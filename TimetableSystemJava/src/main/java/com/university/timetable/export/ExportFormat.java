@@ -0,0 +1,39 @@
+package com.university.timetable.export;
+
+import java.util.Locale;
+
+/**
+ * Row formats of a schedule export; entries refer to entities by id
+ */
+public enum ExportFormat {
+
+    // One JSON object per line: {"id", "courseId", "professorId", "roomId", "timeSlotId"}
+    NDJSON("application/x-ndjson"),
+
+    // Header row, then one row per entry with the same columns
+    CSV("text/csv");
+
+    private final String contentType;
+
+    ExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Format by name ("ndjson", "jsonl", "csv"), or null
+     */
+    public static ExportFormat of(String name) {
+        if (name == null) {
+            return null;
+        }
+        return switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "ndjson", "jsonl" -> NDJSON;
+            case "csv" -> CSV;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,180 @@
+package com.university.timetable.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.university.timetable.algorithm.WeekTime;
+import com.university.timetable.model.TimetableEntry;
+import com.university.timetable.service.ScheduleSnapshot;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Predicate;
+
+/**
+ * Streams the schedule of a published snapshot straight to the response,
+ * day by day from the snapshot's own lists: nothing is collected or copied,
+ * and each entry names its course, professor, room and slot by id instead
+ * of repeating the entities
+ *
+ * iCalendar feeds (RFC 5545) hold one weekly recurring event per entry,
+ * in floating local time, for a room's or a professor's calendar
+ * Time Complexity: O(n) for n entries, O(1) memory besides the buffer
+ */
+@Service
+public class ExportService {
+
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final DateTimeFormatter LOCAL = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_OCTETS = 75;
+
+    /**
+     * Write the matching entries, Monday first and by start time
+     */
+    public void writeEntries(ScheduleSnapshot snapshot, Predicate<TimetableEntry> filter, ExportFormat format, OutputStream out)
+            throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            writeNdjson(snapshot, filter, out);
+        } else {
+            writeCsv(snapshot, filter, out);
+        }
+    }
+
+    private void writeNdjson(ScheduleSnapshot snapshot, Predicate<TimetableEntry> filter, OutputStream out) throws IOException {
+        Writer writer = writer(out);
+        JsonGenerator json = JSON.createGenerator(writer);
+        json.setRootValueSeparator(null);
+        for (int day = 0; day < WeekTime.DAYS_PER_WEEK; day++) {
+            for (TimetableEntry entry : snapshot.getDay(day)) {
+                if (!filter.test(entry)) {
+                    continue;
+                }
+                json.writeStartObject();
+                json.writeStringField("id", entry.getId());
+                json.writeStringField("courseId", entry.getCourse().getId());
+                json.writeStringField("professorId", entry.getProfessor().getId());
+                json.writeStringField("roomId", entry.getRoom().getId());
+                json.writeStringField("timeSlotId", entry.getTimeSlot().getId());
+                json.writeEndObject();
+                json.writeRaw('\n');
+            }
+        }
+        json.flush();
+    }
+
+    private void writeCsv(ScheduleSnapshot snapshot, Predicate<TimetableEntry> filter, OutputStream out) throws IOException {
+        Writer writer = writer(out);
+        writer.write("id,courseId,professorId,roomId,timeSlotId\r\n");
+        for (int day = 0; day < WeekTime.DAYS_PER_WEEK; day++) {
+            for (TimetableEntry entry : snapshot.getDay(day)) {
+                if (!filter.test(entry)) {
+                    continue;
+                }
+                writer.write(csv(entry.getId()));
+                writer.write(',');
+                writer.write(csv(entry.getCourse().getId()));
+                writer.write(',');
+                writer.write(csv(entry.getProfessor().getId()));
+                writer.write(',');
+                writer.write(csv(entry.getRoom().getId()));
+                writer.write(',');
+                writer.write(csv(entry.getTimeSlot().getId()));
+                writer.write("\r\n");
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Write an iCalendar feed of the matching entries: each one recurs
+     * weekly for the given number of weeks, starting on the first day of
+     * its weekday on or after `from`
+     */
+    public void writeCalendar(ScheduleSnapshot snapshot, Predicate<TimetableEntry> filter,
+                              String calendarName, LocalDate from, int weeks, OutputStream out) throws IOException {
+        Writer writer = writer(out);
+        int fromDay = from.getDayOfWeek().getValue() - 1;
+        String stamp = LocalDateTime.now(ZoneOffset.UTC).format(UTC);
+
+        line(writer, "BEGIN:VCALENDAR");
+        line(writer, "VERSION:2.0");
+        line(writer, "PRODID:-//University Timetable System//Timetable//EN");
+        line(writer, "CALSCALE:GREGORIAN");
+        line(writer, "X-WR-CALNAME:" + text(calendarName));
+        for (int day = 0; day < WeekTime.DAYS_PER_WEEK; day++) {
+            LocalDateTime date = from.plusDays((day - fromDay + WeekTime.DAYS_PER_WEEK) % WeekTime.DAYS_PER_WEEK).atStartOfDay();
+            for (TimetableEntry entry : snapshot.getDay(day)) {
+                if (!filter.test(entry)) {
+                    continue;
+                }
+                int start = entry.getTimeSlot().weekStart() % WeekTime.MINUTES_PER_DAY;
+                int length = entry.getTimeSlot().weekEnd() - entry.getTimeSlot().weekStart();
+                line(writer, "BEGIN:VEVENT");
+                line(writer, "UID:" + entry.getId() + "@university-timetable");
+                line(writer, "DTSTAMP:" + stamp);
+                line(writer, "DTSTART:" + date.plusMinutes(start).format(LOCAL));
+                line(writer, "DTEND:" + date.plusMinutes(start + length).format(LOCAL));
+                line(writer, "RRULE:FREQ=WEEKLY;COUNT=" + weeks);
+                line(writer, "SUMMARY:" + text(entry.getCourse().getCode() + " " + entry.getCourse().getName()));
+                line(writer, "LOCATION:" + text(entry.getRoom().getRoomNumber() + ", " + entry.getRoom().getBuilding()));
+                line(writer, "DESCRIPTION:" + text(entry.getProfessor().getName()));
+                line(writer, "END:VEVENT");
+            }
+        }
+        line(writer, "END:VCALENDAR");
+        writer.flush();
+    }
+
+    private static Writer writer(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    // Quote a CSV field if it holds a separator, quote or line break
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // Escape an iCalendar TEXT value
+    static String text(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,")
+            .replace("\r\n", "\\n").replace("\n", "\\n");
+    }
+
+    // Write a content line, folded after 75 octets (CRLF + space), never inside a character
+    static void line(Writer writer, String line) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + size > MAX_LINE_OCTETS) {
+                writer.write("\r\n ");
+                octets = 1;
+            }
+            int chars = Character.charCount(codePoint);
+            writer.write(line, i, chars);
+            i += chars;
+            octets += size;
+        }
+        writer.write("\r\n");
+    }
+}
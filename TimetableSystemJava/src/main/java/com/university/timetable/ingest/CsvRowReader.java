@@ -0,0 +1,124 @@
+package com.university.timetable.ingest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming CSV reader (RFC 4180): the first record is the header, every
+ * following record becomes a row keyed by the header's column names
+ * Quoted fields may contain commas, newlines and "" for a quote; lines may
+ * end in LF or CRLF; a leading UTF-8 byte order mark is skipped
+ * Blank lines are ignored. Time Complexity: O(c) for c characters
+ */
+class CsvRowReader implements RowReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int NONE = -2;
+
+    private final Reader in;
+    private final String[] header;
+    private int pushedBack = NONE;
+    private long rowNumber;
+
+    CsvRowReader(InputStream input) throws IOException {
+        this.in = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE);
+        // Skip a byte order mark, so a quoted first header still parses
+        int first = in.read();
+        if (first != '\uFEFF') {
+            pushedBack = first;
+        }
+
+        List<String> names = readRecord();
+        if (names == null) {
+            header = new String[0];
+            return;
+        }
+        header = new String[names.size()];
+        for (int i = 0; i < header.length; i++) {
+            header[i] = names.get(i).trim();
+        }
+    }
+
+    public ImportRow next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isEmpty());
+
+        rowNumber++;
+        Map<String, String> values = new HashMap<>(header.length * 2);
+        for (int i = 0; i < header.length && i < fields.size(); i++) {
+            values.put(header[i], fields.get(i));
+        }
+        return new ImportRow(rowNumber, values);
+    }
+
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // Fields of the next record, or null at the end of the input
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>(header == null ? 8 : header.length);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new IOException("Unterminated quoted field in row " + (rowNumber + 1));
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        // Closing quote; c is the character after it
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r' || c < 0) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushedBack = next;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return in.read();
+    }
+}
@@ -0,0 +1,85 @@
+package com.university.timetable.ingest;
+
+import com.university.timetable.persistence.PersistenceProperties;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line import, run instead of the web server:
+ *
+ *   java -jar timetable-system.jar import courses=courses.csv rooms=rooms.csv entries=entries.ndjson
+ *
+ * Files are imported in the order given (entries refer to the ids of
+ * entities imported before them); the format follows the file extension.
+ * With persistence enabled the result is logged and snapshotted on exit,
+ * so the next server start picks it up
+ */
+@Component
+public class ImportCommand implements ApplicationRunner {
+
+    public static final String NAME = "import";
+
+    private final ImportService importService;
+    private final PersistenceProperties persistence;
+
+    public ImportCommand(ImportService importService, PersistenceProperties persistence) {
+        this.importService = importService;
+        this.persistence = persistence;
+    }
+
+    /**
+     * True if the command line asks for an import
+     */
+    public static boolean isRequested(String[] args) {
+        return args.length > 0 && NAME.equals(args[0]);
+    }
+
+    public void run(ApplicationArguments args) throws IOException {
+        List<String> params = args.getNonOptionArgs();
+        if (params.isEmpty() || !NAME.equals(params.get(0))) {
+            return;
+        }
+        if (!persistence.isEnabled()) {
+            System.out.println("⚠️ timetable.persistence.enabled is false: the import is not saved");
+        }
+
+        for (String param : params.subList(1, params.size())) {
+            int eq = param.indexOf('=');
+            ImportKind kind = eq < 0 ? null : ImportKind.of(param.substring(0, eq));
+            ImportFormat format = eq < 0 ? null : ImportFormat.ofFileName(param.substring(eq + 1));
+            if (kind == null || format == null) {
+                throw new IllegalArgumentException(
+                    "Expected <courses|rooms|professors|timeslots|entries>=<file.csv|file.ndjson>, got: " + param);
+            }
+
+            Path file = Path.of(param.substring(eq + 1));
+            Map<String, Object> result;
+            try (InputStream input = Files.newInputStream(file)) {
+                result = importService.importRows(kind, format, input);
+            }
+            report(file, result);
+        }
+    }
+
+    private static void report(Path file, Map<String, Object> result) {
+        if (!Boolean.TRUE.equals(result.get("success"))) {
+            System.out.println("❌ " + file + ": " + result.get("message"));
+            return;
+        }
+        System.out.printf("✅ %s: %s %s imported, %s of %s rows rejected (%s ms)%n",
+            file, result.get("imported"), result.get("kind"), result.get("rejected"),
+            result.get("rows"), result.get("elapsedMs"));
+        for (Object error : (List<?>) result.get("errors")) {
+            Map<?, ?> item = (Map<?, ?>) error;
+            System.out.println("   row " + item.get("row") + ": " + item.get("message"));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.university.timetable.ingest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+/**
+ * Input formats of a bulk import, both read one row at a time
+ */
+public enum ImportFormat {
+
+    // Comma-separated, first row names the columns; quoted fields may hold commas, quotes ("") and newlines
+    CSV,
+
+    // One JSON object per line (newline-delimited JSON)
+    NDJSON;
+
+    public RowReader open(InputStream input) throws IOException {
+        return this == CSV ? new CsvRowReader(input) : new NdjsonRowReader(input);
+    }
+
+    /**
+     * Format named by a request parameter ("csv", "ndjson", "jsonl"), or null
+     */
+    public static ImportFormat of(String name) {
+        if (name == null) {
+            return null;
+        }
+        return switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "csv" -> CSV;
+            case "ndjson", "jsonl", "json" -> NDJSON;
+            default -> null;
+        };
+    }
+
+    /**
+     * Format of a request body from its Content-Type, or null
+     */
+    public static ImportFormat ofContentType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        if (type.contains("csv")) {
+            return CSV;
+        }
+        return type.contains("ndjson") || type.contains("jsonl") || type.contains("json") ? NDJSON : null;
+    }
+
+    /**
+     * Format of a file from its extension (.csv, .ndjson, .jsonl), or null
+     */
+    public static ImportFormat ofFileName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? null : of(fileName.substring(dot + 1));
+    }
+}
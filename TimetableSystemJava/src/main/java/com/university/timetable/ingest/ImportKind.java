@@ -0,0 +1,110 @@
+package com.university.timetable.ingest;
+
+import com.university.timetable.model.Course;
+import com.university.timetable.model.Enrollment;
+import com.university.timetable.model.Professor;
+import com.university.timetable.model.Room;
+import com.university.timetable.model.TimeSlot;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * What an import loads, with the columns each row needs and its row-level
+ * validation. parse turns a row into the value handed to SchedulingService
+ * or throws IllegalArgumentException to reject the row; it only looks at
+ * the row itself, so rows can be validated in parallel
+ * Ids are assigned on import, so an id column is ignored
+ */
+public enum ImportKind {
+
+    // code, name, credits, department, enrolledStudents
+    COURSES("courses") {
+        Object parse(ImportRow row) {
+            int credits = row.requiredInt("credits");
+            int students = row.requiredInt("enrolledStudents");
+            if (credits < 0 || students < 0) {
+                throw new IllegalArgumentException("credits and enrolledStudents must not be negative");
+            }
+            return new Course(null, row.required("code"), row.required("name"), credits,
+                row.required("department"), students);
+        }
+    },
+
+    // roomNumber, building, capacity, type
+    ROOMS("rooms") {
+        Object parse(ImportRow row) {
+            int capacity = row.requiredInt("capacity");
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity must be positive");
+            }
+            return new Room(null, row.required("roomNumber"), row.required("building"), capacity,
+                row.required("type"));
+        }
+    },
+
+    // name, department, email
+    PROFESSORS("professors") {
+        Object parse(ImportRow row) {
+            return new Professor(null, row.required("name"), row.required("department"), row.optional("email"));
+        }
+    },
+
+    // day, startTime, endTime
+    TIME_SLOTS("timeslots") {
+        Object parse(ImportRow row) {
+            TimeSlot timeSlot = new TimeSlot(null, row.required("day"), row.required("startTime"), row.required("endTime"));
+            // Parses the day and times; throws IllegalArgumentException if invalid
+            timeSlot.validate();
+            return timeSlot;
+        }
+    },
+
+    // courseId, professorId, timeSlotId, roomId (optional: greedy allocation)
+    ENTRIES("entries") {
+        Object parse(ImportRow row) {
+            Map<String, String> request = new HashMap<>();
+            request.put("courseId", row.required("courseId"));
+            request.put("professorId", row.required("professorId"));
+            request.put("timeSlotId", row.required("timeSlotId"));
+            request.put("roomId", row.optional("roomId"));
+            return request;
+        }
+    },
+
+    // studentId (a student or a cohort), courseId
+    ENROLLMENTS("enrollments") {
+        Object parse(ImportRow row) {
+            return new Enrollment(row.required("studentId"), row.required("courseId"));
+        }
+    };
+
+    private final String name;
+
+    ImportKind(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    abstract Object parse(ImportRow row);
+
+    /**
+     * Kind by its name in the API ("courses", "timeslots", ...), or null
+     */
+    public static ImportKind of(String name) {
+        if (name == null) {
+            return null;
+        }
+        String key = name.trim().toLowerCase(Locale.ROOT).replace("-", "").replace("_", "");
+        for (ImportKind kind : values()) {
+            if (kind.name.equals(key)) {
+                return kind;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.university.timetable.ingest;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * One input row: its number (1 = first data row) and its values by column
+ * The accessors trim values and throw IllegalArgumentException for a
+ * missing or malformed one, which rejects just this row
+ */
+@Data
+@AllArgsConstructor
+public class ImportRow {
+    private long number;
+    private Map<String, String> values;
+
+    // Trimmed value, or null if missing or blank
+    public String optional(String column) {
+        String value = values.get(column);
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    public String required(String column) {
+        String value = optional(column);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + column);
+        }
+        return value;
+    }
+
+    public int requiredInt(String column) {
+        String value = required(column);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+}
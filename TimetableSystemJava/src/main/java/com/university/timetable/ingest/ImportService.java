@@ -0,0 +1,160 @@
+package com.university.timetable.ingest;
+
+import com.university.timetable.model.Course;
+import com.university.timetable.model.Enrollment;
+import com.university.timetable.model.Professor;
+import com.university.timetable.model.Room;
+import com.university.timetable.model.TimeSlot;
+import com.university.timetable.service.SchedulingService;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk import of large CSV or NDJSON files (around 200k rows a term)
+ *
+ * Pipeline: rows are streamed from the input in chunks of CHUNK_ROWS, each
+ * chunk is validated in parallel and only the parsed values are kept; the
+ * whole batch is then handed to SchedulingService at once, which bulk-builds
+ * its indexes (sorted trie build, bottom-up AVL Trees) instead of inserting
+ * row by row
+ *
+ * Invalid rows are rejected individually and reported with their row
+ * number; malformed input (e.g. an unterminated quote) aborts the import
+ * before anything is applied
+ */
+@Service
+public class ImportService {
+
+    static final int CHUNK_ROWS = 4096;
+    static final int MAX_ERRORS = 100;
+
+    private final SchedulingService schedulingService;
+
+    public ImportService(SchedulingService schedulingService) {
+        this.schedulingService = schedulingService;
+    }
+
+    /**
+     * Import every row of the input
+     * Returns rows read, imported and rejected, the first MAX_ERRORS
+     * rejections ({row, message}) and the elapsed time
+     * Time Complexity: O(r) to read and validate r rows, plus the bulk add
+     */
+    public Map<String, Object> importRows(ImportKind kind, ImportFormat format, InputStream input) {
+        long started = System.nanoTime();
+        Map<String, Object> result = new HashMap<>();
+        result.put("kind", kind.getName());
+        result.put("format", format.name());
+
+        Batch batch = new Batch();
+        try (RowReader reader = format.open(input)) {
+            List<ImportRow> chunk = new ArrayList<>(CHUNK_ROWS);
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == CHUNK_ROWS) {
+                    validate(kind, chunk, batch);
+                    chunk.clear();
+                }
+            }
+            validate(kind, chunk, batch);
+        } catch (IOException e) {
+            result.put("success", false);
+            result.put("message", "Cannot read " + format + " input: " + e.getMessage());
+            result.put("rows", batch.rows);
+            return result;
+        }
+
+        apply(kind, batch);
+        batch.errors.sort(Comparator.comparingLong(error -> (Long) error.get("row")));
+
+        result.put("success", true);
+        result.put("rows", batch.rows);
+        result.put("imported", batch.values.size() - batch.failed);
+        result.put("rejected", batch.rejected);
+        result.put("errors", batch.errors);
+        result.put("elapsedMs", (System.nanoTime() - started) / 1_000_000);
+        return result;
+    }
+
+    // Parse and check one chunk of rows in parallel, keeping input order
+    private void validate(ImportKind kind, List<ImportRow> chunk, Batch batch) {
+        List<Object> parsed = chunk.parallelStream()
+            .map(row -> {
+                try {
+                    return kind.parse(row);
+                } catch (IllegalArgumentException e) {
+                    return e;
+                }
+            })
+            .toList();
+
+        for (int i = 0; i < parsed.size(); i++) {
+            long number = chunk.get(i).getNumber();
+            batch.rows++;
+            if (parsed.get(i) instanceof IllegalArgumentException e) {
+                batch.reject(number, e.getMessage());
+            } else {
+                batch.values.add(parsed.get(i));
+                batch.rowNumbers.add(number);
+            }
+        }
+    }
+
+    // Hand the valid rows to the scheduling service in one bulk call
+    @SuppressWarnings("unchecked")
+    private void apply(ImportKind kind, Batch batch) {
+        switch (kind) {
+            case COURSES -> schedulingService.addCourses(batch.values.stream().map(Course.class::cast).toList());
+            case ROOMS -> schedulingService.addRooms(batch.values.stream().map(Room.class::cast).toList());
+            case PROFESSORS -> schedulingService.addProfessors(batch.values.stream().map(Professor.class::cast).toList());
+            case TIME_SLOTS -> schedulingService.addTimeSlots(batch.values.stream().map(TimeSlot.class::cast).toList());
+            case ENTRIES -> {
+                List<Map<String, String>> requests = new ArrayList<>(batch.values.size());
+                for (Object value : batch.values) {
+                    requests.add((Map<String, String>) value);
+                }
+                Map<String, Object> placed = schedulingService.importEntries(requests);
+                rejectFailed(placed, batch);
+            }
+            case ENROLLMENTS -> rejectFailed(
+                schedulingService.enroll(batch.values.stream().map(Enrollment.class::cast).toList()), batch);
+        }
+    }
+
+    // Rows the service turned down, reported as {index, message} by position in the batch
+    @SuppressWarnings("unchecked")
+    private static void rejectFailed(Map<String, Object> applied, Batch batch) {
+        for (Map<String, Object> item : (List<Map<String, Object>>) applied.get("rejected")) {
+            batch.failed++;
+            batch.reject(batch.rowNumbers.get((Integer) item.get("index")), (String) item.get("message"));
+        }
+    }
+
+    // Valid values in input order with their row numbers, plus the rejections
+    private static final class Batch {
+        final List<Object> values = new ArrayList<>();
+        final List<Long> rowNumbers = new ArrayList<>();
+        final List<Map<String, Object>> errors = new ArrayList<>();
+        long rows;
+        long rejected;
+        int failed; // valid rows the service turned down
+
+        void reject(long row, String message) {
+            rejected++;
+            if (errors.size() < MAX_ERRORS) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("row", row);
+                error.put("message", message);
+                errors.add(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.university.timetable.ingest;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming NDJSON reader: one JSON object per line, parsed incrementally
+ * by Jackson; scalar values become strings, a nested object or array
+ * fails the import like malformed JSON
+ * Blank lines are ignored. Time Complexity: O(c) for c characters
+ */
+class NdjsonRowReader implements RowReader {
+
+    private static final ObjectReader OBJECTS = new ObjectMapper().readerFor(Map.class);
+
+    private final MappingIterator<Map<String, Object>> objects;
+    private long rowNumber;
+
+    NdjsonRowReader(InputStream input) throws IOException {
+        this.objects = OBJECTS.readValues(input);
+    }
+
+    public ImportRow next() throws IOException {
+        Map<String, Object> object;
+        try {
+            if (!objects.hasNextValue()) {
+                return null;
+            }
+            object = objects.nextValue();
+        } catch (RuntimeJsonMappingException | IOException e) {
+            throw new IOException("Malformed JSON in row " + (rowNumber + 1) + ": " + e.getMessage(), e);
+        }
+
+        rowNumber++;
+        Map<String, String> values = new HashMap<>(object.size() * 2);
+        for (Map.Entry<String, Object> field : object.entrySet()) {
+            Object value = field.getValue();
+            if (value instanceof Map || value instanceof Iterable) {
+                throw new IOException("Nested value for " + field.getKey() + " in row " + rowNumber);
+            }
+            values.put(field.getKey(), value == null ? null : value.toString());
+        }
+        return new ImportRow(rowNumber, values);
+    }
+
+    public void close() throws IOException {
+        objects.close();
+    }
+}
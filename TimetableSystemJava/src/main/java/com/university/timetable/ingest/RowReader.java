@@ -0,0 +1,17 @@
+package com.university.timetable.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Streams the rows of an import one at a time, so the input is never
+ * held in memory as a whole
+ * A malformed input (not just an invalid row) fails with an IOException
+ */
+public interface RowReader extends Closeable {
+
+    /**
+     * Next row, or null at the end of the input
+     */
+    ImportRow next() throws IOException;
+}
@@ -0,0 +1,164 @@
+package com.university.timetable.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for the scheduling path, scraped at /actuator/prometheus
+ *
+ *  timetable.schedule.stage{stage}      latency histogram per stage of scheduleClass
+ *  timetable.schedule{outcome}          latency histogram of the whole call
+ *  timetable.schedule.rejected{reason}  conflicts, no room, invalid ids
+ *  timetable.schedule.utilization       seats used by scheduled classes, in %
+ *                                       (buckets 50, 70, 85, 100)
+ *  timetable.snapshot.failed            background snapshots that could not be written
+ * Gauges (tree height, entries, trie nodes) are registered by the owner
+ *
+ * Stages are timed with a running System.nanoTime() mark: each call records
+ * the time since the previous one and returns the new mark
+ * Time Complexity: O(1) per recording, all meters are created up front
+ */
+@Component
+public class SchedulingMetrics {
+
+    /**
+     * Stages of scheduling one class, in order
+     */
+    public enum Stage {
+        LOOKUP,     // course, professor and slot by id
+        LOCK_WAIT,  // waiting for the day's lock
+        ALLOCATE,   // Greedy room allocation
+        INSERT,     // AVL insert with conflict check, log append, occupancy, result
+        PUBLISH,    // new snapshot of the day
+        PERSIST     // waiting for the log to be durable
+    }
+
+    /**
+     * Why a scheduling request was turned down
+     */
+    public enum Rejection {
+        CONFLICT,
+        NO_ROOM,
+        INVALID
+    }
+
+    private static final Duration MIN_LATENCY = Duration.ofNanos(1_000);
+    private static final Duration MAX_LATENCY = Duration.ofSeconds(5);
+
+    private final MeterRegistry registry;
+    private final Timer[] stages;
+    private final Timer scheduled;
+    private final Timer[] rejectedTimers;
+    private final Counter[] rejected;
+    private final DistributionSummary utilization;
+    private final Counter snapshotFailed;
+
+    public SchedulingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+
+        Stage[] stageValues = Stage.values();
+        this.stages = new Timer[stageValues.length];
+        for (Stage stage : stageValues) {
+            stages[stage.ordinal()] = latency("timetable.schedule.stage", "Time spent in one stage of scheduling a class")
+                .tag("stage", name(stage))
+                .register(registry);
+        }
+
+        this.scheduled = latency("timetable.schedule", "Time to schedule a class, by outcome")
+            .tag("outcome", "scheduled")
+            .register(registry);
+        Rejection[] reasons = Rejection.values();
+        this.rejectedTimers = new Timer[reasons.length];
+        this.rejected = new Counter[reasons.length];
+        for (Rejection reason : reasons) {
+            rejectedTimers[reason.ordinal()] = latency("timetable.schedule", "Time to schedule a class, by outcome")
+                .tag("outcome", name(reason))
+                .register(registry);
+            rejected[reason.ordinal()] = Counter.builder("timetable.schedule.rejected")
+                .description("Scheduling requests turned down")
+                .tag("reason", name(reason))
+                .register(registry);
+        }
+
+        this.utilization = DistributionSummary.builder("timetable.schedule.utilization")
+            .description("Share of the room's seats taken by a scheduled class")
+            .baseUnit("percent")
+            .serviceLevelObjectives(50, 70, 85, 100)
+            .register(registry);
+
+        this.snapshotFailed = Counter.builder("timetable.snapshot.failed")
+            .description("Background snapshots that could not be written")
+            .register(registry);
+    }
+
+    /**
+     * Meters that record nothing, for services built outside Spring
+     */
+    public static SchedulingMetrics noop() {
+        return new SchedulingMetrics(new CompositeMeterRegistry());
+    }
+
+    /**
+     * Record a stage that started at the given mark; returns the new mark
+     */
+    public long stage(Stage stage, long since) {
+        long now = System.nanoTime();
+        stages[stage.ordinal()].record(now - since, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /**
+     * Record a scheduled class: total time since start and room utilization
+     */
+    public void scheduled(long start, double utilizationPercent) {
+        scheduled.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        utilization.record(utilizationPercent);
+    }
+
+    /**
+     * Record a rejected request: total time since start and the reason
+     */
+    public void rejected(Rejection reason, long start) {
+        rejectedTimers[reason.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        rejected[reason.ordinal()].increment();
+    }
+
+    /**
+     * Record a background snapshot that failed; the log keeps the changes
+     */
+    public void snapshotFailed() {
+        snapshotFailed.increment();
+    }
+
+    /**
+     * Register a gauge, read on every scrape (from the scrape thread)
+     */
+    public void gauge(String name, String description, Supplier<Number> value, String... tags) {
+        Gauge.builder(name, value)
+            .description(description)
+            .tags(tags)
+            .register(registry);
+    }
+
+    private static Timer.Builder latency(String name, String description) {
+        return Timer.builder(name)
+            .description(description)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(MIN_LATENCY)
+            .maximumExpectedValue(MAX_LATENCY);
+    }
+
+    private static String name(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,13 @@
+package com.university.timetable.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Enrollment {
+    private String studentId; // a student, or a cohort that takes its courses together
+    private String courseId;
+}
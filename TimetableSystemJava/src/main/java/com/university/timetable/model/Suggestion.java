@@ -0,0 +1,15 @@
+package com.university.timetable.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Suggestion {
+    private String id;
+    private String code; // Course code or room number
+    private String name; // Course name or building
+    private String matchedOn; // Field the query matched: code, name, roomNumber or building
+}
@@ -1,21 +1,133 @@
 package com.university.timetable.model;
 
-import lombok.AllArgsConstructor;
+import com.university.timetable.algorithm.WeekTime;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class TimeSlot {
     private String id;
     private String day; // Monday, Tuesday, etc.
     private String startTime;
     private String endTime;
-}
 
+    // Parsed [start, end) in minutes since Monday 00:00, packed as start << 32 | end,
+    // or INVALID if the day or times do not parse; computed on first use and reset by the setters
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient volatile long weekRange = UNPARSED;
+
+    private static final long UNPARSED = Long.MIN_VALUE;
+    private static final long INVALID = -1L;
+
+    public TimeSlot(String id, String day, String startTime, String endTime) {
+        this.id = id;
+        this.day = day;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public void setDay(String day) {
+        this.day = day;
+        this.weekRange = UNPARSED;
+    }
+
+    public void setStartTime(String startTime) {
+        this.startTime = startTime;
+        this.weekRange = UNPARSED;
+    }
+
+    public void setEndTime(String endTime) {
+        this.endTime = endTime;
+        this.weekRange = UNPARSED;
+    }
 
+    /**
+     * Start in minutes since Monday 00:00
+     * Throws IllegalArgumentException if the day or times are invalid
+     */
+    public int weekStart() {
+        return (int) (validRange() >> 32);
+    }
 
+    /**
+     * End (exclusive) in minutes since Monday 00:00
+     */
+    public int weekEnd() {
+        return (int) validRange();
+    }
 
+    /**
+     * Day ordinal, Monday = 0
+     */
+    public int dayIndex() {
+        return weekStart() / WeekTime.MINUTES_PER_DAY;
+    }
 
+    /**
+     * True if both slots share at least one minute
+     */
+    public boolean overlaps(TimeSlot other) {
+        return weekStart() < other.weekEnd() && other.weekStart() < weekEnd();
+    }
 
+    /**
+     * True if the day is a weekday name and start/end are valid times with start < end
+     * Time Complexity: O(1) once parsed; an invalid slot is remembered, not re-parsed
+     */
+    public boolean hasValidTimes() {
+        return range() != INVALID;
+    }
+
+    /**
+     * Throw IllegalArgumentException naming what is wrong if the day or times are invalid
+     */
+    public void validate() {
+        validRange();
+    }
+
+    private long validRange() {
+        long range = range();
+        if (range == INVALID) {
+            throw invalid();
+        }
+        return range;
+    }
+
+    private long range() {
+        long range = weekRange;
+        if (range == UNPARSED) {
+            int dayOrdinal = WeekTime.dayOrdinal(day);
+            int start = WeekTime.parseMinuteOfDay(startTime);
+            int end = WeekTime.parseMinuteOfDay(endTime);
+            if (dayOrdinal < 0 || start < 0 || end <= start) {
+                range = INVALID;
+            } else {
+                int offset = dayOrdinal * WeekTime.MINUTES_PER_DAY;
+                range = ((long) (offset + start) << 32) | (offset + end);
+            }
+            weekRange = range;
+        }
+        return range;
+    }
+
+    // Worked out again only when a caller wants the reason
+    private IllegalArgumentException invalid() {
+        if (WeekTime.dayOrdinal(day) < 0) {
+            return new IllegalArgumentException("Invalid day: " + day);
+        }
+        if (WeekTime.parseMinuteOfDay(startTime) < 0) {
+            return WeekTime.invalidTime(startTime);
+        }
+        if (WeekTime.parseMinuteOfDay(endTime) < 0) {
+            return WeekTime.invalidTime(endTime);
+        }
+        return new IllegalArgumentException("End time must be after start time: " + startTime + "-" + endTime);
+    }
+}
@@ -0,0 +1,29 @@
+package com.university.timetable.persistence;
+
+import com.university.timetable.model.TimetableEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A stored timetable entry: the entry id plus the ids it refers to
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntryRecord {
+    private String id;
+    private String courseId;
+    private String professorId;
+    private String roomId;
+    private String timeSlotId;
+
+    public static EntryRecord of(TimetableEntry entry) {
+        return new EntryRecord(
+            entry.getId(),
+            entry.getCourse().getId(),
+            entry.getProfessor().getId(),
+            entry.getRoom().getId(),
+            entry.getTimeSlot().getId());
+    }
+}
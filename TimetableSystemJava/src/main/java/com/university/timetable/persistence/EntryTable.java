@@ -0,0 +1,135 @@
+package com.university.timetable.persistence;
+
+import com.university.timetable.model.*;
+
+import java.nio.IntBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Snapshot entries in columns: for entry i, the number in its id ("TE" + number)
+ * and the positions of its course, professor, room and time slot in the
+ * snapshot's entity lists
+ *
+ * Columns are IntBuffers, so a memory-mapped snapshot is read in place:
+ * no per-entry objects and no id lookups until the entries are built
+ */
+public final class EntryTable {
+
+    private final IntBuffer numbers;
+    private final IntBuffer courses;
+    private final IntBuffer professors;
+    private final IntBuffer rooms;
+    private final IntBuffer timeSlots;
+
+    EntryTable(IntBuffer numbers, IntBuffer courses, IntBuffer professors, IntBuffer rooms, IntBuffer timeSlots) {
+        this.numbers = numbers;
+        this.courses = courses;
+        this.professors = professors;
+        this.rooms = rooms;
+        this.timeSlots = timeSlots;
+    }
+
+    /**
+     * Encode entries against the entity lists they will be stored with
+     * Time Complexity: O(n + e) for n entries and e entities
+     */
+    public static EntryTable of(
+            List<TimetableEntry> entries,
+            List<Course> courseList,
+            List<Professor> professorList,
+            List<Room> roomList,
+            List<TimeSlot> timeSlotList) {
+
+        Map<String, Integer> coursePositions = positions(courseList, Course::getId);
+        Map<String, Integer> professorPositions = positions(professorList, Professor::getId);
+        Map<String, Integer> roomPositions = positions(roomList, Room::getId);
+        Map<String, Integer> timeSlotPositions = positions(timeSlotList, TimeSlot::getId);
+
+        int n = entries.size();
+        int[][] columns = new int[5][n];
+        for (int i = 0; i < n; i++) {
+            TimetableEntry entry = entries.get(i);
+            columns[0][i] = idNumber(entry.getId());
+            columns[1][i] = coursePositions.get(entry.getCourse().getId());
+            columns[2][i] = professorPositions.get(entry.getProfessor().getId());
+            columns[3][i] = roomPositions.get(entry.getRoom().getId());
+            columns[4][i] = timeSlotPositions.get(entry.getTimeSlot().getId());
+        }
+        return wrap(columns);
+    }
+
+    /**
+     * Same as of, for entries stored by id (EntryRecord)
+     */
+    static EntryTable ofRecords(
+            List<EntryRecord> entries,
+            List<Course> courseList,
+            List<Professor> professorList,
+            List<Room> roomList,
+            List<TimeSlot> timeSlotList) {
+
+        Map<String, Integer> coursePositions = positions(courseList, Course::getId);
+        Map<String, Integer> professorPositions = positions(professorList, Professor::getId);
+        Map<String, Integer> roomPositions = positions(roomList, Room::getId);
+        Map<String, Integer> timeSlotPositions = positions(timeSlotList, TimeSlot::getId);
+
+        int n = entries.size();
+        int[][] columns = new int[5][n];
+        for (int i = 0; i < n; i++) {
+            EntryRecord entry = entries.get(i);
+            columns[0][i] = idNumber(entry.getId());
+            columns[1][i] = coursePositions.get(entry.getCourseId());
+            columns[2][i] = professorPositions.get(entry.getProfessorId());
+            columns[3][i] = roomPositions.get(entry.getRoomId());
+            columns[4][i] = timeSlotPositions.get(entry.getTimeSlotId());
+        }
+        return wrap(columns);
+    }
+
+    public int size() {
+        return numbers.limit();
+    }
+
+    public int getNumber(int i) {
+        return numbers.get(i);
+    }
+
+    public int getCourse(int i) {
+        return courses.get(i);
+    }
+
+    public int getProfessor(int i) {
+        return professors.get(i);
+    }
+
+    public int getRoom(int i) {
+        return rooms.get(i);
+    }
+
+    public int getTimeSlot(int i) {
+        return timeSlots.get(i);
+    }
+
+    /**
+     * Number part of an entry id ("TE42" -> 42)
+     */
+    public static int idNumber(String id) {
+        return Integer.parseInt(id.substring(2));
+    }
+
+    private static EntryTable wrap(int[][] columns) {
+        return new EntryTable(IntBuffer.wrap(columns[0]), IntBuffer.wrap(columns[1]),
+            IntBuffer.wrap(columns[2]), IntBuffer.wrap(columns[3]), IntBuffer.wrap(columns[4]));
+    }
+
+    private static <T> Map<String, Integer> positions(List<T> items, Function<T, String> id) {
+        Map<String, Integer> positions = new HashMap<>(items.size() * 2);
+        for (int i = 0; i < items.size(); i++) {
+            positions.put(id.apply(items.get(i)), i);
+        }
+        return positions;
+    }
+}
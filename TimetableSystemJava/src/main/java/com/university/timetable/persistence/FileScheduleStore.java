@@ -0,0 +1,138 @@
+package com.university.timetable.persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * File-backed store: a write-ahead log in segments plus binary snapshots,
+ * all in one directory
+ *
+ * With syncIntervalMs = 0 every sync waits for an fsync (shared by all
+ * threads syncing at the same time); with an interval, a background thread
+ * fsyncs the log periodically and sync returns at once, trading the last
+ * interval of changes on a crash for latency
+ *
+ * Snapshots are written on their own thread; once one is on disk, the log
+ * segments it covers are deleted, so recovery reads one snapshot plus a
+ * short log tail
+ */
+public class FileScheduleStore implements ScheduleStore {
+
+    private final Path directory;
+    private final long syncIntervalMs;
+    private final long snapshotEvery;
+    private final SnapshotFormat snapshotFormat;
+    private final AtomicLong changesSinceSnapshot = new AtomicLong();
+    private final AtomicInteger snapshotsPending = new AtomicInteger();
+    private final ExecutorService snapshotWriter;
+    private ScheduledExecutorService flusher;
+    private WriteAheadLog log;
+
+    public FileScheduleStore(PersistenceProperties properties) {
+        this.directory = Paths.get(properties.getDirectory());
+        this.syncIntervalMs = properties.getSyncIntervalMs();
+        this.snapshotEvery = Math.max(1, properties.getSnapshotEvery());
+        this.snapshotFormat = properties.getSnapshotFormat();
+        this.snapshotWriter = Executors.newSingleThreadExecutor(r -> daemon(r, "snapshot-writer"));
+    }
+
+    public boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Read the newest snapshot and the log after it, then open the log for appends
+     * Time Complexity: O(n) in snapshot size plus log tail
+     */
+    public Recovery recover() throws IOException {
+        Files.createDirectories(directory);
+
+        StoredState snapshot = SnapshotFile.readLatest(directory);
+        List<LogRecord> tail = new ArrayList<>();
+        long last = WriteAheadLog.replay(directory, snapshot == null ? 0 : snapshot.getSequence(), tail::add);
+
+        log = new WriteAheadLog(directory, last);
+        changesSinceSnapshot.set(tail.size());
+        if (syncIntervalMs > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "wal-flusher"));
+            flusher.scheduleWithFixedDelay(log::sync, syncIntervalMs, syncIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        return new Recovery(snapshot, tail);
+    }
+
+    public void append(LogRecord record) {
+        log.append(record);
+        changesSinceSnapshot.incrementAndGet();
+    }
+
+    public void sync() {
+        if (syncIntervalMs <= 0) {
+            log.sync();
+        }
+    }
+
+    public boolean isSnapshotDue() {
+        return snapshotsPending.get() == 0 && changesSinceSnapshot.get() >= snapshotEvery;
+    }
+
+    public boolean hasChangesSinceSnapshot() {
+        return changesSinceSnapshot.get() > 0;
+    }
+
+    public long checkpoint() {
+        long seq = log.rotate();
+        changesSinceSnapshot.set(0);
+        snapshotsPending.incrementAndGet();
+        return seq;
+    }
+
+    public CompletableFuture<Void> writeSnapshot(Supplier<StoredState> state) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                StoredState stored = state.get();
+                SnapshotFile.write(directory, stored, snapshotFormat);
+                log.deleteUpTo(stored.getSequence());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                snapshotsPending.decrementAndGet();
+            }
+        }, snapshotWriter);
+    }
+
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        snapshotWriter.shutdown();
+        try {
+            snapshotWriter.awaitTermination(1, TimeUnit.MINUTES);
+            if (log != null) {
+                log.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
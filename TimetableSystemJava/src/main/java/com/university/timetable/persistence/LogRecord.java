@@ -0,0 +1,97 @@
+package com.university.timetable.persistence;
+
+import com.university.timetable.model.*;
+
+/**
+ * One change in the write-ahead log
+ * Replaying every record after a snapshot, in order, rebuilds the state
+ */
+public final class LogRecord {
+
+    public enum Type {
+        ADD_COURSE,
+        ADD_ROOM,
+        ADD_PROFESSOR,
+        ADD_TIME_SLOT,
+        SCHEDULE,
+        UNSCHEDULE,
+        ENROLL,
+        UNENROLL
+    }
+
+    private final Type type;
+    private final Object value;
+
+    private LogRecord(Type type, Object value) {
+        this.type = type;
+        this.value = value;
+    }
+
+    public static LogRecord addCourse(Course course) {
+        return new LogRecord(Type.ADD_COURSE, course);
+    }
+
+    public static LogRecord addRoom(Room room) {
+        return new LogRecord(Type.ADD_ROOM, room);
+    }
+
+    public static LogRecord addProfessor(Professor professor) {
+        return new LogRecord(Type.ADD_PROFESSOR, professor);
+    }
+
+    public static LogRecord addTimeSlot(TimeSlot timeSlot) {
+        return new LogRecord(Type.ADD_TIME_SLOT, timeSlot);
+    }
+
+    public static LogRecord schedule(EntryRecord entry) {
+        return new LogRecord(Type.SCHEDULE, entry);
+    }
+
+    /**
+     * Remove an entry; a move or swap is logged as UNSCHEDULE + SCHEDULE
+     * with the same entry id
+     */
+    public static LogRecord unschedule(String entryId) {
+        return new LogRecord(Type.UNSCHEDULE, entryId);
+    }
+
+    public static LogRecord enroll(Enrollment enrollment) {
+        return new LogRecord(Type.ENROLL, enrollment);
+    }
+
+    public static LogRecord unenroll(Enrollment enrollment) {
+        return new LogRecord(Type.UNENROLL, enrollment);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Course getCourse() {
+        return (Course) value;
+    }
+
+    public Room getRoom() {
+        return (Room) value;
+    }
+
+    public Professor getProfessor() {
+        return (Professor) value;
+    }
+
+    public TimeSlot getTimeSlot() {
+        return (TimeSlot) value;
+    }
+
+    public EntryRecord getEntry() {
+        return (EntryRecord) value;
+    }
+
+    public Enrollment getEnrollment() {
+        return (Enrollment) value;
+    }
+
+    public String getEntryId() {
+        return (String) value;
+    }
+}
@@ -0,0 +1,297 @@
+package com.university.timetable.persistence;
+
+import com.university.timetable.model.*;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot body, version 4: columnar, read in place with FileChannel.map
+ *
+ *   sequence (long)
+ *   pool size, pool bytes, course, room, professor, time slot, entry and
+ *   enrollment counts (ints)
+ *   string pool: pool size + 1 offsets (ints), then UTF-8 bytes padded to 4
+ *   courses:    id, code, name, credits, department, enrolled  (one int column each)
+ *   rooms:      id, roomNumber, building, capacity, type
+ *   professors: id, name, department, email
+ *   time slots: id, day, start, end
+ *   entries:    id number, course, professor, room, time slot (entity positions)
+ *   enrollments: student (pool index), course (position)
+ *
+ * Version 2 has no enrollment count or columns, and is still read
+ * Every string is stored once and referenced by its pool index (-1 = null)
+ * Entries are fixed-width ints, so reading them is a view over the mapping:
+ * no parsing, no allocation, no id lookups
+ */
+final class MappedSnapshot {
+
+    static final int VERSION = 4;
+    static final int VERSION_WITHOUT_ENROLLMENTS = 2;
+    private static final int NULL = -1;
+
+    private MappedSnapshot() {
+    }
+
+    static void write(DataOutputStream out, StoredState state) throws IOException {
+        Map<String, Integer> pool = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        int[][] courses = columns(state.getCourses(), pool, strings,
+            Course::getId, Course::getCode, Course::getName, c -> c.getCredits(), Course::getDepartment, c -> c.getEnrolledStudents());
+        int[][] rooms = columns(state.getRooms(), pool, strings,
+            Room::getId, Room::getRoomNumber, Room::getBuilding, r -> r.getCapacity(), Room::getType);
+        int[][] professors = columns(state.getProfessors(), pool, strings,
+            Professor::getId, Professor::getName, Professor::getDepartment, Professor::getEmail);
+        int[][] timeSlots = columns(state.getTimeSlots(), pool, strings,
+            TimeSlot::getId, TimeSlot::getDay, TimeSlot::getStartTime, TimeSlot::getEndTime);
+
+        Map<String, Integer> coursePositions = new HashMap<>(state.getCourses().size() * 2);
+        for (int i = 0; i < state.getCourses().size(); i++) {
+            coursePositions.put(state.getCourses().get(i).getId(), i);
+        }
+        List<Enrollment> enrollments = state.getEnrollments();
+        int[][] enrolled = new int[2][enrollments.size()];
+        for (int i = 0; i < enrollments.size(); i++) {
+            enrolled[0][i] = intern(enrollments.get(i).getStudentId(), pool, strings);
+            enrolled[1][i] = coursePositions.getOrDefault(enrollments.get(i).getCourseId(), NULL);
+        }
+
+        int poolBytes = 0;
+        for (byte[] string : strings) {
+            poolBytes += string.length;
+        }
+
+        EntryTable entries = state.getEntries();
+        out.writeLong(state.getSequence());
+        out.writeInt(strings.size());
+        out.writeInt(poolBytes);
+        out.writeInt(state.getCourses().size());
+        out.writeInt(state.getRooms().size());
+        out.writeInt(state.getProfessors().size());
+        out.writeInt(state.getTimeSlots().size());
+        out.writeInt(entries.size());
+        out.writeInt(enrollments.size());
+
+        int offset = 0;
+        out.writeInt(offset);
+        for (byte[] string : strings) {
+            offset += string.length;
+            out.writeInt(offset);
+        }
+        for (byte[] string : strings) {
+            out.write(string);
+        }
+        out.write(new byte[padding(poolBytes)]);
+
+        writeColumns(out, courses);
+        writeColumns(out, rooms);
+        writeColumns(out, professors);
+        writeColumns(out, timeSlots);
+
+        for (int i = 0; i < entries.size(); i++) {
+            out.writeInt(entries.getNumber(i));
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            out.writeInt(entries.getCourse(i));
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            out.writeInt(entries.getProfessor(i));
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            out.writeInt(entries.getRoom(i));
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            out.writeInt(entries.getTimeSlot(i));
+        }
+        writeColumns(out, enrolled);
+    }
+
+    /**
+     * Map the file, check its CRC and build the entities from the pool;
+     * the entry table stays a view over the mapping
+     * Time Complexity: O(e + s) for e entities and s pool strings, plus the
+     * checksum pass over the file
+     */
+    static StoredState read(Path file, int version) throws IOException {
+        MappedByteBuffer map;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        int size = map.capacity();
+        boolean withEnrollments = version == VERSION;
+        int headerEnd = SnapshotFile.HEADER_BYTES + Long.BYTES + Integer.BYTES * (withEnrollments ? 8 : 7);
+        if (size < headerEnd + Integer.BYTES) {
+            throw new IOException("Truncated snapshot: " + file);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(map.slice(0, size - Integer.BYTES));
+        if ((int) crc.getValue() != map.getInt(size - Integer.BYTES)) {
+            throw new IOException("Snapshot checksum mismatch: " + file);
+        }
+
+        int position = SnapshotFile.HEADER_BYTES;
+        long sequence = map.getLong(position);
+        position += Long.BYTES;
+        int poolSize = map.getInt(position);
+        int poolBytes = map.getInt(position + 4);
+        int courseCount = map.getInt(position + 8);
+        int roomCount = map.getInt(position + 12);
+        int professorCount = map.getInt(position + 16);
+        int timeSlotCount = map.getInt(position + 20);
+        int entryCount = map.getInt(position + 24);
+        int enrollmentCount = withEnrollments ? map.getInt(position + 28) : 0;
+        position = headerEnd;
+
+        IntBuffer offsets = column(map, position, poolSize + 1);
+        position += (poolSize + 1) * Integer.BYTES;
+        byte[] bytes = new byte[poolBytes];
+        map.get(position, bytes);
+        position += poolBytes + padding(poolBytes);
+        StringPool pool = new StringPool(offsets, bytes);
+
+        List<Course> courses = new ArrayList<>(courseCount);
+        IntBuffer[] c = columns(map, position, courseCount, 6);
+        position += courseCount * 6 * Integer.BYTES;
+        for (int i = 0; i < courseCount; i++) {
+            courses.add(new Course(pool.get(c[0].get(i)), pool.get(c[1].get(i)), pool.get(c[2].get(i)),
+                c[3].get(i), pool.get(c[4].get(i)), c[5].get(i)));
+        }
+
+        List<Room> rooms = new ArrayList<>(roomCount);
+        IntBuffer[] r = columns(map, position, roomCount, 5);
+        position += roomCount * 5 * Integer.BYTES;
+        for (int i = 0; i < roomCount; i++) {
+            rooms.add(new Room(pool.get(r[0].get(i)), pool.get(r[1].get(i)), pool.get(r[2].get(i)),
+                r[3].get(i), pool.get(r[4].get(i))));
+        }
+
+        List<Professor> professors = new ArrayList<>(professorCount);
+        IntBuffer[] p = columns(map, position, professorCount, 4);
+        position += professorCount * 4 * Integer.BYTES;
+        for (int i = 0; i < professorCount; i++) {
+            professors.add(new Professor(pool.get(p[0].get(i)), pool.get(p[1].get(i)),
+                pool.get(p[2].get(i)), pool.get(p[3].get(i))));
+        }
+
+        List<TimeSlot> timeSlots = new ArrayList<>(timeSlotCount);
+        IntBuffer[] t = columns(map, position, timeSlotCount, 4);
+        position += timeSlotCount * 4 * Integer.BYTES;
+        for (int i = 0; i < timeSlotCount; i++) {
+            timeSlots.add(new TimeSlot(pool.get(t[0].get(i)), pool.get(t[1].get(i)),
+                pool.get(t[2].get(i)), pool.get(t[3].get(i))));
+        }
+
+        IntBuffer[] e = columns(map, position, entryCount, 5);
+        position += entryCount * 5 * Integer.BYTES;
+
+        List<Enrollment> enrollments = new ArrayList<>(enrollmentCount);
+        IntBuffer[] n = columns(map, position, enrollmentCount, 2);
+        position += enrollmentCount * 2 * Integer.BYTES;
+        for (int i = 0; i < enrollmentCount; i++) {
+            int course = n[1].get(i);
+            if (course != NULL) {
+                enrollments.add(new Enrollment(pool.get(n[0].get(i)), courses.get(course).getId()));
+            }
+        }
+
+        if (position != size - Integer.BYTES) {
+            throw new IOException("Corrupt snapshot layout: " + file);
+        }
+
+        return new StoredState(sequence, courses, rooms, professors, timeSlots,
+            new EntryTable(e[0], e[1], e[2], e[3], e[4]), enrollments);
+    }
+
+    /**
+     * One int column per field (strings become pool indexes)
+     * Fields are getters returning a String (pooled) or an Integer (stored as is)
+     */
+    @SafeVarargs
+    private static <T> int[][] columns(List<T> items, Map<String, Integer> pool, List<byte[]> strings,
+                                       Function<T, Object>... fields) {
+        int[][] columns = new int[fields.length][items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            for (int f = 0; f < fields.length; f++) {
+                Object value = fields[f].apply(items.get(i));
+                columns[f][i] = value instanceof Integer number ? number : intern((String) value, pool, strings);
+            }
+        }
+        return columns;
+    }
+
+    private static int intern(String value, Map<String, Integer> pool, List<byte[]> strings) {
+        if (value == null) {
+            return NULL;
+        }
+        return pool.computeIfAbsent(value, v -> {
+            strings.add(v.getBytes(StandardCharsets.UTF_8));
+            return strings.size() - 1;
+        });
+    }
+
+    private static void writeColumns(DataOutputStream out, int[][] columns) throws IOException {
+        for (int[] column : columns) {
+            for (int value : column) {
+                out.writeInt(value);
+            }
+        }
+    }
+
+    private static IntBuffer column(MappedByteBuffer map, int position, int count) {
+        return map.slice(position, count * Integer.BYTES).asIntBuffer();
+    }
+
+    private static IntBuffer[] columns(MappedByteBuffer map, int position, int count, int width) {
+        IntBuffer[] columns = new IntBuffer[width];
+        for (int f = 0; f < width; f++) {
+            columns[f] = column(map, position + f * count * Integer.BYTES, count);
+        }
+        return columns;
+    }
+
+    // Zero bytes that bring the pool back to int alignment
+    private static int padding(int bytes) {
+        return (Integer.BYTES - bytes % Integer.BYTES) % Integer.BYTES;
+    }
+
+    /**
+     * Strings of the pool, decoded on first use
+     */
+    private static final class StringPool {
+        private final IntBuffer offsets;
+        private final byte[] bytes;
+        private final String[] decoded;
+
+        StringPool(IntBuffer offsets, byte[] bytes) {
+            this.offsets = offsets;
+            this.bytes = bytes;
+            this.decoded = new String[offsets.limit() - 1];
+        }
+
+        String get(int index) {
+            if (index == NULL) {
+                return null;
+            }
+            String value = decoded[index];
+            if (value == null) {
+                int start = offsets.get(index);
+                value = new String(bytes, start, offsets.get(index + 1) - start, StandardCharsets.UTF_8);
+                decoded[index] = value;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.university.timetable.persistence;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Store used when persistence is disabled: nothing is recovered or written
+ */
+public class NoOpScheduleStore implements ScheduleStore {
+
+    public boolean isEnabled() {
+        return false;
+    }
+
+    public Recovery recover() {
+        return new Recovery(null, List.of());
+    }
+
+    public void append(LogRecord record) {
+    }
+
+    public void sync() {
+    }
+
+    public boolean isSnapshotDue() {
+        return false;
+    }
+
+    public boolean hasChangesSinceSnapshot() {
+        return false;
+    }
+
+    public long checkpoint() {
+        return 0;
+    }
+
+    public CompletableFuture<Void> writeSnapshot(Supplier<StoredState> state) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    public void close() {
+    }
+}
@@ -0,0 +1,19 @@
+package com.university.timetable.persistence;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Picks the schedule store from timetable.persistence.enabled
+ * (the store is closed on shutdown, after the service's final snapshot)
+ */
+@Configuration
+@EnableConfigurationProperties(PersistenceProperties.class)
+public class PersistenceConfig {
+
+    @Bean
+    public ScheduleStore scheduleStore(PersistenceProperties properties) {
+        return properties.isEnabled() ? new FileScheduleStore(properties) : new NoOpScheduleStore();
+    }
+}
@@ -0,0 +1,29 @@
+package com.university.timetable.persistence;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for durable storage (timetable.persistence.*)
+ * Disabled by default: the service then starts from the sample data every time
+ */
+@Data
+@ConfigurationProperties(prefix = "timetable.persistence")
+public class PersistenceProperties {
+
+    // Write the log and snapshots at all
+    private boolean enabled = false;
+
+    // Folder for log segments and snapshots
+    private String directory = "data";
+
+    // 0: every change waits for its fsync (group commit, batched across threads)
+    // > 0: changes return at once and the log is fsynced every this many ms
+    private long syncIntervalMs = 0;
+
+    // Write a snapshot (and drop older log segments) after this many logged changes
+    private long snapshotEvery = 100_000;
+
+    // Layout of new snapshots (MAPPED starts fastest)
+    private SnapshotFormat snapshotFormat = SnapshotFormat.MAPPED;
+}
@@ -0,0 +1,127 @@
+package com.university.timetable.persistence;
+
+import com.university.timetable.model.*;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary encoding of entities, entries and log records, shared by the
+ * write-ahead log and the snapshot files
+ * Strings are written as a presence flag plus modified UTF-8
+ */
+final class RecordCodec {
+
+    private RecordCodec() {
+    }
+
+    static void writeRecord(DataOutput out, LogRecord record) throws IOException {
+        out.writeByte(record.getType().ordinal());
+        switch (record.getType()) {
+            case ADD_COURSE -> writeCourse(out, record.getCourse());
+            case ADD_ROOM -> writeRoom(out, record.getRoom());
+            case ADD_PROFESSOR -> writeProfessor(out, record.getProfessor());
+            case ADD_TIME_SLOT -> writeTimeSlot(out, record.getTimeSlot());
+            case SCHEDULE -> writeEntry(out, record.getEntry());
+            case UNSCHEDULE -> writeString(out, record.getEntryId());
+            case ENROLL, UNENROLL -> writeEnrollment(out, record.getEnrollment());
+        }
+    }
+
+    static LogRecord readRecord(DataInput in) throws IOException {
+        int ordinal = in.readUnsignedByte();
+        if (ordinal >= LogRecord.Type.values().length) {
+            throw new IOException("Unknown log record type " + ordinal);
+        }
+        return switch (LogRecord.Type.values()[ordinal]) {
+            case ADD_COURSE -> LogRecord.addCourse(readCourse(in));
+            case ADD_ROOM -> LogRecord.addRoom(readRoom(in));
+            case ADD_PROFESSOR -> LogRecord.addProfessor(readProfessor(in));
+            case ADD_TIME_SLOT -> LogRecord.addTimeSlot(readTimeSlot(in));
+            case SCHEDULE -> LogRecord.schedule(readEntry(in));
+            case UNSCHEDULE -> LogRecord.unschedule(readString(in));
+            case ENROLL -> LogRecord.enroll(readEnrollment(in));
+            case UNENROLL -> LogRecord.unenroll(readEnrollment(in));
+        };
+    }
+
+    static void writeCourse(DataOutput out, Course course) throws IOException {
+        writeString(out, course.getId());
+        writeString(out, course.getCode());
+        writeString(out, course.getName());
+        out.writeInt(course.getCredits());
+        writeString(out, course.getDepartment());
+        out.writeInt(course.getEnrolledStudents());
+    }
+
+    static Course readCourse(DataInput in) throws IOException {
+        return new Course(readString(in), readString(in), readString(in), in.readInt(), readString(in), in.readInt());
+    }
+
+    static void writeRoom(DataOutput out, Room room) throws IOException {
+        writeString(out, room.getId());
+        writeString(out, room.getRoomNumber());
+        writeString(out, room.getBuilding());
+        out.writeInt(room.getCapacity());
+        writeString(out, room.getType());
+    }
+
+    static Room readRoom(DataInput in) throws IOException {
+        return new Room(readString(in), readString(in), readString(in), in.readInt(), readString(in));
+    }
+
+    static void writeProfessor(DataOutput out, Professor professor) throws IOException {
+        writeString(out, professor.getId());
+        writeString(out, professor.getName());
+        writeString(out, professor.getDepartment());
+        writeString(out, professor.getEmail());
+    }
+
+    static Professor readProfessor(DataInput in) throws IOException {
+        return new Professor(readString(in), readString(in), readString(in), readString(in));
+    }
+
+    static void writeTimeSlot(DataOutput out, TimeSlot timeSlot) throws IOException {
+        writeString(out, timeSlot.getId());
+        writeString(out, timeSlot.getDay());
+        writeString(out, timeSlot.getStartTime());
+        writeString(out, timeSlot.getEndTime());
+    }
+
+    static TimeSlot readTimeSlot(DataInput in) throws IOException {
+        return new TimeSlot(readString(in), readString(in), readString(in), readString(in));
+    }
+
+    static void writeEntry(DataOutput out, EntryRecord entry) throws IOException {
+        writeString(out, entry.getId());
+        writeString(out, entry.getCourseId());
+        writeString(out, entry.getProfessorId());
+        writeString(out, entry.getRoomId());
+        writeString(out, entry.getTimeSlotId());
+    }
+
+    static EntryRecord readEntry(DataInput in) throws IOException {
+        return new EntryRecord(readString(in), readString(in), readString(in), readString(in), readString(in));
+    }
+
+    static void writeEnrollment(DataOutput out, Enrollment enrollment) throws IOException {
+        writeString(out, enrollment.getStudentId());
+        writeString(out, enrollment.getCourseId());
+    }
+
+    static Enrollment readEnrollment(DataInput in) throws IOException {
+        return new Enrollment(readString(in), readString(in));
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.university.timetable.persistence;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * What a store found at startup: the latest snapshot (or null) and the
+ * logged changes made after it, in order
+ */
+@Data
+@AllArgsConstructor
+public class Recovery {
+    private StoredState snapshot;
+    private List<LogRecord> tail;
+
+    public boolean isEmpty() {
+        return snapshot == null && tail.isEmpty();
+    }
+}
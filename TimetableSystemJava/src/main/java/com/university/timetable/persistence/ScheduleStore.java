@@ -0,0 +1,57 @@
+package com.university.timetable.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Durable storage behind SchedulingService: a change log plus periodic snapshots
+ *
+ * Protocol: recover once at startup, then append every change while holding
+ * the lock that orders it, and sync after releasing that lock. A snapshot is
+ * taken by calling checkpoint with all appends blocked, then writeSnapshot
+ * with the state as of the returned sequence (built and written in the background)
+ */
+public interface ScheduleStore extends Closeable {
+
+    boolean isEnabled();
+
+    /**
+     * Latest snapshot plus the changes logged after it
+     */
+    Recovery recover() throws IOException;
+
+    /**
+     * Log a change (buffered; durable after sync)
+     */
+    void append(LogRecord record);
+
+    /**
+     * Wait until every change appended so far is durable
+     */
+    void sync();
+
+    /**
+     * Whether enough changes have been logged since the last snapshot
+     */
+    boolean isSnapshotDue();
+
+    /**
+     * Whether anything has been logged since the last snapshot
+     */
+    boolean hasChangesSinceSnapshot();
+
+    /**
+     * Start a snapshot: seal the log so far and return its last sequence
+     * Caller must block appends while this runs
+     */
+    long checkpoint();
+
+    /**
+     * Write the state as of a checkpoint and drop the log it replaces
+     */
+    CompletableFuture<Void> writeSnapshot(Supplier<StoredState> state);
+
+    void close();
+}
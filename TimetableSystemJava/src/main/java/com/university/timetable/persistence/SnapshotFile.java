@@ -0,0 +1,131 @@
+package com.university.timetable.persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshot files of the whole state (snapshot-<seq>.snap)
+ *
+ * Every file is: magic, format version, body, CRC32 of everything before it
+ * The body is StreamSnapshot (version 3, or 1 without enrollments) or
+ * MappedSnapshot (version 4, or 2); readers dispatch on the version, so
+ * any of them can be restored
+ * Written to a temporary file, fsynced and atomically renamed, so a reader
+ * sees either the old snapshot or the complete new one
+ */
+final class SnapshotFile {
+
+    static final int MAGIC = 0x54545350; // "TTSP"
+    static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Write a snapshot and delete the older ones
+     * Time Complexity: O(n) in the number of entities and entries
+     */
+    static void write(Path directory, StoredState state, SnapshotFormat format) throws IOException {
+        Path target = path(directory, state.getSequence());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream buffered = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+            CRC32 crc = new CRC32();
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(buffered, crc));
+
+            out.writeInt(MAGIC);
+            if (format == SnapshotFormat.STREAM) {
+                out.writeInt(StreamSnapshot.VERSION);
+                StreamSnapshot.write(out, state);
+            } else {
+                out.writeInt(MappedSnapshot.VERSION);
+                MappedSnapshot.write(out, state);
+            }
+            out.flush();
+
+            new DataOutputStream(buffered).writeInt((int) crc.getValue());
+            buffered.flush();
+            channel.force(true);
+        }
+
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        WriteAheadLog.syncDirectory(directory);
+
+        for (Path older : snapshots(directory)) {
+            if (sequence(older) < state.getSequence()) {
+                try {
+                    Files.deleteIfExists(older);
+                } catch (IOException e) {
+                    // Still mapped on a platform that locks mapped files; a later snapshot removes it
+                }
+            }
+        }
+    }
+
+    /**
+     * Newest snapshot, or null if there is none
+     * A damaged snapshot is an error: the log it replaced is already gone
+     */
+    static StoredState readLatest(Path directory) throws IOException {
+        List<Path> files = snapshots(directory);
+        return files.isEmpty() ? null : read(files.get(files.size() - 1));
+    }
+
+    static StoredState read(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Fill the header
+            }
+        }
+        header.flip();
+        if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+            throw new IOException("Not a snapshot file: " + file);
+        }
+
+        int version = header.getInt();
+        return switch (version) {
+            case StreamSnapshot.VERSION, StreamSnapshot.VERSION_WITHOUT_ENROLLMENTS -> StreamSnapshot.read(file);
+            case MappedSnapshot.VERSION, MappedSnapshot.VERSION_WITHOUT_ENROLLMENTS -> MappedSnapshot.read(file, version);
+            default -> throw new IOException("Unsupported snapshot version " + version + ": " + file);
+        };
+    }
+
+    // Snapshot files, oldest first
+    private static List<Path> snapshots(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> list = Files.list(directory)) {
+            list.filter(p -> p.getFileName().toString().startsWith(PREFIX) && p.getFileName().toString().endsWith(SUFFIX))
+                .forEach(files::add);
+        }
+        files.sort((a, b) -> Long.compare(sequence(a), sequence(b)));
+        return files;
+    }
+
+    private static long sequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static Path path(Path directory, long sequence) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, sequence, SUFFIX));
+    }
+}
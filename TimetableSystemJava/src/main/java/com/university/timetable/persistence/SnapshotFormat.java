@@ -0,0 +1,14 @@
+package com.university.timetable.persistence;
+
+/**
+ * On-disk layout of snapshots (timetable.persistence.snapshot-format)
+ * Both are always readable; this only picks what new snapshots are written as
+ */
+public enum SnapshotFormat {
+
+    // Record by record, read through a stream and decoded on the heap (version 1)
+    STREAM,
+
+    // Columns of ints plus a string pool, read in place via FileChannel.map (version 2)
+    MAPPED
+}
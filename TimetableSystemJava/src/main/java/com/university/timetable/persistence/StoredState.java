@@ -0,0 +1,24 @@
+package com.university.timetable.persistence;
+
+import com.university.timetable.model.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Everything a snapshot holds: all entities and entries as of log sequence `sequence`
+ * Entries refer to entities by their position in these lists (see EntryTable)
+ * Snapshots written before enrollments were kept restore with none
+ */
+@Data
+@AllArgsConstructor
+public class StoredState {
+    private long sequence;
+    private List<Course> courses;
+    private List<Room> rooms;
+    private List<Professor> professors;
+    private List<TimeSlot> timeSlots;
+    private EntryTable entries;
+    private List<Enrollment> enrollments;
+}
@@ -0,0 +1,124 @@
+package com.university.timetable.persistence;
+
+import com.university.timetable.model.*;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+/**
+ * Snapshot body, version 3: log sequence, then counted sections of courses,
+ * rooms, professors, time slots, entries and enrollments, each record
+ * written in full (strings included) with RecordCodec
+ * Version 1 is the same without enrollments, and is still read
+ * Read through a stream; every string and entry is decoded on the heap
+ */
+final class StreamSnapshot {
+
+    static final int VERSION = 3;
+    static final int VERSION_WITHOUT_ENROLLMENTS = 1;
+
+    private StreamSnapshot() {
+    }
+
+    static void write(DataOutputStream out, StoredState state) throws IOException {
+        out.writeLong(state.getSequence());
+
+        out.writeInt(state.getCourses().size());
+        for (Course course : state.getCourses()) {
+            RecordCodec.writeCourse(out, course);
+        }
+        out.writeInt(state.getRooms().size());
+        for (Room room : state.getRooms()) {
+            RecordCodec.writeRoom(out, room);
+        }
+        out.writeInt(state.getProfessors().size());
+        for (Professor professor : state.getProfessors()) {
+            RecordCodec.writeProfessor(out, professor);
+        }
+        out.writeInt(state.getTimeSlots().size());
+        for (TimeSlot timeSlot : state.getTimeSlots()) {
+            RecordCodec.writeTimeSlot(out, timeSlot);
+        }
+
+        EntryTable entries = state.getEntries();
+        out.writeInt(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            RecordCodec.writeEntry(out, new EntryRecord(
+                "TE" + entries.getNumber(i),
+                state.getCourses().get(entries.getCourse(i)).getId(),
+                state.getProfessors().get(entries.getProfessor(i)).getId(),
+                state.getRooms().get(entries.getRoom(i)).getId(),
+                state.getTimeSlots().get(entries.getTimeSlot(i)).getId()));
+        }
+
+        out.writeInt(state.getEnrollments().size());
+        for (Enrollment enrollment : state.getEnrollments()) {
+            RecordCodec.writeEnrollment(out, enrollment);
+        }
+    }
+
+    /**
+     * Time Complexity: O(n) plus a hash lookup per entry reference
+     */
+    static StoredState read(Path file) throws IOException {
+        try (InputStream buffered = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            CRC32 crc = new CRC32();
+            DataInputStream in = new DataInputStream(new CheckedInputStream(buffered, crc));
+
+            int version = in.readInt() == SnapshotFile.MAGIC ? in.readInt() : -1;
+            if (version != VERSION && version != VERSION_WITHOUT_ENROLLMENTS) {
+                throw new IOException("Not a version " + VERSION_WITHOUT_ENROLLMENTS + " or " + VERSION + " snapshot: " + file);
+            }
+            long sequence = in.readLong();
+
+            int count = in.readInt();
+            List<Course> courses = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                courses.add(RecordCodec.readCourse(in));
+            }
+            count = in.readInt();
+            List<Room> rooms = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                rooms.add(RecordCodec.readRoom(in));
+            }
+            count = in.readInt();
+            List<Professor> professors = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                professors.add(RecordCodec.readProfessor(in));
+            }
+            count = in.readInt();
+            List<TimeSlot> timeSlots = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                timeSlots.add(RecordCodec.readTimeSlot(in));
+            }
+            count = in.readInt();
+            List<EntryRecord> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                entries.add(RecordCodec.readEntry(in));
+            }
+            List<Enrollment> enrollments = new ArrayList<>();
+            if (version == VERSION) {
+                count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    enrollments.add(RecordCodec.readEnrollment(in));
+                }
+            }
+
+            int expected = (int) crc.getValue();
+            if (new DataInputStream(buffered).readInt() != expected) {
+                throw new IOException("Snapshot checksum mismatch: " + file);
+            }
+            return new StoredState(sequence, courses, rooms, professors, timeSlots,
+                EntryTable.ofRecords(entries, courses, professors, rooms, timeSlots), enrollments);
+        }
+    }
+}
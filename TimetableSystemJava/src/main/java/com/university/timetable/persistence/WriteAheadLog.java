@@ -0,0 +1,350 @@
+package com.university.timetable.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only change log split into segment files (wal-<first seq>.log)
+ *
+ * Record layout: [payload length][CRC32 of payload][payload = seq + record]
+ * A record counts only once its whole payload is on disk with a matching
+ * checksum, so a crash mid-write just loses the torn tail
+ *
+ * Group commit: append only encodes into an in-memory batch; sync makes one
+ * thread the leader, which writes the whole batch and fsyncs once for every
+ * thread waiting on it. Under load one fsync covers many changes
+ *
+ * A failed write is cut back off the segment and its batch queued again, so
+ * no torn frame is left before later records. After a failed fsync (or a
+ * failed cut) what is on disk is unknown, and the log refuses every later
+ * append and sync
+ */
+final class WriteAheadLog implements Closeable {
+
+    private static final String PREFIX = "wal-";
+    private static final String SUFFIX = ".log";
+    private static final int MAX_RECORD = 1 << 20;
+
+    private final Path directory;
+    private final UnaryOperator<FileChannel> channels;
+    private final Object flushLock = new Object();
+
+    // Guarded by this
+    private final Buffer pending = new Buffer();
+    private final DataOutputStream pendingOut = new DataOutputStream(pending);
+    private final Buffer scratch = new Buffer();
+    private final DataOutputStream scratchOut = new DataOutputStream(scratch);
+    private final CRC32 crc = new CRC32();
+    private long lastSeq;
+
+    // Guarded by flushLock
+    private FileChannel segment;
+    private long segmentStart;
+
+    private volatile long durableSeq;
+    private volatile IOException failure;
+
+    /**
+     * Open the log for appending after `lastSeq` (the last record recovered);
+     * new records always go to a fresh segment
+     */
+    WriteAheadLog(Path directory, long lastSeq) throws IOException {
+        this(directory, lastSeq, UnaryOperator.identity());
+    }
+
+    // channels wraps every segment channel (tests inject failing writes)
+    WriteAheadLog(Path directory, long lastSeq, UnaryOperator<FileChannel> channels) throws IOException {
+        this.directory = directory;
+        this.channels = channels;
+        this.lastSeq = lastSeq;
+        this.durableSeq = lastSeq;
+        this.segment = openSegment(lastSeq + 1);
+    }
+
+    /**
+     * Add a record to the current batch (not durable until sync)
+     * Returns its sequence number
+     * Time Complexity: O(record size)
+     */
+    synchronized long append(LogRecord record) {
+        checkFailure();
+        try {
+            long seq = lastSeq + 1;
+            scratch.reset();
+            scratchOut.writeLong(seq);
+            RecordCodec.writeRecord(scratchOut, record);
+
+            crc.reset();
+            crc.update(scratch.array(), 0, scratch.size());
+            pendingOut.writeInt(scratch.size());
+            pendingOut.writeInt((int) crc.getValue());
+            scratch.writeTo(pendingOut);
+
+            lastSeq = seq;
+            return seq;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    synchronized long lastSequence() {
+        return lastSeq;
+    }
+
+    /**
+     * Block until every record up to `seq` is on disk
+     * Whoever gets the flush lock first writes everything batched so far
+     */
+    void sync(long seq) {
+        if (durableSeq >= seq) {
+            return;
+        }
+        synchronized (flushLock) {
+            if (durableSeq < seq) {
+                flush();
+            }
+        }
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw new UncheckedIOException("Write-ahead log failed; restart to recover", failure);
+        }
+    }
+
+    void sync() {
+        sync(lastSequence());
+    }
+
+    /**
+     * Flush and start a new segment, so every record up to the returned
+     * sequence lives in older segments that a snapshot can later replace
+     * Caller must stop appends while this runs
+     */
+    long rotate() {
+        synchronized (flushLock) {
+            flush();
+            try {
+                segment.close();
+                long seq = lastSequence();
+                segment = openSegment(seq + 1);
+                return seq;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Delete the segments holding only records up to `seq` (already in a snapshot)
+     */
+    void deleteUpTo(long seq) throws IOException {
+        long current;
+        synchronized (flushLock) {
+            current = segmentStart;
+        }
+        for (Path file : segments(directory)) {
+            if (firstSeq(file) <= seq && firstSeq(file) != current) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    public void close() throws IOException {
+        synchronized (flushLock) {
+            try {
+                if (failure == null) {
+                    flush();
+                }
+            } finally {
+                segment.close();
+            }
+        }
+    }
+
+    // Caller holds flushLock
+    private void flush() {
+        checkFailure();
+        byte[] batch;
+        long upTo;
+        synchronized (this) {
+            if (pending.size() == 0) {
+                return;
+            }
+            batch = pending.toByteArray();
+            upTo = lastSeq;
+            pending.reset();
+        }
+
+        long start = -1;
+        try {
+            start = segment.position();
+            ByteBuffer buffer = ByteBuffer.wrap(batch);
+            while (buffer.hasRemaining()) {
+                segment.write(buffer);
+            }
+        } catch (IOException e) {
+            requeue(start, batch, e);
+            throw new UncheckedIOException(e);
+        }
+        try {
+            segment.force(false);
+        } catch (IOException e) {
+            failure = e;
+            throw new UncheckedIOException(e);
+        }
+        durableSeq = upTo;
+    }
+
+    // Cut a partly written batch off the segment and put it back ahead of newer records
+    private void requeue(long start, byte[] batch, IOException error) {
+        if (start >= 0) {
+            try {
+                segment.truncate(start);
+                segment.position(start);
+            } catch (IOException e) {
+                error.addSuppressed(e);
+                failure = error;
+                return;
+            }
+        }
+        synchronized (this) {
+            byte[] newer = pending.toByteArray();
+            pending.reset();
+            pending.write(batch, 0, batch.length);
+            pending.write(newer, 0, newer.length);
+        }
+    }
+
+    // Caller holds flushLock (or is the constructor)
+    private FileChannel openSegment(long firstSeq) throws IOException {
+        FileChannel channel = channels.apply(FileChannel.open(segmentPath(directory, firstSeq),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+        segmentStart = firstSeq;
+        syncDirectory(directory);
+        return channel;
+    }
+
+    /**
+     * fsync a directory so newly created or renamed files in it survive a crash
+     * (not supported on every platform; there it is skipped)
+     */
+    static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened for sync here (e.g. Windows)
+        }
+    }
+
+    /**
+     * Read every intact record after `afterSeq`, oldest first
+     * Stops at the first torn or corrupt record and cuts the file there,
+     * so later appends never follow garbage
+     * Returns the last sequence number seen (or afterSeq if none)
+     */
+    static long replay(Path directory, long afterSeq, Consumer<LogRecord> consumer) throws IOException {
+        long last = afterSeq;
+        for (Path file : segments(directory)) {
+            long validLength = 0;
+            boolean torn = false;
+
+            try (InputStream raw = Files.newInputStream(file);
+                 DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 1 << 16))) {
+                CRC32 check = new CRC32();
+                while (true) {
+                    int length;
+                    try {
+                        length = in.readInt();
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    if (length < Long.BYTES + 1 || length > MAX_RECORD) {
+                        torn = true;
+                        break;
+                    }
+
+                    byte[] payload = new byte[length];
+                    int expected;
+                    try {
+                        expected = in.readInt();
+                        in.readFully(payload);
+                    } catch (EOFException e) {
+                        torn = true;
+                        break;
+                    }
+                    check.reset();
+                    check.update(payload);
+                    if ((int) check.getValue() != expected) {
+                        torn = true;
+                        break;
+                    }
+
+                    DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                    long seq = record.readLong();
+                    LogRecord decoded = RecordCodec.readRecord(record);
+                    validLength += Integer.BYTES * 2 + length;
+                    if (seq > last) {
+                        consumer.accept(decoded);
+                        last = seq;
+                    }
+                }
+            }
+
+            if (torn) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(validLength);
+                    channel.force(true);
+                }
+                break;
+            }
+        }
+        return last;
+    }
+
+    // Segment files, oldest first
+    static List<Path> segments(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> list = Files.list(directory)) {
+            list.filter(p -> p.getFileName().toString().startsWith(PREFIX) && p.getFileName().toString().endsWith(SUFFIX))
+                .forEach(files::add);
+        }
+        files.sort((a, b) -> Long.compare(firstSeq(a), firstSeq(b)));
+        return files;
+    }
+
+    private static long firstSeq(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static Path segmentPath(Path directory, long firstSeq) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, firstSeq, SUFFIX));
+    }
+
+    // ByteArrayOutputStream with access to its array (no copy per record)
+    private static final class Buffer extends ByteArrayOutputStream {
+        byte[] array() {
+            return buf;
+        }
+    }
+}
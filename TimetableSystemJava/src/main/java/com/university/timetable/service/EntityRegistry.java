@@ -0,0 +1,192 @@
+package com.university.timetable.service;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * In-memory store for one kind of entity
+ * O(1) lookup by id plus any number of secondary hash indexes
+ * (e.g. courses by department, rooms by building), matched case-insensitively
+ *
+ * Entities are kept in an append-only array: getAll returns the current
+ * prefix in O(1), and later adds never change it, so it can be published
+ * as is. Adds are amortised O(1)
+ *
+ * Safe for concurrent readers; adds must be serialised by the caller
+ */
+public class EntityRegistry<T> {
+
+    private final Function<T, String> idOf;
+    private final Map<String, T> byId;
+    private final AppendOnly<T> all;
+    private final Map<String, Function<T, String>> indexKeys;
+    private final Map<String, Map<String, List<T>>> indexes;
+
+    public EntityRegistry(Function<T, String> idOf) {
+        this.idOf = idOf;
+        this.byId = new ConcurrentHashMap<>();
+        this.all = new AppendOnly<>();
+        this.indexKeys = new ConcurrentHashMap<>();
+        this.indexes = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Add a secondary index; must be called before any entity is added
+     */
+    public EntityRegistry<T> withIndex(String name, Function<T, String> key) {
+        indexKeys.put(name, key);
+        indexes.put(name, new ConcurrentHashMap<>());
+        return this;
+    }
+
+    /**
+     * Register an entity (its id must already be set)
+     * Time Complexity: O(i) where i = number of secondary indexes
+     */
+    public void add(T entity) {
+        byId.put(idOf.apply(entity), entity);
+        all.add(entity);
+
+        for (Map.Entry<String, Function<T, String>> index : indexKeys.entrySet()) {
+            String key = normalise(index.getValue().apply(entity));
+            indexes.get(index.getKey())
+                   .computeIfAbsent(key, k -> new CopyOnWriteArrayList<>())
+                   .add(entity);
+        }
+    }
+
+    /**
+     * Register many entities at once
+     * Each index list is extended once, instead of being copied per entity
+     * Time Complexity: O(n * i + size)
+     */
+    public void addAll(Collection<T> entities) {
+        for (T entity : entities) {
+            byId.put(idOf.apply(entity), entity);
+        }
+        all.addAll(entities);
+
+        for (Map.Entry<String, Function<T, String>> index : indexKeys.entrySet()) {
+            Map<String, List<T>> groups = new HashMap<>();
+            for (T entity : entities) {
+                String key = normalise(index.getValue().apply(entity));
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(entity);
+            }
+            for (Map.Entry<String, List<T>> group : groups.entrySet()) {
+                indexes.get(index.getKey())
+                       .computeIfAbsent(group.getKey(), k -> new CopyOnWriteArrayList<>())
+                       .addAll(group.getValue());
+            }
+        }
+    }
+
+    /**
+     * Look up by id, or null if unknown
+     * Time Complexity: O(1)
+     */
+    public T get(String id) {
+        return id == null ? null : byId.get(id);
+    }
+
+    /**
+     * All entities whose indexed attribute equals the key (case-insensitive)
+     * Time Complexity: O(1) + size of the result
+     */
+    public List<T> findBy(String index, String key) {
+        Map<String, List<T>> entries = indexes.get(index);
+        if (entries == null) {
+            throw new IllegalArgumentException("Unknown index: " + index);
+        }
+        List<T> matches = entries.get(normalise(key));
+        return matches == null ? List.of() : Collections.unmodifiableList(matches);
+    }
+
+    /**
+     * All entities in insertion order, as of now; later adds do not show in it
+     * Time Complexity: O(1)
+     */
+    public List<T> getAll() {
+        return all.prefix();
+    }
+
+    public int size() {
+        return all.size;
+    }
+
+    private static String normalise(String key) {
+        return key == null ? "" : key.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Array that only grows; a slot is written once, before the size that
+     * covers it is published, so every prefix is immutable
+     */
+    private static final class AppendOnly<T> {
+        private volatile Object[] elements = new Object[16];
+        private volatile int size;
+
+        void add(T element) {
+            Object[] array = ensure(size + 1);
+            array[size] = element;
+            size = size + 1;
+        }
+
+        void addAll(Collection<T> added) {
+            Object[] array = ensure(size + added.size());
+            int next = size;
+            for (T element : added) {
+                array[next++] = element;
+            }
+            size = next;
+        }
+
+        // The current array, replaced by a larger copy when full
+        private Object[] ensure(int capacity) {
+            Object[] array = elements;
+            if (capacity > array.length) {
+                array = Arrays.copyOf(array, Math.max(capacity, array.length * 2));
+                elements = array;
+            }
+            return array;
+        }
+
+        // Read size first: the array read after it holds at least that many elements
+        List<T> prefix() {
+            int length = size;
+            return new Prefix<>(elements, length);
+        }
+    }
+
+    private static final class Prefix<T> extends AbstractList<T> implements RandomAccess {
+        private final Object[] elements;
+        private final int size;
+
+        Prefix(Object[] elements, int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+            }
+            return (T) elements[index];
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+}
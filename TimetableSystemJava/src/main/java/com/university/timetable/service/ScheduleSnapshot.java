@@ -0,0 +1,222 @@
+package com.university.timetable.service;
+
+import com.university.timetable.algorithm.AVLTree;
+import com.university.timetable.model.*;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable, versioned view of everything the read endpoints serve
+ * A new snapshot is published after each change; it shares every part that
+ * did not change with the previous one, so reads never copy anything
+ * Publishing is O(days): a day is an O(1) fork of its AVL Tree, listed on
+ * first read, and entity lists are registry prefixes that never change
+ *
+ * Each part remembers the version at which it last changed, which the
+ * controller uses as its ETag together with the epoch (the service start time),
+ * so ETags from before a restart never match
+ */
+public final class ScheduleSnapshot {
+
+    private final long epoch;
+    private final long version;
+    private final List<List<TimetableEntry>> days;
+    private final long[] dayVersions;
+    private final long scheduleVersion;
+    private final List<Course> courses;
+    private final long coursesVersion;
+    private final List<Room> rooms;
+    private final long roomsVersion;
+    private final List<Professor> professors;
+    private final long professorsVersion;
+    private final List<TimeSlot> timeSlots;
+    private final long timeSlotsVersion;
+
+    // Built on first read of the whole week, then shared by every reader
+    private volatile List<TimetableEntry> entries;
+
+    private ScheduleSnapshot(
+            long epoch, long version,
+            List<List<TimetableEntry>> days, long[] dayVersions, long scheduleVersion,
+            List<Course> courses, long coursesVersion,
+            List<Room> rooms, long roomsVersion,
+            List<Professor> professors, long professorsVersion,
+            List<TimeSlot> timeSlots, long timeSlotsVersion) {
+        this.epoch = epoch;
+        this.version = version;
+        this.days = days;
+        this.dayVersions = dayVersions;
+        this.scheduleVersion = scheduleVersion;
+        this.courses = courses;
+        this.coursesVersion = coursesVersion;
+        this.rooms = rooms;
+        this.roomsVersion = roomsVersion;
+        this.professors = professors;
+        this.professorsVersion = professorsVersion;
+        this.timeSlots = timeSlots;
+        this.timeSlotsVersion = timeSlotsVersion;
+    }
+
+    /**
+     * Empty snapshot with the given number of days
+     */
+    public static ScheduleSnapshot empty(int dayCount) {
+        return new ScheduleSnapshot(
+            System.currentTimeMillis(), 0,
+            Collections.nCopies(dayCount, List.of()), new long[dayCount], 0,
+            List.of(), 0, List.of(), 0, List.of(), 0, List.of(), 0);
+    }
+
+    /**
+     * Publish a day from a fork of its tree; the fork must never change
+     * Time Complexity: O(days)
+     */
+    public ScheduleSnapshot withDay(int day, AVLTree frozen) {
+        long next = version + 1;
+        List<List<TimetableEntry>> newDays = new ArrayList<>(days);
+        newDays.set(day, new Day(frozen));
+        long[] newDayVersions = Arrays.copyOf(dayVersions, dayVersions.length);
+        newDayVersions[day] = next;
+        return new ScheduleSnapshot(epoch, next,
+            Collections.unmodifiableList(newDays), newDayVersions, next,
+            courses, coursesVersion, rooms, roomsVersion,
+            professors, professorsVersion, timeSlots, timeSlotsVersion);
+    }
+
+    /**
+     * The entity lists below are kept as given, so they must never change
+     * (EntityRegistry.getAll returns such a list)
+     * Time Complexity: O(days)
+     */
+    public ScheduleSnapshot withCourses(List<Course> newCourses) {
+        long next = version + 1;
+        return new ScheduleSnapshot(epoch, next, days, dayVersions, scheduleVersion,
+            newCourses, next, rooms, roomsVersion,
+            professors, professorsVersion, timeSlots, timeSlotsVersion);
+    }
+
+    public ScheduleSnapshot withRooms(List<Room> newRooms) {
+        long next = version + 1;
+        return new ScheduleSnapshot(epoch, next, days, dayVersions, scheduleVersion,
+            courses, coursesVersion, newRooms, next,
+            professors, professorsVersion, timeSlots, timeSlotsVersion);
+    }
+
+    public ScheduleSnapshot withProfessors(List<Professor> newProfessors) {
+        long next = version + 1;
+        return new ScheduleSnapshot(epoch, next, days, dayVersions, scheduleVersion,
+            courses, coursesVersion, rooms, roomsVersion,
+            newProfessors, next, timeSlots, timeSlotsVersion);
+    }
+
+    public ScheduleSnapshot withTimeSlots(List<TimeSlot> newTimeSlots) {
+        long next = version + 1;
+        return new ScheduleSnapshot(epoch, next, days, dayVersions, scheduleVersion,
+            courses, coursesVersion, rooms, roomsVersion,
+            professors, professorsVersion, newTimeSlots, next);
+    }
+
+    /**
+     * All entries, Monday first and sorted by start time within each day
+     */
+    public List<TimetableEntry> getEntries() {
+        List<TimetableEntry> result = entries;
+        if (result == null) {
+            List<TimetableEntry> all = new ArrayList<>();
+            for (List<TimetableEntry> day : days) {
+                all.addAll(day);
+            }
+            result = Collections.unmodifiableList(all);
+            entries = result;
+        }
+        return result;
+    }
+
+    public List<TimetableEntry> getDay(int day) {
+        return days.get(day);
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getDayVersion(int day) {
+        return dayVersions[day];
+    }
+
+    public long getScheduleVersion() {
+        return scheduleVersion;
+    }
+
+    public List<Course> getCourses() {
+        return courses;
+    }
+
+    public long getCoursesVersion() {
+        return coursesVersion;
+    }
+
+    public List<Room> getRooms() {
+        return rooms;
+    }
+
+    public long getRoomsVersion() {
+        return roomsVersion;
+    }
+
+    public List<Professor> getProfessors() {
+        return professors;
+    }
+
+    public long getProfessorsVersion() {
+        return professorsVersion;
+    }
+
+    public List<TimeSlot> getTimeSlots() {
+        return timeSlots;
+    }
+
+    public long getTimeSlotsVersion() {
+        return timeSlotsVersion;
+    }
+
+    /**
+     * One day as a read-only list over a frozen tree fork
+     * The in-order walk runs on the first read, so a write publishes in O(1)
+     * and only days that are read again pay O(entries) once
+     */
+    private static final class Day extends AbstractList<TimetableEntry> implements RandomAccess {
+        private final AVLTree tree;
+        private volatile List<TimetableEntry> entries;
+
+        Day(AVLTree tree) {
+            this.tree = tree;
+        }
+
+        public TimetableEntry get(int index) {
+            return entries().get(index);
+        }
+
+        public int size() {
+            return entries().size();
+        }
+
+        private List<TimetableEntry> entries() {
+            List<TimetableEntry> result = entries;
+            if (result == null) {
+                result = Collections.unmodifiableList(tree.getAllEntries());
+                entries = result;
+            }
+            return result;
+        }
+    }
+}
@@ -1,49 +1,363 @@
 package com.university.timetable.service;
 
 import com.university.timetable.algorithm.AVLTree;
+import com.university.timetable.algorithm.AvailabilityMatrix;
+import com.university.timetable.algorithm.ClashIndex;
+import com.university.timetable.algorithm.CompositeRoomScorer;
+import com.university.timetable.algorithm.EntryIndex;
+import com.university.timetable.algorithm.GeneratorConfig;
 import com.university.timetable.algorithm.GreedyRoomAllocator;
+import com.university.timetable.algorithm.OccupancyIndex;
+import com.university.timetable.algorithm.RoomAssignmentSolver;
+import com.university.timetable.algorithm.RoomIndex;
+import com.university.timetable.algorithm.RoomScoringStrategy;
+import com.university.timetable.algorithm.ScheduleFork;
+import com.university.timetable.algorithm.ScheduleRepairer;
+import com.university.timetable.algorithm.TermIndex;
+import com.university.timetable.algorithm.TimetableGenerator;
 import com.university.timetable.algorithm.Trie;
+import com.university.timetable.algorithm.WeekTime;
+import com.university.timetable.metrics.SchedulingMetrics;
+import com.university.timetable.metrics.SchedulingMetrics.Rejection;
+import com.university.timetable.metrics.SchedulingMetrics.Stage;
 import com.university.timetable.model.*;
+import com.university.timetable.persistence.EntryRecord;
+import com.university.timetable.persistence.EntryTable;
+import com.university.timetable.persistence.LogRecord;
+import com.university.timetable.persistence.NoOpScheduleStore;
+import com.university.timetable.persistence.Recovery;
+import com.university.timetable.persistence.ScheduleStore;
+import com.university.timetable.persistence.StoredState;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
 
 /**
  * Main Scheduling Service that integrates:
  * 1. AVL Tree - for time-based scheduling and conflict detection
- * 2. Trie - for auto-completion of courses and rooms
+ * 2. Trie - for auto-completion of courses and rooms (path-compressed RadixTrie,
+ *    with word and typo-tolerant matching in TermIndex)
  * 3. Greedy Algorithm - for optimal room allocation
+ * 
+ * Concurrency: slots never span midnight, so the schedule is split into one
+ * AVL Tree per day and schedule changes lock only the days they touch (lock
+ * striping by day). Classes on different days are scheduled in parallel;
+ * the occupancy bitsets are day-aligned, so those writers never share a word.
+ * All reads are served lock-free from an immutable, versioned ScheduleSnapshot
+ * that is republished atomically after every change. Entity lists are
+ * append-only (a published prefix never changes) and the room index is
+ * replaced, not mutated, when a room is added
+ * 
+ * Durability (optional, see ScheduleStore): every change is appended to a
+ * write-ahead log under the lock that orders it and fsynced after the lock is
+ * released (group commit). Periodic snapshots bound the log; on startup the
+ * AVL Trees, tries and indexes are rebuilt from the snapshot plus the log tail
  */
 @Service
 public class SchedulingService {
     
-    private AVLTree scheduleTree;
-    private Trie courseTrie;
-    private Trie roomTrie;
+    private static final Logger log = LoggerFactory.getLogger(SchedulingService.class);
+    
+    // What-if scenarios per simulation request, one fork each
+    private static final int MAX_SCENARIOS = 64;
+    // Changes per scenario, applied one after another to its fork
+    private static final int MAX_CHANGES = 256;
+    
+    private AVLTree[] dayTrees;
+    private ReentrantLock[] dayLocks;
+    private AtomicReference<ScheduleSnapshot> snapshot;
+    private AtomicInteger entrySequence;
+    private TermIndex<Suggestion> courseTrie;
+    private TermIndex<Suggestion> roomTrie;
     private GreedyRoomAllocator roomAllocator;
+    private OccupancyIndex occupancy;
+    private volatile RoomIndex roomIndex;
+    private RoomAssignmentSolver assignmentSolver;
+    private TimetableGenerator timetableGenerator;
+    private ScheduleRepairer scheduleRepairer;
+    private final ScheduleStore store;
+    private final SchedulingMetrics metrics;
+    
+    private final ReentrantReadWriteLock trieLock = new ReentrantReadWriteLock();
+    private volatile CompletableFuture<Void> triesReady = CompletableFuture.completedFuture(null);
+    private final Object entityLock = new Object();
+    
+    // Scheduled entries by id, room and professor; an entry is replaced (never mutated) when moved
+    private final EntryIndex entryIndex = new EntryIndex();
     
-    private List<TimetableEntry> allEntries;
-    private List<Course> allCourses;
-    private List<Room> allRooms;
-    private List<Professor> allProfessors;
-    private List<TimeSlot> allTimeSlots;
+    // Enrolled students per course and busy students per slot (compressed bitmaps)
+    private final ClashIndex clashIndex = new ClashIndex();
+    
+    // Hash-indexed entity stores: O(1) by id plus secondary indexes
+    private EntityRegistry<Course> allCourses;
+    private EntityRegistry<Room> allRooms;
+    private EntityRegistry<Professor> allProfessors;
+    private EntityRegistry<TimeSlot> allTimeSlots;
     
     public SchedulingService() {
+        this(new NoOpScheduleStore());
+    }
+    
+    public SchedulingService(ScheduleStore store) {
+        this(store, SchedulingMetrics.noop());
+    }
+    
+    @Autowired
+    public SchedulingService(ScheduleStore store, SchedulingMetrics metrics) {
+        this.store = store;
+        this.metrics = metrics;
+        
         // Initialize algorithms
-        scheduleTree = new AVLTree();
-        courseTrie = new Trie();
-        roomTrie = new Trie();
+        dayTrees = new AVLTree[WeekTime.DAYS_PER_WEEK];
+        dayLocks = new ReentrantLock[WeekTime.DAYS_PER_WEEK];
+        for (int day = 0; day < WeekTime.DAYS_PER_WEEK; day++) {
+            dayTrees[day] = new AVLTree();
+            dayLocks[day] = new ReentrantLock();
+        }
+        snapshot = new AtomicReference<>(ScheduleSnapshot.empty(WeekTime.DAYS_PER_WEEK));
+        entrySequence = new AtomicInteger();
+        courseTrie = new TermIndex<>();
+        roomTrie = new TermIndex<>();
         roomAllocator = new GreedyRoomAllocator();
+        occupancy = new OccupancyIndex();
+        roomIndex = new RoomIndex();
+        assignmentSolver = new RoomAssignmentSolver();
+        timetableGenerator = new TimetableGenerator();
+        scheduleRepairer = new ScheduleRepairer(roomAllocator);
         
         // Initialize data structures
-        allEntries = new ArrayList<>();
-        allCourses = new ArrayList<>();
-        allRooms = new ArrayList<>();
-        allProfessors = new ArrayList<>();
-        allTimeSlots = new ArrayList<>();
+        allCourses = new EntityRegistry<>(Course::getId)
+                .withIndex("department", Course::getDepartment);
+        allRooms = new EntityRegistry<>(Room::getId)
+                .withIndex("building", Room::getBuilding)
+                .withIndex("type", Room::getType);
+        allProfessors = new EntityRegistry<>(Professor::getId)
+                .withIndex("department", Professor::getDepartment);
+        allTimeSlots = new EntityRegistry<>(TimeSlot::getId)
+                .withIndex("day", TimeSlot::getDay);
+        
+        // Restore saved state, or start from the sample data (saved right away)
+        if (!restore()) {
+            initializeSampleData();
+            if (store.isEnabled()) {
+                checkpoint().join();
+            }
+        }
+        registerGauges();
+    }
+    
+    /**
+     * Gauges for /actuator/prometheus, read from the scrape thread without
+     * the day locks (a slightly stale value is fine for a gauge)
+     * Trie node counts are kept by the tries: O(1) per scrape
+     */
+    private void registerGauges() {
+        metrics.gauge("timetable.entries", "Scheduled classes", entryIndex::size);
+        for (int day = 0; day < WeekTime.DAYS_PER_WEEK; day++) {
+            AVLTree tree = dayTrees[day];
+            metrics.gauge("timetable.tree.height", "Height of the day's AVL Tree", tree::getHeight,
+                "day", WeekTime.dayName(day));
+        }
+        metrics.gauge("timetable.trie.nodes", "Nodes in the auto-complete tries", () -> trieNodes(true),
+            "trie", "course");
+        metrics.gauge("timetable.trie.nodes", "Nodes in the auto-complete tries", () -> trieNodes(false),
+            "trie", "room");
+        metrics.gauge("timetable.clash.bitmap.bytes", "Size of the enrollment and busy-student bitmaps",
+            clashIndex::getBitmapBytes);
+    }
+    
+    private int trieNodes(boolean courses) {
+        trieLock.readLock().lock();
+        try {
+            return (courses ? courseTrie : roomTrie).getNodeCount();
+        } finally {
+            trieLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Rebuild everything from the store: snapshot first, then the logged
+     * changes in order. Entries were conflict-free when saved, so they go
+     * straight into the AVL Trees without checks: snapshot entries are
+     * already sorted by time and bulk-built, log entries are inserted.
+     * The tries are filled in the background; only auto-complete waits for them
+     * Time Complexity: O(n) for the snapshot, O(log n) per logged entry
+     * Returns false if there was nothing to restore
+     */
+    private boolean restore() {
+        Recovery recovery;
+        try {
+            recovery = store.recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot restore the saved timetable", e);
+        }
+        if (recovery.isEmpty()) {
+            return false;
+        }
+        
+        StoredState saved = recovery.getSnapshot();
+        if (saved != null) {
+            allCourses.addAll(saved.getCourses());
+            allRooms.addAll(saved.getRooms());
+            allProfessors.addAll(saved.getProfessors());
+            allTimeSlots.addAll(saved.getTimeSlots());
+            // Enrollments first: each entry then marks its students busy in one OR
+            for (Enrollment enrollment : saved.getEnrollments()) {
+                clashIndex.enroll(enrollment.getStudentId(), enrollment.getCourseId());
+            }
+            restoreEntries(saved);
+        }
+        for (LogRecord record : recovery.getTail()) {
+            switch (record.getType()) {
+                case ADD_COURSE -> allCourses.add(record.getCourse());
+                case ADD_ROOM -> allRooms.add(record.getRoom());
+                case ADD_PROFESSOR -> allProfessors.add(record.getProfessor());
+                case ADD_TIME_SLOT -> allTimeSlots.add(record.getTimeSlot());
+                case SCHEDULE -> restoreEntry(record.getEntry());
+                case UNSCHEDULE -> restoreRemoval(record.getEntryId());
+                case ENROLL -> clashIndex.enroll(record.getEnrollment().getStudentId(), record.getEnrollment().getCourseId());
+                case UNENROLL -> clashIndex.unenroll(record.getEnrollment().getStudentId(), record.getEnrollment().getCourseId());
+            }
+        }
+        
+        for (Room room : allRooms.getAll()) {
+            roomIndex.add(room);
+        }
+        snapshot.updateAndGet(s -> s.withCourses(allCourses.getAll())
+                                    .withRooms(allRooms.getAll())
+                                    .withProfessors(allProfessors.getAll())
+                                    .withTimeSlots(allTimeSlots.getAll()));
+        publishAllDays();
+        
+        // Reads and scheduling are served from here on; auto-complete waits for the tries
+        rebuildTries(true, true);
+        return true;
+    }
+    
+    /**
+     * Build the snapshot's entries straight from its entry table (entity
+     * positions, no id lookups) and bulk-load each day's AVL Tree
+     */
+    private void restoreEntries(StoredState saved) {
+        EntryTable table = saved.getEntries();
+        List<List<TimetableEntry>> days = new ArrayList<>();
+        for (int day = 0; day < dayTrees.length; day++) {
+            days.add(new ArrayList<>());
+        }
+        
+        int maxNumber = 0;
+        for (int i = 0; i < table.size(); i++) {
+            TimetableEntry entry = new TimetableEntry(
+                "TE" + table.getNumber(i),
+                saved.getCourses().get(table.getCourse(i)),
+                saved.getProfessors().get(table.getProfessor(i)),
+                saved.getRooms().get(table.getRoom(i)),
+                saved.getTimeSlots().get(table.getTimeSlot(i))
+            );
+            days.get(dayOf(entry.getTimeSlot())).add(entry);
+            occupancy.occupy(entry);
+            clashIndex.add(entry);
+            entryIndex.add(entry);
+            maxNumber = Math.max(maxNumber, table.getNumber(i));
+        }
+        
+        // Snapshots store entries in schedule order, so these sorts are linear
+        for (int day = 0; day < dayTrees.length; day++) {
+            List<TimetableEntry> entries = days.get(day);
+            entries.sort(AVLTree.ORDER);
+            dayTrees[day].buildFromSorted(entries);
+        }
+        entrySequence.set(maxNumber);
+    }
+    
+    private void restoreEntry(EntryRecord record) {
+        TimetableEntry entry = new TimetableEntry(
+            record.getId(),
+            allCourses.get(record.getCourseId()),
+            allProfessors.get(record.getProfessorId()),
+            allRooms.get(record.getRoomId()),
+            allTimeSlots.get(record.getTimeSlotId())
+        );
+        dayTrees[dayOf(entry.getTimeSlot())].add(entry);
+        occupancy.occupy(entry);
+        clashIndex.add(entry);
+        entryIndex.add(entry);
+        
+        // Keep new ids after every restored one ("TE" + number)
+        entrySequence.accumulateAndGet(EntryTable.idNumber(record.getId()), Math::max);
+    }
+    
+    private void restoreRemoval(String entryId) {
+        TimetableEntry entry = entryIndex.remove(entryId);
+        if (entry != null) {
+            detach(entry);
+        }
+    }
+    
+    /**
+     * Snapshot the current state: seal the log with every lock held (so the
+     * published ScheduleSnapshot matches the log exactly), then encode and
+     * write it in the background
+     */
+    private CompletableFuture<Void> checkpoint() {
+        long sequence;
+        ScheduleSnapshot state;
+        List<Enrollment> enrollments;
+        lockAllDays();
+        try {
+            synchronized (entityLock) {
+                sequence = store.checkpoint();
+                state = snapshot.get();
+                enrollments = clashIndex.getEnrollments();
+            }
+        } finally {
+            unlockAllDays();
+        }
         
-        // Load sample data
-        initializeSampleData();
+        return store.writeSnapshot(() -> new StoredState(sequence, state.getCourses(), state.getRooms(),
+            state.getProfessors(), state.getTimeSlots(),
+            EntryTable.of(state.getEntries(), state.getCourses(), state.getProfessors(),
+                state.getRooms(), state.getTimeSlots()), enrollments));
+    }
+    
+    /**
+     * Make the calling thread's changes durable, and snapshot if enough
+     * changes piled up. Call after releasing the locks
+     */
+    private void persist() {
+        store.sync();
+        if (store.isSnapshotDue()) {
+            checkpoint().whenComplete((done, error) -> {
+                if (error != null) {
+                    // Nothing is lost: the log is only truncated after a snapshot is written
+                    metrics.snapshotFailed();
+                    log.error("Snapshot failed; recovery will replay the log instead", error);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Final snapshot on shutdown, so the next start reads no log tail
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (store.hasChangesSinceSnapshot()) {
+            store.sync();
+            checkpoint().join();
+        }
     }
     
     private void initializeSampleData() {
@@ -80,15 +394,19 @@ public class SchedulingService {
         allTimeSlots.add(new TimeSlot("T9", "Friday", "11:00", "12:30"));
         
         // Build Tries
-        for (Course course : allCourses) {
-            courseTrie.insert(course.getCode());
-            courseTrie.insert(course.getName());
+        for (Course course : allCourses.getAll()) {
+            indexCourse(course);
         }
         
-        for (Room room : allRooms) {
-            roomTrie.insert(room.getRoomNumber());
-            roomTrie.insert(room.getBuilding());
+        for (Room room : allRooms.getAll()) {
+            roomIndex.add(room);
+            indexRoom(room);
         }
+        
+        snapshot.updateAndGet(s -> s.withCourses(allCourses.getAll())
+                                    .withRooms(allRooms.getAll())
+                                    .withProfessors(allProfessors.getAll())
+                                    .withTimeSlots(allTimeSlots.getAll()));
     }
     
     /**
@@ -98,6 +416,18 @@ public class SchedulingService {
      * 3. Returns result
      */
     public Map<String, Object> scheduleClass(String courseId, String professorId, String timeSlotId) {
+        return scheduleClass(courseId, professorId, timeSlotId, null, null);
+    }
+    
+    /**
+     * Schedule a new class, choosing its room with a scoring strategy
+     * (a CompositeRoomScorer preset or spec, e.g. "balanced" or
+     * "fit:1,building:2"); without one the smallest free room is taken.
+     * A room type (e.g. "Lab") is preferred, not required
+     */
+    public Map<String, Object> scheduleClass(String courseId, String professorId, String timeSlotId,
+                                             String strategy, String roomType) {
+        long start = System.nanoTime();
         Map<String, Object> result = new HashMap<>();
         
         // Find entities
@@ -105,74 +435,1450 @@ public class SchedulingService {
         Professor professor = findProfessorById(professorId);
         TimeSlot timeSlot = findTimeSlotById(timeSlotId);
         
-        if (course == null || professor == null || timeSlot == null) {
+        if (course == null || professor == null || timeSlot == null || dayOf(timeSlot) < 0) {
             result.put("success", false);
             result.put("message", "Invalid course, professor, or time slot");
+            metrics.rejected(Rejection.INVALID, start);
             return result;
         }
         
-        // Step 1: Use Greedy Algorithm to allocate best room
-        Room allocatedRoom = roomAllocator.allocateRoom(
-            course.getEnrolledStudents(), 
-            timeSlot, 
-            allRooms, 
-            allEntries
-        );
-        
-        if (allocatedRoom == null) {
+        CompositeRoomScorer scorer = strategy == null ? null : CompositeRoomScorer.of(strategy);
+        if (strategy != null && scorer == null) {
             result.put("success", false);
-            result.put("message", "No suitable room available for this time slot");
-            result.put("suggestion", "Try a different time slot");
+            result.put("message", "Unknown room scoring strategy: " + strategy);
+            metrics.rejected(Rejection.INVALID, start);
             return result;
         }
+        RoomScoringStrategy.Request scoring = scorer == null ? null : scoringRequest(course, professor, timeSlot, roomType);
+        long mark = metrics.stage(Stage.LOOKUP, start);
+        
+        int day = dayOf(timeSlot);
+        Room allocatedRoom;
+        boolean scheduled;
+        dayLocks[day].lock();
+        try {
+            mark = metrics.stage(Stage.LOCK_WAIT, mark);
+            
+            // Step 1: Use Greedy Algorithm to allocate best room
+            allocatedRoom = scorer == null
+                ? roomAllocator.allocateRoom(course.getEnrolledStudents(), timeSlot, roomIndex, occupancy)
+                : roomAllocator.allocateRoom(scoring, roomIndex, occupancy, scorer);
+            mark = metrics.stage(Stage.ALLOCATE, mark);
+            
+            if (allocatedRoom == null) {
+                result.put("success", false);
+                result.put("message", "No suitable room available for this time slot");
+                result.put("suggestion", "Try a different time slot");
+                metrics.rejected(Rejection.NO_ROOM, start);
+                return result;
+            }
+            
+            // Step 2 & 3: Check conflicts using AVL Tree and record the entry
+            scheduled = commitEntry(course, professor, allocatedRoom, timeSlot, result);
+            if (scheduled && scorer != null) {
+                result.put("strategy", scorer.getSpec());
+                result.put("roomScore", scorer.score(allocatedRoom, scoring));
+            }
+            mark = metrics.stage(Stage.INSERT, mark);
+            if (scheduled) {
+                publishDay(day);
+                mark = metrics.stage(Stage.PUBLISH, mark);
+            }
+        } finally {
+            dayLocks[day].unlock();
+        }
+        persist();
+        metrics.stage(Stage.PERSIST, mark);
+        
+        if (scheduled) {
+            metrics.scheduled(start, roomAllocator.calculateUtilization(course.getEnrolledStudents(), allocatedRoom));
+        } else {
+            metrics.rejected(Rejection.CONFLICT, start);
+        }
+        return result;
+    }
+    
+    // What the scorers need: the class size, the department's home building
+    // and where the professor already teaches (O(k) for k of their classes)
+    private RoomScoringStrategy.Request scoringRequest(Course course, Professor professor, TimeSlot timeSlot, String roomType) {
+        Set<String> rooms = new HashSet<>();
+        Set<String> buildings = new HashSet<>();
+        for (TimetableEntry entry : entryIndex.findByProfessor(professor.getId())) {
+            rooms.add(entry.getRoom().getId());
+            if (entry.getRoom().getBuilding() != null) {
+                buildings.add(entry.getRoom().getBuilding());
+            }
+        }
+        String type = roomType == null || roomType.isBlank() ? null : roomType.trim();
+        return new RoomScoringStrategy.Request(course.getEnrolledStudents(), timeSlot, type,
+            entryIndex.homeBuilding(professor.getDepartment()), rooms, buildings);
+    }
+    
+    /**
+     * Schedule many classes at once
+     * Requests are grouped by time slot, and within each slot rooms are assigned
+     * globally (min-cost bipartite matching) so small classes do not block the
+     * rooms larger classes need. Returns per-item results plus aggregate utilization
+     */
+    public Map<String, Object> scheduleBatch(List<Map<String, String>> requests) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        Map<String, List<Integer>> itemsBySlot = new LinkedHashMap<>();
+        Course[] courses = new Course[requests.size()];
+        Professor[] professors = new Professor[requests.size()];
+        
+        // Resolve entities and group valid items by time slot
+        for (int i = 0; i < requests.size(); i++) {
+            Map<String, String> request = requests.get(i);
+            Map<String, Object> itemResult = new HashMap<>();
+            itemResult.put("index", i);
+            itemResult.put("courseId", request.get("courseId"));
+            results.add(itemResult);
+            
+            courses[i] = findCourseById(request.get("courseId"));
+            professors[i] = findProfessorById(request.get("professorId"));
+            TimeSlot timeSlot = findTimeSlotById(request.get("timeSlotId"));
+            
+            if (courses[i] == null || professors[i] == null || timeSlot == null || dayOf(timeSlot) < 0) {
+                itemResult.put("success", false);
+                itemResult.put("message", "Invalid course, professor, or time slot");
+                continue;
+            }
+            
+            itemsBySlot.computeIfAbsent(timeSlot.getId(), id -> new ArrayList<>()).add(i);
+        }
+        
+        // A batch can touch every day, so it takes all day locks (in order)
+        lockAllDays();
+        try {
+            scheduleGroups(itemsBySlot, courses, professors, results);
+            publishAllDays();
+        } finally {
+            unlockAllDays();
+        }
+        persist();
+        
+        // Aggregate utilization over everything that was placed
+        int placed = 0;
+        long students = 0;
+        long seats = 0;
+        for (Map<String, Object> itemResult : results) {
+            if (Boolean.TRUE.equals(itemResult.get("success"))) {
+                TimetableEntry entry = (TimetableEntry) itemResult.get("entry");
+                placed++;
+                students += entry.getCourse().getEnrolledStudents();
+                seats += entry.getRoom().getCapacity();
+            }
+        }
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("results", results);
+        result.put("requested", requests.size());
+        result.put("placed", placed);
+        result.put("failed", requests.size() - placed);
+        result.put("studentsPlaced", students);
+        result.put("seatsAllocated", seats);
+        result.put("utilization", String.format("%.1f%%", seats == 0 ? 0.0 : students * 100.0 / seats));
+        return result;
+    }
+    
+    /**
+     * Assign rooms slot by slot for a batch; caller holds all day locks
+     */
+    private void scheduleGroups(
+            Map<String, List<Integer>> itemsBySlot,
+            Course[] courses,
+            Professor[] professors,
+            List<Map<String, Object>> results) {
+        
+        for (Map.Entry<String, List<Integer>> group : itemsBySlot.entrySet()) {
+            TimeSlot timeSlot = findTimeSlotById(group.getKey());
+            
+            // A professor can only teach one class per slot
+            List<Integer> pending = new ArrayList<>();
+            Set<String> busyProfessors = new HashSet<>();
+            for (int i : group.getValue()) {
+                String professorId = professors[i].getId();
+                if (!occupancy.isProfessorFree(professorId, timeSlot) || !busyProfessors.add(professorId)) {
+                    results.get(i).put("success", false);
+                    results.get(i).put("message", "Professor is already teaching at this time");
+                } else {
+                    pending.add(i);
+                }
+            }
+            
+            // Assign all classes of this slot to free rooms in one go
+            List<Room> freeRooms = roomAllocator.getAvailableRooms(timeSlot, roomIndex, occupancy);
+            int[] required = new int[pending.size()];
+            for (int k = 0; k < pending.size(); k++) {
+                required[k] = courses[pending.get(k)].getEnrolledStudents();
+            }
+            int[] assignment = assignmentSolver.solve(required, freeRooms);
+            
+            for (int k = 0; k < pending.size(); k++) {
+                int i = pending.get(k);
+                if (assignment[k] < 0) {
+                    results.get(i).put("success", false);
+                    results.get(i).put("message", "No suitable room available for this time slot");
+                } else {
+                    commitEntry(courses[i], professors[i], freeRooms.get(assignment[k]), timeSlot, results.get(i));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Bulk-load classes (import). Rows are placed in input order, each checked
+     * against the occupancy bitsets (room and professor) rather than the AVL
+     * Trees; a row without a roomId gets the greedy best-fit room. Accepted
+     * entries are sorted, merged with their day's existing entries
+     * and every touched day's AVL Tree is rebuilt bottom-up
+     * Request items: courseId, professorId, timeSlotId, roomId (optional)
+     * Returns the number imported and the rejected items (index and reason)
+     * Time Complexity: O(k log k + n) for k items and n entries on the touched days
+     */
+    public Map<String, Object> importEntries(List<Map<String, String>> requests) {
+        List<Map<String, Object>> rejected = new ArrayList<>();
+        List<List<TimetableEntry>> added = new ArrayList<>();
+        for (int day = 0; day < dayTrees.length; day++) {
+            added.add(new ArrayList<>());
+        }
+        
+        lockAllDays();
+        try {
+            for (int i = 0; i < requests.size(); i++) {
+                Map<String, String> request = requests.get(i);
+                String reason = importEntry(request, added);
+                if (reason != null) {
+                    Map<String, Object> item = new HashMap<>();
+                    item.put("index", i);
+                    item.put("message", reason);
+                    rejected.add(item);
+                }
+            }
+            
+            for (int day = 0; day < dayTrees.length; day++) {
+                List<TimetableEntry> entries = added.get(day);
+                if (!entries.isEmpty()) {
+                    entries.sort(AVLTree.ORDER);
+                    dayTrees[day].buildFromSorted(merge(dayTrees[day].getAllEntries(), entries));
+                    publishDay(day);
+                }
+            }
+        } finally {
+            unlockAllDays();
+        }
+        persist();
         
-        // Step 2: Create entry and check conflicts using AVL Tree
+        Map<String, Object> result = new HashMap<>();
+        result.put("requested", requests.size());
+        result.put("imported", requests.size() - rejected.size());
+        result.put("rejected", rejected);
+        return result;
+    }
+    
+    /**
+     * Place one imported class, or return why it was rejected
+     * Caller holds all day locks
+     */
+    private String importEntry(Map<String, String> request, List<List<TimetableEntry>> added) {
+        Course course = findCourseById(request.get("courseId"));
+        Professor professor = findProfessorById(request.get("professorId"));
+        TimeSlot timeSlot = findTimeSlotById(request.get("timeSlotId"));
+        String roomId = request.get("roomId");
+        if (course == null || professor == null || timeSlot == null || dayOf(timeSlot) < 0) {
+            return "Invalid course, professor, or time slot";
+        }
+        
+        Room room;
+        if (roomId == null || roomId.isEmpty()) {
+            room = roomAllocator.allocateRoom(course.getEnrolledStudents(), timeSlot, roomIndex, occupancy);
+            if (room == null) {
+                return "No suitable room available for this time slot";
+            }
+        } else {
+            room = findRoomById(roomId);
+            if (room == null) {
+                return "Invalid room";
+            }
+            if (room.getCapacity() < course.getEnrolledStudents()) {
+                return "Room is too small for this course";
+            }
+            if (!occupancy.isRoomFree(room.getId(), timeSlot)) {
+                return "Room is already booked at this time";
+            }
+        }
+        if (!occupancy.isProfessorFree(professor.getId(), timeSlot)) {
+            return "Professor is already teaching at this time";
+        }
+        
+        TimetableEntry entry = new TimetableEntry("TE" + entrySequence.incrementAndGet(), course, professor, room, timeSlot);
+        store.append(LogRecord.schedule(EntryRecord.of(entry)));
+        occupancy.occupy(entry);
+        clashIndex.add(entry);
+        entryIndex.add(entry);
+        added.get(dayOf(timeSlot)).add(entry);
+        return null;
+    }
+    
+    // Merge two lists sorted in tree order into one
+    private static List<TimetableEntry> merge(List<TimetableEntry> a, List<TimetableEntry> b) {
+        List<TimetableEntry> merged = new ArrayList<>(a.size() + b.size());
+        int i = 0;
+        int j = 0;
+        while (i < a.size() && j < b.size()) {
+            if (AVLTree.ORDER.compare(a.get(i), b.get(j)) <= 0) {
+                merged.add(a.get(i++));
+            } else {
+                merged.add(b.get(j++));
+            }
+        }
+        merged.addAll(a.subList(i, a.size()));
+        merged.addAll(b.subList(j, b.size()));
+        return merged;
+    }
+    
+    /**
+     * Generate a weekly timetable for every course that is not scheduled yet
+     * Constraint-propagation construction followed by simulated annealing,
+     * with parallel multi-start. Existing entries are kept fixed
+     * 
+     * Request (all optional): timeBudgetMs (1 to MAX_TIME_BUDGET_MILLIS),
+     * starts (1 to MAX_STARTS), seed, assignments {courseId: professorId},
+     * apply (commit the result); out of range options give a message instead
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> generateTimetable(Map<String, Object> request) {
+        Map<String, Object> options = request == null ? new HashMap<>() : request;
+        Map<String, String> assignments = options.get("assignments") instanceof Map
+                ? (Map<String, String>) options.get("assignments")
+                : new HashMap<>();
+        
+        GeneratorConfig config = new GeneratorConfig();
+        config.setStarts(Math.min(config.getStarts(), TimetableGenerator.MAX_STARTS));
+        if (options.get("timeBudgetMs") instanceof Number budget) {
+            if (budget.longValue() < 1 || budget.longValue() > TimetableGenerator.MAX_TIME_BUDGET_MILLIS) {
+                return invalidOption("timeBudgetMs must be between 1 and " + TimetableGenerator.MAX_TIME_BUDGET_MILLIS);
+            }
+            config.setTimeBudgetMillis(budget.longValue());
+        }
+        if (options.get("starts") instanceof Number starts) {
+            if (starts.longValue() < 1 || starts.longValue() > TimetableGenerator.MAX_STARTS) {
+                return invalidOption("starts must be between 1 and " + TimetableGenerator.MAX_STARTS);
+            }
+            config.setStarts(starts.intValue());
+        }
+        if (options.get("seed") instanceof Number seed) {
+            config.setSeed(seed.longValue());
+        }
+        
+        // One session per course that has no entry yet
+        List<TimetableEntry> existing = getAllScheduledEntries();
+        Set<String> scheduledCourses = new HashSet<>();
+        Map<String, Integer> professorLoad = new HashMap<>();
+        for (TimetableEntry entry : existing) {
+            scheduledCourses.add(entry.getCourse().getId());
+            professorLoad.merge(entry.getProfessor().getId(), 1, Integer::sum);
+        }
+        
+        List<TimetableGenerator.Session> sessions = new ArrayList<>();
+        for (Course course : allCourses.getAll()) {
+            if (scheduledCourses.contains(course.getId())) {
+                continue;
+            }
+            Professor professor = assignments.containsKey(course.getId())
+                    ? findProfessorById(assignments.get(course.getId()))
+                    : pickProfessor(course, professorLoad);
+            if (professor != null) {
+                professorLoad.merge(professor.getId(), 1, Integer::sum);
+                sessions.add(new TimetableGenerator.Session(course, professor));
+            }
+        }
+        
+        long begin = System.currentTimeMillis();
+        TimetableGenerator.Result generated = timetableGenerator.generate(
+            sessions, allRooms.getAll(), allTimeSlots.getAll(), existing, config);
+        long elapsed = System.currentTimeMillis() - begin;
+        
+        // Generation runs on a snapshot without locks; applying re-checks every
+        // entry, so anything scheduled concurrently in the meantime wins
+        boolean apply = Boolean.TRUE.equals(options.get("apply"));
+        List<TimetableEntry> entries = new ArrayList<>();
+        List<Map<String, String>> unplaced = new ArrayList<>();
+        long students = 0;
+        long seats = 0;
+        if (apply) {
+            lockAllDays();
+        }
+        try {
+            for (TimetableEntry entry : generated.getEntries()) {
+                TimetableEntry placed = entry;
+                if (apply) {
+                    Map<String, Object> itemResult = new HashMap<>();
+                    if (!commitEntry(entry.getCourse(), entry.getProfessor(), entry.getRoom(), entry.getTimeSlot(), itemResult)) {
+                        // Taken by a class scheduled while generating: report it, count nothing
+                        unplaced.add(unplacedItem(entry.getCourse(), entry.getProfessor(), (String) itemResult.get("message")));
+                        continue;
+                    }
+                    placed = (TimetableEntry) itemResult.get("entry");
+                }
+                entries.add(placed);
+                students += placed.getCourse().getEnrolledStudents();
+                seats += placed.getRoom().getCapacity();
+            }
+            if (apply) {
+                publishAllDays();
+            }
+        } finally {
+            if (apply) {
+                unlockAllDays();
+            }
+        }
+        if (apply) {
+            persist();
+        }
+        
+        for (TimetableGenerator.Session session : generated.getUnplaced()) {
+            unplaced.add(unplacedItem(session.getCourse(), session.getProfessor(), null));
+        }
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", unplaced.isEmpty());
+        result.put("applied", apply);
+        result.put("entries", entries);
+        result.put("placed", entries.size());
+        result.put("unplaced", unplaced);
+        result.put("utilization", String.format("%.1f%%", seats == 0 ? 0.0 : students * 100.0 / seats));
+        result.put("cost", generated.getCost());
+        result.put("iterations", generated.getIterations());
+        result.put("starts", generated.getStarts());
+        result.put("elapsedMs", elapsed);
+        return result;
+    }
+    
+    private static Map<String, Object> invalidOption(String message) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", false);
+        result.put("message", message);
+        return result;
+    }
+    
+    // One class the generator could not place (message: why applying it failed)
+    private static Map<String, String> unplacedItem(Course course, Professor professor, String message) {
+        Map<String, String> item = new HashMap<>();
+        item.put("courseId", course.getId());
+        item.put("professorId", professor.getId());
+        if (message != null) {
+            item.put("message", message);
+        }
+        return item;
+    }
+    
+    /**
+     * Least-loaded professor from the course's department, or from anyone if none match
+     */
+    private Professor pickProfessor(Course course, Map<String, Integer> professorLoad) {
+        List<Professor> candidates = allProfessors.findBy("department", course.getDepartment());
+        if (candidates.isEmpty()) {
+            candidates = allProfessors.getAll();
+        }
+        
+        Professor best = null;
+        for (Professor professor : candidates) {
+            if (best == null
+                    || professorLoad.getOrDefault(professor.getId(), 0) < professorLoad.getOrDefault(best.getId(), 0)) {
+                best = professor;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Insert an entry into its day's AVL Tree and, if it has no conflicts,
+     * into the occupancy index
+     * Fills in the success or failure fields of the result
+     * Caller must hold the day lock, publish the day afterwards and
+     * persist once the lock is released
+     */
+    private boolean commitEntry(Course course, Professor professor, Room room, TimeSlot timeSlot, Map<String, Object> result) {
         TimetableEntry newEntry = new TimetableEntry(
-            "TE" + (allEntries.size() + 1),
+            null,
             course,
             professor,
-            allocatedRoom,
+            room,
             timeSlot
         );
         
-        boolean noConflict = scheduleTree.insert(newEntry);
+        AVLTree tree = dayTrees[dayOf(timeSlot)];
+        boolean noConflict = tree.insert(newEntry);
         
         if (!noConflict) {
-            result.put("success", false);
-            result.put("message", "Scheduling conflict detected");
-            result.put("conflicts", scheduleTree.getConflicts());
-            return result;
+            conflictResult(tree.findConflicts(newEntry), result);
+            return false;
         }
         
-        // Step 3: Add to entries list
-        allEntries.add(newEntry);
+        // Students already busy at this time: counted before they are marked busy here
+        int studentClashes = clashIndex.countClashes(course.getId(), timeSlot);
+        
+        // Assign the id, log it and mark room/professor/students as busy
+        newEntry.setId("TE" + entrySequence.incrementAndGet());
+        store.append(LogRecord.schedule(EntryRecord.of(newEntry)));
+        occupancy.occupy(newEntry);
+        clashIndex.add(newEntry);
+        entryIndex.add(newEntry);
         
         double utilization = roomAllocator.calculateUtilization(
             course.getEnrolledStudents(), 
-            allocatedRoom
+            room
         );
         
         result.put("success", true);
         result.put("message", "Class scheduled successfully");
         result.put("entry", newEntry);
-        result.put("room", allocatedRoom);
+        result.put("room", room);
         result.put("utilization", String.format("%.1f%%", utilization));
+        result.put("studentClashes", studentClashes);
         
+        return true;
+    }
+    
+    private static void conflictResult(List<TimetableEntry> conflicting, Map<String, Object> result) {
+        List<String> conflicts = new ArrayList<>();
+        for (TimetableEntry existing : conflicting) {
+            conflicts.add("Conflict detected with: " + existing.getCourse().getName() +
+                        " at " + existing.getTimeSlot().getStartTime());
+        }
+        result.put("success", false);
+        result.put("message", "Scheduling conflict detected");
+        result.put("conflicts", conflicts);
+    }
+    
+    /**
+     * Unschedule a class: O(log n) removal from its day's AVL Tree, and its
+     * room and professor are freed in the occupancy index
+     */
+    public Map<String, Object> unscheduleClass(String entryId) {
+        Map<String, Object> result = new HashMap<>();
+        while (true) {
+            TimetableEntry entry = entryIndex.get(entryId);
+            if (entry == null) {
+                return notFound(result);
+            }
+            
+            int[] days = lockDays(dayOf(entry.getTimeSlot()));
+            try {
+                // Moved or removed before we got the lock: look again
+                if (entryIndex.get(entryId) != entry) {
+                    continue;
+                }
+                detach(entry);
+                entryIndex.remove(entryId);
+                store.append(LogRecord.unschedule(entryId));
+                publishDays(days);
+                
+                result.put("success", true);
+                result.put("message", "Class unscheduled");
+                result.put("entry", entry);
+            } finally {
+                unlockDays(days);
+            }
+            persist();
+            return result;
+        }
+    }
+    
+    /**
+     * Move a class to another time slot, room and/or professor
+     * Changes (all optional): timeSlotId, roomId, professorId. Without a
+     * roomId the class keeps its room if that is free at the new time,
+     * otherwise Greedy picks the best free one
+     * The entry is removed and re-inserted (O(log n) each) and the occupancy
+     * index updated for both slots; on a conflict nothing changes
+     */
+    public Map<String, Object> moveClass(String entryId, Map<String, String> changes) {
+        Map<String, Object> result = new HashMap<>();
+        TimeSlot timeSlot = changes.get("timeSlotId") == null ? null : findTimeSlotById(changes.get("timeSlotId"));
+        Room room = changes.get("roomId") == null ? null : findRoomById(changes.get("roomId"));
+        Professor professor = changes.get("professorId") == null ? null : findProfessorById(changes.get("professorId"));
+        if ((changes.get("timeSlotId") != null && (timeSlot == null || dayOf(timeSlot) < 0))
+                || (changes.get("roomId") != null && room == null)
+                || (changes.get("professorId") != null && professor == null)) {
+            result.put("success", false);
+            result.put("message", "Invalid professor, room, or time slot");
+            return result;
+        }
+        
+        while (true) {
+            TimetableEntry entry = entryIndex.get(entryId);
+            if (entry == null) {
+                return notFound(result);
+            }
+            TimeSlot targetSlot = timeSlot != null ? timeSlot : entry.getTimeSlot();
+            
+            int[] days = lockDays(dayOf(entry.getTimeSlot()), dayOf(targetSlot));
+            try {
+                if (entryIndex.get(entryId) != entry) {
+                    continue;
+                }
+                detach(entry);
+                
+                Room targetRoom = room;
+                if (targetRoom == null) {
+                    targetRoom = occupancy.isRoomFree(entry.getRoom().getId(), targetSlot)
+                        ? entry.getRoom()
+                        : roomAllocator.allocateRoom(entry.getCourse().getEnrolledStudents(), targetSlot, roomIndex, occupancy);
+                }
+                TimetableEntry moved = targetRoom == null ? null : new TimetableEntry(entry.getId(), entry.getCourse(),
+                    professor != null ? professor : entry.getProfessor(), targetRoom, targetSlot);
+                
+                if (moved == null) {
+                    attach(entry);
+                    result.put("success", false);
+                    result.put("message", "No suitable room available for this time slot");
+                } else if (!fits(moved, result)) {
+                    attach(entry);
+                } else if (!place(List.of(moved), result)) {
+                    attach(entry);
+                } else {
+                    replaced(List.of(entry), List.of(moved));
+                    publishDays(days);
+                    result.put("success", true);
+                    result.put("message", "Class moved");
+                    result.put("entry", moved);
+                }
+            } finally {
+                unlockDays(days);
+            }
+            persist();
+            return result;
+        }
+    }
+    
+    /**
+     * Swap the time slots and rooms of two classes (each keeps its course and
+     * professor); both move or neither does
+     */
+    public Map<String, Object> swapClasses(String entryId, String otherId) {
+        Map<String, Object> result = new HashMap<>();
+        while (true) {
+            TimetableEntry first = entryIndex.get(entryId);
+            TimetableEntry second = entryIndex.get(otherId);
+            if (first == null || second == null) {
+                return notFound(result);
+            }
+            if (first == second) {
+                result.put("success", false);
+                result.put("message", "Cannot swap a class with itself");
+                return result;
+            }
+            
+            int[] days = lockDays(dayOf(first.getTimeSlot()), dayOf(second.getTimeSlot()));
+            try {
+                if (entryIndex.get(entryId) != first || entryIndex.get(otherId) != second) {
+                    continue;
+                }
+                detach(first);
+                detach(second);
+                
+                TimetableEntry firstMoved = new TimetableEntry(first.getId(), first.getCourse(), first.getProfessor(),
+                    second.getRoom(), second.getTimeSlot());
+                TimetableEntry secondMoved = new TimetableEntry(second.getId(), second.getCourse(), second.getProfessor(),
+                    first.getRoom(), first.getTimeSlot());
+                
+                if (!fits(firstMoved, result) || !fits(secondMoved, result)
+                        || !place(List.of(firstMoved, secondMoved), result)) {
+                    attach(first);
+                    attach(second);
+                } else {
+                    replaced(List.of(first, second), List.of(firstMoved, secondMoved));
+                    publishDays(days);
+                    result.put("success", true);
+                    result.put("message", "Classes swapped");
+                    result.put("entries", List.of(firstMoved, secondMoved));
+                }
+            } finally {
+                unlockDays(days);
+            }
+            persist();
+            return result;
+        }
+    }
+    
+    /**
+     * Repair the schedule after a room closes or a professor goes on leave
+     * Options: roomId or professorId; timeSlotIds and/or days to limit the
+     * closure (default: the whole week); apply (default false: preview only)
+     *
+     * Only the resource's entries overlapping the closure are looked up (entry
+     * index) and re-placed by the ScheduleRepairer, which may shift a
+     * neighbour to another room; the result lists every changed entry
+     */
+    public Map<String, Object> repairSchedule(Map<String, Object> request) {
+        Map<String, Object> options = request != null ? request : Map.of();
+        Map<String, Object> result = new HashMap<>();
+        
+        Room room = options.get("roomId") == null ? null : findRoomById(options.get("roomId").toString());
+        Professor professor = options.get("professorId") == null ? null : findProfessorById(options.get("professorId").toString());
+        if ((room == null) == (professor == null)) {
+            result.put("success", false);
+            result.put("message", "Give one known roomId or professorId");
+            return result;
+        }
+        List<TimeSlot> closure = closureSlots(options, result);
+        if (closure == null) {
+            return result;
+        }
+        boolean apply = Boolean.TRUE.equals(options.get("apply"));
+        
+        ScheduleRepairer.Schedule live = new ScheduleRepairer.Schedule() {
+            public List<TimetableEntry> findOverlapping(TimeSlot slot) {
+                return dayTrees[dayOf(slot)].findOverlapping(slot.weekStart(), slot.weekEnd());
+            }
+            
+            public boolean add(TimetableEntry entry) {
+                return attach(entry).isEmpty();
+            }
+            
+            public void remove(TimetableEntry entry) {
+                detach(entry);
+            }
+        };
+        
+        long begin = System.currentTimeMillis();
+        Set<String> affected = new HashSet<>();
+        ScheduleRepairer.Result repaired;
+        lockAllDays();
+        try {
+            List<TimetableEntry> removed = new ArrayList<>();
+            for (TimetableEntry entry : room != null ? entryIndex.findByRoom(room.getId()) : entryIndex.findByProfessor(professor.getId())) {
+                if (closure.stream().anyMatch(slot -> slot.overlaps(entry.getTimeSlot()))) {
+                    removed.add(entry);
+                    affected.add(entry.getId());
+                }
+            }
+            
+            // Take the affected entries out, then block the resource so nothing lands on it
+            for (TimetableEntry entry : removed) {
+                detach(entry);
+            }
+            block(room, professor, closure, true);
+            try {
+                repaired = scheduleRepairer.repair(removed, live, occupancy, roomIndex, allTimeSlots.getAll(),
+                    entry -> substitutesFor(entry.getProfessor()));
+            } finally {
+                block(room, professor, closure, false);
+            }
+            
+            if (apply) {
+                for (ScheduleRepairer.Change change : repaired.getChanges()) {
+                    store.append(LogRecord.unschedule(change.getBefore().getId()));
+                    if (change.getAfter() != null) {
+                        store.append(LogRecord.schedule(EntryRecord.of(change.getAfter())));
+                        entryIndex.add(change.getAfter());
+                    } else {
+                        entryIndex.remove(change.getBefore().getId());
+                    }
+                }
+                publishAllDays();
+            } else {
+                // Preview: put every changed entry back where it was
+                for (ScheduleRepairer.Change change : repaired.getChanges()) {
+                    if (change.getAfter() != null) {
+                        detach(change.getAfter());
+                    }
+                }
+                for (ScheduleRepairer.Change change : repaired.getChanges()) {
+                    attach(change.getBefore());
+                }
+            }
+        } finally {
+            unlockAllDays();
+        }
+        if (apply) {
+            persist();
+        }
+        
+        List<Map<String, Object>> moved = new ArrayList<>();
+        for (ScheduleRepairer.Change change : repaired.getMoved()) {
+            moved.add(repairDiff(change, !affected.contains(change.getBefore().getId())));
+        }
+        List<Map<String, Object>> unscheduled = new ArrayList<>();
+        for (ScheduleRepairer.Change change : repaired.getUnplaced()) {
+            unscheduled.add(repairDiff(change, false));
+        }
+        
+        result.put("success", unscheduled.isEmpty());
+        result.put("applied", apply);
+        result.put("affected", affected.size());
+        result.put("moved", moved);
+        result.put("unscheduled", unscheduled);
+        result.put("disruption", repaired.getCost());
+        result.put("elapsedMs", System.currentTimeMillis() - begin);
         return result;
     }
     
+    /**
+     * Closure of a repair request: the given time slots and whole days, or
+     * the whole week if neither is given; null (with a message) if invalid
+     */
+    private List<TimeSlot> closureSlots(Map<String, Object> options, Map<String, Object> result) {
+        List<TimeSlot> closure = new ArrayList<>();
+        if (options.get("timeSlotIds") instanceof List<?> ids) {
+            for (Object id : ids) {
+                TimeSlot slot = findTimeSlotById(String.valueOf(id));
+                if (slot == null || dayOf(slot) < 0) {
+                    result.put("success", false);
+                    result.put("message", "Unknown time slot: " + id);
+                    return null;
+                }
+                closure.add(slot);
+            }
+        }
+        if (options.get("days") instanceof List<?> days) {
+            for (Object day : days) {
+                int ordinal = WeekTime.dayOrdinal(String.valueOf(day));
+                if (ordinal < 0) {
+                    result.put("success", false);
+                    result.put("message", "Unknown day: " + day);
+                    return null;
+                }
+                closure.add(new TimeSlot(null, WeekTime.dayName(ordinal), "00:00", "24:00"));
+            }
+        }
+        if (closure.isEmpty()) {
+            for (int day = 0; day < WeekTime.DAYS_PER_WEEK; day++) {
+                closure.add(new TimeSlot(null, WeekTime.dayName(day), "00:00", "24:00"));
+            }
+        }
+        return closure;
+    }
+    
+    // Block (or unblock) the closed room or the professor on leave in the occupancy index
+    private void block(Room room, Professor professor, List<TimeSlot> closure, boolean blocked) {
+        for (TimeSlot slot : closure) {
+            if (room != null && blocked) {
+                occupancy.blockRoom(room.getId(), slot);
+            } else if (room != null) {
+                occupancy.unblockRoom(room.getId(), slot);
+            } else if (blocked) {
+                occupancy.blockProfessor(professor.getId(), slot);
+            } else {
+                occupancy.unblockProfessor(professor.getId(), slot);
+            }
+        }
+    }
+    
+    /**
+     * Professors who may take over a class: same department, fewest classes first
+     */
+    private List<Professor> substitutesFor(Professor professor) {
+        List<Professor> candidates = new ArrayList<>(allProfessors.findBy("department", professor.getDepartment()));
+        candidates.removeIf(candidate -> candidate.getId().equals(professor.getId()));
+        Map<String, Integer> load = new HashMap<>();
+        for (Professor candidate : candidates) {
+            load.put(candidate.getId(), entryIndex.findByProfessor(candidate.getId()).size());
+        }
+        candidates.sort(Comparator.comparingInt(candidate -> load.get(candidate.getId())));
+        return candidates;
+    }
+    
+    // One line of a repair diff: ids before and after, and what changed
+    private static Map<String, Object> repairDiff(ScheduleRepairer.Change change, boolean shifted) {
+        TimetableEntry before = change.getBefore();
+        TimetableEntry after = change.getAfter();
+        Map<String, Object> item = new HashMap<>();
+        item.put("id", before.getId());
+        item.put("courseId", before.getCourse().getId());
+        item.put("before", placement(before));
+        item.put("after", after == null ? null : placement(after));
+        item.put("shifted", shifted);
+        item.put("cost", change.getCost());
+        return item;
+    }
+    
+    private static Map<String, String> placement(TimetableEntry entry) {
+        Map<String, String> placement = new HashMap<>();
+        placement.put("timeSlotId", entry.getTimeSlot().getId());
+        placement.put("roomId", entry.getRoom().getId());
+        placement.put("professorId", entry.getProfessor().getId());
+        return placement;
+    }
+    
+    /**
+     * One change of a what-if scenario, applied to the scenario's fork;
+     * fills in the success or failure fields of the step result
+     */
+    private interface WhatIf {
+        void apply(ScheduleFork fork, Map<String, Object> result);
+    }
+
+    private static class Scenario {
+        final String name;
+        final List<String> types = new ArrayList<>();
+        final List<WhatIf> changes = new ArrayList<>();
+
+        Scenario(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Try alternative schedules without touching the live one, and compare them
+     * Request: {"scenarios": [{"name", "changes": [...]}, ...]}, where a change is
+     *   {"type": "move", "entryId", "timeSlotId", "roomId", "professorId"}
+     *   {"type": "unschedule", "entryId"}
+     *   {"type": "schedule", "courseId", "professorId", "timeSlotId", "roomId"}
+     *   {"type": "closeRoom", "roomId", "timeSlotIds", "days"}
+     *   {"type": "professorLeave", "professorId", "timeSlotIds", "days"}
+     * (room and time slot fields optional as in moveClass, scheduleClass and repairSchedule)
+     * At most MAX_SCENARIOS scenarios of MAX_CHANGES changes each
+     *
+     * The schedule is forked once while every day lock is held, in O(days)
+     * plus the entries the changes name; each scenario then gets its own fork
+     * of that and all run in parallel on the common ForkJoin pool without
+     * locks. Returns the baseline and, per scenario, its conflicts, unplaced
+     * classes, utilization and the entries it changed
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> simulate(Map<String, Object> request) {
+        Map<String, Object> result = new HashMap<>();
+        List<?> requested = request != null && request.get("scenarios") instanceof List<?> list ? list : List.of();
+        if (requested.isEmpty() || requested.size() > MAX_SCENARIOS) {
+            result.put("success", false);
+            result.put("message", "Give between 1 and " + MAX_SCENARIOS + " scenarios");
+            return result;
+        }
+
+        // Parse and check everything first, noting which entries the forks must know
+        List<Scenario> scenarios = new ArrayList<>();
+        Set<String> entryIds = new HashSet<>();
+        Set<String> roomIds = new HashSet<>();
+        Set<String> professorIds = new HashSet<>();
+        Map<String, List<Professor>> substitutes = new HashMap<>();
+        for (int i = 0; i < requested.size(); i++) {
+            Map<String, Object> options = requested.get(i) instanceof Map<?, ?> map ? (Map<String, Object>) map : Map.of();
+            Scenario scenario = new Scenario(options.get("name") != null
+                ? options.get("name").toString() : "Scenario " + (i + 1));
+            List<?> changes = options.get("changes") instanceof List<?> list ? list : List.of();
+            if (changes.size() > MAX_CHANGES) {
+                result.put("success", false);
+                result.put("message", scenario.name + ": at most " + MAX_CHANGES + " changes per scenario");
+                return result;
+            }
+            for (int j = 0; j < changes.size(); j++) {
+                Map<String, Object> change = changes.get(j) instanceof Map<?, ?> map ? (Map<String, Object>) map : Map.of();
+                WhatIf whatIf = parseWhatIf(change, entryIds, roomIds, professorIds, substitutes, result);
+                if (whatIf == null) {
+                    result.put("message", scenario.name + ", change " + (j + 1) + ": " + result.get("message"));
+                    return result;
+                }
+                scenario.types.add(String.valueOf(change.get("type")));
+                scenario.changes.add(whatIf);
+            }
+            scenarios.add(scenario);
+        }
+
+        long begin = System.currentTimeMillis();
+        ScheduleFork base;
+        ScheduleSnapshot state;
+        lockAllDays();
+        try {
+            List<TimetableEntry> known = new ArrayList<>();
+            for (String id : entryIds) {
+                TimetableEntry entry = entryIndex.get(id);
+                if (entry != null) {
+                    known.add(entry);
+                }
+            }
+            for (String id : roomIds) {
+                known.addAll(entryIndex.findByRoom(id));
+            }
+            for (String id : professorIds) {
+                known.addAll(entryIndex.findByProfessor(id));
+                substitutes.put(id, substitutesFor(findProfessorById(id)));
+            }
+            state = snapshot.get();
+            base = ScheduleFork.of(dayTrees, occupancy, roomIndex, state.getTimeSlots(), roomAllocator, known);
+        } finally {
+            unlockAllDays();
+        }
+
+        List<ScheduleFork> forks = new ArrayList<>();
+        for (int i = 0; i < scenarios.size(); i++) {
+            forks.add(base.fork());
+        }
+
+        // The published snapshot matches the forked trees: both change under the day locks
+        int entries = 0;
+        long students = 0;
+        long seats = 0;
+        for (TimetableEntry entry : state.getEntries()) {
+            entries++;
+            students += entry.getCourse().getEnrolledStudents();
+            seats += entry.getRoom().getCapacity();
+        }
+        int scheduled = entries;
+        long baseStudents = students;
+        long baseSeats = seats;
+        List<Map<String, Object>> outcomes = IntStream.range(0, scenarios.size()).parallel()
+            .mapToObj(i -> runScenario(scenarios.get(i), forks.get(i), scheduled, baseStudents, baseSeats))
+            .toList();
+
+        Map<String, Object> baseline = new HashMap<>();
+        baseline.put("scheduled", entries);
+        baseline.put("utilization", String.format("%.1f%%", seats == 0 ? 0.0 : students * 100.0 / seats));
+
+        result.put("success", true);
+        result.put("version", state.getScheduleVersion());
+        result.put("baseline", baseline);
+        result.put("scenarios", outcomes);
+        result.put("elapsedMs", System.currentTimeMillis() - begin);
+        return result;
+    }
+
+    /**
+     * Parse one change of a scenario; null (with a message) if it is invalid
+     * Professors going on leave get their substitutes once the schedule is forked
+     */
+    private WhatIf parseWhatIf(Map<String, Object> change, Set<String> entryIds, Set<String> roomIds,
+                               Set<String> professorIds, Map<String, List<Professor>> substitutes,
+                               Map<String, Object> result) {
+        String entryId = change.get("entryId") == null ? null : change.get("entryId").toString();
+        String courseId = change.get("courseId") == null ? null : change.get("courseId").toString();
+        String roomId = change.get("roomId") == null ? null : change.get("roomId").toString();
+        String professorId = change.get("professorId") == null ? null : change.get("professorId").toString();
+        String timeSlotId = change.get("timeSlotId") == null ? null : change.get("timeSlotId").toString();
+        Room room = roomId == null ? null : findRoomById(roomId);
+        Professor professor = professorId == null ? null : findProfessorById(professorId);
+        TimeSlot timeSlot = timeSlotId == null ? null : findTimeSlotById(timeSlotId);
+        if ((roomId != null && room == null) || (professorId != null && professor == null)
+                || (timeSlotId != null && (timeSlot == null || dayOf(timeSlot) < 0))) {
+            result.put("success", false);
+            result.put("message", "Invalid professor, room, or time slot");
+            return null;
+        }
+
+        String type = String.valueOf(change.get("type"));
+        switch (type) {
+            case "move", "unschedule" -> {
+                if (entryId == null) {
+                    result.put("success", false);
+                    result.put("message", "entryId is required");
+                    return null;
+                }
+                entryIds.add(entryId);
+                return "move".equals(type)
+                    ? (fork, step) -> fork.move(entryId, timeSlot, room, professor, step)
+                    : (fork, step) -> fork.unschedule(entryId, step);
+            }
+            case "schedule" -> {
+                Course course = courseId == null ? null : findCourseById(courseId);
+                if (course == null || professor == null || timeSlot == null) {
+                    result.put("success", false);
+                    result.put("message", "Invalid course, professor, or time slot");
+                    return null;
+                }
+                return (fork, step) -> fork.schedule(course, professor, timeSlot, room, step);
+            }
+            case "closeRoom", "professorLeave" -> {
+                boolean closeRoom = "closeRoom".equals(type);
+                if (closeRoom ? room == null : professor == null) {
+                    result.put("success", false);
+                    result.put("message", closeRoom ? "Invalid room" : "Invalid professor");
+                    return null;
+                }
+                List<TimeSlot> closure = closureSlots(change, result);
+                if (closure == null) {
+                    return null;
+                }
+                if (closeRoom) {
+                    roomIds.add(room.getId());
+                    return (fork, step) -> fork.close(room, null, closure, List.of(), step);
+                }
+                professorIds.add(professor.getId());
+                return (fork, step) -> fork.close(null, professor, closure, substitutes.get(professor.getId()), step);
+            }
+            default -> {
+                result.put("success", false);
+                result.put("message", "Unknown change type: " + type);
+                return null;
+            }
+        }
+    }
+
+    // Apply a scenario's changes to its fork and measure the result against the baseline
+    private Map<String, Object> runScenario(Scenario scenario, ScheduleFork fork, int scheduled, long students, long seats) {
+        long begin = System.nanoTime();
+        List<Map<String, Object>> steps = new ArrayList<>();
+        boolean applied = true;
+        for (int i = 0; i < scenario.changes.size(); i++) {
+            Map<String, Object> step = new HashMap<>();
+            step.put("index", i);
+            step.put("type", scenario.types.get(i));
+            scenario.changes.get(i).apply(fork, step);
+            applied &= Boolean.TRUE.equals(step.get("success"));
+            steps.add(step);
+        }
+
+        // Totals change only by the entries this fork changed: O(changes)
+        List<Map<String, Object>> changed = new ArrayList<>();
+        int disruption = 0;
+        for (ScheduleRepairer.Change change : fork.getChanges()) {
+            TimetableEntry before = change.getBefore();
+            TimetableEntry after = change.getAfter();
+            if (before != null) {
+                scheduled--;
+                students -= before.getCourse().getEnrolledStudents();
+                seats -= before.getRoom().getCapacity();
+            }
+            if (after != null) {
+                scheduled++;
+                students += after.getCourse().getEnrolledStudents();
+                seats += after.getRoom().getCapacity();
+            }
+            disruption += change.getCost();
+
+            Map<String, Object> item = new HashMap<>();
+            item.put("id", (before != null ? before : after).getId());
+            item.put("courseId", (before != null ? before : after).getCourse().getId());
+            item.put("before", before == null ? null : placement(before));
+            item.put("after", after == null ? null : placement(after));
+            changed.add(item);
+        }
+
+        Map<String, Object> outcome = new HashMap<>();
+        outcome.put("name", scenario.name);
+        outcome.put("success", applied && fork.getUnplaced() == 0);
+        outcome.put("steps", steps);
+        outcome.put("conflicts", fork.getConflicts());
+        outcome.put("unplaced", fork.getUnplaced());
+        outcome.put("scheduled", scheduled);
+        outcome.put("utilization", String.format("%.1f%%", seats == 0 ? 0.0 : students * 100.0 / seats));
+        outcome.put("changed", changed);
+        outcome.put("disruption", disruption);
+        outcome.put("elapsedMs", (System.nanoTime() - begin) / 1_000_000.0);
+        return outcome;
+    }
+
+    public TimetableEntry findEntryById(String id) {
+        return entryIndex.get(id);
+    }
+    
+    private static Map<String, Object> notFound(Map<String, Object> result) {
+        result.put("success", false);
+        result.put("message", "Scheduled class not found");
+        return result;
+    }
+    
+    // Room capacity check for a moved class; fills in the failure if it does not fit
+    private static boolean fits(TimetableEntry entry, Map<String, Object> result) {
+        if (entry.getRoom().getCapacity() >= entry.getCourse().getEnrolledStudents()) {
+            return true;
+        }
+        result.put("success", false);
+        result.put("message", "Room " + entry.getRoom().getRoomNumber() + " is too small for this course");
+        return false;
+    }
+    
+    /**
+     * Insert entries that were just detached elsewhere, all or none: on the
+     * first conflict the ones already placed are taken out again
+     * Caller holds the locks of every day involved
+     */
+    private boolean place(List<TimetableEntry> entries, Map<String, Object> result) {
+        for (int i = 0; i < entries.size(); i++) {
+            List<TimetableEntry> conflicts = attach(entries.get(i));
+            if (!conflicts.isEmpty()) {
+                for (TimetableEntry placed : entries.subList(0, i)) {
+                    detach(placed);
+                }
+                conflictResult(conflicts, result);
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // Record that old entries were replaced by new ones (same ids): log and id map
+    private void replaced(List<TimetableEntry> old, List<TimetableEntry> updated) {
+        for (TimetableEntry entry : old) {
+            store.append(LogRecord.unschedule(entry.getId()));
+        }
+        for (TimetableEntry entry : updated) {
+            store.append(LogRecord.schedule(EntryRecord.of(entry)));
+            entryIndex.add(entry);
+        }
+    }
+    
+    /**
+     * Take an entry out of its day's AVL Tree and free its room and professor
+     * Time Complexity: O(log n + w); caller holds the day lock
+     */
+    private void detach(TimetableEntry entry) {
+        dayTrees[dayOf(entry.getTimeSlot())].delete(entry);
+        occupancy.release(entry);
+        clashIndex.remove(entry);
+    }
+    
+    /**
+     * Insert an entry unless it conflicts; returns the conflicts (empty if inserted)
+     * Caller holds the day lock
+     */
+    private List<TimetableEntry> attach(TimetableEntry entry) {
+        AVLTree tree = dayTrees[dayOf(entry.getTimeSlot())];
+        if (!tree.insert(entry)) {
+            return tree.findConflicts(entry);
+        }
+        occupancy.occupy(entry);
+        clashIndex.add(entry);
+        return List.of();
+    }
+    
+    /**
+     * Publish a new snapshot with an O(1) fork of one day's tree; the live
+     * tree copies the O(log n) path of its next change instead
+     * Caller must hold the day lock
+     */
+    private void publishDay(int day) {
+        AVLTree frozen = dayTrees[day].fork();
+        snapshot.updateAndGet(s -> s.withDay(day, frozen));
+    }
+    
+    /**
+     * Current immutable view of the schedule and all entities
+     */
+    public ScheduleSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+    
+    // Live indexes, for tests that compare them with the published schedule
+    AVLTree dayTree(int day) {
+        return dayTrees[day];
+    }
+    
+    OccupancyIndex occupancyIndex() {
+        return occupancy;
+    }
+    
+    EntryIndex entries() {
+        return entryIndex;
+    }
+    
+    ClashIndex clashes() {
+        return clashIndex;
+    }
+    
+    private void publishDays(int[] days) {
+        for (int day : days) {
+            publishDay(day);
+        }
+    }
+    
+    private void publishAllDays() {
+        for (int day = 0; day < dayTrees.length; day++) {
+            publishDay(day);
+        }
+    }
+    
+    // Always lock days in order so multi-day operations cannot deadlock
+    private void lockAllDays() {
+        for (ReentrantLock lock : dayLocks) {
+            lock.lock();
+        }
+    }
+    
+    // Lock some days, in ascending order like lockAllDays; returns them for unlockDays
+    private int[] lockDays(int... days) {
+        int[] sorted = Arrays.stream(days).distinct().sorted().toArray();
+        for (int day : sorted) {
+            dayLocks[day].lock();
+        }
+        return sorted;
+    }
+    
+    private void unlockDays(int[] days) {
+        for (int i = days.length - 1; i >= 0; i--) {
+            dayLocks[days[i]].unlock();
+        }
+    }
+    
+    private void unlockAllDays() {
+        for (int day = dayLocks.length - 1; day >= 0; day--) {
+            dayLocks[day].unlock();
+        }
+    }
+    
+    // Day ordinal of a slot, or -1 if its day or times are invalid
+    private int dayOf(TimeSlot timeSlot) {
+        return timeSlot.hasValidTimes() ? timeSlot.dayIndex() : -1;
+    }
+    
     /**
      * Auto-complete course codes or names using Trie
+     * Returns the `limit` best matching courses ranked by enrolment, or every match if limit <= 0
+     * Fuzzy also matches later words of a name and tolerates typos
      */
-    public List<String> autoCompleteCourse(String prefix) {
-        return courseTrie.autoComplete(prefix);
+    public List<Suggestion> autoCompleteCourse(String prefix, int limit, boolean fuzzy) {
+        triesReady.join();
+        trieLock.readLock().lock();
+        try {
+            return suggestions(courseTrie, complete(courseTrie, prefix, limit, fuzzy), limit);
+        } finally {
+            trieLock.readLock().unlock();
+        }
     }
     
     /**
      * Auto-complete room numbers or buildings using Trie
+     * Returns the first `limit` matches alphabetically, or every match if limit <= 0
+     */
+    public List<Suggestion> autoCompleteRoom(String prefix, int limit, boolean fuzzy) {
+        triesReady.join();
+        trieLock.readLock().lock();
+        try {
+            return suggestions(roomTrie, complete(roomTrie, prefix, limit, fuzzy), limit);
+        } finally {
+            trieLock.readLock().unlock();
+        }
+    }
+    
+    private List<String> complete(TermIndex<Suggestion> index, String prefix, int limit, boolean fuzzy) {
+        if (fuzzy) {
+            return index.fuzzyComplete(prefix, limit <= 0 ? Trie.DEFAULT_TOP_K : limit);
+        }
+        return limit <= 0 ? index.autoComplete(prefix) : index.autoComplete(prefix, limit);
+    }
+    
+    // Map matched terms back to their entities, best term first, one record per entity
+    private List<Suggestion> suggestions(TermIndex<Suggestion> index, List<String> terms, int limit) {
+        Map<String, Suggestion> byId = new LinkedHashMap<>();
+        for (String term : terms) {
+            for (Suggestion suggestion : index.valuesOf(term)) {
+                if (limit > 0 && byId.size() >= limit) {
+                    return new ArrayList<>(byId.values());
+                }
+                byId.putIfAbsent(suggestion.getId(), suggestion);
+            }
+        }
+        return new ArrayList<>(byId.values());
+    }
+    
+    /**
+     * Free/busy matrix of rooms x time slots from one snapshot (no locks),
+     * optionally only rooms in a building, of a type or with enough seats
+     * Time Complexity: O(r + n + t * c), one pass over the n entries
+     */
+    public AvailabilityMatrix getAvailabilityMatrix(ScheduleSnapshot snapshot, String building, String type, Integer minCapacity) {
+        int capacity = minCapacity == null ? 0 : minCapacity;
+        List<Room> rooms = new ArrayList<>();
+        for (Room room : snapshot.getRooms()) {
+            if ((building == null || building.trim().equalsIgnoreCase(room.getBuilding()))
+                    && (type == null || type.trim().equalsIgnoreCase(room.getType()))
+                    && room.getCapacity() >= capacity) {
+                rooms.add(room);
+            }
+        }
+        return AvailabilityMatrix.build(rooms, snapshot.getTimeSlots(), snapshot.getEntries());
+    }
+    
+    /**
+     * Enroll students (or cohorts) in courses, as one batch under one log sync
+     * Repeated enrollments are skipped; unknown courses and missing student
+     * ids are rejected per item ({index, message}, as importEntries)
+     * Time Complexity: O(e * t) for e enrollments and t time slots in use
+     */
+    public Map<String, Object> enroll(List<Enrollment> enrollments) {
+        List<Map<String, Object>> rejected = new ArrayList<>();
+        int enrolled = 0;
+        synchronized (entityLock) {
+            for (int i = 0; i < enrollments.size(); i++) {
+                Enrollment enrollment = enrollments.get(i);
+                String studentId = enrollment.getStudentId();
+                if (studentId == null || studentId.isBlank() || findCourseById(enrollment.getCourseId()) == null) {
+                    Map<String, Object> item = new HashMap<>();
+                    item.put("index", i);
+                    item.put("message", studentId == null || studentId.isBlank() ? "Missing student id" : "Invalid course");
+                    rejected.add(item);
+                    continue;
+                }
+                if (clashIndex.enroll(studentId, enrollment.getCourseId())) {
+                    store.append(LogRecord.enroll(enrollment));
+                    enrolled++;
+                }
+            }
+        }
+        persist();
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", rejected.isEmpty());
+        result.put("enrolled", enrolled);
+        result.put("rejected", rejected);
+        result.put("students", clashIndex.getStudentCount());
+        return result;
+    }
+    
+    /**
+     * Drop one enrollment; false if the student was not enrolled
+     */
+    public boolean unenroll(String studentId, String courseId) {
+        boolean removed;
+        synchronized (entityLock) {
+            removed = clashIndex.unenroll(studentId, courseId);
+            if (removed) {
+                store.append(LogRecord.unenroll(new Enrollment(studentId, courseId)));
+            }
+        }
+        persist();
+        return removed;
+    }
+    
+    /**
+     * Students of a course who already have a class at the given time, and
+     * the scheduled courses they come from (bitmap AND-counts, no pairwise
+     * checks between students or classes)
+     */
+    public Map<String, Object> getStudentClashes(String courseId, String timeSlotId) {
+        Map<String, Object> result = new HashMap<>();
+        Course course = findCourseById(courseId);
+        TimeSlot timeSlot = findTimeSlotById(timeSlotId);
+        if (course == null || timeSlot == null) {
+            result.put("success", false);
+            result.put("message", "Invalid course or time slot");
+            return result;
+        }
+        
+        List<Map<String, Object>> courses = new ArrayList<>();
+        for (ClashIndex.Clash clash : clashIndex.findClashes(courseId, timeSlot)) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("courseId", clash.getCourseId());
+            item.put("students", clash.getStudents());
+            courses.add(item);
+        }
+        result.put("success", true);
+        result.put("courseId", courseId);
+        result.put("timeSlotId", timeSlotId);
+        result.put("enrolled", clashIndex.countStudents(courseId));
+        result.put("studentClashes", clashIndex.countClashes(courseId, timeSlot));
+        result.put("clashingCourses", courses);
+        return result;
+    }
+    
+    /**
+     * Students (or cohorts) with a class at the given time: the total and up
+     * to limit ids, in id-number order
      */
-    public List<String> autoCompleteRoom(String prefix) {
-        return roomTrie.autoComplete(prefix);
+    public Map<String, Object> getBusyStudents(String timeSlotId, int limit) {
+        Map<String, Object> result = new HashMap<>();
+        TimeSlot timeSlot = findTimeSlotById(timeSlotId);
+        if (timeSlot == null) {
+            result.put("success", false);
+            result.put("message", "Invalid time slot");
+            return result;
+        }
+        result.put("success", true);
+        result.put("timeSlotId", timeSlotId);
+        result.put("busy", clashIndex.countBusy(timeSlot));
+        result.put("students", clashIndex.busyStudents(timeSlot, limit));
+        return result;
     }
     
     /**
@@ -180,92 +1886,316 @@ public class SchedulingService {
      */
     public List<Room> getAvailableRooms(String timeSlotId) {
         TimeSlot timeSlot = findTimeSlotById(timeSlotId);
-        if (timeSlot == null) {
+        if (timeSlot == null || dayOf(timeSlot) < 0) {
             return new ArrayList<>();
         }
         
-        return roomAllocator.getAvailableRooms(timeSlot, allRooms, allEntries);
+        int day = dayOf(timeSlot);
+        dayLocks[day].lock();
+        try {
+            return roomAllocator.getAvailableRooms(timeSlot, roomIndex, occupancy);
+        } finally {
+            dayLocks[day].unlock();
+        }
     }
     
     /**
-     * Get schedule for a specific day (AVL Tree search)
+     * Get schedule for a specific day (published AVL Tree snapshot, no locking)
      */
     public List<TimetableEntry> getScheduleByDay(String day) {
-        return scheduleTree.findByDay(day);
+        int ordinal = WeekTime.dayOrdinal(day);
+        return ordinal < 0 ? List.of() : snapshot.get().getDay(ordinal);
     }
     
     /**
-     * Get all scheduled entries (sorted by AVL Tree)
+     * Get all scheduled entries (sorted by AVL Tree), from the published snapshot
      */
     public List<TimetableEntry> getAllScheduledEntries() {
-        return scheduleTree.getAllEntries();
+        return snapshot.get().getEntries();
     }
     
-    // Getter methods for data
+    // Getter methods for data (immutable lists from the published snapshot)
     public List<Course> getAllCourses() {
-        return new ArrayList<>(allCourses);
+        return snapshot.get().getCourses();
     }
     
     public List<Room> getAllRooms() {
-        return new ArrayList<>(allRooms);
+        return snapshot.get().getRooms();
     }
     
     public List<Professor> getAllProfessors() {
-        return new ArrayList<>(allProfessors);
+        return snapshot.get().getProfessors();
     }
     
     public List<TimeSlot> getAllTimeSlots() {
-        return new ArrayList<>(allTimeSlots);
+        return snapshot.get().getTimeSlots();
     }
     
     // Add new entities
     public Course addCourse(Course course) {
-        course.setId("C" + (allCourses.size() + 1));
-        allCourses.add(course);
-        courseTrie.insert(course.getCode());
-        courseTrie.insert(course.getName());
+        synchronized (entityLock) {
+            course.setId("C" + (allCourses.size() + 1));
+            store.append(LogRecord.addCourse(course));
+            allCourses.add(course);
+            snapshot.updateAndGet(s -> s.withCourses(allCourses.getAll()));
+        }
+        triesReady.join();
+        trieLock.writeLock().lock();
+        try {
+            indexCourse(course);
+        } finally {
+            trieLock.writeLock().unlock();
+        }
+        persist();
         return course;
     }
     
+    /**
+     * Add one room. Copies the room index so schedulers never see it half
+     * updated, which makes adding n rooms one at a time O(n² log n); load
+     * many rooms through addRooms, which copies the index once per batch
+     * Time Complexity: O(R log R) for R total rooms
+     */
     public Room addRoom(Room room) {
-        room.setId("R" + (allRooms.size() + 1));
-        allRooms.add(room);
-        roomTrie.insert(room.getRoomNumber());
+        synchronized (entityLock) {
+            room.setId("R" + (allRooms.size() + 1));
+            store.append(LogRecord.addRoom(room));
+            allRooms.add(room);
+            
+            // Copy-on-write: schedulers keep reading the old index meanwhile
+            RoomIndex updated = roomIndex.copy();
+            updated.add(room);
+            roomIndex = updated;
+            snapshot.updateAndGet(s -> s.withRooms(allRooms.getAll()));
+        }
+        triesReady.join();
+        trieLock.writeLock().lock();
+        try {
+            indexRoom(room);
+        } finally {
+            trieLock.writeLock().unlock();
+        }
+        persist();
         return room;
     }
     
     public Professor addProfessor(Professor professor) {
-        professor.setId("P" + (allProfessors.size() + 1));
-        allProfessors.add(professor);
+        synchronized (entityLock) {
+            professor.setId("P" + (allProfessors.size() + 1));
+            store.append(LogRecord.addProfessor(professor));
+            allProfessors.add(professor);
+            snapshot.updateAndGet(s -> s.withProfessors(allProfessors.getAll()));
+        }
+        persist();
         return professor;
     }
     
     public TimeSlot addTimeSlot(TimeSlot timeSlot) {
-        timeSlot.setId("T" + (allTimeSlots.size() + 1));
-        allTimeSlots.add(timeSlot);
+        // Parses and caches the week-minute range; throws IllegalArgumentException if invalid
+        timeSlot.validate();
+        synchronized (entityLock) {
+            timeSlot.setId("T" + (allTimeSlots.size() + 1));
+            store.append(LogRecord.addTimeSlot(timeSlot));
+            allTimeSlots.add(timeSlot);
+            snapshot.updateAndGet(s -> s.withTimeSlots(allTimeSlots.getAll()));
+        }
+        persist();
         return timeSlot;
     }
     
-    // Helper methods to find entities
-    private Course findCourseById(String id) {
-        return allCourses.stream()
-            .filter(c -> c.getId().equals(id))
-            .findFirst()
-            .orElse(null);
+    /**
+     * Add many courses at once (bulk import): one registry copy, one snapshot
+     * and one log sync for the batch. Instead of inserting every code and
+     * name, the course trie is rebuilt bottom-up from the sorted terms in the
+     * background; auto-complete waits for it
+     * Time Complexity: O(k + N log N) for k new and N total courses
+     */
+    public List<Course> addCourses(List<Course> courses) {
+        synchronized (entityLock) {
+            int next = allCourses.size();
+            for (Course course : courses) {
+                course.setId("C" + (++next));
+                store.append(LogRecord.addCourse(course));
+            }
+            allCourses.addAll(courses);
+            snapshot.updateAndGet(s -> s.withCourses(allCourses.getAll()));
+            rebuildTries(true, false);
+        }
+        persist();
+        return courses;
+    }
+    
+    /**
+     * Add many rooms at once: one room index copy, one snapshot and one log
+     * sync for the batch; the room trie is rebuilt in the background
+     * Time Complexity: O(R log R) for R total rooms
+     */
+    public List<Room> addRooms(List<Room> rooms) {
+        synchronized (entityLock) {
+            int next = allRooms.size();
+            RoomIndex updated = roomIndex.copy();
+            for (Room room : rooms) {
+                room.setId("R" + (++next));
+                store.append(LogRecord.addRoom(room));
+                updated.add(room);
+            }
+            allRooms.addAll(rooms);
+            roomIndex = updated;
+            snapshot.updateAndGet(s -> s.withRooms(allRooms.getAll()));
+            rebuildTries(false, true);
+        }
+        persist();
+        return rooms;
+    }
+    
+    public List<Professor> addProfessors(List<Professor> professors) {
+        synchronized (entityLock) {
+            int next = allProfessors.size();
+            for (Professor professor : professors) {
+                professor.setId("P" + (++next));
+                store.append(LogRecord.addProfessor(professor));
+            }
+            allProfessors.addAll(professors);
+            snapshot.updateAndGet(s -> s.withProfessors(allProfessors.getAll()));
+        }
+        persist();
+        return professors;
+    }
+    
+    public List<TimeSlot> addTimeSlots(List<TimeSlot> timeSlots) {
+        // Reject the whole batch before anything is logged if one slot is invalid
+        for (TimeSlot timeSlot : timeSlots) {
+            timeSlot.validate();
+        }
+        synchronized (entityLock) {
+            int next = allTimeSlots.size();
+            for (TimeSlot timeSlot : timeSlots) {
+                timeSlot.setId("T" + (++next));
+                store.append(LogRecord.addTimeSlot(timeSlot));
+            }
+            allTimeSlots.addAll(timeSlots);
+            snapshot.updateAndGet(s -> s.withTimeSlots(allTimeSlots.getAll()));
+        }
+        persist();
+        return timeSlots;
+    }
+    
+    /**
+     * Replace the course and/or room trie with one bulk-built from the
+     * registry, in the background after any build already queued
+     * Caller holds the entity lock (or is the constructor)
+     */
+    private void rebuildTries(boolean courses, boolean rooms) {
+        triesReady = triesReady.thenRunAsync(() -> {
+            trieLock.writeLock().lock();
+            try {
+                if (courses) {
+                    courseTrie = buildCourseTrie(allCourses.getAll());
+                }
+                if (rooms) {
+                    roomTrie = buildRoomTrie(allRooms.getAll());
+                }
+            } finally {
+                trieLock.writeLock().unlock();
+            }
+        });
     }
     
-    private Professor findProfessorById(String id) {
-        return allProfessors.stream()
-            .filter(p -> p.getId().equals(id))
-            .findFirst()
-            .orElse(null);
+    // Same terms as indexCourse, sorted once and built bottom-up
+    private static TermIndex<Suggestion> buildCourseTrie(List<Course> courses) {
+        List<TermIndex.Term<Suggestion>> terms = new ArrayList<>(courses.size() * 2);
+        for (Course course : courses) {
+            terms.add(new TermIndex.Term<>(course.getCode(), course.getEnrolledStudents(),
+                new Suggestion(course.getId(), course.getCode(), course.getName(), "code")));
+            terms.add(new TermIndex.Term<>(course.getName(), course.getEnrolledStudents(),
+                new Suggestion(course.getId(), course.getCode(), course.getName(), "name")));
+        }
+        TermIndex<Suggestion> index = new TermIndex<>();
+        index.buildFrom(terms);
+        return index;
     }
     
-    private TimeSlot findTimeSlotById(String id) {
-        return allTimeSlots.stream()
-            .filter(t -> t.getId().equals(id))
-            .findFirst()
-            .orElse(null);
+    // Same terms as indexRoom, sorted once and built bottom-up
+    private static TermIndex<Suggestion> buildRoomTrie(List<Room> rooms) {
+        List<TermIndex.Term<Suggestion>> terms = new ArrayList<>(rooms.size() * 2);
+        for (Room room : rooms) {
+            terms.add(new TermIndex.Term<>(room.getRoomNumber(), 0,
+                new Suggestion(room.getId(), room.getRoomNumber(), room.getBuilding(), "roomNumber")));
+            terms.add(new TermIndex.Term<>(room.getBuilding(), 0,
+                new Suggestion(room.getId(), room.getRoomNumber(), room.getBuilding(), "building")));
+        }
+        TermIndex<Suggestion> index = new TermIndex<>();
+        index.buildFrom(terms);
+        return index;
+    }
+    
+    // Course code and name, ranked by enrolment; caller holds the trie write lock
+    private void indexCourse(Course course) {
+        courseTrie.insert(course.getCode(), course.getEnrolledStudents(),
+            new Suggestion(course.getId(), course.getCode(), course.getName(), "code"));
+        courseTrie.insert(course.getName(), course.getEnrolledStudents(),
+            new Suggestion(course.getId(), course.getCode(), course.getName(), "name"));
+    }
+    
+    // Room number and building (alphabetical); caller holds the trie write lock
+    private void indexRoom(Room room) {
+        roomTrie.insert(room.getRoomNumber(), 0,
+            new Suggestion(room.getId(), room.getRoomNumber(), room.getBuilding(), "roomNumber"));
+        roomTrie.insert(room.getBuilding(), 0,
+            new Suggestion(room.getId(), room.getRoomNumber(), room.getBuilding(), "building"));
+    }
+    
+    // Lookups by id (O(1) hash lookups in the registries)
+    public Course findCourseById(String id) {
+        return allCourses.get(id);
+    }
+    
+    public Professor findProfessorById(String id) {
+        return allProfessors.get(id);
+    }
+    
+    public Room findRoomById(String id) {
+        return allRooms.get(id);
+    }
+    
+    public TimeSlot findTimeSlotById(String id) {
+        return allTimeSlots.get(id);
+    }
+    
+    // Filtered queries on the secondary indexes
+    public List<Course> findCoursesByDepartment(String department) {
+        return allCourses.findBy("department", department);
+    }
+    
+    public List<Professor> findProfessorsByDepartment(String department) {
+        return allProfessors.findBy("department", department);
+    }
+    
+    public List<TimeSlot> findTimeSlotsByDay(String day) {
+        return allTimeSlots.findBy("day", day);
+    }
+    
+    /**
+     * Rooms matching every given filter (null = no filter)
+     * Building uses its hash index; type and capacity use the capacity-ordered room index
+     */
+    public List<Room> findRooms(String building, String type, Integer minCapacity) {
+        int capacity = minCapacity == null ? 0 : minCapacity;
+        List<Room> result = new ArrayList<>();
+        
+        if (building != null) {
+            for (Room room : allRooms.findBy("building", building)) {
+                if ((type == null || type.equalsIgnoreCase(room.getType())) && room.getCapacity() >= capacity) {
+                    result.add(room);
+                }
+            }
+            return result;
+        }
+        
+        for (List<Room> group : roomIndex.withCapacityAtLeast(capacity, type)) {
+            result.addAll(group);
+        }
+        return result;
     }
 }
 
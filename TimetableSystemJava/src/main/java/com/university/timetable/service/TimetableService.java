@@ -105,10 +105,16 @@ public class TimetableService {
         return timetableEntries.removeIf(entry -> entry.getId().equals(id));
     }
 
-    // Check for conflicts
+    // Check for conflicts; slots with unparseable times overlap nothing
     public boolean hasConflict(TimetableEntry newEntry) {
+        if (!newEntry.getTimeSlot().hasValidTimes()) {
+            return false;
+        }
         for (TimetableEntry existing : timetableEntries) {
-            if (existing.getTimeSlot().getId().equals(newEntry.getTimeSlot().getId())) {
+            if (!existing.getTimeSlot().hasValidTimes()) {
+                continue;
+            }
+            if (existing.getTimeSlot().overlaps(newEntry.getTimeSlot())) {
                 // Check if same room
                 if (existing.getRoom().getId().equals(newEntry.getRoom().getId())) {
                     return true;
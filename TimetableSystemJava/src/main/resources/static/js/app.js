@@ -24,17 +24,18 @@ function setupAutoComplete() {
         }
         
         try {
-            const response = await fetch(`${API_URL}/autocomplete/course?prefix=${prefix}`);
+            const response = await fetch(`${API_URL}/autocomplete/course?prefix=${encodeURIComponent(prefix)}&fuzzy=true`);
             const suggestions = await response.json();
             
             courseSuggestions.innerHTML = '';
             suggestions.forEach(suggestion => {
                 const div = document.createElement('div');
                 div.className = 'suggestion-item';
-                div.textContent = suggestion;
+                div.textContent = `${suggestion.code} - ${suggestion.name}`;
                 div.onclick = () => {
-                    courseSearch.value = suggestion;
+                    courseSearch.value = suggestion.code;
                     courseSuggestions.innerHTML = '';
+                    document.getElementById('courseSelect').value = suggestion.id;
                 };
                 courseSuggestions.appendChild(div);
             });
@@ -56,14 +57,14 @@ function setupAutoComplete() {
         }
         
         try {
-            const response = await fetch(`${API_URL}/autocomplete/room?prefix=${prefix}`);
+            const response = await fetch(`${API_URL}/autocomplete/room?prefix=${encodeURIComponent(prefix)}&fuzzy=true`);
             const suggestions = await response.json();
             
             roomSuggestions.innerHTML = '';
             suggestions.forEach(suggestion => {
                 const div = document.createElement('div');
                 div.className = 'suggestion-item';
-                div.textContent = suggestion;
+                div.textContent = `${suggestion.code} - ${suggestion.name}`;
                 roomSuggestions.appendChild(div);
             });
         } catch (error) {
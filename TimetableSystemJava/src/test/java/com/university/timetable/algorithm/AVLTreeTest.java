@@ -0,0 +1,120 @@
+package com.university.timetable.algorithm;
+
+import com.university.timetable.model.TimetableEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static com.university.timetable.algorithm.TestEntries.counts;
+import static com.university.timetable.algorithm.TestEntries.entry;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AVLTreeTest {
+
+    @Test
+    void randomDeletesKeepTreeValid() {
+        Random random = new Random(19);
+        for (int round = 0; round < 20; round++) {
+            // Few starts and rooms: many equal keys, added unchecked as a restore would
+            List<TimetableEntry> model = new ArrayList<>();
+            AVLTree tree = new AVLTree();
+            for (int i = 0; i < 300; i++) {
+                TimetableEntry entry = randomEntry(random, "TE" + i);
+                tree.add(entry);
+                model.add(entry);
+                tree.checkInvariants();
+            }
+
+            Collections.shuffle(model, random);
+            while (model.size() > 20) {
+                TimetableEntry victim = model.remove(model.size() - 1);
+                assertTrue(tree.delete(victim), "Deletes " + victim.getId());
+                tree.checkInvariants();
+                assertContents(model, tree);
+            }
+            assertOverlaps(model, tree, random);
+        }
+    }
+
+    @Test
+    void deleteTakesOnlyTheSameObject() {
+        AVLTree tree = new AVLTree();
+        TimetableEntry first = entry("TE1", "R1", 9 * 60, 90);
+        TimetableEntry twin = entry("TE2", "R1", 9 * 60, 90);
+        TimetableEntry other = entry("TE3", "R2", 9 * 60, 60);
+        tree.add(first);
+        tree.add(other);
+        tree.add(twin);
+
+        // Same fields as first, but not in the tree
+        assertFalse(tree.delete(entry("TE1", "R1", 9 * 60, 90)));
+        assertEquals(3, tree.getAllEntries().size());
+
+        assertTrue(tree.delete(twin));
+        assertFalse(tree.delete(twin));
+        tree.checkInvariants();
+        List<TimetableEntry> left = tree.getAllEntries();
+        assertEquals(2, left.size());
+        assertTrue(left.get(0) == first && left.get(1) == other);
+    }
+
+    @Test
+    void deleteFromForkLeavesParentAlone() {
+        Random random = new Random(23);
+        AVLTree parent = new AVLTree();
+        List<TimetableEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            TimetableEntry entry = randomEntry(random, "TE" + i);
+            parent.add(entry);
+            entries.add(entry);
+        }
+
+        AVLTree child = parent.fork();
+        List<TimetableEntry> kept = new ArrayList<>(entries);
+        Collections.shuffle(kept, random);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(child.delete(kept.remove(kept.size() - 1)));
+            child.checkInvariants();
+        }
+
+        parent.checkInvariants();
+        assertContents(entries, parent);
+        assertContents(kept, child);
+    }
+
+    // Same entries (by identity), in ORDER
+    private static void assertContents(List<TimetableEntry> expected, AVLTree tree) {
+        List<TimetableEntry> actual = tree.getAllEntries();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 1; i < actual.size(); i++) {
+            assertTrue(AVLTree.ORDER.compare(actual.get(i - 1), actual.get(i)) <= 0, "In order");
+        }
+        assertEquals(counts(expected), counts(actual));
+        assertTrue(tree.getHeight() <= 1.45 * Math.log(actual.size() + 2) / Math.log(2), "Height " + tree.getHeight());
+    }
+
+    // Stale max ends would hide overlapping entries
+    private static void assertOverlaps(List<TimetableEntry> model, AVLTree tree, Random random) {
+        for (int i = 0; i < 50; i++) {
+            int start = 8 * 60 + random.nextInt(12 * 60);
+            int end = start + 1 + random.nextInt(120);
+            List<TimetableEntry> expected = new ArrayList<>();
+            for (TimetableEntry entry : model) {
+                if (entry.getTimeSlot().weekStart() < end && entry.getTimeSlot().weekEnd() > start) {
+                    expected.add(entry);
+                }
+            }
+            assertEquals(counts(expected), counts(tree.findOverlapping(start, end)));
+        }
+    }
+
+    // Monday classes of one professor in three rooms
+    private static TimetableEntry randomEntry(Random random, String id) {
+        return TestEntries.randomEntry(random, id, 3, 1, 1);
+    }
+}
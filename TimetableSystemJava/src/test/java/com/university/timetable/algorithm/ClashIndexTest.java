@@ -0,0 +1,118 @@
+package com.university.timetable.algorithm;
+
+import com.university.timetable.model.Course;
+import com.university.timetable.model.TimeSlot;
+import com.university.timetable.model.TimetableEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static com.university.timetable.algorithm.TestEntries.professor;
+import static com.university.timetable.algorithm.TestEntries.room;
+import static com.university.timetable.algorithm.TestEntries.time;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the slot bitmaps against plain sets: a student is busy in a slot when
+ * a course they take is scheduled in any slot overlapping it
+ */
+class ClashIndexTest {
+
+    private static final int STUDENTS = 30;
+    private static final int COURSES = 6;
+
+    @Test
+    void countsMatchModel() {
+        Random random = new Random(24);
+        // Overlapping slots on two days; ids are unique, as the index caches by id
+        List<TimeSlot> slots = new ArrayList<>();
+        int[][] times = { { 540, 630 }, { 600, 690 }, { 630, 720 }, { 540, 720 }, { 780, 840 }, { 900, 960 } };
+        for (String day : List.of("Monday", "Tuesday")) {
+            for (int[] range : times) {
+                slots.add(new TimeSlot("T" + slots.size(), day, time(range[0]), time(range[1])));
+            }
+        }
+
+        ClashIndex index = new ClashIndex();
+        Map<String, Set<String>> students = new HashMap<>();
+        List<TimetableEntry> scheduled = new ArrayList<>();
+
+        for (int step = 0; step < 600; step++) {
+            String studentId = "S" + random.nextInt(STUDENTS);
+            String courseId = "C" + random.nextInt(COURSES);
+            int action = random.nextInt(10);
+            if (action < 4) {
+                assertEquals(students.computeIfAbsent(courseId, id -> new HashSet<>()).add(studentId),
+                    index.enroll(studentId, courseId));
+            } else if (action < 6) {
+                assertEquals(students.getOrDefault(courseId, new HashSet<>()).remove(studentId),
+                    index.unenroll(studentId, courseId));
+            } else if (action < 8 || scheduled.isEmpty()) {
+                TimetableEntry entry = entry("TE" + step, courseId, slots.get(random.nextInt(slots.size())));
+                index.add(entry);
+                scheduled.add(entry);
+            } else {
+                index.remove(scheduled.remove(random.nextInt(scheduled.size())));
+            }
+
+            for (TimeSlot slot : slots) {
+                assertSlot(index, students, scheduled, slot, "step " + step + ", " + slot.getId());
+            }
+        }
+    }
+
+    private static void assertSlot(ClashIndex index, Map<String, Set<String>> students,
+                                   List<TimetableEntry> scheduled, TimeSlot slot, String when) {
+        Set<String> busy = new HashSet<>();
+        Set<String> coursesThere = new HashSet<>();
+        for (TimetableEntry entry : scheduled) {
+            if (entry.getTimeSlot().overlaps(slot)) {
+                String courseId = entry.getCourse().getId();
+                coursesThere.add(courseId);
+                busy.addAll(students.getOrDefault(courseId, Set.of()));
+            }
+        }
+
+        assertEquals(busy.size(), index.countBusy(slot), when);
+        assertEquals(busy, new HashSet<>(index.busyStudents(slot, -1)), when);
+        for (int s = 0; s < STUDENTS; s++) {
+            assertEquals(busy.contains("S" + s), index.isBusy("S" + s, slot), when + ", S" + s);
+        }
+
+        for (int c = 0; c < COURSES; c++) {
+            Set<String> taking = students.getOrDefault("C" + c, Set.of());
+            Set<String> clashing = new HashSet<>(taking);
+            clashing.retainAll(busy);
+            assertEquals(clashing.size(), index.countClashes("C" + c, slot), when + ", C" + c);
+
+            Map<String, Integer> expected = new HashMap<>();
+            for (String other : coursesThere) {
+                Set<String> shared = new HashSet<>(taking);
+                shared.retainAll(students.getOrDefault(other, Set.of()));
+                if (!shared.isEmpty()) {
+                    expected.put(other, shared.size());
+                }
+            }
+            Map<String, Integer> actual = new HashMap<>();
+            int previous = Integer.MAX_VALUE;
+            for (ClashIndex.Clash clash : index.findClashes("C" + c, slot)) {
+                actual.put(clash.getCourseId(), clash.getStudents());
+                assertTrue(clash.getStudents() <= previous, when + ": clashes out of order");
+                previous = clash.getStudents();
+            }
+            assertEquals(expected, actual, when + ", clashes of C" + c);
+        }
+    }
+
+    private static TimetableEntry entry(String id, String courseId, TimeSlot slot) {
+        Course course = new Course(courseId, courseId, "Course " + courseId, 3, "Computer Science", 30);
+        return new TimetableEntry(id, course, professor("P1"), room("R1"), slot);
+    }
+}
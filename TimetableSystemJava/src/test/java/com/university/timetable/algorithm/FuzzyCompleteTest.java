@@ -0,0 +1,189 @@
+package com.university.timetable.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * fuzzyComplete against a brute-force prefix OSA distance (Levenshtein plus
+ * adjacent swaps, minimised over every prefix of the word) on random terms
+ * and queries; a small alphabet keeps typos close to real terms
+ */
+class FuzzyCompleteTest {
+
+    private static final String ALPHABET = "ABCDE";
+    private static final int LIMIT = 1000;
+
+    @Test
+    void radixTrieMatchesBruteForce() {
+        Random random = new Random(13);
+        for (int round = 0; round < 200; round++) {
+            List<String> words = new ArrayList<>(randomWords(random, 1 + random.nextInt(60)));
+            // A cache as large as the trie, so no subtree's words are cut off
+            RadixTrie trie = new RadixTrie(words.size());
+            for (String word : words) {
+                trie.insert(word, random.nextInt(5));
+            }
+
+            for (int i = 0; i < 20; i++) {
+                String query = randomQuery(random, words);
+                int maxEdits = random.nextInt(3);
+
+                Map<String, Integer> expected = new HashMap<>();
+                for (String word : words) {
+                    int distance = prefixDistance(query, word);
+                    if (distance <= maxEdits) {
+                        expected.put(word, distance);
+                    }
+                }
+
+                Map<String, Integer> actual = new HashMap<>();
+                int last = 0;
+                for (RadixTrie.FuzzyMatch match : trie.fuzzyComplete(query, maxEdits, LIMIT)) {
+                    assertTrue(match.getDistance() >= last, "Ranked by distance for " + query);
+                    last = match.getDistance();
+                    actual.put(match.getWord(), match.getDistance());
+                }
+                assertEquals(expected, actual, "query " + query + " within " + maxEdits + " of " + words);
+            }
+        }
+    }
+
+    @Test
+    void termIndexMatchesBruteForce() {
+        Random random = new Random(17);
+        for (int round = 0; round < 500; round++) {
+            // Fewer terms and suffixes than the default top-K cache holds
+            List<String> terms = new ArrayList<>();
+            for (String word : randomWords(random, 1 + random.nextInt(5))) {
+                terms.add(random.nextBoolean() ? word : word + (random.nextBoolean() ? " " : "-") + randomWord(random));
+            }
+            TermIndex<String> index = new TermIndex<>();
+            for (String term : terms) {
+                index.insert(term, random.nextInt(5));
+            }
+
+            for (int i = 0; i < 20; i++) {
+                String query = randomQuery(random, terms);
+                int maxEdits = TermIndex.maxEdits(query.length());
+
+                Map<String, Integer> distances = new HashMap<>();
+                for (String term : terms) {
+                    distances.put(term, termDistance(query, term));
+                }
+                Set<String> expected = new HashSet<>();
+                for (Map.Entry<String, Integer> term : distances.entrySet()) {
+                    if (term.getValue() <= maxEdits) {
+                        expected.add(term.getKey());
+                    }
+                }
+
+                List<String> actual = index.fuzzyComplete(query, LIMIT);
+                assertEquals(expected, new HashSet<>(actual), "query " + query + " in " + terms);
+                assertEquals(actual.size(), new HashSet<>(actual).size(), "No duplicates for " + query);
+                for (int j = 1; j < actual.size(); j++) {
+                    assertTrue(distances.get(actual.get(j - 1)) <= distances.get(actual.get(j)),
+                        "Closer terms first for " + query + ": " + actual);
+                }
+            }
+        }
+    }
+
+    // Closest distance between the query and a prefix of the term or of one of its later words
+    private static int termDistance(String query, String term) {
+        int best = prefixDistance(query, term);
+        for (int i = 1; i < term.length(); i++) {
+            if (Character.isLetterOrDigit(term.charAt(i)) && !Character.isLetterOrDigit(term.charAt(i - 1))) {
+                best = Math.min(best, prefixDistance(query, term.substring(i)));
+            }
+        }
+        return best;
+    }
+
+    // min over k of OSA(query, word[0, k)): the last column of the full table
+    private static int prefixDistance(String query, String word) {
+        int n = word.length();
+        int m = query.length();
+        int[][] d = new int[n + 1][m + 1];
+        for (int i = 0; i <= n; i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= m; j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            for (int j = 1; j <= m; j++) {
+                int cost = word.charAt(i - 1) == query.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && word.charAt(i - 1) == query.charAt(j - 2)
+                        && word.charAt(i - 2) == query.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i <= n; i++) {
+            best = Math.min(best, d[i][m]);
+        }
+        return best;
+    }
+
+    private static Set<String> randomWords(Random random, int count) {
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < count) {
+            words.add(randomWord(random));
+        }
+        return words;
+    }
+
+    private static String randomWord(Random random) {
+        return randomString(random, 1 + random.nextInt(8));
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return word.toString();
+    }
+
+    // Half the time a typo'd prefix of a known term, otherwise random letters
+    private static String randomQuery(Random random, List<String> terms) {
+        if (random.nextBoolean()) {
+            return randomString(random, 1 + random.nextInt(7));
+        }
+
+        String term = terms.get(random.nextInt(terms.size())).replaceAll("[^A-Z]", "");
+        StringBuilder query = new StringBuilder(term.substring(0, 1 + random.nextInt(term.length())));
+        int position = random.nextInt(query.length());
+        switch (random.nextInt(4)) {
+            case 0 -> query.setCharAt(position, ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            case 1 -> query.insert(position, ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            case 2 -> {
+                if (query.length() > 1) {
+                    query.deleteCharAt(position);
+                }
+            }
+            default -> {
+                if (position + 1 < query.length()) {
+                    char swapped = query.charAt(position);
+                    query.setCharAt(position, query.charAt(position + 1));
+                    query.setCharAt(position + 1, swapped);
+                }
+            }
+        }
+        return query.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package com.university.timetable.algorithm;
+
+import com.university.timetable.model.TimeSlot;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.university.timetable.algorithm.TestEntries.time;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the bitsets against one boolean per minute of the week, with slots
+ * of any minute and length, so ranges start, end and cross at every bit of a word
+ */
+class OccupancyIndexTest {
+
+    private static final int ROOMS = 3;
+
+    @Test
+    void matchesMinuteModel() {
+        Random random = new Random(2);
+        OccupancyIndex index = new OccupancyIndex();
+        boolean[][] busy = new boolean[ROOMS][WeekTime.MINUTES_PER_WEEK];
+
+        for (int step = 0; step < 4000; step++) {
+            int room = random.nextInt(ROOMS);
+            TimeSlot slot = randomSlot(random, "S" + step);
+            boolean block = random.nextInt(3) > 0;
+            if (block) {
+                index.blockRoom("R" + room, slot);
+            } else {
+                index.unblockRoom("R" + room, slot);
+            }
+            for (int minute = slot.weekStart(); minute < slot.weekEnd(); minute++) {
+                busy[room][minute] = block;
+            }
+
+            for (int probe = 0; probe < 5; probe++) {
+                int r = random.nextInt(ROOMS);
+                TimeSlot query = randomSlot(random, "Q" + step + "-" + probe);
+                assertEquals(isFree(busy[r], query), index.isRoomFree("R" + r, query), "R" + r + " at " + query);
+            }
+        }
+    }
+
+    @Test
+    void slotsAcrossWordBoundaries() {
+        OccupancyIndex index = new OccupancyIndex();
+        // Minutes 63 and 64 sit in different words
+        index.blockRoom("R1", slot("Monday", 63, 65));
+
+        assertTrue(index.isRoomFree("R1", slot("Monday", 0, 63)));
+        assertFalse(index.isRoomFree("R1", slot("Monday", 0, 64)));
+        assertFalse(index.isRoomFree("R1", slot("Monday", 64, 65)));
+        assertTrue(index.isRoomFree("R1", slot("Monday", 65, 128)));
+
+        // The last minute of a day shares no word with the next day
+        index.blockRoom("R2", slot("Tuesday", WeekTime.MINUTES_PER_DAY - 1, WeekTime.MINUTES_PER_DAY));
+        assertFalse(index.isRoomFree("R2", slot("Tuesday", 0, WeekTime.MINUTES_PER_DAY)));
+        assertTrue(index.isRoomFree("R2", slot("Wednesday", 0, 1)));
+        assertTrue(index.isRoomFree("R2", slot("Monday", 0, WeekTime.MINUTES_PER_DAY)));
+
+        index.unblockRoom("R1", slot("Monday", 64, 65));
+        assertFalse(index.isRoomFree("R1", slot("Monday", 0, 64)));
+        assertTrue(index.isRoomFree("R1", slot("Monday", 64, 200)));
+    }
+
+    // Any start minute, 1 to 300 minutes long, ending by 24:00
+    private static TimeSlot randomSlot(Random random, String id) {
+        int start = random.nextInt(WeekTime.MINUTES_PER_DAY);
+        int end = Math.min(WeekTime.MINUTES_PER_DAY, start + 1 + random.nextInt(300));
+        return new TimeSlot(id, WeekTime.dayName(random.nextInt(WeekTime.DAYS_PER_WEEK)), time(start), time(end));
+    }
+
+    private static TimeSlot slot(String day, int start, int end) {
+        return new TimeSlot(day + start, day, time(start), time(end));
+    }
+
+    private static boolean isFree(boolean[] busy, TimeSlot slot) {
+        for (int minute = slot.weekStart(); minute < slot.weekEnd(); minute++) {
+            if (busy[minute]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,108 @@
+package com.university.timetable.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Brute-force model of a PrefixIndex: a sorted map of words to weights
+ * Ranked lookups sort every matching word, so they check the per-node top-K caches
+ */
+final class PrefixIndexModel {
+
+    private static final String LETTERS = "ABC";
+
+    private final Map<String, Long> weights = new TreeMap<>();
+
+    void insert(String word, long weight) {
+        weights.put(word.toUpperCase(), weight);
+    }
+
+    void delete(String word) {
+        weights.remove(word.toUpperCase());
+    }
+
+    List<String> words() {
+        return new ArrayList<>(weights.keySet());
+    }
+
+    // Higher weight first, ties alphabetical
+    List<String> autoComplete(String prefix, int limit) {
+        List<String> matches = new ArrayList<>();
+        for (String word : weights.keySet()) {
+            if (word.startsWith(prefix.toUpperCase())) {
+                matches.add(word);
+            }
+        }
+        matches.sort((a, b) -> {
+            int byWeight = Long.compare(weights.get(b), weights.get(a));
+            return byWeight != 0 ? byWeight : a.compareTo(b);
+        });
+        return matches.subList(0, Math.min(limit, matches.size()));
+    }
+
+    /**
+     * Random inserts, weight rises and drops, and deletes of short words over
+     * three letters (many shared prefixes), checking every ranked lookup after each step
+     */
+    void check(PrefixIndex index, int topK, Random random, int steps) {
+        for (int step = 0; step < steps; step++) {
+            List<String> words = words();
+            int action = random.nextInt(10);
+            if (action < 2 && !words.isEmpty()) {
+                String word = words.get(random.nextInt(words.size()));
+                index.delete(word);
+                delete(word);
+            } else if (action < 5 && !words.isEmpty()) {
+                // Re-weight an existing word: drops demote it in every cache on its path
+                String word = words.get(random.nextInt(words.size()));
+                long weight = random.nextInt(10);
+                index.insert(word, weight);
+                insert(word, weight);
+            } else {
+                String word = randomWord(random);
+                long weight = random.nextInt(10);
+                index.insert(word, weight);
+                insert(word, weight);
+            }
+            assertLookups(index, topK, random, "after step " + step);
+        }
+    }
+
+    // Every prefix of up to two letters and a few whole words, at limits inside and beyond the cache
+    void assertLookups(PrefixIndex index, int topK, Random random, String when) {
+        assertEquals(weights.size(), index.getWordCount(), when);
+        List<String> prefixes = new ArrayList<>();
+        for (char first : LETTERS.toCharArray()) {
+            prefixes.add(String.valueOf(first));
+            for (char second : LETTERS.toCharArray()) {
+                prefixes.add("" + first + second);
+            }
+        }
+        List<String> words = words();
+        for (int i = 0; i < 4 && !words.isEmpty(); i++) {
+            prefixes.add(words.get(random.nextInt(words.size())));
+        }
+
+        for (String prefix : prefixes) {
+            List<String> ranked = autoComplete(prefix, Integer.MAX_VALUE);
+            for (int limit = 1; limit <= topK + 2; limit++) {
+                assertEquals(ranked.subList(0, Math.min(limit, ranked.size())), index.autoComplete(prefix.toLowerCase(), limit),
+                    when + ": " + prefix + " top " + limit);
+            }
+        }
+    }
+
+    static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 1 + random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            word.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        return word.toString();
+    }
+}
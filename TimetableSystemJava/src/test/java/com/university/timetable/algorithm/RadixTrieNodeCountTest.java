@@ -0,0 +1,76 @@
+package com.university.timetable.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The node gauge reads the kept count; it must always equal a full walk
+ */
+class RadixTrieNodeCountTest {
+
+    @Test
+    void countFollowsInsertsAndDeletes() {
+        Random random = new Random(21);
+        RadixTrie trie = new RadixTrie();
+        List<String> words = new ArrayList<>();
+        assertEquals(1, trie.getNodeCount(), "Only the root");
+
+        for (int i = 0; i < 2000; i++) {
+            // Short words over few letters: many splits, prefixes and merges
+            String word = randomWord(random);
+            if (!words.isEmpty() && random.nextInt(3) == 0) {
+                String victim = words.remove(random.nextInt(words.size()));
+                trie.delete(victim);
+            } else {
+                trie.insert(word, random.nextInt(100));
+                words.add(word);
+            }
+            trie.delete(randomWord(random) + "Z"); // Never present
+            assertEquals(trie.countNodes(), trie.getNodeCount(), "After step " + i);
+        }
+
+        for (String word : words) {
+            trie.delete(word);
+            assertEquals(trie.countNodes(), trie.getNodeCount());
+        }
+        assertEquals(1, trie.getNodeCount());
+    }
+
+    @Test
+    void countFollowsBulkBuild() {
+        Random random = new Random(22);
+        TreeSet<String> sorted = new TreeSet<>();
+        for (int i = 0; i < 500; i++) {
+            sorted.add(randomWord(random).toUpperCase());
+        }
+        List<String> words = new ArrayList<>(sorted);
+        long[] weights = new long[words.size()];
+
+        RadixTrie trie = new RadixTrie();
+        trie.insert("stale");
+        trie.buildFromSorted(words, weights);
+        assertEquals(trie.countNodes(), trie.getNodeCount());
+
+        trie.insert(words.get(0) + "X");
+        trie.delete(words.get(1));
+        assertEquals(trie.countNodes(), trie.getNodeCount());
+
+        trie.buildFromSorted(List.of(), weights);
+        assertEquals(1, trie.getNodeCount());
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 1 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(3)));
+        }
+        return word.toString();
+    }
+}
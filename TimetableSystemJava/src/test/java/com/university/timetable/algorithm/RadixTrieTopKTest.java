@@ -0,0 +1,65 @@
+package com.university.timetable.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Ranked completions come from per-node caches that splits, merges and leaves'
+ * implicit caches all rewrite; they must always match a full sort
+ */
+class RadixTrieTopKTest {
+
+    @Test
+    void cachesMatchModel() {
+        for (int topK = 1; topK <= 4; topK++) {
+            new PrefixIndexModel().check(new RadixTrie(topK), topK, new Random(12 + topK), 1500);
+        }
+    }
+
+    @Test
+    void cachesMatchModelAfterBulkBuild() {
+        Random random = new Random(120);
+        TreeSet<String> sorted = new TreeSet<>();
+        for (int i = 0; i < 80; i++) {
+            sorted.add(PrefixIndexModel.randomWord(random));
+        }
+        List<String> words = new ArrayList<>(sorted);
+        long[] weights = new long[words.size()];
+        PrefixIndexModel model = new PrefixIndexModel();
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = random.nextInt(10);
+            model.insert(words.get(i), weights[i]);
+        }
+
+        RadixTrie trie = new RadixTrie(3);
+        trie.buildFromSorted(words, weights);
+        model.assertLookups(trie, 3, random, "after the build");
+        model.check(trie, 3, random, 500);
+    }
+
+    @Test
+    void splitsAndDemotionsKeepTheRanking() {
+        RadixTrie trie = new RadixTrie(2);
+        trie.insert("ABCD", 100);
+        trie.insert("ABCE", 50); // Splits ABCD's edge at ABC
+        trie.insert("AB", 75);   // Splits again, at a word
+        trie.insert("ABX", 60);
+        assertEquals(List.of("ABCD", "AB"), trie.autoComplete("A", 2));
+        assertEquals(List.of("ABCD", "ABCE"), trie.autoComplete("ABC", 2));
+
+        trie.insert("ABCD", 1);
+        assertEquals(List.of("AB", "ABX"), trie.autoComplete("A", 2));
+        assertEquals(List.of("ABCE", "ABCD"), trie.autoComplete("ABC", 2));
+
+        // The ABC node is left with one child and merges into it
+        trie.delete("ABCE");
+        assertEquals(List.of("ABCD"), trie.autoComplete("ABC", 2));
+        assertEquals(List.of("AB", "ABX", "ABCD"), trie.autoComplete("A", 3));
+    }
+}
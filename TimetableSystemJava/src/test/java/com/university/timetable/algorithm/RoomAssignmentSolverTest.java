@@ -0,0 +1,127 @@
+package com.university.timetable.algorithm;
+
+import com.university.timetable.model.Room;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the Hungarian solver against every possible assignment of small
+ * problems: as many classes placed as possible, then the fewest empty seats
+ */
+class RoomAssignmentSolverTest {
+
+    private final RoomAssignmentSolver solver = new RoomAssignmentSolver();
+
+    @Test
+    void matchesExhaustiveSearch() {
+        Random random = new Random(4);
+        for (int round = 0; round < 500; round++) {
+            List<Room> rooms = rooms(random, random.nextInt(7));
+            // Some classes fit no room at all, and classes may outnumber rooms
+            int[] required = new int[1 + random.nextInt(5)];
+            for (int i = 0; i < required.length; i++) {
+                required[i] = 5 + random.nextInt(120);
+            }
+
+            int[] assignment = solver.solve(required, rooms);
+            String problem = Arrays.toString(required) + " in " + capacities(rooms);
+
+            boolean[] taken = new boolean[rooms.size()];
+            for (int i = 0; i < required.length; i++) {
+                int room = assignment[i];
+                if (room >= 0) {
+                    assertTrue(rooms.get(room).getCapacity() >= required[i], "undersized room: " + problem);
+                    assertTrue(!taken[room], "room used twice: " + problem);
+                    taken[room] = true;
+                }
+            }
+            assertEquals(best(required, rooms, 0, new boolean[rooms.size()]), score(required, rooms, assignment), problem);
+        }
+    }
+
+    @Test
+    void classesThatFitNoRoomStayUnplaced() {
+        List<Room> rooms = rooms(30, 60);
+
+        assertArrayEquals(new int[] { -1, 1, 0 }, solver.solve(new int[] { 90, 50, 20 }, rooms));
+        assertArrayEquals(new int[] { -1, -1 }, solver.solve(new int[] { 61, 100 }, rooms));
+        assertArrayEquals(new int[] { -1 }, solver.solve(new int[] { 10 }, List.of()));
+    }
+
+    @Test
+    void placingMoreClassesBeatsWastingFewerSeats() {
+        // Putting the 20 in the 100-seat room wastes 80 seats, but leaving it out is worse
+        assertArrayEquals(new int[] { 0, 1 }, solver.solve(new int[] { 10, 20 }, rooms(10, 100)));
+        // The small class leaves the only room that fits the larger one
+        assertArrayEquals(new int[] { 1, 0 }, solver.solve(new int[] { 45, 10 }, rooms(40, 50)));
+    }
+
+    // Placed classes first, then fewest empty seats
+    private static long score(int[] required, List<Room> rooms, int[] assignment) {
+        long placed = 0;
+        long waste = 0;
+        for (int i = 0; i < required.length; i++) {
+            if (assignment[i] >= 0) {
+                placed++;
+                waste += rooms.get(assignment[i]).getCapacity() - required[i];
+            }
+        }
+        return -placed * 1_000_000 + waste;
+    }
+
+    // Lowest score over every assignment of classes from `next` on
+    private static long best(int[] required, List<Room> rooms, int next, boolean[] taken) {
+        if (next == required.length) {
+            return 0;
+        }
+        long best = best(required, rooms, next + 1, taken);
+        for (int j = 0; j < rooms.size(); j++) {
+            int capacity = rooms.get(j).getCapacity();
+            if (!taken[j] && capacity >= required[next]) {
+                taken[j] = true;
+                best = Math.min(best, -1_000_000 + capacity - required[next] + best(required, rooms, next + 1, taken));
+                taken[j] = false;
+            }
+        }
+        return best;
+    }
+
+    private static List<Room> rooms(Random random, int count) {
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rooms.add(room(i, 10 + random.nextInt(91)));
+        }
+        rooms.sort(Comparator.comparingInt(Room::getCapacity));
+        return rooms;
+    }
+
+    // Capacities must be ascending
+    private static List<Room> rooms(int... capacities) {
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < capacities.length; i++) {
+            rooms.add(room(i, capacities[i]));
+        }
+        return rooms;
+    }
+
+    private static Room room(int index, int capacity) {
+        return new Room("R" + index, "R" + index, "Engineering Block", capacity, "Lecture Hall");
+    }
+
+    private static List<Integer> capacities(List<Room> rooms) {
+        List<Integer> capacities = new ArrayList<>();
+        for (Room room : rooms) {
+            capacities.add(room.getCapacity());
+        }
+        return capacities;
+    }
+}
@@ -0,0 +1,136 @@
+package com.university.timetable.algorithm;
+
+import com.university.timetable.model.TimeSlot;
+import com.university.timetable.model.TimetableEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static com.university.timetable.algorithm.TestEntries.counts;
+import static com.university.timetable.algorithm.TestEntries.randomSlot;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Forks share tree nodes and bitsets until one side changes them; a change
+ * on either side must never show on the other, at any depth of forking
+ */
+class ScheduleForkTest {
+
+    private static final int ROOMS = 4;
+    private static final int PROFESSORS = 4;
+    private static final int DAYS = 5;
+
+    @Test
+    void repeatedForksStayIndependent() {
+        Random random = new Random(25);
+
+        // The live schedule, which forking must leave alone as well
+        AVLTree[] live = new AVLTree[WeekTime.DAYS_PER_WEEK];
+        for (int day = 0; day < live.length; day++) {
+            live[day] = new AVLTree();
+        }
+        OccupancyIndex liveOccupancy = new OccupancyIndex();
+        List<TimetableEntry> liveModel = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            TimetableEntry entry = randomEntry(random, "TE" + i);
+            if (isFree(liveModel, entry)) {
+                assertTrue(live[entry.getTimeSlot().dayIndex()].insert(entry));
+                liveOccupancy.occupy(entry);
+                liveModel.add(entry);
+            }
+        }
+
+        List<ScheduleFork> forks = new ArrayList<>();
+        List<List<TimetableEntry>> models = new ArrayList<>();
+        forks.add(ScheduleFork.of(live, liveOccupancy, RoomIndex.of(List.of()), List.of(),
+            new GreedyRoomAllocator(), List.of()));
+        models.add(new ArrayList<>(liveModel));
+
+        int sequence = 1000;
+        for (int round = 0; round < 40; round++) {
+            int parent = random.nextInt(forks.size());
+            forks.add(forks.get(parent).fork());
+            models.add(new ArrayList<>(models.get(parent)));
+            int child = forks.size() - 1;
+
+            for (int side : new int[] { parent, child }) {
+                for (int step = 0; step < 6; step++) {
+                    sequence = mutate(forks.get(side), models.get(side), random, sequence);
+                }
+            }
+
+            assertSchedule(liveModel, day -> live[day], liveOccupancy, random, "live");
+            for (int i = 0; i < forks.size(); i++) {
+                ScheduleFork fork = forks.get(i);
+                assertSchedule(models.get(i), fork::dayTree, fork.occupancy(), random,
+                    "fork " + i + " after round " + round);
+            }
+        }
+    }
+
+    // Remove a random entry or add one that fits, on the fork and its model alike
+    private static int mutate(ScheduleFork fork, List<TimetableEntry> model, Random random, int sequence) {
+        if (!model.isEmpty() && random.nextInt(5) < 2) {
+            TimetableEntry victim = model.remove(random.nextInt(model.size()));
+            fork.remove(victim);
+            return sequence;
+        }
+        TimetableEntry entry = randomEntry(random, "TE" + sequence);
+        if (isFree(model, entry)) {
+            assertTrue(fork.add(entry));
+            model.add(entry);
+        }
+        return sequence + 1;
+    }
+
+    private static void assertSchedule(List<TimetableEntry> model, IntFunction<AVLTree> trees, OccupancyIndex occupancy,
+                                       Random random, String name) {
+        List<TimetableEntry> all = new ArrayList<>();
+        for (int day = 0; day < WeekTime.DAYS_PER_WEEK; day++) {
+            all.addAll(trees.apply(day).getAllEntries());
+        }
+        assertEquals(counts(model), counts(all), name + ": entries");
+
+        for (int i = 0; i < 20; i++) {
+            TimeSlot probe = randomSlot(random, "Q" + i, DAYS);
+            List<TimetableEntry> expected = new ArrayList<>();
+            for (TimetableEntry entry : model) {
+                if (entry.getTimeSlot().overlaps(probe)) {
+                    expected.add(entry);
+                }
+            }
+            assertEquals(counts(expected), counts(trees.apply(probe.dayIndex()).findOverlapping(probe.weekStart(), probe.weekEnd())),
+                name + ": overlapping " + probe);
+
+            for (int r = 1; r <= ROOMS; r++) {
+                String roomId = "R" + r;
+                boolean free = expected.stream().noneMatch(e -> e.getRoom().getId().equals(roomId));
+                assertEquals(free, occupancy.isRoomFree(roomId, probe), name + ": " + roomId + " at " + probe);
+            }
+            for (int p = 1; p <= PROFESSORS; p++) {
+                String professorId = "P" + p;
+                boolean free = expected.stream().noneMatch(e -> e.getProfessor().getId().equals(professorId));
+                assertEquals(free, occupancy.isProfessorFree(professorId, probe), name + ": " + professorId + " at " + probe);
+            }
+        }
+    }
+
+    private static boolean isFree(List<TimetableEntry> model, TimetableEntry entry) {
+        for (TimetableEntry existing : model) {
+            if (existing.getTimeSlot().overlaps(entry.getTimeSlot())
+                    && (existing.getRoom().getId().equals(entry.getRoom().getId())
+                        || existing.getProfessor().getId().equals(entry.getProfessor().getId()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static TimetableEntry randomEntry(Random random, String id) {
+        return TestEntries.randomEntry(random, id, ROOMS, PROFESSORS, DAYS);
+    }
+}
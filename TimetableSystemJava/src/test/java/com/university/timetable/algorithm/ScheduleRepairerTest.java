@@ -0,0 +1,218 @@
+package com.university.timetable.algorithm;
+
+import com.university.timetable.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * One scenario per repair tier: each is set up so that the tiers before it
+ * cannot place the class and the tier under test can
+ */
+class ScheduleRepairerTest {
+
+    private static final TimeSlot MONDAY_9 = new TimeSlot("T1", "Monday", "09:00", "10:30");
+    private static final TimeSlot MONDAY_11 = new TimeSlot("T2", "Monday", "11:00", "12:30");
+    private static final TimeSlot MONDAY_14 = new TimeSlot("T3", "Monday", "14:00", "15:30");
+    private static final TimeSlot TUESDAY_9 = new TimeSlot("T4", "Tuesday", "09:00", "10:30");
+
+    private static final Professor SMITH = new Professor("P1", "Dr. Smith", "Computer Science", "smith@university.edu");
+    private static final Professor JOHNSON = new Professor("P2", "Dr. Johnson", "Computer Science", "johnson@university.edu");
+    private static final Professor BROWN = new Professor("P3", "Dr. Brown", "Computer Science", "brown@university.edu");
+
+    private AVLTree[] trees;
+    private OccupancyIndex occupancy;
+    private ScheduleRepairer.Schedule schedule;
+
+    @BeforeEach
+    void setUp() {
+        trees = new AVLTree[WeekTime.DAYS_PER_WEEK];
+        for (int day = 0; day < trees.length; day++) {
+            trees[day] = new AVLTree();
+        }
+        occupancy = new OccupancyIndex();
+        schedule = new ScheduleRepairer.Schedule() {
+            public List<TimetableEntry> findOverlapping(TimeSlot slot) {
+                return trees[slot.dayIndex()].findOverlapping(slot.weekStart(), slot.weekEnd());
+            }
+
+            public boolean add(TimetableEntry entry) {
+                if (!trees[entry.getTimeSlot().dayIndex()].insert(entry)) {
+                    return false;
+                }
+                occupancy.occupy(entry);
+                return true;
+            }
+
+            public void remove(TimetableEntry entry) {
+                trees[entry.getTimeSlot().dayIndex()].delete(entry);
+                occupancy.release(entry);
+            }
+        };
+    }
+
+    @Test
+    void otherRoomInSameSlot() {
+        Room closed = room("R1", 50);
+        Room spare = room("R2", 60);
+        TimetableEntry entry = scheduled("TE1", course("C1", 40), SMITH, closed, MONDAY_9);
+
+        ScheduleRepairer.Result result = repairRoom(List.of(closed, spare), closed, entry, List.of());
+
+        ScheduleRepairer.Change change = only(result);
+        assertSame(entry, change.getBefore());
+        assertEquals(placement(spare, SMITH, MONDAY_9), placement(change.getAfter()));
+        assertEquals(ScheduleRepairer.ROOM_CHANGE, change.getCost());
+        assertEquals(List.of(change.getAfter()), schedule.findOverlapping(MONDAY_9));
+    }
+
+    @Test
+    void substituteProfessorKeepsRoomAndSlot() {
+        Room room = room("R1", 50);
+        TimetableEntry entry = scheduled("TE1", course("C1", 40), SMITH, room, MONDAY_9);
+        // Johnson is busy at the time, Brown is free
+        scheduled("TE2", course("C2", 20), JOHNSON, room("R2", 30), MONDAY_9);
+
+        schedule.remove(entry);
+        occupancy.blockProfessor(SMITH.getId(), MONDAY_9);
+        ScheduleRepairer.Result result = new ScheduleRepairer(new GreedyRoomAllocator())
+            .repair(List.of(entry), schedule, occupancy, RoomIndex.of(List.of(room)), List.of(MONDAY_9, MONDAY_11),
+                e -> List.of(JOHNSON, BROWN));
+
+        ScheduleRepairer.Change change = only(result);
+        assertEquals(placement(room, BROWN, MONDAY_9), placement(change.getAfter()));
+        assertEquals(ScheduleRepairer.PROFESSOR_CHANGE, change.getCost());
+        assertFalse(occupancy.isProfessorFree(BROWN.getId(), MONDAY_9));
+    }
+
+    @Test
+    void ejectNeighbourToFreeItsRoom() {
+        Room closed = room("R1", 60);
+        Room neighbourRoom = room("R2", 60);
+        Room small = room("R3", 30);
+        TimetableEntry entry = scheduled("TE1", course("C1", 55), SMITH, closed, MONDAY_9);
+        TimetableEntry neighbour = scheduled("TE2", course("C2", 20), JOHNSON, neighbourRoom, MONDAY_9);
+
+        ScheduleRepairer.Result result = repairRoom(List.of(closed, neighbourRoom, small), closed, entry, List.of());
+
+        assertEquals(2, result.getMoved().size());
+        assertTrue(result.getUnplaced().isEmpty());
+        ScheduleRepairer.Change moved = changeOf(result, "TE1");
+        ScheduleRepairer.Change shifted = changeOf(result, "TE2");
+        assertEquals(placement(neighbourRoom, SMITH, MONDAY_9), placement(moved.getAfter()));
+        assertSame(neighbour, shifted.getBefore());
+        assertEquals(placement(small, JOHNSON, MONDAY_9), placement(shifted.getAfter()));
+        assertEquals(2 * ScheduleRepairer.ROOM_CHANGE, result.getCost());
+        assertFalse(occupancy.isRoomFree(small.getId(), MONDAY_9));
+    }
+
+    @Test
+    void otherSlotSameDayNearestFirst() {
+        Room closed = room("R1", 60);
+        Room full = room("R2", 60);
+        Room small = room("R3", 30);
+        TimetableEntry entry = scheduled("TE1", course("C1", 55), SMITH, closed, MONDAY_9);
+        // The neighbour is too big for any other room, so it cannot be ejected
+        scheduled("TE2", course("C2", 58), JOHNSON, full, MONDAY_9);
+
+        ScheduleRepairer.Result result = repairRoom(List.of(closed, full, small), closed, entry,
+            List.of(MONDAY_9, TUESDAY_9, MONDAY_14, MONDAY_11));
+
+        ScheduleRepairer.Change change = only(result);
+        assertEquals(placement(closed, SMITH, MONDAY_11), placement(change.getAfter()));
+        assertEquals(ScheduleRepairer.TIME_CHANGE, change.getCost());
+    }
+
+    @Test
+    void unplacedWhenNothingFits() {
+        Room closed = room("R1", 60);
+        Room full = room("R2", 60);
+        TimetableEntry entry = scheduled("TE1", course("C1", 55), SMITH, closed, MONDAY_9);
+        scheduled("TE2", course("C2", 58), JOHNSON, full, MONDAY_9);
+
+        ScheduleRepairer.Result result = repairRoom(List.of(closed, full), closed, entry, List.of(MONDAY_9));
+
+        ScheduleRepairer.Change change = only(result);
+        assertSame(entry, change.getBefore());
+        assertNull(change.getAfter());
+        assertEquals(List.of(change), result.getUnplaced());
+        assertEquals(1, schedule.findOverlapping(MONDAY_9).size());
+    }
+
+    @Test
+    void largerClassesGoFirst() {
+        Room first = room("R1", 60);
+        Room second = room("R2", 60);
+        Room spare = room("R3", 60);
+        TimetableEntry smallClass = scheduled("TE1", course("C1", 25), SMITH, first, MONDAY_9);
+        TimetableEntry largeClass = scheduled("TE2", course("C2", 50), JOHNSON, second, MONDAY_9);
+
+        // Both rooms close and one is left: listed small first, the large class still gets it
+        schedule.remove(smallClass);
+        schedule.remove(largeClass);
+        occupancy.blockRoom(first.getId(), MONDAY_9);
+        occupancy.blockRoom(second.getId(), MONDAY_9);
+        ScheduleRepairer.Result result = new ScheduleRepairer(new GreedyRoomAllocator())
+            .repair(List.of(smallClass, largeClass), schedule, occupancy, RoomIndex.of(List.of(first, second, spare)),
+                List.of(MONDAY_9), e -> List.of());
+
+        assertEquals(placement(spare, JOHNSON, MONDAY_9), placement(changeOf(result, "TE2").getAfter()));
+        assertNull(changeOf(result, "TE1").getAfter(), "A moved class is never ejected again");
+    }
+
+    // Take the entry out, close its room for the entry's slot and repair
+    private ScheduleRepairer.Result repairRoom(List<Room> rooms, Room closed, TimetableEntry entry, List<TimeSlot> slots) {
+        schedule.remove(entry);
+        occupancy.blockRoom(closed.getId(), entry.getTimeSlot());
+        return new ScheduleRepairer(new GreedyRoomAllocator())
+            .repair(List.of(entry), schedule, occupancy, RoomIndex.of(rooms), slots, e -> List.of());
+    }
+
+    private TimetableEntry scheduled(String id, Course course, Professor professor, Room room, TimeSlot slot) {
+        TimetableEntry entry = new TimetableEntry(id, course, professor, room, slot);
+        assertTrue(schedule.add(entry));
+        return entry;
+    }
+
+    private static ScheduleRepairer.Change only(ScheduleRepairer.Result result) {
+        assertEquals(1, result.getChanges().size());
+        return result.getChanges().get(0);
+    }
+
+    private static ScheduleRepairer.Change changeOf(ScheduleRepairer.Result result, String id) {
+        for (ScheduleRepairer.Change change : result.getChanges()) {
+            if (change.getBefore().getId().equals(id)) {
+                return change;
+            }
+        }
+        throw new AssertionError("No change for " + id);
+    }
+
+    private static List<String> placement(TimetableEntry entry) {
+        return placement(entry.getRoom(), entry.getProfessor(), entry.getTimeSlot());
+    }
+
+    private static List<String> placement(Room room, Professor professor, TimeSlot slot) {
+        List<String> placement = new ArrayList<>();
+        placement.add(room.getId());
+        placement.add(professor.getId());
+        placement.add(slot.getId());
+        return placement;
+    }
+
+    private static Room room(String id, int capacity) {
+        return new Room(id, id, "Engineering Block", capacity, "Lecture Hall");
+    }
+
+    private static Course course(String id, int students) {
+        return new Course(id, id, "Course " + id, 3, "Computer Science", students);
+    }
+}
@@ -0,0 +1,63 @@
+package com.university.timetable.algorithm;
+
+import com.university.timetable.model.*;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Entries and slots shared by the algorithm tests
+ * Every entry is the same course; rooms are "R<n>" (60 seats) and professors "P<n>"
+ */
+final class TestEntries {
+
+    static final Course COURSE = new Course("C1", "CS501", "Advanced Algorithms", 4, "Computer Science", 45);
+
+    private TestEntries() {
+    }
+
+    static Room room(String id) {
+        return new Room(id, id, "Engineering Block", 60, "Lecture Hall");
+    }
+
+    static Professor professor(String id) {
+        return new Professor(id, "Dr. " + id, "Computer Science", id.toLowerCase() + "@university.edu");
+    }
+
+    static TimetableEntry entry(String id, String roomId, String professorId, TimeSlot slot) {
+        return new TimetableEntry(id, COURSE, professor(professorId), room(roomId), slot);
+    }
+
+    // A Monday class of P1 (Monday is minute 0 of the week)
+    static TimetableEntry entry(String id, String roomId, int start, int minutes) {
+        return entry(id, roomId, "P1", new TimeSlot(id, "Monday", time(start), time(start + minutes)));
+    }
+
+    // Starts on the half hour from 08:00, 30 to 120 minutes long, on one of the first `days` days
+    static TimeSlot randomSlot(Random random, String id, int days) {
+        int start = 8 * 60 + 30 * random.nextInt(20);
+        int end = start + 30 + 30 * random.nextInt(4);
+        return new TimeSlot(id, WeekTime.dayName(random.nextInt(days)), time(start), time(end));
+    }
+
+    static TimetableEntry randomEntry(Random random, String id, int rooms, int professors, int days) {
+        String roomId = "R" + (1 + random.nextInt(rooms));
+        String professorId = "P" + (1 + random.nextInt(professors));
+        return entry(id, roomId, professorId, randomSlot(random, id, days));
+    }
+
+    // How often each entry occurs, by identity (tests compare these, not equal-looking copies)
+    static Map<TimetableEntry, Integer> counts(List<TimetableEntry> entries) {
+        Map<TimetableEntry, Integer> counts = new IdentityHashMap<>();
+        for (TimetableEntry entry : entries) {
+            counts.merge(entry, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    static String time(int minute) {
+        return String.format("%02d:%02d", minute / 60, minute % 60);
+    }
+}
@@ -0,0 +1,136 @@
+package com.university.timetable.algorithm;
+
+import com.university.timetable.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.university.timetable.algorithm.TestEntries.professor;
+import static com.university.timetable.algorithm.TestEntries.time;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Random problems with overlapping slots and fixed entries: every generated
+ * timetable must be free of clashes, and a seed must give the same timetable
+ */
+class TimetableGeneratorTest {
+
+    private final TimetableGenerator generator = new TimetableGenerator();
+
+    @Test
+    void generatedTimetablesHaveNoClashes() {
+        Random random = new Random(5);
+        for (int round = 0; round < 20; round++) {
+            Problem problem = new Problem(random);
+            GeneratorConfig config = config(round, 2);
+            // Construction alone, then with annealing
+            config.setMaxIterations(round % 2 == 0 ? 1 : 20_000);
+
+            TimetableGenerator.Result result = problem.generate(generator, config);
+
+            assertEquals(problem.sessions.size(), result.getEntries().size() + result.getUnplaced().size());
+            List<TimetableEntry> all = new ArrayList<>(problem.fixed);
+            for (TimetableEntry entry : result.getEntries()) {
+                assertTrue(entry.getRoom().getCapacity() >= entry.getCourse().getEnrolledStudents(),
+                    "round " + round + ": " + entry + " does not fit its room");
+                for (TimetableEntry other : all) {
+                    if (other.getTimeSlot().overlaps(entry.getTimeSlot())) {
+                        String clash = "round " + round + ": " + entry + " clashes with " + other;
+                        assertFalse(other.getRoom().getId().equals(entry.getRoom().getId()), clash);
+                        assertFalse(other.getProfessor().getId().equals(entry.getProfessor().getId()), clash);
+                        assertFalse(other.getCourse().getId().equals(entry.getCourse().getId()), clash);
+                    }
+                }
+                all.add(entry);
+            }
+        }
+    }
+
+    @Test
+    void seedGivesTheSameTimetable() {
+        Random random = new Random(50);
+        for (int round = 0; round < 5; round++) {
+            Problem problem = new Problem(random);
+            GeneratorConfig config = config(round, 4);
+            config.setMaxIterations(20_000);
+
+            TimetableGenerator.Result first = problem.generate(generator, config);
+            TimetableGenerator.Result second = problem.generate(generator, config);
+
+            assertEquals(first.getCost(), second.getCost(), "round " + round);
+            assertEquals(first.getIterations(), second.getIterations(), "round " + round);
+            assertEquals(describe(first), describe(second), "round " + round);
+        }
+    }
+
+    private static GeneratorConfig config(long seed, int starts) {
+        GeneratorConfig config = new GeneratorConfig();
+        config.setSeed(seed);
+        config.setStarts(starts);
+        // Far beyond what the iteration limit needs, so the limit always ends the run
+        config.setTimeBudgetMillis(TimetableGenerator.MAX_TIME_BUDGET_MILLIS);
+        return config;
+    }
+
+    private static List<String> describe(TimetableGenerator.Result result) {
+        List<String> lines = new ArrayList<>();
+        for (TimetableEntry entry : result.getEntries()) {
+            lines.add(entry.getCourse().getId() + " " + entry.getProfessor().getId() + " "
+                + entry.getRoom().getId() + " " + entry.getTimeSlot().getId());
+        }
+        for (TimetableGenerator.Session session : result.getUnplaced()) {
+            lines.add(session.getCourse().getId() + " unplaced");
+        }
+        return lines;
+    }
+
+    /**
+     * More sessions than the week comfortably holds, a few of them too large for any room
+     */
+    private static class Problem {
+        final List<TimetableGenerator.Session> sessions = new ArrayList<>();
+        final List<Room> rooms = new ArrayList<>();
+        final List<TimeSlot> slots = new ArrayList<>();
+        final List<TimetableEntry> fixed = new ArrayList<>();
+
+        Problem(Random random) {
+            for (int r = 0; r < 5; r++) {
+                rooms.add(new Room("R" + r, "R" + r, "Engineering Block", 20 + 20 * random.nextInt(5), "Lecture Hall"));
+            }
+            // Overlapping slots on each day, so clashes need more than equal slot ids
+            int[][] times = { { 8 * 60, 9 * 60 + 30 }, { 9 * 60, 10 * 60 + 30 }, { 10 * 60 + 30, 12 * 60 },
+                              { 13 * 60, 14 * 60 }, { 13 * 60 + 30, 15 * 60 } };
+            for (int day = 0; day < 5; day++) {
+                for (int[] range : times) {
+                    slots.add(new TimeSlot("T" + slots.size(), WeekTime.dayName(day), time(range[0]), time(range[1])));
+                }
+            }
+
+            List<Professor> professors = new ArrayList<>();
+            for (int p = 0; p < 6; p++) {
+                professors.add(professor("P" + p));
+            }
+            for (int c = 0; c < 30; c++) {
+                Course course = new Course("C" + c, "CS" + c, "Course " + c, 3, "Computer Science", 10 + random.nextInt(100));
+                Professor teacher = professors.get(random.nextInt(professors.size()));
+                for (int meeting = 1 + random.nextInt(3); meeting > 0; meeting--) {
+                    sessions.add(new TimetableGenerator.Session(course, teacher));
+                }
+            }
+
+            Course seminar = new Course("F", "CS0", "Seminar", 1, "Computer Science", 10);
+            for (int f = 0; f < 4; f++) {
+                fixed.add(new TimetableEntry("F" + f, seminar, professors.get(random.nextInt(professors.size())),
+                    rooms.get(random.nextInt(rooms.size())), slots.get(random.nextInt(slots.size()))));
+            }
+        }
+
+        TimetableGenerator.Result generate(TimetableGenerator generator, GeneratorConfig config) {
+            return generator.generate(sessions, rooms, slots, fixed, config);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.university.timetable.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Ranked completions come from per-node caches; they must always match a full sort
+ */
+class TrieTopKTest {
+
+    @Test
+    void cachesMatchModel() {
+        for (int topK = 1; topK <= 4; topK++) {
+            new PrefixIndexModel().check(new Trie(topK), topK, new Random(11 + topK), 1500);
+        }
+    }
+
+    @Test
+    void demotedWordLeavesTheCache() {
+        Trie trie = new Trie(2);
+        trie.insert("CS101", 90);
+        trie.insert("CS102", 80);
+        trie.insert("CS103", 70);
+        assertEquals(List.of("CS101", "CS102"), trie.autoComplete("CS", 2));
+
+        // CS103 was never cached above its own node; the drop must bring it back in
+        trie.insert("CS101", 10);
+        assertEquals(List.of("CS102", "CS103"), trie.autoComplete("CS", 2));
+        assertEquals(List.of("CS102", "CS103", "CS101"), trie.autoComplete("C", 3));
+
+        trie.delete("CS102");
+        assertEquals(List.of("CS103", "CS101"), trie.autoComplete("CS1", 2));
+    }
+}
@@ -0,0 +1,100 @@
+package com.university.timetable.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvRowReaderTest {
+
+    @Test
+    void readsRowsByHeader() throws IOException {
+        List<ImportRow> rows = read("code,name,credits\nCS501,Advanced Algorithms,4\nCS502,Database Systems,3\n");
+        assertEquals(2, rows.size());
+        assertEquals(Map.of("code", "CS501", "name", "Advanced Algorithms", "credits", "4"), rows.get(0).getValues());
+        assertEquals(1, rows.get(0).getNumber());
+        assertEquals(2, rows.get(1).getNumber());
+        assertEquals(3, rows.get(1).requiredInt("credits"));
+    }
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndNewlines() throws IOException {
+        List<ImportRow> rows = read("code,name\n"
+            + "CS501,\"Algorithms, Advanced\"\n"
+            + "CS502,\"The \"\"Database\"\" Course\"\n"
+            + "CS503,\"Line one\nLine two\"\n"
+            + "\"CS504\",\"\"\n");
+        assertEquals(4, rows.size());
+        assertEquals("Algorithms, Advanced", rows.get(0).getValues().get("name"));
+        assertEquals("The \"Database\" Course", rows.get(1).getValues().get("name"));
+        assertEquals("Line one\nLine two", rows.get(2).getValues().get("name"));
+        assertEquals("CS504", rows.get(3).getValues().get("code"));
+        assertEquals("", rows.get(3).getValues().get("name"));
+        assertNull(rows.get(3).optional("name"));
+    }
+
+    @Test
+    void crlfLineEndings() throws IOException {
+        List<ImportRow> rows = read("code,name\r\nCS501,\"Advanced\r\nAlgorithms\"\r\nCS502,Databases\r\n");
+        assertEquals(2, rows.size());
+        assertEquals("Advanced\r\nAlgorithms", rows.get(0).getValues().get("name"));
+        assertEquals(Map.of("code", "CS502", "name", "Databases"), rows.get(1).getValues());
+    }
+
+    @Test
+    void skipsByteOrderMark() throws IOException {
+        assertEquals("CS501", read("\uFEFFcode,name\nCS501,Algorithms\n").get(0).getValues().get("code"));
+        assertEquals("CS501", read("\uFEFF\"code\",name\nCS501,Algorithms\n").get(0).getValues().get("code"));
+    }
+
+    @Test
+    void shortAndLongRows() throws IOException {
+        List<ImportRow> rows = read("code,name,credits\nCS501\nCS502,Databases,3,extra,fields\n");
+        assertEquals(Map.of("code", "CS501"), rows.get(0).getValues());
+        assertFalse(rows.get(0).getValues().containsKey("credits"));
+        IllegalArgumentException missing = assertThrows(IllegalArgumentException.class,
+            () -> rows.get(0).required("credits"));
+        assertEquals("Missing credits", missing.getMessage());
+        assertEquals(Map.of("code", "CS502", "name", "Databases", "credits", "3"), rows.get(1).getValues());
+    }
+
+    @Test
+    void blankLinesAndMissingFinalNewline() throws IOException {
+        List<ImportRow> rows = read("code,name\n\nCS501,Algorithms\n\r\n\nCS502,Databases");
+        assertEquals(2, rows.size());
+        assertEquals(2, rows.get(1).getNumber(), "Blank lines are not numbered");
+        assertEquals("Databases", rows.get(1).getValues().get("name"));
+    }
+
+    @Test
+    void headerOnlyAndEmptyInput() throws IOException {
+        assertTrue(read("code,name\n").isEmpty());
+        assertTrue(read("").isEmpty());
+    }
+
+    @Test
+    void unterminatedQuoteFails() {
+        IOException error = assertThrows(IOException.class, () -> read("code,name\nCS501,\"Algorithms\nCS502,x\n"));
+        assertEquals("Unterminated quoted field in row 1", error.getMessage());
+    }
+
+    private static List<ImportRow> read(String csv) throws IOException {
+        List<ImportRow> rows = new ArrayList<>();
+        try (RowReader reader = new CsvRowReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))) {
+            for (ImportRow row = reader.next(); row != null; row = reader.next()) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,89 @@
+package com.university.timetable.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NdjsonRowReaderTest {
+
+    @Test
+    void scalarsBecomeStrings() throws IOException {
+        List<ImportRow> rows = read("{\"code\":\"CS501\",\"credits\":4,\"ratio\":0.5,\"core\":true,\"room\":null}\n");
+        assertEquals(1, rows.size());
+        Map<String, String> expected = new HashMap<>();
+        expected.put("code", "CS501");
+        expected.put("credits", "4");
+        expected.put("ratio", "0.5");
+        expected.put("core", "true");
+        expected.put("room", null);
+        assertEquals(expected, rows.get(0).getValues());
+        assertEquals(4, rows.get(0).requiredInt("credits"));
+    }
+
+    @Test
+    void escapedQuotesAndNewlines() throws IOException {
+        List<ImportRow> rows = read("{\"name\":\"The \\\"Database\\\" Course\",\"notes\":\"Line one\\nLine two, \\\\ done\"}\n");
+        assertEquals("The \"Database\" Course", rows.get(0).getValues().get("name"));
+        assertEquals("Line one\nLine two, \\ done", rows.get(0).getValues().get("notes"));
+    }
+
+    @Test
+    void crlfBlankLinesAndByteOrderMark() throws IOException {
+        List<ImportRow> rows = read("\uFEFF{\"code\":\"CS501\"}\r\n\r\n  \r\n{\"code\":\"CS502\"}");
+        assertEquals(2, rows.size());
+        assertEquals("CS501", rows.get(0).getValues().get("code"));
+        assertEquals("CS502", rows.get(1).getValues().get("code"));
+        assertEquals(2, rows.get(1).getNumber());
+    }
+
+    @Test
+    void shortAndLongRows() throws IOException {
+        List<ImportRow> rows = read("{\"code\":\"CS501\"}\n{\"code\":\"CS502\",\"name\":\"Databases\",\"credits\":3,\"extra\":\"x\"}\n");
+        assertEquals(Map.of("code", "CS501"), rows.get(0).getValues());
+        IllegalArgumentException missing = assertThrows(IllegalArgumentException.class,
+            () -> rows.get(0).required("name"));
+        assertEquals("Missing name", missing.getMessage());
+        assertEquals(4, rows.get(1).getValues().size());
+        assertEquals("Databases", rows.get(1).required("name"));
+    }
+
+    @Test
+    void emptyInput() throws IOException {
+        assertTrue(read("").isEmpty());
+        assertTrue(read("\n\n").isEmpty());
+    }
+
+    @Test
+    void malformedJsonNamesTheRow() {
+        IOException error = assertThrows(IOException.class, () -> read("{\"code\":\"CS501\"}\n{\"code\":\"CS502\"\n"));
+        assertTrue(error.getMessage().startsWith("Malformed JSON in row 2: "), error.getMessage());
+    }
+
+    @Test
+    void nestedValueFails() {
+        IOException object = assertThrows(IOException.class, () -> read("{\"code\":\"CS501\",\"room\":{\"id\":\"R1\"}}\n"));
+        assertEquals("Nested value for room in row 1", object.getMessage());
+        IOException array = assertThrows(IOException.class, () -> read("{\"code\":\"CS501\"}\n{\"tags\":[1,2]}\n"));
+        assertEquals("Nested value for tags in row 2", array.getMessage());
+    }
+
+    private static List<ImportRow> read(String ndjson) throws IOException {
+        List<ImportRow> rows = new ArrayList<>();
+        try (RowReader reader = new NdjsonRowReader(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)))) {
+            for (ImportRow row = reader.next(); row != null; row = reader.next()) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
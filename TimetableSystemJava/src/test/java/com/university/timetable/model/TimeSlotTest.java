@@ -0,0 +1,54 @@
+package com.university.timetable.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeSlotTest {
+
+    @Test
+    void invalidSlotsAreReportedWithoutThrowing() {
+        assertInvalid(new TimeSlot("T1", "Funday", "09:00", "10:00"), "Invalid day: Funday");
+        assertInvalid(new TimeSlot("T2", "Monday", null, "10:00"), "Time is required");
+        assertInvalid(new TimeSlot("T3", "Monday", "09:00", "9:5"), "Invalid time: 9:5");
+        assertInvalid(new TimeSlot("T4", "Monday", "+9:00", "10:00"), "Invalid time: +9:00");
+        assertInvalid(new TimeSlot("T5", "Monday", "09:00", "24:01"), "Invalid time: 24:01");
+        assertInvalid(new TimeSlot("T6", "Monday", "10:00", "10:00"), "End time must be after start time: 10:00-10:00");
+    }
+
+    @Test
+    void validSlotsGiveTheirWeekMinutes() {
+        TimeSlot slot = new TimeSlot("T1", " tuesday ", "9:30", "24:00");
+        assertTrue(slot.hasValidTimes());
+        slot.validate();
+        assertEquals(24 * 60 + 9 * 60 + 30, slot.weekStart());
+        assertEquals(2 * 24 * 60, slot.weekEnd());
+        assertEquals(1, slot.dayIndex());
+    }
+
+    @Test
+    void settersParseAgain() {
+        TimeSlot slot = new TimeSlot("T1", "Monday", "11:00", "10:00");
+        assertFalse(slot.hasValidTimes());
+
+        slot.setStartTime("09:00");
+        assertTrue(slot.hasValidTimes());
+        assertEquals(9 * 60, slot.weekStart());
+
+        slot.setDay("Someday");
+        assertFalse(slot.hasValidTimes());
+        slot.setDay("Sunday");
+        assertEquals(6 * 24 * 60 + 10 * 60, slot.weekEnd());
+    }
+
+    private static void assertInvalid(TimeSlot slot, String message) {
+        assertFalse(slot.hasValidTimes());
+        assertFalse(slot.hasValidTimes(), "Still invalid once remembered");
+        assertEquals(message, assertThrows(IllegalArgumentException.class, slot::validate).getMessage());
+        assertEquals(message, assertThrows(IllegalArgumentException.class, slot::weekStart).getMessage());
+        assertThrows(IllegalArgumentException.class, slot::weekEnd);
+    }
+}
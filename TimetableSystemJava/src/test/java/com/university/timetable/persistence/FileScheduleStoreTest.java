@@ -0,0 +1,133 @@
+package com.university.timetable.persistence;
+
+import com.university.timetable.model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileScheduleStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void emptyDirectoryRecoversNothing() throws IOException {
+        FileScheduleStore store = store(SnapshotFormat.MAPPED);
+        try {
+            Recovery recovery = store.recover();
+            assertTrue(recovery.isEmpty());
+            assertNull(recovery.getSnapshot());
+            assertFalse(store.hasChangesSinceSnapshot());
+        } finally {
+            store.close();
+        }
+    }
+
+    @Test
+    void recoversSnapshotPlusTail() throws IOException {
+        for (SnapshotFormat format : SnapshotFormat.values()) {
+            Path root = directory.resolve(format.name());
+            FileScheduleStore store = store(format, root);
+            store.recover();
+
+            Room first = new Room("R1", "101", "Engineering Block", 30, "Lecture Hall");
+            Room second = new Room("R2", "LAB1", "CS Block", 40, "Lab");
+            store.append(LogRecord.addRoom(first));
+            store.append(LogRecord.addRoom(second));
+            store.sync();
+            assertTrue(store.isSnapshotDue());
+
+            long sequence = store.checkpoint();
+            assertFalse(store.hasChangesSinceSnapshot());
+            store.writeSnapshot(() -> state(sequence, List.of(first, second))).join();
+
+            store.append(LogRecord.addRoom(new Room("R3", "201", "Science Building", 60, "Lecture Hall")));
+            store.append(LogRecord.unschedule("TE1"));
+            store.sync();
+            store.close();
+
+            assertEquals(1, count(root, "snapshot-"), format + ": one snapshot");
+            assertEquals(1, count(root, "wal-"), format + ": covered segments deleted");
+
+            FileScheduleStore reopened = store(format, root);
+            try {
+                Recovery recovery = reopened.recover();
+                assertNotNull(recovery.getSnapshot(), format.name());
+                assertEquals(sequence, recovery.getSnapshot().getSequence());
+                assertEquals(List.of(first, second), recovery.getSnapshot().getRooms());
+                assertEquals(2, recovery.getTail().size());
+                assertEquals("R3", recovery.getTail().get(0).getRoom().getId());
+                assertEquals("TE1", recovery.getTail().get(1).getEntryId());
+                assertTrue(reopened.hasChangesSinceSnapshot());
+            } finally {
+                reopened.close();
+            }
+        }
+    }
+
+    @Test
+    void logContinuesAfterRecovery() throws IOException {
+        FileScheduleStore store = store(SnapshotFormat.STREAM);
+        store.recover();
+        store.append(LogRecord.unschedule("TE1"));
+        store.sync();
+        store.close();
+
+        store = store(SnapshotFormat.STREAM);
+        assertEquals(1, store.recover().getTail().size());
+        store.append(LogRecord.unschedule("TE2"));
+        store.sync();
+        store.close();
+
+        store = store(SnapshotFormat.STREAM);
+        try {
+            List<String> ids = new ArrayList<>();
+            for (LogRecord record : store.recover().getTail()) {
+                ids.add(record.getEntryId());
+            }
+            assertEquals(List.of("TE1", "TE2"), ids);
+        } finally {
+            store.close();
+        }
+    }
+
+    private FileScheduleStore store(SnapshotFormat format) {
+        return store(format, directory);
+    }
+
+    private static FileScheduleStore store(SnapshotFormat format, Path root) {
+        PersistenceProperties properties = new PersistenceProperties();
+        properties.setDirectory(root.toString());
+        properties.setSnapshotEvery(2);
+        properties.setSnapshotFormat(format);
+        return new FileScheduleStore(properties);
+    }
+
+    private static StoredState state(long sequence, List<Room> rooms) {
+        List<Course> courses = List.of(new Course("C1", "CS501", "Advanced Algorithms", 4, "Computer Science", 45));
+        List<Professor> professors = List.of(new Professor("P1", "Dr. Smith", "Computer Science", "smith@university.edu"));
+        List<TimeSlot> timeSlots = List.of(new TimeSlot("T1", "Monday", "09:00", "10:30"));
+        List<TimetableEntry> entries = List.of(
+            new TimetableEntry("TE1", courses.get(0), professors.get(0), rooms.get(0), timeSlots.get(0)));
+        return new StoredState(sequence, courses, rooms, professors, timeSlots,
+            EntryTable.of(entries, courses, professors, rooms, timeSlots), List.of());
+    }
+
+    private static long count(Path root, String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(root)) {
+            return files.filter(p -> p.getFileName().toString().startsWith(prefix)).count();
+        }
+    }
+}
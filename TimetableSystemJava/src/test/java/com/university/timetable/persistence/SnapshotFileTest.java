@@ -0,0 +1,137 @@
+package com.university.timetable.persistence;
+
+import com.university.timetable.model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Both snapshot formats round-trip with enrollments, and files written by
+ * the versions before enrollments (committed fixtures) still restore
+ */
+class SnapshotFileTest {
+
+    private static final List<Course> COURSES = List.of(
+        new Course("C1", "CS501", "Advanced Algorithms", 4, "Computer Science", 45),
+        new Course("C2", "CS502", "Database Systems", 3, "Computer Science", 50),
+        new Course("C3", "MATH301", "Linear Algebra", 3, null, 60));
+    private static final List<Room> ROOMS = List.of(
+        new Room("R1", "101", "Engineering Block", 50, "Lecture Hall"),
+        new Room("R2", "LAB1", "CS Block", 40, "Lab"));
+    private static final List<Professor> PROFESSORS = List.of(
+        new Professor("P1", "Dr. Smith", "Computer Science", "smith@university.edu"),
+        new Professor("P2", "Dr. M\u00fcller", "Mathematics", null));
+    private static final List<TimeSlot> TIME_SLOTS = List.of(
+        new TimeSlot("T1", "Monday", "09:00", "10:30"),
+        new TimeSlot("T2", "Tuesday", "11:00", "12:30"));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void streamRoundTripWithEnrollments() throws IOException {
+        assertRoundTrip(SnapshotFormat.STREAM, StreamSnapshot.VERSION);
+    }
+
+    @Test
+    void mappedRoundTripWithEnrollments() throws IOException {
+        assertRoundTrip(SnapshotFormat.MAPPED, MappedSnapshot.VERSION);
+    }
+
+    @Test
+    void readsVersion1Fixture() throws IOException {
+        assertFixture("snapshot-v1.snap", StreamSnapshot.VERSION_WITHOUT_ENROLLMENTS);
+    }
+
+    @Test
+    void readsVersion2Fixture() throws IOException {
+        assertFixture("snapshot-v2.snap", MappedSnapshot.VERSION_WITHOUT_ENROLLMENTS);
+    }
+
+    @Test
+    void unknownVersionIsRejected() throws IOException {
+        Path file = directory.resolve("snapshot-v9.snap");
+        Files.write(file, new byte[] { 0x54, 0x54, 0x53, 0x50, 0, 0, 0, 9, 0, 0, 0, 0 });
+        IOException error = assertThrows(IOException.class, () -> SnapshotFile.read(file));
+        assertTrue(error.getMessage().startsWith("Unsupported snapshot version 9"), error.getMessage());
+    }
+
+    private void assertRoundTrip(SnapshotFormat format, int version) throws IOException {
+        List<Enrollment> enrollments = List.of(
+            new Enrollment("S1", "C1"), new Enrollment("S1", "C2"), new Enrollment("COHORT-A", "C3"));
+        StoredState written = state(42, enrollments);
+        SnapshotFile.write(directory, written, format);
+
+        Path file = only(directory);
+        assertEquals(version, header(file));
+        assertSameState(written, SnapshotFile.read(file));
+        assertSameState(written, SnapshotFile.readLatest(directory));
+    }
+
+    // A file written before enrollments were kept: same state, no enrollments
+    private void assertFixture(String name, int version) throws IOException {
+        Path file = directory.resolve(name);
+        try (InputStream in = getClass().getResourceAsStream(name)) {
+            assertNotNull(in, name);
+            Files.copy(in, file);
+        }
+        assertEquals(version, header(file));
+        assertSameState(state(7, List.of()), SnapshotFile.read(file));
+    }
+
+    private static void assertSameState(StoredState expected, StoredState actual) {
+        assertEquals(expected.getSequence(), actual.getSequence());
+        assertEquals(expected.getCourses(), actual.getCourses());
+        assertEquals(expected.getRooms(), actual.getRooms());
+        assertEquals(expected.getProfessors(), actual.getProfessors());
+        assertEquals(expected.getTimeSlots(), actual.getTimeSlots());
+        assertEquals(rows(expected.getEntries()), rows(actual.getEntries()));
+        assertEquals(expected.getEnrollments(), actual.getEnrollments());
+    }
+
+    private static List<String> rows(EntryTable entries) {
+        List<String> rows = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            rows.add(entries.getNumber(i) + " " + entries.getCourse(i) + " " + entries.getProfessor(i)
+                + " " + entries.getRoom(i) + " " + entries.getTimeSlot(i));
+        }
+        return rows;
+    }
+
+    private static StoredState state(long sequence, List<Enrollment> enrollments) {
+        List<TimetableEntry> entries = List.of(
+            new TimetableEntry("TE1", COURSES.get(0), PROFESSORS.get(0), ROOMS.get(0), TIME_SLOTS.get(0)),
+            new TimetableEntry("TE4", COURSES.get(2), PROFESSORS.get(1), ROOMS.get(1), TIME_SLOTS.get(0)),
+            new TimetableEntry("TE5", COURSES.get(1), PROFESSORS.get(0), ROOMS.get(0), TIME_SLOTS.get(1)));
+        return new StoredState(sequence, COURSES, ROOMS, PROFESSORS, TIME_SLOTS,
+            EntryTable.of(entries, COURSES, PROFESSORS, ROOMS, TIME_SLOTS), enrollments);
+    }
+
+    private static int header(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            assertEquals(SnapshotFile.MAGIC, in.readInt());
+            return in.readInt();
+        }
+    }
+
+    private static Path only(Path root) throws IOException {
+        try (Stream<Path> files = Files.list(root)) {
+            List<Path> list = files.toList();
+            assertEquals(1, list.size(), list.toString());
+            return list.get(0);
+        }
+    }
+}
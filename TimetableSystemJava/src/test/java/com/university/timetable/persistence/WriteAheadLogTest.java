@@ -0,0 +1,315 @@
+package com.university.timetable.persistence;
+
+import com.university.timetable.model.Room;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysEveryRecordInOrder() throws IOException {
+        write(0, 1, 5);
+
+        List<LogRecord> records = new ArrayList<>();
+        assertEquals(5, WriteAheadLog.replay(directory, 0, records::add));
+        assertEquals(List.of("TE1", "TE2", "TE3", "TE4", "TE5"), ids(records));
+
+        records.clear();
+        assertEquals(5, WriteAheadLog.replay(directory, 3, records::add));
+        assertEquals(List.of("TE4", "TE5"), ids(records));
+    }
+
+    @Test
+    void keepsRecordFields() throws IOException {
+        try (WriteAheadLog log = new WriteAheadLog(directory, 0)) {
+            log.append(LogRecord.addRoom(new Room("R7", "LAB3", "CS Block", 24, "Lab")));
+            log.sync();
+        }
+
+        List<LogRecord> records = new ArrayList<>();
+        WriteAheadLog.replay(directory, 0, records::add);
+        assertEquals(1, records.size());
+        assertEquals(LogRecord.Type.ADD_ROOM, records.get(0).getType());
+        assertEquals(new Room("R7", "LAB3", "CS Block", 24, "Lab"), records.get(0).getRoom());
+    }
+
+    @Test
+    void stopsAtTornLastRecordAndCutsIt() throws IOException {
+        write(0, 1, 5);
+        Path segment = onlySegment();
+        long full = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(full - 3); // A crash in the middle of the last write
+        }
+
+        List<LogRecord> records = new ArrayList<>();
+        assertEquals(4, WriteAheadLog.replay(directory, 0, records::add));
+        assertEquals(List.of("TE1", "TE2", "TE3", "TE4"), ids(records));
+        assertEquals(full / 5 * 4, Files.size(segment), "Torn bytes are cut off");
+
+        // Appends after recovery follow the last intact record
+        write(4, 6, 6);
+        records.clear();
+        assertEquals(5, WriteAheadLog.replay(directory, 0, records::add));
+        assertEquals(List.of("TE1", "TE2", "TE3", "TE4", "TE6"), ids(records));
+    }
+
+    @Test
+    void stopsAtCorruptLastRecord() throws IOException {
+        write(0, 1, 5);
+        Path segment = onlySegment();
+        long full = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, full - 1);
+            last.put(0, (byte) (last.get(0) ^ 0x5A)); // Checksum no longer matches
+            last.rewind();
+            channel.write(last, full - 1);
+        }
+
+        List<LogRecord> records = new ArrayList<>();
+        assertEquals(4, WriteAheadLog.replay(directory, 0, records::add));
+        assertEquals(List.of("TE1", "TE2", "TE3", "TE4"), ids(records));
+        assertEquals(full / 5 * 4, Files.size(segment));
+
+        records.clear();
+        assertEquals(4, WriteAheadLog.replay(directory, 0, records::add), "A second replay sees a clean log");
+    }
+
+    @Test
+    void stopsAtGarbageLength() throws IOException {
+        write(0, 1, 3);
+        Path segment = onlySegment();
+        long full = Files.size(segment);
+        Files.write(segment, new byte[] { 0x7F, 0, 0, 0 }, StandardOpenOption.APPEND);
+
+        List<LogRecord> records = new ArrayList<>();
+        assertEquals(3, WriteAheadLog.replay(directory, 0, records::add));
+        assertEquals(full, Files.size(segment));
+    }
+
+    @Test
+    void deleteUpToKeepsTheTail() throws IOException {
+        long sealed;
+        try (WriteAheadLog log = new WriteAheadLog(directory, 0)) {
+            for (int i = 1; i <= 3; i++) {
+                log.append(LogRecord.unschedule("TE" + i));
+            }
+            sealed = log.rotate();
+            for (int i = 4; i <= 5; i++) {
+                log.append(LogRecord.unschedule("TE" + i));
+            }
+            log.sync();
+            assertEquals(3, sealed);
+            assertEquals(2, WriteAheadLog.segments(directory).size());
+
+            log.deleteUpTo(sealed);
+            assertEquals(1, WriteAheadLog.segments(directory).size());
+
+            // The segment being written is never deleted, even if it starts before seq
+            log.deleteUpTo(5);
+            assertEquals(1, WriteAheadLog.segments(directory).size());
+        }
+
+        List<LogRecord> records = new ArrayList<>();
+        assertEquals(5, WriteAheadLog.replay(directory, sealed, records::add));
+        assertEquals(List.of("TE4", "TE5"), ids(records));
+    }
+
+    @Test
+    void failedWriteIsCutAndWrittenAgain() throws IOException {
+        FailingChannel[] channel = new FailingChannel[1];
+        try (WriteAheadLog log = new WriteAheadLog(directory, 0, c -> channel[0] = new FailingChannel(c))) {
+            log.append(LogRecord.unschedule("TE1"));
+            log.sync();
+
+            // The disk fills up halfway through the next batch
+            channel[0].failWrites = 1;
+            log.append(LogRecord.unschedule("TE2"));
+            log.append(LogRecord.unschedule("TE3"));
+            assertThrows(UncheckedIOException.class, log::sync);
+
+            log.append(LogRecord.unschedule("TE4"));
+            log.sync();
+        }
+
+        List<LogRecord> records = new ArrayList<>();
+        assertEquals(4, WriteAheadLog.replay(directory, 0, records::add));
+        assertEquals(List.of("TE1", "TE2", "TE3", "TE4"), ids(records), "No torn frame hides later records");
+    }
+
+    @Test
+    void failedSyncRefusesLaterWrites() throws IOException {
+        FailingChannel[] channel = new FailingChannel[1];
+        try (WriteAheadLog log = new WriteAheadLog(directory, 0, c -> channel[0] = new FailingChannel(c))) {
+            log.append(LogRecord.unschedule("TE1"));
+            log.sync();
+
+            channel[0].failForce = true;
+            log.append(LogRecord.unschedule("TE2"));
+            assertThrows(UncheckedIOException.class, log::sync);
+
+            channel[0].failForce = false;
+            assertThrows(UncheckedIOException.class, () -> log.append(LogRecord.unschedule("TE3")));
+            assertThrows(UncheckedIOException.class, () -> log.sync(2));
+        }
+
+        List<LogRecord> records = new ArrayList<>();
+        WriteAheadLog.replay(directory, 0, records::add);
+        assertEquals("TE1", ids(records).get(0));
+    }
+
+    @Test
+    void failedCutRefusesLaterWrites() throws IOException {
+        FailingChannel[] channel = new FailingChannel[1];
+        try (WriteAheadLog log = new WriteAheadLog(directory, 0, c -> channel[0] = new FailingChannel(c))) {
+            channel[0].failWrites = 1;
+            channel[0].failTruncate = true;
+            log.append(LogRecord.unschedule("TE1"));
+            assertThrows(UncheckedIOException.class, log::sync);
+            assertThrows(UncheckedIOException.class, () -> log.append(LogRecord.unschedule("TE2")));
+        }
+    }
+
+    // Log TE<from>..TE<to> after sequence lastSeq, in one new segment
+    private void write(long lastSeq, int from, int to) throws IOException {
+        try (WriteAheadLog log = new WriteAheadLog(directory, lastSeq)) {
+            for (int i = from; i <= to; i++) {
+                log.append(LogRecord.unschedule("TE" + i));
+            }
+            log.sync();
+        }
+    }
+
+    private Path onlySegment() throws IOException {
+        List<Path> segments = WriteAheadLog.segments(directory);
+        assertEquals(1, segments.size());
+        return segments.get(0);
+    }
+
+    private static List<String> ids(List<LogRecord> records) {
+        List<String> ids = new ArrayList<>();
+        for (LogRecord record : records) {
+            ids.add(record.getEntryId());
+        }
+        return ids;
+    }
+
+    /**
+     * Segment channel that fails on request: a failed write leaves half its
+     * bytes behind, as a full disk can
+     */
+    private static final class FailingChannel extends FileChannel {
+        private final FileChannel delegate;
+        int failWrites;
+        boolean failForce;
+        boolean failTruncate;
+
+        FailingChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        public int write(ByteBuffer source) throws IOException {
+            if (failWrites > 0) {
+                failWrites--;
+                ByteBuffer half = source.duplicate();
+                half.limit(source.position() + source.remaining() / 2);
+                source.position(source.position() + delegate.write(half));
+                throw new IOException("No space left on device");
+            }
+            return delegate.write(source);
+        }
+
+        public void force(boolean metaData) throws IOException {
+            if (failForce) {
+                throw new IOException("Input/output error");
+            }
+            delegate.force(metaData);
+        }
+
+        public FileChannel truncate(long size) throws IOException {
+            if (failTruncate) {
+                throw new IOException("Input/output error");
+            }
+            delegate.truncate(size);
+            return this;
+        }
+
+        public int read(ByteBuffer destination) throws IOException {
+            return delegate.read(destination);
+        }
+
+        public long read(ByteBuffer[] destinations, int offset, int length) throws IOException {
+            return delegate.read(destinations, offset, length);
+        }
+
+        public long write(ByteBuffer[] sources, int offset, int length) throws IOException {
+            return delegate.write(sources, offset, length);
+        }
+
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        public long transferFrom(ReadableByteChannel source, long position, long count) throws IOException {
+            return delegate.transferFrom(source, position, count);
+        }
+
+        public int read(ByteBuffer destination, long position) throws IOException {
+            return delegate.read(destination, position);
+        }
+
+        public int write(ByteBuffer source, long position) throws IOException {
+            return delegate.write(source, position);
+        }
+
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
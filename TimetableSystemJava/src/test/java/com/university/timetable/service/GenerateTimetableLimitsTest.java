@@ -0,0 +1,32 @@
+package com.university.timetable.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class GenerateTimetableLimitsTest {
+
+    private final SchedulingService service = new SchedulingService();
+
+    @Test
+    void outOfRangeOptionsAreRejected() {
+        assertEquals("starts must be between 1 and 16",
+            service.generateTimetable(Map.of("starts", 1_000_000)).get("message"));
+        assertEquals("starts must be between 1 and 16",
+            service.generateTimetable(Map.of("starts", 0)).get("message"));
+        assertEquals("timeBudgetMs must be between 1 and 60000",
+            service.generateTimetable(Map.of("timeBudgetMs", Long.MAX_VALUE)).get("message"));
+        assertEquals("timeBudgetMs must be between 1 and 60000",
+            service.generateTimetable(Map.of("timeBudgetMs", -5)).get("message"));
+    }
+
+    @Test
+    void limitsThemselvesAreAccepted() {
+        Map<String, Object> result = service.generateTimetable(Map.of("starts", 16, "timeBudgetMs", 50));
+        assertFalse(result.containsKey("message"), String.valueOf(result.get("message")));
+        assertEquals(16, result.get("starts"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.university.timetable.service;
+
+import com.university.timetable.algorithm.AVLTree;
+import com.university.timetable.algorithm.ClashIndex;
+import com.university.timetable.algorithm.EntryIndex;
+import com.university.timetable.algorithm.OccupancyIndex;
+import com.university.timetable.algorithm.WeekTime;
+import com.university.timetable.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * A repair preview (POST /api/repair without apply) moves entries around
+ * while it searches; afterwards occupancy, EntryIndex, ClashIndex and the
+ * day trees must read exactly as before
+ */
+class RepairPreviewTest {
+
+    private SchedulingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SchedulingService();
+        scheduled("C1", "P1", "T1");
+        scheduled("C2", "P2", "T1");
+        scheduled("C4", "P3", "T1");
+        scheduled("C3", "P4", "T1");
+        scheduled("C5", "P1", "T4");
+        scheduled("C3", "P2", "T2");
+        service.enroll(List.of(new Enrollment("S1", "C1"), new Enrollment("S1", "C2"), new Enrollment("S2", "C4"),
+            new Enrollment("S3", "C5"), new Enrollment("S3", "C3")));
+    }
+
+    @Test
+    void closedRoomPreviewChangesNothing() {
+        String before = state();
+        Map<String, Object> preview = service.repairSchedule(Map.of("roomId", "R2", "timeSlotIds", List.of("T1")));
+        assertEquals(false, preview.get("applied"));
+        assertFalse(((List<?>) preview.get("moved")).isEmpty(), "The preview found moves");
+        assertEquals(before, state());
+
+        // Applying the same repair does change the state
+        Map<String, Object> applied = service.repairSchedule(Map.of("roomId", "R2", "timeSlotIds", List.of("T1"), "apply", true));
+        assertEquals(true, applied.get("applied"));
+        assertNotEquals(before, state());
+    }
+
+    @Test
+    void professorLeavePreviewChangesNothing() {
+        String before = state();
+        Map<String, Object> preview = service.repairSchedule(Map.of("professorId", "P1"));
+        assertEquals(2, preview.get("affected"));
+        assertFalse(((List<?>) preview.get("moved")).isEmpty());
+        assertEquals(before, state());
+    }
+
+    @Test
+    void wholeDayClosurePreviewChangesNothing() {
+        String before = state();
+        service.repairSchedule(Map.of("roomId", "R6", "days", List.of("Monday")));
+        service.repairSchedule(Map.of("roomId", "R4", "days", List.of("Monday", "Tuesday")));
+        assertEquals(before, state());
+    }
+
+    // Everything the indexes answer, probed every 15 minutes of the week
+    private String state() {
+        OccupancyIndex occupancy = service.occupancyIndex();
+        EntryIndex entries = service.entries();
+        ClashIndex clashes = service.clashes();
+
+        StringBuilder state = new StringBuilder();
+        List<String> ids = new ArrayList<>();
+        for (int day = 0; day < WeekTime.DAYS_PER_WEEK; day++) {
+            AVLTree tree = service.dayTree(day);
+            state.append(WeekTime.dayName(day)).append(tree.getAllEntries()).append('\n');
+            for (TimetableEntry entry : tree.getAllEntries()) {
+                ids.add(entry.getId());
+            }
+        }
+        state.append("entries ").append(entries.size()).append('\n');
+        for (String id : ids) {
+            state.append(id).append(" -> ").append(entries.get(id)).append('\n');
+        }
+        for (Room room : service.getAllRooms()) {
+            state.append(room.getId()).append(new HashSet<>(entries.findByRoom(room.getId()))).append('\n');
+        }
+        for (Professor professor : service.getAllProfessors()) {
+            state.append(professor.getId()).append(new HashSet<>(entries.findByProfessor(professor.getId()))).append('\n');
+        }
+
+        for (int day = 0; day < WeekTime.DAYS_PER_WEEK; day++) {
+            for (int minute = 0; minute < WeekTime.MINUTES_PER_DAY; minute += 15) {
+                TimeSlot probe = new TimeSlot("Q" + day + "-" + minute, WeekTime.dayName(day), time(minute), time(minute + 15));
+                state.append(day).append(':').append(minute);
+                for (Room room : service.getAllRooms()) {
+                    state.append(occupancy.isRoomFree(room.getId(), probe) ? '.' : 'R');
+                }
+                for (Professor professor : service.getAllProfessors()) {
+                    state.append(occupancy.isProfessorFree(professor.getId(), probe) ? '.' : 'P');
+                }
+                state.append(' ').append(clashes.busyStudents(probe, 100));
+                for (Course course : service.getAllCourses()) {
+                    state.append(' ').append(clashes.countClashes(course.getId(), probe));
+                }
+                state.append('\n');
+            }
+        }
+        return state.toString();
+    }
+
+    private void scheduled(String courseId, String professorId, String timeSlotId) {
+        Map<String, Object> result = service.scheduleClass(courseId, professorId, timeSlotId);
+        assertEquals(true, result.get("success"), String.valueOf(result.get("message")));
+    }
+
+    private static String time(int minute) {
+        return String.format("%02d:%02d", minute / 60, minute % 60);
+    }
+}
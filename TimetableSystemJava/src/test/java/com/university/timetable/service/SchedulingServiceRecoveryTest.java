@@ -0,0 +1,101 @@
+package com.university.timetable.service;
+
+import com.university.timetable.model.Enrollment;
+import com.university.timetable.model.Room;
+import com.university.timetable.model.TimetableEntry;
+import com.university.timetable.persistence.FileScheduleStore;
+import com.university.timetable.persistence.PersistenceProperties;
+import com.university.timetable.persistence.SnapshotFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A service restarted on the same directory comes back with the same state,
+ * from the startup snapshot plus the logged changes after it
+ */
+class SchedulingServiceRecoveryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restoresFromSnapshotPlusTail() {
+        for (SnapshotFormat format : SnapshotFormat.values()) {
+            Path root = directory.resolve(format.name());
+
+            FileScheduleStore store = store(root, format);
+            SchedulingService service = new SchedulingService(store);
+            String first = scheduled(service.scheduleClass("C1", "P1", "T1"));
+            String second = scheduled(service.scheduleClass("C2", "P2", "T1"));
+            String third = scheduled(service.scheduleClass("C3", "P1", "T4"));
+            service.addRoom(new Room(null, "LAB3", "CS Block", 24, "Lab"));
+            service.enroll(List.of(new Enrollment("S1", "C1"), new Enrollment("S1", "C4"), new Enrollment("S2", "C4")));
+            assertEquals(true, service.moveClass(second, Map.of("timeSlotId", "T6")).get("success"));
+            assertEquals(true, service.unscheduleClass(third).get("success"));
+            // No shutdown(): the restart has to replay the log tail
+            store.close();
+
+            FileScheduleStore reopened = store(root, format);
+            SchedulingService restored = new SchedulingService(reopened);
+            try {
+                assertEquals(service.getAllScheduledEntries(), restored.getAllScheduledEntries(), format.name());
+                assertEquals(service.getAllRooms(), restored.getAllRooms());
+                assertEquals(service.getAllCourses(), restored.getAllCourses());
+                assertEquals(2, restored.getAllScheduledEntries().size());
+                assertEquals(restored.findEntryById(first), service.findEntryById(first));
+                assertEquals("T6", restored.findEntryById(second).getTimeSlot().getId());
+
+                // Enrollments and busy students came back: S1 takes C1, which is on at T1
+                assertEquals(1, restored.getStudentClashes("C4", "T1").get("studentClashes"));
+                assertEquals(2, restored.getStudentClashes("C4", "T1").get("enrolled"));
+
+                // Occupancy came back too, and new ids follow the restored ones
+                assertEquals(false, restored.scheduleClass("C4", "P1", "T1").get("success"));
+                String next = scheduled(restored.scheduleClass("C4", "P3", "T9"));
+                assertTrue(Integer.parseInt(next.substring(2)) > Integer.parseInt(third.substring(2)));
+                assertTrue(restored.getAllRooms().stream().anyMatch(room -> room.getRoomNumber().equals("LAB3")));
+            } finally {
+                reopened.close();
+            }
+        }
+    }
+
+    @Test
+    void restoresFromFinalSnapshot() {
+        FileScheduleStore store = store(directory, SnapshotFormat.MAPPED);
+        SchedulingService service = new SchedulingService(store);
+        scheduled(service.scheduleClass("C1", "P1", "T2"));
+        scheduled(service.scheduleClass("C5", "P4", "T8"));
+        service.shutdown();
+        store.close();
+
+        FileScheduleStore reopened = store(directory, SnapshotFormat.MAPPED);
+        try {
+            List<TimetableEntry> entries = new SchedulingService(reopened).getAllScheduledEntries();
+            assertEquals(service.getAllScheduledEntries(), entries);
+            assertFalse(reopened.hasChangesSinceSnapshot(), "Nothing left to replay");
+        } finally {
+            reopened.close();
+        }
+    }
+
+    private static FileScheduleStore store(Path root, SnapshotFormat format) {
+        PersistenceProperties properties = new PersistenceProperties();
+        properties.setDirectory(root.toString());
+        properties.setSnapshotFormat(format);
+        return new FileScheduleStore(properties);
+    }
+
+    private static String scheduled(Map<String, Object> result) {
+        assertEquals(true, result.get("success"), String.valueOf(result.get("message")));
+        return ((TimetableEntry) result.get("entry")).getId();
+    }
+}
@@ -0,0 +1,40 @@
+package com.university.timetable.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SimulateLimitsTest {
+
+    private final SchedulingService service = new SchedulingService();
+
+    @Test
+    void changesPerScenarioAreBounded() {
+        Map<String, Object> change = Map.of("type", "unschedule", "entryId", "TE1");
+
+        Map<String, Object> result = service.simulate(Map.of("scenarios", List.of(
+            Map.of("name", "Small", "changes", List.of(change)),
+            Map.of("name", "Huge", "changes", Collections.nCopies(257, change)))));
+        assertEquals(false, result.get("success"));
+        assertEquals("Huge: at most 256 changes per scenario", result.get("message"));
+
+        result = service.simulate(Map.of("scenarios", List.of(
+            Map.of("name", "Largest", "changes", Collections.nCopies(256, change)))));
+        assertEquals(true, result.get("success"), String.valueOf(result.get("message")));
+    }
+
+    @Test
+    void scenariosAreBounded() {
+        List<Map<String, Object>> scenarios = new ArrayList<>();
+        for (int i = 0; i < 65; i++) {
+            scenarios.add(Map.of("changes", List.of()));
+        }
+        assertEquals("Give between 1 and 64 scenarios", service.simulate(Map.of("scenarios", scenarios)).get("message"));
+        assertEquals(true, service.simulate(Map.of("scenarios", scenarios.subList(0, 64))).get("success"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.university.timetable.service;
+
+import com.university.timetable.model.Course;
+import com.university.timetable.model.TimetableEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Published days and entity lists share structure with the live schedule,
+ * yet never change once published
+ */
+class SnapshotPublishTest {
+
+    private final SchedulingService service = new SchedulingService();
+
+    @Test
+    void publishedDayIsNotChangedByLaterWrites() {
+        TimetableEntry first = scheduled(service.scheduleClass("C1", "P1", "T1"));
+        List<TimetableEntry> before = service.getScheduleByDay("Monday");
+        List<TimetableEntry> copy = new ArrayList<>(before);
+
+        TimetableEntry second = scheduled(service.scheduleClass("C2", "P2", "T2"));
+        assertEquals(true, service.unscheduleClass(first.getId()).get("success"));
+
+        assertEquals(copy, before, "The old view still lists the old day");
+        assertEquals(List.of(second), service.getScheduleByDay("Monday"));
+        assertThrows(UnsupportedOperationException.class, () -> before.add(second));
+    }
+
+    @Test
+    void publishedEntityListIsNotChangedByLaterAdds() {
+        List<Course> before = service.getAllCourses();
+        int size = before.size();
+        for (int i = 0; i < 40; i++) {
+            service.addCourse(new Course(null, "X" + i, "Course " + i, 3, "Physics", 20));
+        }
+
+        assertEquals(size, before.size());
+        assertEquals(size + 40, service.getAllCourses().size());
+        assertNotEquals(before, service.getAllCourses());
+        assertEquals(before, service.getAllCourses().subList(0, size));
+        assertEquals("X39", service.getAllCourses().get(size + 39).getCode());
+        assertThrows(IndexOutOfBoundsException.class, () -> before.get(size));
+    }
+
+    private static TimetableEntry scheduled(Map<String, Object> result) {
+        assertEquals(true, result.get("success"), String.valueOf(result.get("message")));
+        return (TimetableEntry) result.get("entry");
+    }
+}
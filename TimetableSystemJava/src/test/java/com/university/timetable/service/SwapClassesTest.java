@@ -0,0 +1,48 @@
+package com.university.timetable.service;
+
+import com.university.timetable.model.TimetableEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SwapClassesTest {
+
+    private final SchedulingService service = new SchedulingService();
+
+    @Test
+    void swapsTimeAndRoom() {
+        TimetableEntry first = scheduled(service.scheduleClass("C1", "P1", "T1"));
+        TimetableEntry second = scheduled(service.scheduleClass("C2", "P2", "T4"));
+
+        Map<String, Object> result = service.swapClasses(first.getId(), second.getId());
+        assertEquals(true, result.get("success"), String.valueOf(result.get("message")));
+        assertEquals("T4", service.findEntryById(first.getId()).getTimeSlot().getId());
+        assertEquals(second.getRoom(), service.findEntryById(first.getId()).getRoom());
+        assertEquals("T1", service.findEntryById(second.getId()).getTimeSlot().getId());
+    }
+
+    @Test
+    void swapWithItselfIsRejected() {
+        TimetableEntry entry = scheduled(service.scheduleClass("C1", "P1", "T1"));
+
+        Map<String, Object> result = service.swapClasses(entry.getId(), entry.getId());
+        assertEquals(false, result.get("success"));
+        assertEquals("Cannot swap a class with itself", result.get("message"));
+        assertEquals(entry, service.findEntryById(entry.getId()));
+    }
+
+    @Test
+    void swapWithUnknownClassIsNotFound() {
+        TimetableEntry entry = scheduled(service.scheduleClass("C1", "P1", "T1"));
+
+        assertEquals("Scheduled class not found", service.swapClasses(entry.getId(), "TE999").get("message"));
+        assertEquals("Scheduled class not found", service.swapClasses("TE999", "TE999").get("message"));
+    }
+
+    private static TimetableEntry scheduled(Map<String, Object> result) {
+        assertEquals(true, result.get("success"), String.valueOf(result.get("message")));
+        return (TimetableEntry) result.get("entry");
+    }
+}